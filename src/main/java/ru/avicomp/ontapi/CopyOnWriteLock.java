@@ -0,0 +1,233 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+/**
+ * The manager's {@link ReadWriteLock} for the copy-on-write concurrency mode.
+ * In this mode each ontology keeps two versions of its {@link ru.avicomp.ontapi.internal.InternalModel}:
+ * the live one, which is modified by writers, and the published one, which is an immutable snapshot
+ * (a graph copy plus the frozen axioms stores) that is shared between readers.
+ * The manager level operations use the usual {@link ReentrantReadWriteLock},
+ * but the ontology read operations do not require any lock (see {@link #ontologyLock()}):
+ * they always go to the latest published snapshot.
+ * When the outermost write lock is released, all ontologies that have been changed under it publish new snapshots.
+ * The changes made without the write lock (e.g. directly through the jena interface) are published once,
+ * on the next read or write lock (see {@link #defer(OntologyModelImpl)}), not for each triple.
+ *
+ * @see OntologyModelImpl#asConcurrent()
+ * @see OntManagers#createCopyOnWriteONT()
+ */
+public class CopyOnWriteLock implements ReadWriteLock, Serializable {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock writeLock = new WriteLock();
+    private final ReadWriteLock ontologyLock = new OntologyLock();
+    // the ontologies changed under the current write lock:
+    private final Set<OntologyModelImpl> changed = ConcurrentHashMap.newKeySet();
+    // the ontologies changed without the write lock, they are waiting for the next read or write lock:
+    private final Set<OntologyModelImpl> pending = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Returns the write lock, which publishes the snapshots of all changed ontologies on the last unlock.
+     *
+     * @return {@link Lock}
+     */
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * Returns the lock to be used by an ontology:
+     * the write lock is the same as {@link #writeLock()}, but the read lock does nothing.
+     *
+     * @return {@link ReadWriteLock}
+     */
+    public ReadWriteLock ontologyLock() {
+        return ontologyLock;
+    }
+
+    /**
+     * Answers {@code true} if the current thread holds the write lock, i.e. it is a writer.
+     *
+     * @return boolean
+     */
+    public boolean isWriter() {
+        return lock.isWriteLockedByCurrentThread();
+    }
+
+    /**
+     * Registers the changed ontology, its snapshot will be published when the write lock is released.
+     *
+     * @param ont {@link OntologyModelImpl}
+     */
+    protected void changed(OntologyModelImpl ont) {
+        changed.add(ont);
+    }
+
+    /**
+     * Registers the changed ontology and publishes its snapshot immediately,
+     * if the current thread is not a writer, otherwise the snapshot will be published on the release of the write lock.
+     *
+     * @param ont {@link OntologyModelImpl}
+     */
+    protected void commit(OntologyModelImpl ont) {
+        if (isReader()) {
+            // the read lock cannot be upgraded:
+            pending.add(ont);
+            return;
+        }
+        changed(ont);
+        if (isWriter()) return;
+        writeLock.lock();
+        writeLock.unlock();
+    }
+
+    /**
+     * Registers the ontology changed through the graph events.
+     * If the current thread is a writer, the snapshot will be published on the release of the write lock,
+     * otherwise the publication is postponed until the next read (see {@link #flush()}),
+     * so that a bulk change does not produce a snapshot for each triple.
+     *
+     * @param ont {@link OntologyModelImpl}
+     */
+    protected void defer(OntologyModelImpl ont) {
+        if (isWriter()) {
+            changed(ont);
+            return;
+        }
+        pending.add(ont);
+    }
+
+    /**
+     * Publishes the postponed changes (see {@link #defer(OntologyModelImpl)}), if any.
+     * Must be called before reading a snapshot.
+     * Does nothing for a writer, which reads the live models and publishes everything on the release of the lock.
+     * The changes can not be published by a thread that holds the read lock (e.g. inside a manager's method),
+     * since the read lock cannot be upgraded: in this case the live models should be read,
+     * which is safe, because no writer can hold the lock at the same time.
+     *
+     * @return boolean, {@code false} if there are postponed changes which are not published yet
+     */
+    protected boolean flush() {
+        if (pending.isEmpty() || isWriter()) return true;
+        if (isReader()) return false;
+        writeLock.lock();
+        writeLock.unlock();
+        return true;
+    }
+
+    /**
+     * Answers {@code true} if the current thread holds the read lock.
+     *
+     * @return boolean
+     */
+    protected boolean isReader() {
+        return lock.getReadHoldCount() > 0;
+    }
+
+    /**
+     * Publishes the snapshots of all changed ontologies, including the postponed ones.
+     */
+    protected void publish() {
+        if (!pending.isEmpty()) {
+            List<OntologyModelImpl> res = new ArrayList<>(pending);
+            pending.removeAll(res);
+            changed.addAll(res);
+        }
+        if (changed.isEmpty()) return;
+        List<OntologyModelImpl> res = new ArrayList<>(changed);
+        changed.removeAll(res);
+        OntologyModelImpl.publish(res);
+    }
+
+    /**
+     * The write lock which publishes the changes on the last unlock.
+     */
+    protected class WriteLock implements Lock, Serializable {
+
+        @Override
+        public void lock() {
+            lock.writeLock().lock();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            lock.writeLock().lockInterruptibly();
+        }
+
+        @Override
+        public boolean tryLock() {
+            return lock.writeLock().tryLock();
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return lock.writeLock().tryLock(time, unit);
+        }
+
+        @Override
+        public void unlock() {
+            if (lock.getWriteHoldCount() != 1) {
+                lock.writeLock().unlock();
+                return;
+            }
+            try {
+                publish();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            return lock.writeLock().newCondition();
+        }
+    }
+
+    /**
+     * The ontology lock: no-op read lock and the publishing write lock.
+     */
+    protected class OntologyLock implements ReadWriteLock, Serializable {
+        private final Lock readLock = new NoOpReadWriteLock().readLock();
+
+        @Override
+        public Lock readLock() {
+            return readLock;
+        }
+
+        @Override
+        public Lock writeLock() {
+            return writeLock;
+        }
+    }
+}
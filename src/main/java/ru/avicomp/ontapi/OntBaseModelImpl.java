@@ -19,6 +19,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -56,14 +57,15 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
     // binary format to provide serialization:
     protected static final OntFormat DEFAULT_SERIALIZATION_FORMAT = OntFormat.RDF_THRIFT;
 
-    protected transient InternalModel base;
+    protected transient volatile InternalModel base;
     protected transient OntologyManagerImpl managerBackCopy;
 
     protected OWLOntologyID ontologyID;
 
     public OntBaseModelImpl(OntologyManagerImpl manager, OWLOntologyID ontologyID) {
         OntApiException.notNull(ontologyID, "Null OWL ID.");
-        this.base = new InternalModel(OntModelFactory.createDefaultGraph(), OntApiException.notNull(manager, "Null manager.").createModelConfig());
+        OntologyManagerImpl.ModelConfig conf = OntApiException.notNull(manager, "Null manager.").createModelConfig();
+        this.base = new InternalModel(OntModelFactory.createGraph(conf.loaderConfig().isUseDictionaryGraph()), conf);
         setOntologyID(ontologyID);
     }
 
@@ -81,9 +83,21 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
         base = m;
     }
 
+    /**
+     * Returns the model to read from.
+     * It is the same as {@link #getBase()} by default,
+     * but may be an immutable snapshot in case of copy-on-write concurrency mode.
+     *
+     * @return {@link InternalModel}
+     * @see CopyOnWriteLock
+     */
+    protected InternalModel current() {
+        return base;
+    }
+
     @Override
     public OntologyManagerImpl.ModelConfig getConfig() {
-        return (OntologyManagerImpl.ModelConfig) base.getConfig();
+        return (OntologyManagerImpl.ModelConfig) current().getConfig();
     }
 
     @Override
@@ -127,7 +141,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
      */
     @Override
     public OWLOntologyID getOntologyID() {
-        OntID id = base.getID();
+        OntID id = current().getID();
         if (id.isAnon()) {
             return ontologyID == null || !ontologyID.isAnonymous() ? ontologyID = new OWLOntologyID() : ontologyID;
         }
@@ -145,12 +159,12 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
     protected void setOntologyID(OWLOntologyID id) {
         try {
             if (id.isAnonymous()) {
-                base.setID(null).setVersionIRI(null);
+                getBase().setID(null).setVersionIRI(null);
                 return;
             }
             IRI iri = id.getOntologyIRI().orElse(null);
             IRI versionIRI = id.getVersionIRI().orElse(null);
-            base.setID(iri == null ? null : iri.getIRIString()).setVersionIRI(versionIRI == null ? null : versionIRI.getIRIString());
+            getBase().setID(iri == null ? null : iri.getIRIString()).setVersionIRI(versionIRI == null ? null : versionIRI.getIRIString());
         } finally {
             ontologyID = id;
         }
@@ -158,17 +172,17 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public boolean isAnonymous() {
-        return base.getID().isAnon();
+        return current().getID().isAnon();
     }
 
     @Override
     public boolean isEmpty() {
-        return base.isOntologyEmpty();
+        return current().isOntologyEmpty();
     }
 
     @Override
     public Stream<OWLAnnotation> annotations() {
-        return base.annotations();
+        return current().annotations();
     }
 
     /*
@@ -184,7 +198,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public Stream<OWLImportsDeclaration> importsDeclarations() {
-        return base.importDeclarations();
+        return current().importDeclarations();
     }
 
     @Override
@@ -210,12 +224,12 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public Stream<OWLClass> classesInSignature() {
-        return base.classes();
+        return current().classes();
     }
 
     @Override
     public Stream<OWLAnonymousIndividual> anonymousIndividuals() {
-        return base.anonymousIndividuals();
+        return current().anonymousIndividuals();
     }
 
     @Override
@@ -225,27 +239,27 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public Stream<OWLNamedIndividual> individualsInSignature() {
-        return base.namedIndividuals();
+        return current().namedIndividuals();
     }
 
     @Override
     public Stream<OWLDataProperty> dataPropertiesInSignature() {
-        return base.dataProperties();
+        return current().dataProperties();
     }
 
     @Override
     public Stream<OWLObjectProperty> objectPropertiesInSignature() {
-        return base.objectProperties();
+        return current().objectProperties();
     }
 
     @Override
     public Stream<OWLAnnotationProperty> annotationPropertiesInSignature() {
-        return base.annotationProperties();
+        return current().annotationProperties();
     }
 
     @Override
     public Stream<OWLDatatype> datatypesInSignature() {
-        return base.datatypes();
+        return current().datatypes();
     }
 
     @Override
@@ -256,28 +270,33 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public Stream<OWLEntity> entitiesInSignature(@Nullable IRI entityIRI) {
-        return base.getEntities(entityIRI).stream();
+        return current().getEntities(entityIRI).stream();
     }
 
     @Override
     public Set<IRI> getPunnedIRIs(@Nonnull Imports imports) {
-        return base.ambiguousEntities(Imports.INCLUDED.equals(imports)).map(Resource::getURI).map(IRI::create).collect(Collectors.toSet());
+        return current().ambiguousEntities(Imports.INCLUDED.equals(imports)).map(Resource::getURI).map(IRI::create).collect(Collectors.toSet());
     }
 
     @Override
     public boolean isDeclared(@Nullable OWLEntity owlEntity) {
-        return base.axioms(OWLDeclarationAxiom.class).map(OWLDeclarationAxiom::getEntity)
+        return current().axioms(OWLDeclarationAxiom.class).map(OWLDeclarationAxiom::getEntity)
                 .anyMatch(obj -> obj.equals(owlEntity));
     }
 
     @Override
     public boolean containsReference(@Nonnull OWLEntity entity) {
-        return signature().anyMatch(entity::equals);
+        return current().containsEntity(entity);
+    }
+
+    @Override
+    public boolean containsEntityInSignature(@Nonnull OWLEntity entity) {
+        return current().containsEntity(entity);
     }
 
     @Override
     public boolean containsClassInSignature(@Nonnull IRI iri) {
-        return classesInSignature().map(HasIRI::getIRI).anyMatch(iri::equals);
+        return current().containsEntity(getConfig().dataFactory().getOWLClass(iri));
     }
 
     @Override
@@ -287,7 +306,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public boolean containsObjectPropertyInSignature(@Nonnull IRI iri) {
-        return objectPropertiesInSignature().map(HasIRI::getIRI).anyMatch(iri::equals);
+        return current().containsEntity(getConfig().dataFactory().getOWLObjectProperty(iri));
     }
 
     @Override
@@ -297,7 +316,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public boolean containsDataPropertyInSignature(@Nonnull IRI iri) {
-        return dataPropertiesInSignature().map(HasIRI::getIRI).anyMatch(iri::equals);
+        return current().containsEntity(getConfig().dataFactory().getOWLDataProperty(iri));
     }
 
     @Override
@@ -307,7 +326,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public boolean containsAnnotationPropertyInSignature(@Nonnull IRI iri) {
-        return annotationPropertiesInSignature().map(HasIRI::getIRI).anyMatch(iri::equals);
+        return current().containsEntity(getConfig().dataFactory().getOWLAnnotationProperty(iri));
     }
 
     @Override
@@ -317,7 +336,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public boolean containsDatatypeInSignature(@Nonnull IRI iri) {
-        return datatypesInSignature().map(HasIRI::getIRI).anyMatch(iri::equals);
+        return current().containsEntity(getConfig().dataFactory().getOWLDatatype(iri));
     }
 
     @Override
@@ -327,7 +346,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public boolean containsIndividualInSignature(@Nonnull IRI iri) {
-        return individualsInSignature().map(HasIRI::getIRI).anyMatch(iri::equals);
+        return current().containsEntity(getConfig().dataFactory().getOWLNamedIndividual(iri));
     }
 
     @Override
@@ -343,12 +362,12 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public Stream<OWLAxiom> axioms() {
-        return base.axioms();
+        return current().axioms();
     }
 
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(@Nonnull AxiomType<T> axiomType) {
-        return base.axioms(axiomType);
+        return current().axioms(axiomType);
     }
 
     /**
@@ -357,11 +376,19 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
      * @return Steam of {@link OWLAxiom}
      */
     public Stream<OWLClassAxiom> classAxioms() {
+        return classAxiomTypes().map(c -> current().axioms(c)).flatMap(Function.identity());
+    }
+
+    /**
+     * Lists all axiom types that inherit the interface {@link OWLClassAxiom}.
+     *
+     * @return Stream of {@link Class}es
+     */
+    protected static Stream<Class<? extends OWLClassAxiom>> classAxiomTypes() {
         return Stream.of(OWLDisjointClassesAxiom.class,
                 OWLDisjointUnionAxiom.class,
                 OWLEquivalentClassesAxiom.class,
-                OWLSubClassOfAxiom.class)
-                .map(c -> base.axioms(c)).flatMap(Function.identity());
+                OWLSubClassOfAxiom.class);
     }
 
     /**
@@ -370,6 +397,15 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
      * @return Steam of {@link OWLAxiom}
      */
     public Stream<OWLObjectPropertyAxiom> objectPropertyAxioms() {
+        return objectPropertyAxiomTypes().map(c -> current().axioms(c)).flatMap(Function.identity());
+    }
+
+    /**
+     * Lists all axiom types that inherit the interface {@link OWLObjectPropertyAxiom}.
+     *
+     * @return Stream of {@link Class}es
+     */
+    protected static Stream<Class<? extends OWLObjectPropertyAxiom>> objectPropertyAxiomTypes() {
         return Stream.of(
                 OWLSubObjectPropertyOfAxiom.class,
                 OWLObjectPropertyDomainAxiom.class,
@@ -387,7 +423,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
                 OWLFunctionalObjectPropertyAxiom.class,
                 OWLInverseFunctionalObjectPropertyAxiom.class,
                 OWLAsymmetricObjectPropertyAxiom.class
-        ).map(c -> base.axioms(c)).flatMap(Function.identity());
+        );
     }
 
     /**
@@ -396,6 +432,15 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
      * @return Steam of {@link OWLAxiom}
      */
     public Stream<OWLDataPropertyAxiom> dataPropertyAxioms() {
+        return dataPropertyAxiomTypes().map(c -> current().axioms(c)).flatMap(Function.identity());
+    }
+
+    /**
+     * Lists all axiom types that inherit the interface {@link OWLDataPropertyAxiom}.
+     *
+     * @return Stream of {@link Class}es
+     */
+    protected static Stream<Class<? extends OWLDataPropertyAxiom>> dataPropertyAxiomTypes() {
         return Stream.of(
                 OWLDataPropertyDomainAxiom.class,
                 OWLDataPropertyRangeAxiom.class,
@@ -405,7 +450,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
                 OWLEquivalentDataPropertiesAxiom.class,
 
                 OWLFunctionalDataPropertyAxiom.class
-        ).map(c -> base.axioms(c)).flatMap(Function.identity());
+        );
     }
 
     /**
@@ -414,6 +459,15 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
      * @return Steam of {@link OWLAxiom}
      */
     public Stream<OWLIndividualAxiom> individualAxioms() {
+        return individualAxiomTypes().map(c -> current().axioms(c)).flatMap(Function.identity());
+    }
+
+    /**
+     * Lists all axiom types that inherit the interface {@link OWLIndividualAxiom}.
+     *
+     * @return Stream of {@link Class}es
+     */
+    protected static Stream<Class<? extends OWLIndividualAxiom>> individualAxiomTypes() {
         return Stream.of(
                 OWLClassAssertionAxiom.class,
                 OWLObjectPropertyAssertionAxiom.class,
@@ -424,7 +478,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
                 OWLSameIndividualAxiom.class,
                 OWLDifferentIndividualsAxiom.class
-        ).map(c -> base.axioms(c)).flatMap(Function.identity());
+        );
     }
 
     /**
@@ -443,38 +497,75 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
                 OWLDisjointDataPropertiesAxiom.class,
                 OWLDisjointObjectPropertiesAxiom.class,
                 OWLDifferentIndividualsAxiom.class
-        ).map(c -> base.axioms(c)).flatMap(Function.identity());
+        ).map(c -> current().axioms(c)).flatMap(Function.identity());
+    }
+
+    /**
+     * Returns the axioms of the specified types, which refer to the given primitive.
+     * The axioms are taken from the signature index (see {@link InternalModel#referencingAxioms(Class, OWLPrimitive)}).
+     *
+     * @param types Stream of axiom {@link Class}es
+     * @param key   {@link OWLPrimitive}
+     * @param <A>   {@link OWLAxiom}
+     * @return Stream of {@link OWLAxiom}s
+     */
+    protected <A extends OWLAxiom> Stream<A> referencingAxioms(Stream<Class<? extends A>> types, OWLPrimitive key) {
+        Stream<A> res = types.map(c -> current().referencingAxioms(c, key)).flatMap(Function.identity());
+        // in concurrent mode the stream must not go beyond the lock:
+        return getConfig().parallel() ? res.collect(Collectors.toList()).stream() : res;
+    }
+
+    /**
+     * Returns the axioms of the specified type, which could contain the given object.
+     * The result is a superset of the desired axioms and should be filtered afterwards.
+     * If the object is not a primitive then any primitive from its structure is used as a key.
+     * An {@link IRI} could be hidden inside entities, so in that case all axioms of the type are returned.
+     *
+     * @param type   {@link Class} of axiom
+     * @param object {@link OWLObject}
+     * @param <A>    {@link OWLAxiom}
+     * @return Stream of {@link OWLAxiom}s
+     */
+    protected <A extends OWLAxiom> Stream<A> candidates(Class<A> type, OWLObject object) {
+        OWLPrimitive key = object instanceof OWLPrimitive ? (OWLPrimitive) object :
+                OwlObjects.parseComponents(OWLPrimitive.class, object).findFirst().orElse(null);
+        if (key == null || key instanceof IRI) {
+            return current().axioms(type);
+        }
+        return current().referencingAxioms(type, key);
     }
 
     @Override
     public Stream<OWLClassAxiom> axioms(@Nonnull OWLClass clazz) {
-        return classAxioms().filter(a -> OwlObjects.objects(OWLClass.class, a).anyMatch(clazz::equals));
+        return referencingAxioms(classAxiomTypes(), clazz);
     }
 
     @Override
     public Stream<OWLObjectPropertyAxiom> axioms(@Nonnull OWLObjectPropertyExpression property) {
-        return objectPropertyAxioms().filter(a -> OwlObjects.objects(OWLObjectPropertyExpression.class, a).anyMatch(property::equals));
+        // the named property could be hidden inside the inverse expression, so filter the result:
+        return referencingAxioms(objectPropertyAxiomTypes(), property.getNamedProperty())
+                .filter(a -> OwlObjects.objects(OWLObjectPropertyExpression.class, a).anyMatch(property::equals));
     }
 
     @Override
     public Stream<OWLDataPropertyAxiom> axioms(@Nonnull OWLDataProperty property) {
-        return dataPropertyAxioms().filter(a -> OwlObjects.objects(OWLDataProperty.class, a).anyMatch(property::equals));
+        return referencingAxioms(dataPropertyAxiomTypes(), property);
     }
 
     @Override
     public Stream<OWLIndividualAxiom> axioms(@Nonnull OWLIndividual individual) {
-        return individualAxioms().filter(a -> OwlObjects.objects(OWLIndividual.class, a).anyMatch(individual::equals));
+        return referencingAxioms(individualAxiomTypes(), (OWLPrimitive) individual);
     }
 
     @Override
     public Stream<OWLDatatypeDefinitionAxiom> axioms(@Nonnull OWLDatatype datatype) {
-        return base.axioms(OWLDatatypeDefinitionAxiom.class).filter(a -> datatype.equals(a.getDatatype()));
+        return current().referencingAxioms(OWLDatatypeDefinitionAxiom.class, datatype).filter(a -> datatype.equals(a.getDatatype()));
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(@Nonnull OWLAxiomSearchFilter filter, @Nonnull Object key) {
-        return (Stream<T>) base.axioms(StreamSupport.stream(filter.getAxiomTypes().spliterator(), false)
+        return (Stream<T>) current().axioms(StreamSupport.stream(filter.getAxiomTypes().spliterator(), false)
                 .map(type -> (AxiomType<T>) type)
                 .collect(Collectors.toSet())).filter(a -> filter.pass(a, key));
     }
@@ -502,44 +593,34 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
     @Override
     public <A extends OWLAxiom> Stream<A> axioms(@Nonnull Class<A> type, @Nullable Class<? extends OWLObject> view, @Nonnull OWLObject object, @Nullable Navigation position) {
         if (OWLSubObjectPropertyOfAxiom.class.equals(type) && OWLObjectPropertyExpression.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLSubObjectPropertyOfAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSuperProperty() : a.getSubProperty()));
+            return (Stream<A>) current().axioms(OWLSubObjectPropertyOfAxiom.class, object, position);
         }
         if (OWLSubDataPropertyOfAxiom.class.equals(type) && OWLDataPropertyExpression.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLSubDataPropertyOfAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSuperProperty() : a.getSubProperty()));
+            return (Stream<A>) current().axioms(OWLSubDataPropertyOfAxiom.class, object, position);
         }
         if (OWLSubAnnotationPropertyOfAxiom.class.equals(type) && OWLAnnotationProperty.class.isInstance(object)) { // the difference: this axiom type is ignored in original OWL-API method:
-            return (Stream<A>) base.axioms(OWLSubAnnotationPropertyOfAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSuperProperty() : a.getSubProperty()));
+            return (Stream<A>) current().axioms(OWLSubAnnotationPropertyOfAxiom.class, object, position);
         }
         if (OWLSubClassOfAxiom.class.equals(type) && OWLClassExpression.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLSubClassOfAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSuperClass() : a.getSubClass()));
+            return (Stream<A>) current().axioms(OWLSubClassOfAxiom.class, object, position);
         }
         if (OWLInverseObjectPropertiesAxiom.class.equals(type) && OWLObjectPropertyExpression.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLInverseObjectPropertiesAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSecondProperty() : a.getFirstProperty()));
+            return (Stream<A>) current().axioms(OWLInverseObjectPropertiesAxiom.class, object, position);
         }
         if (OWLObjectPropertyAssertionAxiom.class.equals(type) && OWLIndividual.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLObjectPropertyAssertionAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getObject() : a.getSubject()));
+            return (Stream<A>) current().axioms(OWLObjectPropertyAssertionAxiom.class, object, position);
         }
         if (OWLNegativeObjectPropertyAssertionAxiom.class.equals(type) && OWLIndividual.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLNegativeObjectPropertyAssertionAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getObject() : a.getSubject()));
+            return (Stream<A>) current().axioms(OWLNegativeObjectPropertyAssertionAxiom.class, object, position);
         }
         if (OWLAnnotationAssertionAxiom.class.equals(type) && OWLAnnotationObject.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLAnnotationAssertionAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getValue() : a.getSubject()));
+            return (Stream<A>) current().axioms(OWLAnnotationAssertionAxiom.class, object, position);
         }
         if (OWLDisjointUnionAxiom.class.equals(type) && OWLClassExpression.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLDisjointUnionAxiom.class)
-                    .filter(a -> Navigation.IN_SUPER_POSITION.equals(position) ? a.classExpressions().anyMatch(object::equals) : object.equals(a.getOWLClass()));
+            return (Stream<A>) current().axioms(OWLDisjointUnionAxiom.class, object, position);
         }
         if (OWLSubPropertyChainOfAxiom.class.equals(type) && OWLObjectPropertyExpression.class.isInstance(object)) {
-            return (Stream<A>) base.axioms(OWLSubPropertyChainOfAxiom.class)
-                    .filter(a -> Navigation.IN_SUPER_POSITION.equals(position) ? a.getPropertyChain().stream().anyMatch(object::equals) : object.equals(a.getSuperProperty()));
+            return (Stream<A>) current().axioms(OWLSubPropertyChainOfAxiom.class, object, position);
         }
         if (OWLClassAxiom.class.equals(type) && OWLClass.class.isInstance(object)) {
             return (Stream<A>) axioms((OWLClass) object);
@@ -554,11 +635,32 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
             return (Stream<A>) axioms((OWLIndividual) object);
         }
         if (OWLNaryAxiom.class.isAssignableFrom(type)) {
-            return base.axioms(type)
+            return candidates(type, object)
                     .filter(a -> ((OWLNaryAxiom) a).operands().anyMatch(o -> Objects.equals(o, object)));
         }
         // default:
-        return base.axioms(type).filter(a -> OwlObjects.objects(object.getClass(), a).anyMatch(object::equals));
+        return candidates(type, object).filter(a -> OwlObjects.objects(object.getClass(), a).anyMatch(object::equals));
+    }
+
+    /**
+     * Overridden to not let the lazy stream go beyond the lock in concurrent mode,
+     * since this method is the base for many OWL-API default methods (e.g. {@link #subClassAxiomsForSubClass(OWLClass)}).
+     *
+     * @param type     {@link Class<OWLAxiom>}, not null, type of axioms.
+     * @param view     {@link Class<OWLObject>}. anything. ignored.
+     * @param object   {@link OWLObject} to find occurrences.
+     * @param imports  {@link Imports}
+     * @param position {@link Navigation} used in conjunction with {@code object} for some several kinds of axioms.
+     * @return Stream of {@link OWLAxiom}s
+     */
+    @Override
+    public <A extends OWLAxiom> Stream<A> axioms(@Nonnull Class<A> type, @Nullable Class<? extends OWLObject> view, @Nonnull OWLObject object,
+                                                 @Nonnull Imports imports, @Nullable Navigation position) {
+        if (Imports.EXCLUDED.equals(imports)) {
+            return axioms(type, view, object, position);
+        }
+        Stream<A> res = imports.stream(this).flatMap(o -> o.axioms(type, view, object, position));
+        return getConfig().parallel() ? res.collect(Collectors.toList()).stream() : res;
     }
 
     @Override
@@ -578,15 +680,15 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public Stream<OWLLogicalAxiom> logicalAxioms() {
-        return base.axioms(AxiomType.AXIOM_TYPES.stream().filter(AxiomType::isLogical).collect(Collectors.toSet())).map(OWLLogicalAxiom.class::cast);
+        return current().axioms(AxiomType.AXIOM_TYPES.stream().filter(AxiomType::isLogical).collect(Collectors.toSet())).map(OWLLogicalAxiom.class::cast);
     }
 
     @Override
     public Stream<OWLClassAxiom> generalClassAxioms() {
-        Stream<OWLSubClassOfAxiom> subClassOfAxioms = base.axioms(OWLSubClassOfAxiom.class)
+        Stream<OWLSubClassOfAxiom> subClassOfAxioms = current().axioms(OWLSubClassOfAxiom.class)
                 .filter(a -> a.getSubClass().isAnonymous());
         Stream<? extends OWLNaryClassAxiom> naryClassAxioms = Stream.of(OWLEquivalentClassesAxiom.class, OWLDisjointClassesAxiom.class)
-                .map(base::axioms).flatMap(Function.identity())
+                .map(current()::axioms).flatMap(Function.identity())
                 .filter(a -> a.classExpressions().allMatch(IsAnonymous::isAnonymous));
         return Stream.concat(subClassOfAxioms, naryClassAxioms);
     }
@@ -603,13 +705,17 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public Stream<OWLAxiom> referencingAxioms(@Nonnull OWLPrimitive primitive) {
-        if (primitive instanceof IRI) {
-            return axioms().filter(a -> OwlObjects.iris(a).anyMatch(primitive::equals));
+        if (primitive instanceof IRI) { // the iri could be hidden inside entities:
+            IRI iri = (IRI) primitive;
+            OWLDataFactory df = getConfig().dataFactory();
+            Stream<OWLAxiom> res = Stream.of(iri, df.getOWLClass(iri), df.getOWLDatatype(iri), df.getOWLNamedIndividual(iri),
+                    df.getOWLObjectProperty(iri), df.getOWLDataProperty(iri), df.getOWLAnnotationProperty(iri))
+                    .flatMap(key -> current().referencingAxioms(AxiomType.AXIOM_TYPES, key)).distinct()
+                    .filter(a -> OwlObjects.iris(a).anyMatch(primitive::equals));
+            return getConfig().parallel() ? res.collect(Collectors.toList()).stream() : res;
         }
-        if (primitive instanceof OWLDatatype) { // as well as iri the datatype could be hidden inside other objects (literals):
-            return axioms().filter(a -> OwlObjects.objects(OWLDatatype.class, a).anyMatch(primitive::equals));
-        }
-        return axioms().filter(a -> OwlObjects.objects(OWLPrimitive.class, a).anyMatch(primitive::equals));
+        // the signature index also contains datatypes hidden inside literals:
+        return current().referencingAxioms(AxiomType.AXIOM_TYPES, primitive);
     }
 
     @Override
@@ -634,7 +740,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public int getAxiomCount() {
-        return (int) axioms().count();
+        return current().getAxiomCount(AxiomType.AXIOM_TYPES);
     }
 
     @Override
@@ -644,7 +750,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(@Nonnull AxiomType<T> axiomType) {
-        return (int) axioms(axiomType).count();
+        return current().getAxiomCount(Collections.singleton(axiomType));
     }
 
     @Override
@@ -654,7 +760,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public int getLogicalAxiomCount() {
-        return (int) logicalAxioms().count();
+        return current().getAxiomCount(AxiomType.AXIOM_TYPES.stream().filter(AxiomType::isLogical).collect(Collectors.toSet()));
     }
 
     @Override
@@ -664,7 +770,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public boolean containsAxiom(@Nullable OWLAxiom axiom) {
-        return base.axioms().anyMatch(a -> a.equals(axiom));
+        return axiom != null && current().contains(axiom);
     }
 
     @Override
@@ -679,7 +785,7 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
 
     @Override
     public boolean contains(@Nonnull OWLAxiomSearchFilter filter, @Nonnull Object key) {
-        return base.axioms(StreamSupport.stream(filter.getAxiomTypes().spliterator(), false)
+        return current().axioms(StreamSupport.stream(filter.getAxiomTypes().spliterator(), false)
                 .map(type -> type)
                 .collect(Collectors.toSet())).anyMatch(a -> filter.pass(a, key));
     }
@@ -698,6 +804,8 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
     /**
      * Reads the object while serialization.
      * Note: only base graph!
+     * In case of {@link OntSnapshot.Input} the graph is read in the snapshot format along with the caches (if any),
+     * which are held by the stream until the manager rebuilds the model.
      *
      * @param in {@link ObjectInputStream}
      * @see OntologyManagerImpl#readObject(ObjectInputStream)
@@ -705,8 +813,15 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
      */
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
-        Graph base = OntModelFactory.createDefaultGraph();
-        RDFDataMgr.read(base, in, DEFAULT_SERIALIZATION_FORMAT.getLang());
+        Graph base;
+        if (in instanceof OntSnapshot.Input) {
+            OntSnapshot.Input snapshot = (OntSnapshot.Input) in;
+            base = snapshot.readGraph();
+            snapshot.readCache(base);
+        } else {
+            base = OntModelFactory.createDefaultGraph();
+            RDFDataMgr.read(base, in, DEFAULT_SERIALIZATION_FORMAT.getLang());
+        }
         // set temporary model with default personality, it will be reset inside manager while its #readObject
         setBase(new InternalModel(base, ConfigProvider.DEFAULT));
     }
@@ -714,12 +829,20 @@ public class OntBaseModelImpl extends OWLObjectImpl implements OWLOntology, Conf
     /**
      * Writes the object while serialization.
      * Note: only base graph!
+     * In case of {@link OntSnapshot.Output} the graph is written in the snapshot format, the caches are written also.
      *
      * @param out {@link ObjectOutputStream}
      */
     private void writeObject(ObjectOutputStream out) throws IOException {
         out.defaultWriteObject(); // serialize only base graph (it will be wrapped as UnionGraph):
-        RDFDataMgr.write(out, base.getBaseGraph(), DEFAULT_SERIALIZATION_FORMAT.getLang());
+        InternalModel m = current();
+        if (out instanceof OntSnapshot.Output) {
+            OntSnapshot.Output snapshot = (OntSnapshot.Output) out;
+            snapshot.writeGraph(m.getBaseGraph());
+            snapshot.writeCache(m);
+            return;
+        }
+        RDFDataMgr.write(out, m.getBaseGraph(), DEFAULT_SERIALIZATION_FORMAT.getLang());
     }
 
     /**
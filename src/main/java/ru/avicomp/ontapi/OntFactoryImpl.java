@@ -17,7 +17,12 @@ package ru.avicomp.ontapi;
 import javax.annotation.Nonnull;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -41,6 +46,7 @@ import com.google.common.collect.ArrayListMultimap;
 import ru.avicomp.ontapi.config.OntConfig;
 import ru.avicomp.ontapi.config.OntLoaderConfiguration;
 import ru.avicomp.ontapi.config.OntWriterConfiguration;
+import ru.avicomp.ontapi.jena.MappedGraph;
 import ru.avicomp.ontapi.jena.OntModelFactory;
 import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.utils.Graphs;
@@ -66,8 +72,16 @@ public class OntFactoryImpl implements OntologyManager.Factory {
     protected final OntLoader ontologyLoader;
 
     public OntFactoryImpl() {
-        ontologyBuilder = new OntBuilderImpl();
-        ontologyLoader = new OntModelLoaderImpl(ontologyBuilder);
+        this(new OntBuilderImpl());
+    }
+
+    protected OntFactoryImpl(OntBuilderImpl builder) {
+        this(builder, new OntModelLoaderImpl(builder));
+    }
+
+    public OntFactoryImpl(OntBuilderImpl builder, OntLoader loader) {
+        this.ontologyBuilder = OntApiException.notNull(builder, "Null builder.");
+        this.ontologyLoader = OntApiException.notNull(loader, "Null loader.");
     }
 
     @Override
@@ -213,12 +227,24 @@ public class OntFactoryImpl implements OntologyManager.Factory {
      * Should resolves problems such as cycle imports or throws informative exceptions.
      * In case of some problems while loading there is no need to clear manager to keep it synchronized
      * since models are assembled after obtaining the graphs collection.
+     * The imported documents are fetched and parsed concurrently (see {@link #fetchImports(GraphInfo, OntologyManager, OntLoaderConfiguration)}),
+     * but the graphs are assembled in the same thread and always in the same order.
      */
     public static class OntModelLoaderImpl implements OntLoader {
         protected static final Logger LOGGER = LoggerFactory.getLogger(OntModelLoaderImpl.class);
+        // the keys of the information stored along with a persistent graph:
+        protected static final String MAPPED_GRAPH_DOCUMENT = "document";
+        protected static final String MAPPED_GRAPH_FORMAT = "format";
+        protected static final String MAPPED_GRAPH_SIZE = "size";
+        protected static final String MAPPED_GRAPH_MODIFIED = "modified";
+        // to serve each store by a single thread at a time:
+        protected static final Map<Path, Object> MAPPED_GRAPH_LOCKS = new ConcurrentHashMap<>();
 
         protected Map<String, GraphInfo> graphs = new LinkedHashMap<>();
+        // the imports which are being loaded in the background, by ontology uri:
+        protected Map<String, Future<GraphInfo>> fetched = new HashMap<>();
         protected OntLoader alternative;
+        protected transient ExecutorService executor;
 
         public OntModelLoaderImpl(OntLoader alternative) {
             this.alternative = alternative;
@@ -228,6 +254,20 @@ public class OntFactoryImpl implements OntologyManager.Factory {
             this(new OWLLoaderImpl(OntApiException.notNull(builder, "Null builder.")));
         }
 
+        /**
+         * Sets the executor to load imports.
+         * If it is not specified, a new thread pool is created for each loading
+         * with the size from {@link OntLoaderConfiguration#getImportsLoadingThreads()}.
+         * The specified executor is not shut down by the loader.
+         *
+         * @param executor {@link ExecutorService} or null to use the default one
+         * @return this loader
+         */
+        public OntModelLoaderImpl setExecutor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
         @Override
         public OntologyModel load(OWLOntologyDocumentSource source, OntologyManager manager, OntLoaderConfiguration config) throws OWLOntologyCreationException {
             if (config.isUseOWLParsersToLoad()) {
@@ -260,6 +300,8 @@ public class OntFactoryImpl implements OntologyManager.Factory {
                 // null key in case of anonymous ontology.
                 // But: only one anonymous is allowed (as root of imports tree), if there is no mapping in manager.
                 graphs.put(primary.getURI(), primary);
+                // fetch the whole imports closure beforehand:
+                fetchImports(primary, manager, config);
                 // first expand graphs map by creating primary model:
                 OntologyModel res = OntApiException.notNull(createModel(primary, manager, config), "Should never happen");
                 // then process all the rest dependent models (we have already all graphs compiled, now need populate them as models):
@@ -272,6 +314,8 @@ public class OntFactoryImpl implements OntologyManager.Factory {
                 return res;
             } finally { // the possibility to reuse.
                 graphs.clear();
+                fetched.values().forEach(f -> f.cancel(true));
+                fetched.clear();
             }
         }
 
@@ -412,12 +456,88 @@ public class OntFactoryImpl implements OntologyManager.Factory {
             return graph;
         }
 
+        /**
+         * Fetches and parses all the imports closure of the given graph concurrently.
+         * The results are stored in the {@link #fetched} map and then taken by the method
+         * {@link #fetchGraph(String, OntologyManager, OntLoaderConfiguration)} while assembling the {@link UnionGraph}.
+         * Only the reading of documents is performed in the background,
+         * all other work (including any access to the manager) is done in the current thread.
+         * Each uri is submitted only once, so cycle imports are safe.
+         * Ignored imports ({@link OntLoaderConfiguration#isIgnoredImport(IRI)})
+         * and imports which are already present in the manager are skipped.
+         * Errors are not thrown here: they are rethrown later in the assembling stage,
+         * where the {@link MissingImportHandlingStrategy} is taken into account.
+         *
+         * @param root    {@link GraphInfo} the primary graph
+         * @param manager {@link OntologyManager}
+         * @param config  {@link OntLoaderConfiguration}
+         */
+        protected void fetchImports(GraphInfo root, OntologyManager manager, OntLoaderConfiguration config) {
+            int threads = config.getImportsLoadingThreads();
+            if (executor == null && threads < 2) return;
+            ExecutorService service = executor;
+            try {
+                CompletionService<GraphInfo> queue = null;
+                Deque<GraphInfo> nodes = new ArrayDeque<>();
+                nodes.add(root);
+                int pending = 0;
+                while (true) {
+                    while (!nodes.isEmpty()) {
+                        GraphInfo node = nodes.poll();
+                        for (String uri : new TreeSet<>(node.getImports())) {
+                            IRI ontologyIRI = IRI.create(uri);
+                            if (graphs.containsKey(uri) || fetched.containsKey(uri) || config.isIgnoredImport(ontologyIRI)) {
+                                continue;
+                            }
+                            OntologyModel model = findModel(manager, ontologyIRI);
+                            IRI documentIRI = model == null ? getDocumentIRI(manager, ontologyIRI) : null;
+                            if (model == null) {
+                                model = findModel(manager, documentIRI);
+                            }
+                            if (model != null) {
+                                graphs.put(uri, toGraphInfo(model, false));
+                                continue;
+                            }
+                            if (service == null) {
+                                service = Executors.newFixedThreadPool(threads);
+                            }
+                            if (queue == null) {
+                                queue = new ExecutorCompletionService<>(service);
+                            }
+                            OWLOntologyDocumentSource source = getDocumentSource(manager, ontologyIRI, documentIRI);
+                            fetched.put(uri, queue.submit(() -> loadGraph(source, null, config)));
+                            pending++;
+                        }
+                    }
+                    if (pending == 0) break;
+                    Future<GraphInfo> res = queue.take();
+                    pending--;
+                    try {
+                        nodes.add(res.get());
+                    } catch (ExecutionException e) {
+                        // will be handled while assembling the union graph.
+                        if (LOGGER.isDebugEnabled()) {
+                            LOGGER.debug("Can't fetch graph: {}", e.getCause().getMessage());
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OntApiException("Interrupted while loading imports", e);
+            } finally {
+                if (service != null && service != executor) {
+                    service.shutdownNow();
+                }
+            }
+        }
+
         /**
          * Returns the {@link Graph} wrapped by {@link GraphInfo} which corresponds the specified ontology uri.
          * If there the model ({@link OntologyModel}) with the specified uri already exists inside manager then
          * the method returns the base graph from it.
          * Otherwise it tries to load graph directly by uri or using predefined document iri from
          * some manager's iri mapper (see {@link OWLOntologyIRIMapper}).
+         * If the graph has been already fetched in the background the result is taken from the {@link #fetched} map.
          *
          * @param uri     String the ontology uri.
          * @param manager {@link OntologyManager}
@@ -429,24 +549,23 @@ public class OntFactoryImpl implements OntologyManager.Factory {
          */
         protected GraphInfo fetchGraph(String uri, OntologyManager manager, OntLoaderConfiguration config) throws OWLOntologyCreationException {
             IRI ontologyIRI = IRI.create(uri);
-            OntologyModel res = findModel(manager, ontologyIRI);
-            if (res != null) {
-                return toGraphInfo(res, false);
-            }
-            IRI documentIRI = Iter.asStream(manager.getIRIMappers().iterator())
-                    .map(m -> m.getDocumentIRI(ontologyIRI)).filter(Objects::nonNull)
-                    .findFirst().orElse(ontologyIRI);
-            // handle also the strange situation when there is no resource-mapping but a mapping on some existing ontology
-            res = findModel(manager, documentIRI);
-            if (res != null) {
-                return toGraphInfo(res, false);
+            OWLOntologyDocumentSource source = null;
+            Future<GraphInfo> f = fetched.get(uri);
+            if (f == null) {
+                OntologyModel res = findModel(manager, ontologyIRI);
+                if (res != null) {
+                    return toGraphInfo(res, false);
+                }
+                IRI documentIRI = getDocumentIRI(manager, ontologyIRI);
+                // handle also the strange situation when there is no resource-mapping but a mapping on some existing ontology
+                res = findModel(manager, documentIRI);
+                if (res != null) {
+                    return toGraphInfo(res, false);
+                }
+                source = getDocumentSource(manager, ontologyIRI, documentIRI);
             }
-            OWLOntologyID id = new OWLOntologyID(ontologyIRI);
-            OWLOntologyDocumentSource source = manager.documentSourceMappers()
-                    .map(f -> f.map(id)).findFirst()
-                    .orElse(new IRIDocumentSource(documentIRI));
             try {
-                return loadGraph(source, null, config);
+                return f == null ? loadGraph(source, null, config) : getFetched(f);
             } catch (UnsupportedFormatException e) {
                 if (alternative == null) {
                     throw e;
@@ -454,6 +573,9 @@ public class OntFactoryImpl implements OntologyManager.Factory {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Can't load graph using jena ({}), try alternative method.", e.getMessage());
                 }
+                if (source == null) {
+                    source = getDocumentSource(manager, ontologyIRI, getDocumentIRI(manager, ontologyIRI));
+                }
                 try {
                     // we need only the base graph
                     OntologyManagerImpl m = new OntologyManagerImpl(manager.getOWLDataFactory(), new NoOpReadWriteLock());
@@ -468,6 +590,59 @@ public class OntFactoryImpl implements OntologyManager.Factory {
             }
         }
 
+        /**
+         * Waits for the graph which is being loaded in the background and returns it.
+         *
+         * @param f {@link Future}
+         * @return {@link GraphInfo}
+         * @throws OWLOntologyCreationException the same exception as {@link #loadGraph(OWLOntologyDocumentSource, OntologyManager, OntLoaderConfiguration)} throws
+         */
+        protected GraphInfo getFetched(Future<GraphInfo> f) throws OWLOntologyCreationException {
+            try {
+                return f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OntApiException("Interrupted while loading imports", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof OWLOntologyCreationException) {
+                    throw (OWLOntologyCreationException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new OntApiException("Can't load graph", cause);
+            }
+        }
+
+        /**
+         * Returns the document source to load the ontology with the specified iri.
+         *
+         * @param manager     {@link OntologyManager}
+         * @param ontologyIRI {@link IRI} the ontology iri
+         * @param documentIRI {@link IRI} the document iri which is computed from the manager's iri mappers
+         * @return {@link OWLOntologyDocumentSource}
+         */
+        protected OWLOntologyDocumentSource getDocumentSource(OntologyManager manager, IRI ontologyIRI, IRI documentIRI) {
+            OWLOntologyID id = new OWLOntologyID(ontologyIRI);
+            return manager.documentSourceMappers()
+                    .map(f -> f.map(id)).findFirst()
+                    .orElse(new IRIDocumentSource(documentIRI));
+        }
+
+        /**
+         * Returns the document iri for the specified ontology iri using the manager's iri mappers.
+         *
+         * @param manager     {@link OntologyManager}
+         * @param ontologyIRI {@link IRI}
+         * @return {@link IRI}, the same as input if there is no mapping
+         */
+        protected IRI getDocumentIRI(OntologyManager manager, IRI ontologyIRI) {
+            return Iter.asStream(manager.getIRIMappers().iterator())
+                    .map(m -> m.getDocumentIRI(ontologyIRI)).filter(Objects::nonNull)
+                    .findFirst().orElse(ontologyIRI);
+        }
+
         /**
          * Finds ontology by the IRI.
          * <p>
@@ -537,8 +712,13 @@ public class OntFactoryImpl implements OntologyManager.Factory {
                         .map(OWLOntologyDocumentSource.class::cast)
                         .findFirst()
                         .orElse(source);
-                graph = OntModelFactory.createDefaultGraph();
-                format = readGraph(graph, _source, config);
+                graph = OntModelFactory.createGraph(config.isUseDictionaryGraph());
+                Path file = config.getMappedGraphDirectory().isEmpty() ? null : getDocumentFile(_source);
+                if (file == null) {
+                    format = readGraph(graph, _source, config);
+                } else {
+                    format = loadMappedGraph(graph, Paths.get(config.getMappedGraphDirectory()), file, _source, config);
+                }
             }
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Graph <{}> is loaded. Source: {}[{}]. Format: {}",
@@ -547,6 +727,79 @@ public class OntFactoryImpl implements OntologyManager.Factory {
             return new GraphInfo(graph, format, true);
         }
 
+        /**
+         * Returns the file of the document if its content is determined by the document IRI only,
+         * i.e. the source is not a stream or a string with a generated IRI.
+         *
+         * @param source {@link OWLOntologyDocumentSource}
+         * @return {@link Path} of an existing regular file or {@code null}
+         */
+        protected Path getDocumentFile(OWLOntologyDocumentSource source) {
+            if (!(source instanceof IRIDocumentSource) && !(source instanceof FileDocumentSource)) return null;
+            IRI iri = source.getDocumentIRI();
+            if (!"file".equalsIgnoreCase(iri.getScheme())) return null;
+            try {
+                Path res = Paths.get(iri.toURI());
+                return Files.isRegularFile(res) ? res : null;
+            } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Reads the document file into the graph through the persistent store inside the specified root directory.
+         * The store is (re)imported if it has not been imported yet or if the file size or modification time has changed,
+         * otherwise the document is not parsed, the triples are just copied from the store.
+         * An import is complete when its format is written to the store.
+         * The graph is a separate working copy: the store is closed afterwards and is never changed by the ontology.
+         *
+         * @param graph  {@link Graph} the graph(empty) to put in
+         * @param root   {@link Path} the root directory
+         * @param file   {@link Path} the document file
+         * @param source {@link OWLOntologyDocumentSource}
+         * @param config {@link OntLoaderConfiguration}
+         * @return {@link OntFormat}
+         * @throws OWLOntologyCreationException if the document can't be read
+         */
+        protected OntFormat loadMappedGraph(Graph graph,
+                                            Path root,
+                                            Path file,
+                                            OWLOntologyDocumentSource source,
+                                            OntLoaderConfiguration config) throws OWLOntologyCreationException {
+            String iri = source.getDocumentIRI().getIRIString();
+            String size, modified;
+            try {
+                size = String.valueOf(Files.size(file));
+                modified = String.valueOf(Files.getLastModifiedTime(file).toMillis());
+            } catch (IOException e) {
+                throw new OWLOntologyCreationException("Can't read the attributes of " + file, e);
+            }
+            Path location = MappedGraph.location(root, iri).toAbsolutePath().normalize();
+            // the same document may be requested by several import-fetching threads or managers:
+            synchronized (MAPPED_GRAPH_LOCKS.computeIfAbsent(location, k -> new Object())) {
+                MappedGraph store = MappedGraph.open(location);
+                try {
+                    String format = store.getInfo(MAPPED_GRAPH_FORMAT);
+                    if (format == null || !size.equals(store.getInfo(MAPPED_GRAPH_SIZE))
+                            || !modified.equals(store.getInfo(MAPPED_GRAPH_MODIFIED))) {
+                        store.clear();
+                        format = readGraph(store, source, config).name();
+                        store.putInfo(MAPPED_GRAPH_DOCUMENT, iri)
+                                .putInfo(MAPPED_GRAPH_SIZE, size)
+                                .putInfo(MAPPED_GRAPH_MODIFIED, modified)
+                                .putInfo(MAPPED_GRAPH_FORMAT, format).flush();
+                    } else if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("The document <{}> is reopened from the store {}", iri, location);
+                    }
+                    GraphUtil.addInto(graph, store);
+                    graph.getPrefixMapping().setNsPrefixes(store.getPrefixMapping());
+                    return OntFormat.valueOf(format);
+                } finally {
+                    store.close();
+                }
+            }
+        }
+
         /**
          * The main method to read the source document to the graph.
          * For generality it is public.
@@ -623,7 +876,11 @@ public class OntFactoryImpl implements OntologyManager.Factory {
         }
 
         /**
-         * Performs reading to the graph from the source using ont-supplier which produces input stream each time
+         * Performs reading to the graph from the source using ont-supplier which produces input stream each time.
+         * If the source has no explicit format, the syntax is guessed first by the content of the document
+         * (see {@link OntFormatDetector}), and the document is parsed exactly once in case of a right guess.
+         * Only if the guess fails, all other supported formats are tried one by one.
+         * The graph is not left with the partial data from a failed attempt.
          *
          * @param graph    {@link Graph}
          * @param source   {@link OWLOntologyDocumentSource}
@@ -633,8 +890,30 @@ public class OntFactoryImpl implements OntologyManager.Factory {
          */
         protected static OntFormat read(Graph graph, OWLOntologyDocumentSource source, OntInputSupplier supplier) throws OWLOntologyCreationException {
             IRI iri = source.getDocumentIRI();
+            Set<OntFormat> formats = getSupportedFormats(source);
             OWLOntologyCreationException cause = null;
-            for (OntFormat format : getSupportedFormats(source)) {
+            if (!source.getFormat().isPresent()) {
+                try (InputStream is = buffer(supplier.open(source))) {
+                    OntFormat format = detectFormat(source, is);
+                    if (format != null && format.isOWLOnly()) {
+                        throw new UnsupportedFormatException("Format " + format + " is not supported by jena.");
+                    }
+                    if (format != null) {
+                        formats.remove(format);
+                        try {
+                            parse(graph, is, iri.toString(), format.getLang());
+                            return format;
+                        } catch (RuntimeException e) {
+                            if (LOGGER.isDebugEnabled())
+                                LOGGER.debug("<{}> failed: '{}'", format.getLang(), e.getMessage());
+                            cause = new UnsupportedFormatException(String.format("Can't read %s from iri <%s>: %s", format, iri, e.getMessage()), e);
+                        }
+                    }
+                } catch (OWLOntologyInputSourceException | IOException e) {
+                    throw new OWLOntologyCreationException("Can't open or close input stream from " + iri, e);
+                }
+            }
+            for (OntFormat format : formats) {
                 if (format.isOWLOnly()) {
                     if (cause == null) {
                         cause = new UnsupportedFormatException("Format " + format + " is not supported by jena.");
@@ -646,7 +925,7 @@ public class OntFactoryImpl implements OntologyManager.Factory {
                     if (LOGGER.isDebugEnabled())
                         LOGGER.debug("try <{}>", lang);
                     // with @base:
-                    RDFDataMgr.read(graph, is, iri.toString(), lang);
+                    parse(graph, is, iri.toString(), lang);
                     return format;
                 } catch (OWLOntologyInputSourceException | IOException e) {
                     throw new OWLOntologyCreationException("Can't open or close input stream from " + iri, e);
@@ -662,6 +941,58 @@ public class OntFactoryImpl implements OntologyManager.Factory {
             throw cause;
         }
 
+        /**
+         * Guesses the format of the document by its content.
+         * A low-confidence guess gives way to the format computed from the mime-type or the file extension.
+         *
+         * @param source {@link OWLOntologyDocumentSource}
+         * @param is     {@link InputStream} which supports marks, it is reset after detection
+         * @return {@link OntFormat} or null if the format is unknown
+         * @throws IOException if an I/O error occurs
+         * @see OntFormatDetector
+         */
+        protected static OntFormat detectFormat(OWLOntologyDocumentSource source, InputStream is) throws IOException {
+            OntFormatDetector.Result res = OntFormatDetector.detect(is);
+            OntFormat hint = guessFormat(source);
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("Detected format of <{}>: {}, hint: {}", source.getDocumentIRI(), res, hint);
+            if (res == null) {
+                return hint;
+            }
+            if (res.getConfidence() == OntFormatDetector.Confidence.LOW && hint != null && hint.isSupported()) {
+                return hint;
+            }
+            return res.getFormat();
+        }
+
+        /**
+         * Parses the stream into the graph in the given syntax.
+         * In case of error no partial data remains in the graph.
+         *
+         * @param graph {@link Graph} to put in
+         * @param is    {@link InputStream}
+         * @param base  String base uri
+         * @param lang  {@link Lang}
+         * @throws RuntimeException if the document cannot be parsed
+         */
+        protected static void parse(Graph graph, InputStream is, String base, Lang lang) {
+            if (graph.isEmpty()) {
+                Map<String, String> prefixes = graph.getPrefixMapping().getNsPrefixMap();
+                try {
+                    RDFDataMgr.read(graph, is, base, lang);
+                } catch (RuntimeException e) {
+                    graph.clear();
+                    graph.getPrefixMapping().clearNsPrefixMap().setNsPrefixes(prefixes);
+                    throw e;
+                }
+                return;
+            }
+            Graph tmp = OntModelFactory.createDefaultGraph();
+            RDFDataMgr.read(tmp, is, base, lang);
+            GraphUtil.addInto(graph, tmp);
+            graph.getPrefixMapping().setNsPrefixes(tmp.getPrefixMapping());
+        }
+
         protected static InputStream asInputStream(Reader reader) {
             return new ReaderInputStream(reader, StandardCharsets.UTF_8);
         }
@@ -0,0 +1,306 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The helper to guess the syntax of a document by its content, without parsing it.
+ * It looks only at the bounded prefix of the document ({@link #PREFIX_LENGTH} bytes)
+ * and classifies it as one of the following formats:
+ * RDF/XML, OWL/XML, TriX, RDFa, JSON-LD, RDF/JSON, Turtle, TriG, N-Triples, N-Quads, RDF-Thrift, BinaryRDF,
+ * Functional Syntax, Manchester Syntax and OBO.
+ * Each guess is accompanied by the {@link Confidence}.
+ *
+ * @see OntFactoryImpl.OntModelLoaderImpl#read(org.apache.jena.graph.Graph, org.semanticweb.owlapi.io.OWLOntologyDocumentSource, OntFactoryImpl.OntModelLoaderImpl.OntInputSupplier)
+ */
+public class OntFormatDetector {
+    public static final int PREFIX_LENGTH = 8192;
+
+    private static final String RDF_NS = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+    private static final String OWL_NS = "http://www.w3.org/2002/07/owl#";
+
+    private static final Pattern XML_ELEMENT = Pattern.compile("^<([A-Za-z_][\\w.-]*:)?([A-Za-z_][\\w.-]*)[\\s>/]");
+    private static final Pattern FUNCTIONAL = Pattern.compile("^(Prefix|Ontology|Import|Declaration)\\s*\\(");
+    private static final Pattern MANCHESTER = Pattern.compile("^(Prefix|Ontology|Import|Class|ObjectProperty|DataProperty|AnnotationProperty|Individual|Datatype):");
+    private static final Pattern OBO = Pattern.compile("^(format-version:|\\[(Term|Typedef|Instance)])");
+    private static final Pattern TURTLE_DIRECTIVE = Pattern.compile("^(@prefix|@base)\\s|^(?i:prefix|base)\\s");
+    private static final Pattern GRAPH_BLOCK = Pattern.compile("(?m)^\\s*(?i:graph\\s+)?(<[^>\\s]*>|[\\w-]*:[\\w.-]*|_:\\S+)?\\s*\\{");
+    private static final Pattern NT_TERM = Pattern.compile("\\s*(<[^>\\s]*>|_:[^\\s.]+(\\.[^\\s.]+)*|\"([^\"\\\\]|\\\\.)*\"(@[A-Za-z0-9-]+|\\^\\^<[^>\\s]*>)?)");
+    private static final Pattern NT_END = Pattern.compile("\\s*\\.\\s*(#.*)?");
+
+    /**
+     * Guesses the syntax of the document from the stream.
+     * The stream must support marks, it is reset to the initial position after reading the prefix.
+     *
+     * @param in {@link InputStream}
+     * @return {@link Result} or {@code null} if the syntax is unknown
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if the stream does not support marks
+     */
+    public static Result detect(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("The stream does not support marks.");
+        }
+        byte[] bytes = new byte[PREFIX_LENGTH];
+        in.mark(PREFIX_LENGTH);
+        int length = 0;
+        try {
+            int n;
+            while (length < bytes.length && (n = in.read(bytes, length, bytes.length - length)) != -1) {
+                length += n;
+            }
+        } finally {
+            in.reset();
+        }
+        return detect(bytes, length, length < PREFIX_LENGTH);
+    }
+
+    /**
+     * Guesses the syntax of the document by its prefix.
+     *
+     * @param bytes    array of bytes
+     * @param length   the number of bytes to consider
+     * @param complete boolean, {@code true} if the prefix is the whole document
+     * @return {@link Result} or {@code null} if the syntax is unknown
+     */
+    public static Result detect(byte[] bytes, int length, boolean complete) {
+        if (length == 0) return null;
+        if (startsWith(bytes, length, "BRDF")) {
+            return new Result(OntFormat.BINARY, Confidence.HIGH);
+        }
+        if (isBinary(bytes, length)) {
+            return new Result(OntFormat.RDF_THRIFT, Confidence.MEDIUM);
+        }
+        String text = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        if (!complete) { // drop the last incomplete line
+            int i = text.lastIndexOf('\n');
+            if (i > 0) text = text.substring(0, i);
+        }
+        return detect(text);
+    }
+
+    /**
+     * Guesses the syntax of the document by its textual prefix.
+     *
+     * @param text String
+     * @return {@link Result} or {@code null} if the syntax is unknown
+     */
+    public static Result detect(String text) {
+        if (text.startsWith("\uFEFF")) text = text.substring(1);
+        String start = skipComments(text);
+        if (start.isEmpty()) return null;
+        char first = start.charAt(0);
+        if (first == '<' && isXML(start)) {
+            return detectXML(start);
+        }
+        if (first == '{' || first == '[' && !OBO.matcher(start).find()) {
+            return detectJSON(start);
+        }
+        if (FUNCTIONAL.matcher(start).find()) {
+            return new Result(OntFormat.FUNCTIONAL_SYNTAX, Confidence.HIGH);
+        }
+        if (MANCHESTER.matcher(start).find()) {
+            return new Result(OntFormat.MANCHESTER_SYNTAX, Confidence.HIGH);
+        }
+        if (OBO.matcher(start).find()) {
+            return new Result(OntFormat.OBO, start.startsWith("format-version:") ? Confidence.HIGH : Confidence.MEDIUM);
+        }
+        if (TURTLE_DIRECTIVE.matcher(start).find()) {
+            return GRAPH_BLOCK.matcher(start).find() ? new Result(OntFormat.TRIG, Confidence.MEDIUM) : new Result(OntFormat.TURTLE, Confidence.HIGH);
+        }
+        return detectLines(start);
+    }
+
+    private static Result detectXML(String text) {
+        String root = rootElement(text);
+        if (root == null) {
+            return new Result(OntFormat.RDF_XML, Confidence.LOW);
+        }
+        String name = root.contains(":") ? root.substring(root.indexOf(':') + 1) : root;
+        if ("RDF".equals(name)) {
+            return new Result(OntFormat.RDF_XML, Confidence.HIGH);
+        }
+        if ("Ontology".equals(name) && text.contains(OWL_NS)) {
+            return new Result(OntFormat.OWL_XML, Confidence.HIGH);
+        }
+        if ("TriX".equalsIgnoreCase(name)) {
+            return new Result(OntFormat.TRIX, Confidence.HIGH);
+        }
+        if ("html".equalsIgnoreCase(name)) {
+            return new Result(OntFormat.RDFA, Confidence.MEDIUM);
+        }
+        return new Result(OntFormat.RDF_XML, text.contains(RDF_NS) ? Confidence.MEDIUM : Confidence.LOW);
+    }
+
+    private static Result detectJSON(String text) {
+        if (text.contains("\"@context\"") || text.contains("\"@id\"") || text.contains("\"@graph\"")) {
+            return new Result(OntFormat.JSON_LD, Confidence.HIGH);
+        }
+        if (text.contains("\"type\"") && text.contains("\"value\"")
+                && (text.contains("\"uri\"") || text.contains("\"literal\"") || text.contains("\"bnode\""))) {
+            return new Result(OntFormat.RDF_JSON, Confidence.HIGH);
+        }
+        return new Result(OntFormat.JSON_LD, Confidence.LOW);
+    }
+
+    /**
+     * Checks the line-based syntaxes: N-Triples and N-Quads.
+     * If the lines do not match them the result is TriG or Turtle.
+     *
+     * @param text String
+     * @return {@link Result}
+     */
+    private static Result detectLines(String text) {
+        int triples = 0, quads = 0;
+        for (String line : text.split("\\r?\\n")) {
+            String s = line.trim();
+            if (s.isEmpty() || s.startsWith("#")) continue;
+            int terms = countTerms(s);
+            if (terms == 3) {
+                triples++;
+            } else if (terms == 4) {
+                quads++;
+            } else {
+                return GRAPH_BLOCK.matcher(text).find() ? new Result(OntFormat.TRIG, Confidence.LOW) : new Result(OntFormat.TURTLE, Confidence.LOW);
+            }
+        }
+        if (quads == 0) {
+            return new Result(OntFormat.NTRIPLES, Confidence.HIGH);
+        }
+        return new Result(OntFormat.NQUADS, triples == 0 ? Confidence.HIGH : Confidence.MEDIUM);
+    }
+
+    /**
+     * Answers the number of N-Triples terms in the line or {@code -1} if the line is not a N-Triples or N-Quads statement.
+     *
+     * @param line String
+     * @return int
+     */
+    private static int countTerms(String line) {
+        Matcher m = NT_TERM.matcher(line);
+        int res = 0;
+        int pos = 0;
+        while (m.find(pos) && m.start() == pos) {
+            res++;
+            pos = m.end();
+        }
+        return NT_END.matcher(line.substring(pos)).matches() ? res : -1;
+    }
+
+    private static String rootElement(String text) {
+        String s = text;
+        while (s.startsWith("<?") || s.startsWith("<!")) {
+            int i = s.startsWith("<!--") ? s.indexOf("-->") : s.indexOf('>');
+            if (i < 0) return null;
+            s = s.substring(i + (s.startsWith("<!--") ? 3 : 1)).trim();
+        }
+        Matcher m = XML_ELEMENT.matcher(s);
+        if (!m.find()) return null;
+        return m.group(1) == null ? m.group(2) : m.group(1) + m.group(2);
+    }
+
+    private static boolean isXML(String text) {
+        return text.startsWith("<?xml") || text.startsWith("<!") || XML_ELEMENT.matcher(text).find() && (text.contains("xmlns") || text.contains("</"));
+    }
+
+    private static String skipComments(String text) {
+        List<String> res = new ArrayList<>();
+        boolean start = true;
+        for (String line : text.split("\\r?\\n", -1)) {
+            String s = line.trim();
+            if (start && (s.isEmpty() || s.startsWith("#") || s.startsWith("//"))) continue;
+            start = false;
+            res.add(line);
+        }
+        return String.join("\n", res).trim();
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, String prefix) {
+        if (length < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (bytes[i] != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Answers {@code true} if the prefix contains zero bytes or too many control characters.
+     *
+     * @param bytes  array
+     * @param length int
+     * @return boolean
+     */
+    private static boolean isBinary(byte[] bytes, int length) {
+        int n = Math.min(length, 512);
+        int control = 0;
+        for (int i = 0; i < n; i++) {
+            int b = bytes[i] & 0xFF;
+            if (b == 0) return true;
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f') control++;
+        }
+        return control * 10 > n;
+    }
+
+    /**
+     * The confidence level of a guess.
+     */
+    public enum Confidence {
+        /**
+         * The document has the distinctive signature of the format (e.g. a root element or a directive).
+         */
+        HIGH,
+        /**
+         * The document looks like the format, but it is not the only possible variant.
+         */
+        MEDIUM,
+        /**
+         * The format is chosen as the most probable default.
+         */
+        LOW,
+    }
+
+    /**
+     * The result of detection: the format and the confidence.
+     */
+    public static class Result {
+        private final OntFormat format;
+        private final Confidence confidence;
+
+        public Result(OntFormat format, Confidence confidence) {
+            this.format = OntApiException.notNull(format, "Null format.");
+            this.confidence = OntApiException.notNull(confidence, "Null confidence.");
+        }
+
+        public OntFormat getFormat() {
+            return format;
+        }
+
+        public Confidence getConfidence() {
+            return confidence;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s(%s)", format, confidence);
+        }
+    }
+}
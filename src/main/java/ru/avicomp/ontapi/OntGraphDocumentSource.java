@@ -26,6 +26,7 @@ import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.shared.PrefixMapping;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.PrefixManager;
 import org.slf4j.Logger;
@@ -57,6 +58,28 @@ public abstract class OntGraphDocumentSource implements OWLOntologyDocumentSourc
      */
     public abstract Graph getGraph();
 
+    /**
+     * Wraps the graph as a document source, e.g. to load an ontology
+     * from a persistent store ({@link ru.avicomp.ontapi.jena.MappedGraph#open(java.nio.file.Path)}).
+     *
+     * @param graph {@link Graph}
+     * @return {@link OntGraphDocumentSource}
+     */
+    public static OntGraphDocumentSource wrap(Graph graph) {
+        IRI iri = IRI.create("graph:", String.valueOf(System.identityHashCode(graph)));
+        return new OntGraphDocumentSource() {
+            @Override
+            public Graph getGraph() {
+                return graph;
+            }
+
+            @Override
+            public IRI getDocumentIRI() {
+                return iri;
+            }
+        };
+    }
+
     @Override
     public Optional<Reader> getReader() {
         return getInputStream().map(is -> new InputStreamReader(is, Charsets.UTF_8));
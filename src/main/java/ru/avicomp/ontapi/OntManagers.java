@@ -14,6 +14,9 @@
 
 package ru.avicomp.ontapi;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -68,6 +71,30 @@ public class OntManagers implements OWLOntologyManagerFactory {
         return new ONTManagerProfile(Concurrency.CONCURRENT).create();
     }
 
+    /**
+     * Creates a concurrent manager in copy-on-write mode:
+     * the ontology readers do not need any lock, they see the last committed version of an ontology,
+     * while the writers prepare the next version aside.
+     *
+     * @return {@link OntologyManager}
+     * @see CopyOnWriteLock
+     */
+    public static OntologyManager createCopyOnWriteONT() {
+        return new ONTManagerProfile(Concurrency.CONCURRENT, true).create();
+    }
+
+    /**
+     * Restores the manager from the binary snapshot.
+     *
+     * @param in {@link InputStream}
+     * @return {@link OntologyManager}
+     * @throws IOException if any i/o problem occurs or the snapshot is broken or of another version
+     * @see OntologyManager#saveSnapshot(OutputStream, boolean)
+     */
+    public static OntologyManager restoreSnapshot(InputStream in) throws IOException {
+        return OntSnapshot.read(in);
+    }
+
     public static OWLOntologyManager createOWL() {
         return new OWLManagerProfile(Concurrency.NON_CONCURRENT).create();
     }
@@ -110,9 +137,23 @@ public class OntManagers implements OWLOntologyManagerFactory {
      */
     public static class ONTManagerProfile extends BaseProfile implements Profile<OntologyManager> {
         private static final OWLOntologyManager FACTORIES = new OWLManagerProfile(Concurrency.NON_CONCURRENT).create();
+        protected final boolean copyOnWrite;
 
         public ONTManagerProfile(Concurrency concurrent) {
+            this(concurrent, false);
+        }
+
+        /**
+         * @param concurrent  {@link Concurrency}
+         * @param copyOnWrite if true and the concurrency is allowed then the manager will use {@link CopyOnWriteLock}
+         */
+        public ONTManagerProfile(Concurrency concurrent, boolean copyOnWrite) {
             super(concurrent);
+            this.copyOnWrite = copyOnWrite;
+        }
+
+        public boolean isCopyOnWrite() {
+            return copyOnWrite;
         }
 
         @Override
@@ -121,7 +162,8 @@ public class OntManagers implements OWLOntologyManagerFactory {
             // (and actually we don' need them to work with ONT-API if we don't use OWL-specific formats to load or save ontologies)
             Set<OWLStorerFactory> storers = Sets.newHashSet(FACTORIES.getOntologyStorers());
             Set<OWLParserFactory> parsers = Sets.newHashSet(FACTORIES.getOntologyParsers());
-            ReadWriteLock lock = Concurrency.CONCURRENT.equals(concurrency) ? new ReentrantReadWriteLock() : new NoOpReadWriteLock();
+            ReadWriteLock lock = Concurrency.CONCURRENT.equals(concurrency) ?
+                    copyOnWrite ? new CopyOnWriteLock() : new ReentrantReadWriteLock() : new NoOpReadWriteLock();
             OntologyManager res = new OntologyManagerImpl(new OWLDataFactoryImpl(), lock);
             res.setOntologyStorers(storers);
             res.setOntologyParsers(parsers);
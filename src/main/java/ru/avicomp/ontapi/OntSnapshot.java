@@ -0,0 +1,360 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.*;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import ru.avicomp.ontapi.internal.CompactSets;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+
+/**
+ * The binary snapshot of the {@link OntologyManager} with all its content.
+ * Unlike the plain java serialization (which writes each base graph as RDF-Thrift and loses all caches)
+ * the snapshot keeps:
+ * <ul>
+ * <li>the base graphs, written through the common node table with the original blank node labels</li>
+ * <li>the import topology and the configs (the manager structure is written by the java serialization)</li>
+ * <li>optionally, the axioms and annotations caches (i.e. the content of
+ * {@link InternalModel.OwlObjectTriplesMap}s), the signature (entities) caches and
+ * the marks of the signature indexes, which are rebuilt eagerly while restoring</li>
+ * </ul>
+ * So the manager restored with the caches is warm: the first axioms query does not read the graphs again.
+ * The format: the header ({@link #MAGIC}, {@link #VERSION}, the flags) and then the object stream,
+ * where each ontology is followed by its graph and (optionally) its caches.
+ * A snapshot of another version is rejected.
+ *
+ * @see OntologyManager#saveSnapshot(OutputStream, boolean)
+ * @see OntManagers#restoreSnapshot(InputStream)
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntSnapshot {
+    public static final int MAGIC = 0x4F4E5453; // "ONTS"
+    public static final int VERSION = 2;
+    private static final int WITH_CACHES = 1;
+
+    private static final byte URI = 'U';
+    private static final byte BLANK = 'B';
+    private static final byte LITERAL = 'L';
+
+    /**
+     * Writes the snapshot of the manager to the stream.
+     * The stream is not closed.
+     *
+     * @param manager {@link OntologyManager}, must be {@link Serializable}
+     * @param out     {@link OutputStream}
+     * @param caches  if true the axioms and signature caches are written also
+     * @throws IOException if any i/o problem occurs
+     */
+    public static void write(OntologyManager manager, OutputStream out, boolean caches) throws IOException {
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(caches ? WITH_CACHES : 0);
+        header.flush();
+        Output res = new Output(out, caches);
+        res.writeObject(manager);
+        res.flush();
+    }
+
+    /**
+     * Reads the manager from the snapshot.
+     * The stream is not closed.
+     *
+     * @param in {@link InputStream}
+     * @return {@link OntologyManager}
+     * @throws IOException if any i/o problem occurs or the stream is not a snapshot of the supported version
+     */
+    public static OntologyManager read(InputStream in) throws IOException {
+        DataInputStream header = new DataInputStream(in);
+        if (header.readInt() != MAGIC) {
+            throw new StreamCorruptedException("Not an ONT-API snapshot.");
+        }
+        int version = header.readInt();
+        if (version != VERSION) {
+            throw new InvalidClassException(OntSnapshot.class.getName(), "Unsupported snapshot version: " + version);
+        }
+        Input res = new Input(in, (header.readInt() & WITH_CACHES) != 0);
+        try {
+            return (OntologyManager) res.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+
+    /**
+     * The snapshot output, it is recognized by {@link OntBaseModelImpl} while serialization.
+     * Each node is written only once, the next occurrences are written as the int number.
+     */
+    public static class Output extends ObjectOutputStream {
+        private final Map<Node, Integer> nodes = new HashMap<>();
+        private final boolean caches;
+
+        protected Output(OutputStream out, boolean caches) throws IOException {
+            super(out);
+            this.caches = caches;
+        }
+
+        public void writeGraph(Graph graph) throws IOException {
+            writeInt(graph.size());
+            ExtendedIterator<Triple> it = graph.find(Triple.ANY);
+            try {
+                while (it.hasNext()) {
+                    writeTriple(it.next());
+                }
+            } finally {
+                it.close();
+            }
+        }
+
+        /**
+         * Writes the caches of the model: the axioms and annotations stores, the signature sets and the unread triples.
+         * Does nothing if the snapshot is without caches.
+         *
+         * @param model {@link InternalModel}
+         * @throws IOException if any i/o problem occurs
+         */
+        public void writeCache(InternalModel model) throws IOException {
+            if (!caches) return;
+            Collection<InternalModel.OwlObjectTriplesMap<? extends OWLObject>> stores = model.cachedStores();
+            writeInt(stores.size());
+            for (InternalModel.OwlObjectTriplesMap<? extends OWLObject> store : stores) {
+                writeStore(store);
+            }
+            Map<Class<? extends OWLObject>, InternalModel.ObjectsCounter<? extends OWLObject>> objects = model.cachedObjects();
+            writeInt(objects.size());
+            for (Map.Entry<Class<? extends OWLObject>, InternalModel.ObjectsCounter<? extends OWLObject>> e : objects.entrySet()) {
+                writeObject(e.getKey());
+                Map<? extends OWLObject, Integer> counts = e.getValue().counts();
+                writeInt(counts.size());
+                for (Map.Entry<? extends OWLObject, Integer> c : counts.entrySet()) {
+                    writeObject(c.getKey());
+                    writeInt(c.getValue());
+                }
+            }
+            Set<Triple> unread = model.unreadTriples();
+            writeInt(unread.size());
+            for (Triple t : unread) {
+                writeTriple(t);
+            }
+        }
+
+        private <O extends OWLObject> void writeStore(InternalModel.OwlObjectTriplesMap<O> store) throws IOException {
+            writeObject(store.type());
+            writeBoolean(store.hasSignature());
+            Set<O> objects = store.getObjects();
+            writeInt(objects.size());
+            for (O o : objects) {
+                writeObject(o);
+                Set<Triple> triples = store.get(o);
+                writeInt(triples.size());
+                for (Triple t : triples) {
+                    writeTriple(t);
+                }
+            }
+        }
+
+        protected void writeTriple(Triple t) throws IOException {
+            writeNode(t.getSubject());
+            writeNode(t.getPredicate());
+            writeNode(t.getObject());
+        }
+
+        protected void writeNode(Node n) throws IOException {
+            Integer id = nodes.get(n);
+            if (id != null) {
+                writeInt(id);
+                return;
+            }
+            writeInt(nodes.size());
+            nodes.put(n, nodes.size());
+            if (n.isURI()) {
+                writeByte(URI);
+                writeString(n.getURI());
+            } else if (n.isBlank()) {
+                writeByte(BLANK);
+                writeString(n.getBlankNodeLabel());
+            } else if (n.isLiteral()) {
+                writeByte(LITERAL);
+                writeString(n.getLiteralLexicalForm());
+                writeString(n.getLiteralLanguage());
+                writeString(n.getLiteralDatatypeURI());
+            } else {
+                throw new NotSerializableException("Unexpected node " + n);
+            }
+        }
+
+        protected void writeString(String s) throws IOException {
+            // not writeUTF: the literals could be longer than 64K
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeInt(bytes.length);
+            write(bytes);
+        }
+    }
+
+    /**
+     * The snapshot input, it is recognized by {@link OntBaseModelImpl} and {@link OntologyManagerImpl} while deserialization.
+     * The caches are read along with the graphs and are kept here until the manager builds the models.
+     */
+    public static class Input extends ObjectInputStream {
+        private final List<Node> nodes = new ArrayList<>();
+        private final Map<Graph, Cache> caches = new IdentityHashMap<>();
+        private final boolean withCaches;
+
+        protected Input(InputStream in, boolean caches) throws IOException {
+            super(in);
+            this.withCaches = caches;
+        }
+
+        public Graph readGraph() throws IOException {
+            Graph res = OntModelFactory.createDefaultGraph();
+            int size = readInt();
+            for (int i = 0; i < size; i++) {
+                res.add(readTriple());
+            }
+            return res;
+        }
+
+        /**
+         * Reads the caches for the specified graph, they will be applied by the {@link #applyCache(InternalModel)}.
+         * Does nothing if the snapshot is without caches.
+         *
+         * @param graph {@link Graph} the base graph which has just been read
+         * @throws IOException            if any i/o problem occurs
+         * @throws ClassNotFoundException if a class of some cached object is not found
+         */
+        public void readCache(Graph graph) throws IOException, ClassNotFoundException {
+            if (!withCaches) return;
+            Cache res = new Cache();
+            int stores = readInt();
+            for (int i = 0; i < stores; i++) {
+                res.stores.add(readStore());
+            }
+            int types = readInt();
+            for (int i = 0; i < types; i++) {
+                Class<? extends OWLObject> type = readClass();
+                int size = readInt();
+                Map<OWLObject, Integer> counts = new HashMap<>(size);
+                for (int j = 0; j < size; j++) {
+                    counts.put((OWLObject) readObject(), readInt());
+                }
+                res.objects.put(type, counts);
+            }
+            int unread = readInt();
+            for (int i = 0; i < unread; i++) {
+                res.unread.add(readTriple());
+            }
+            caches.put(graph, res);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Store<OWLObject> readStore() throws IOException, ClassNotFoundException {
+            Store<OWLObject> res = new Store<>((Class<OWLObject>) readClass(), readBoolean());
+            int size = readInt();
+            for (int i = 0; i < size; i++) {
+                OWLObject o = (OWLObject) readObject();
+                int count = readInt();
+                Set<Triple> triples = new HashSet<>(count);
+                for (int j = 0; j < count; j++) {
+                    triples.add(readTriple());
+                }
+                res.objects.put(o, CompactSets.of(triples));
+            }
+            return res;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Class<? extends OWLObject> readClass() throws IOException, ClassNotFoundException {
+            return (Class<? extends OWLObject>) readObject();
+        }
+
+        /**
+         * Puts the caches that have been read for the base graph of the specified model into that model.
+         *
+         * @param model {@link InternalModel}
+         */
+        @SuppressWarnings("unchecked")
+        public void applyCache(InternalModel model) {
+            Cache cache = caches.remove(model.getBaseGraph());
+            if (cache == null) return;
+            cache.stores.forEach(s -> model.putStore(s.type, s.objects, s.signature));
+            cache.objects.forEach((type, counts) -> model.putObjects((Class<OWLObject>) type, counts));
+            model.unreadTriples().addAll(cache.unread);
+        }
+
+        protected Triple readTriple() throws IOException {
+            return Triple.create(readNode(), readNode(), readNode());
+        }
+
+        protected Node readNode() throws IOException {
+            int id = readInt();
+            if (id < nodes.size()) return nodes.get(id);
+            if (id != nodes.size()) {
+                throw new StreamCorruptedException("Wrong node id " + id);
+            }
+            Node res;
+            byte kind = readByte();
+            switch (kind) {
+                case URI:
+                    res = NodeFactory.createURI(readString());
+                    break;
+                case BLANK:
+                    res = NodeFactory.createBlankNode(readString());
+                    break;
+                case LITERAL:
+                    String lex = readString();
+                    String lang = readString();
+                    String dt = readString();
+                    res = lang.isEmpty() ? NodeFactory.createLiteral(lex, TypeMapper.getInstance().getSafeTypeByName(dt)) :
+                            NodeFactory.createLiteral(lex, lang);
+                    break;
+                default:
+                    throw new StreamCorruptedException("Unexpected node kind " + kind);
+            }
+            nodes.add(res);
+            return res;
+        }
+
+        protected String readString() throws IOException {
+            byte[] bytes = new byte[readInt()];
+            readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class Cache {
+        private final List<Store<OWLObject>> stores = new ArrayList<>();
+        private final Map<Class<? extends OWLObject>, Map<OWLObject, Integer>> objects = new HashMap<>();
+        private final Set<Triple> unread = new HashSet<>();
+    }
+
+    private static class Store<O extends OWLObject> {
+        private final Class<O> type;
+        private final boolean signature;
+        private final Map<O, Set<Triple>> objects = new HashMap<>();
+
+        private Store(Class<O> type, boolean signature) {
+            this.type = type;
+            this.signature = signature;
+        }
+    }
+}
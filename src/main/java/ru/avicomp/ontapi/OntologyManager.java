@@ -17,7 +17,9 @@ package ru.avicomp.ontapi;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -51,6 +53,7 @@ import uk.ac.manchester.cs.owl.owlapi.OWLOntologyManagerImpl;
  * - {@link #addDocumentSourceMapper(DocumentSourceMapping)}
  * - {@link #removeDocumentSourceMapper(DocumentSourceMapping)}
  * - {@link #documentSourceMappers()}
+ * - {@link #saveSnapshot(OutputStream, boolean)}
  * <p>
  * Created by szuev on 24.10.2016.
  */
@@ -112,6 +115,21 @@ public interface OntologyManager extends OWLOntologyManager {
      */
     Stream<DocumentSourceMapping> documentSourceMappers();
 
+    /**
+     * Writes the binary snapshot of this manager with all ontologies, their import links and the configs.
+     * If {@code caches} is true, the axioms and signature caches are also written,
+     * so that the restored manager does not need to read the graphs again.
+     * The stream is not closed.
+     * New (ONT-API) method.
+     *
+     * @param out    {@link OutputStream}
+     * @param caches boolean
+     * @throws IOException if any i/o problem occurs
+     * @see OntManagers#restoreSnapshot(InputStream)
+     * @see OntSnapshot
+     */
+    void saveSnapshot(@Nonnull OutputStream out, boolean caches) throws IOException;
+
     /**
      * Contrary to the original description this method works with version IRI also if it fails with ontology IRI.
      *
@@ -21,6 +21,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -29,9 +30,11 @@ import java.util.stream.Stream;
 
 import org.apache.commons.io.output.WriterOutputStream;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.shared.JenaException;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
 import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
 import org.semanticweb.owlapi.io.*;
 import org.semanticweb.owlapi.model.*;
@@ -55,6 +58,8 @@ import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
 import ru.avicomp.ontapi.jena.impl.configuration.OntPersonality;
 import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Models;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import uk.ac.manchester.cs.owl.owlapi.OWLOntologyManagerImpl;
 import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentPriorityCollection;
 import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
@@ -111,6 +116,16 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         return !NoOpReadWriteLock.class.isInstance(lock);
     }
 
+    /**
+     * Answers whether this manager is in copy-on-write concurrency mode.
+     *
+     * @return boolean
+     * @see CopyOnWriteLock
+     */
+    public boolean isCopyOnWrite() {
+        return lock instanceof CopyOnWriteLock;
+    }
+
     @Nonnull
     public ReadWriteLock getLock() {
         return lock;
@@ -335,6 +350,24 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         return documentSourceMappers.stream();
     }
 
+    /**
+     * Writes the manager snapshot under the read lock.
+     *
+     * @param out    {@link OutputStream}
+     * @param caches boolean
+     * @throws IOException if any i/o problem occurs
+     * @see OntSnapshot
+     */
+    @Override
+    public void saveSnapshot(@Nonnull OutputStream out, boolean caches) throws IOException {
+        getLock().readLock().lock();
+        try {
+            OntSnapshot.write(this, out, caches);
+        } finally {
+            getLock().readLock().unlock();
+        }
+    }
+
     /**
      * @param mapper {@link OWLOntologyIRIMapper}
      * @see OWLOntologyManagerImpl#addIRIMapper(OWLOntologyIRIMapper)
@@ -576,7 +609,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
             if (doc == null) {
                 throw new OWLOntologyCreationException("Can't compute document iri from id " + id);
             }
-            if (content.values().anyMatch(o -> Objects.equals(o.getDocumentIRI(), doc))) {
+            if (content.byDocumentIRI(doc).findFirst().isPresent()) {
                 throw new OWLOntologyDocumentAlreadyExistsException(doc);
             }
             for (OWLOntologyFactory factory : ontologyFactories) {
@@ -765,7 +798,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
             OWLOntologyID id = new OWLOntologyID(Optional.of(iri), Optional.empty());
             Optional<OntInfo> res = content.get(id);
             if (!res.isPresent()) {
-                res = content.values().filter(e -> e.id().match(iri)).findFirst();
+                res = content.byIRI(iri).findFirst();
             }
             return res.map(OntInfo::get).orElse(null);
         } finally {
@@ -787,7 +820,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         try {
             Optional<OntInfo> res = content.get(id);
             if (!res.isPresent() && !id.isAnonymous()) {
-                res = content.values().filter(e -> e.id().matchOntology(id.getOntologyIRI().get())).findFirst();
+                res = content.byOntologyIRI(id.getOntologyIRI().get()).findFirst();
             }
             return res.map(OntInfo::get).orElse(null);
         } finally {
@@ -805,7 +838,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         OntApiException.notNull(iri, "Ontology IRI cannot be null");
         getLock().readLock().lock();
         try {
-            return content.keys().anyMatch(o -> o.match(iri));
+            return content.byIRI(iri).findFirst().isPresent();
         } finally {
             getLock().readLock().unlock();
         }
@@ -820,7 +853,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     public boolean contains(@Nonnull OWLOntologyID id) {
         getLock().readLock().lock();
         try {
-            return !id.isAnonymous() && (content.contains(id) || content.keys().anyMatch(id::match));
+            return !id.isAnonymous() && (content.contains(id) || content.byOntologyIRI(id.getOntologyIRI().get()).findFirst().isPresent());
         } finally {
             getLock().readLock().unlock();
         }
@@ -835,7 +868,8 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     public boolean contains(@Nonnull OWLOntology ontology) {
         getLock().readLock().lock();
         try {
-            return content.values().map(OntInfo::get).anyMatch(o -> Objects.equals(o, ontology));
+            // the ontologies are equal if their ids are equal (see OWLOntology#components()), so the id index is enough:
+            return content.get(ontology.getOntologyID()).filter(o -> Objects.equals(o.get(), ontology)).isPresent();
         } finally {
             getLock().readLock().unlock();
         }
@@ -850,7 +884,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     public boolean containsVersion(@Nonnull IRI iri) {
         getLock().readLock().lock();
         try {
-            return content.keys().anyMatch(o -> o.matchVersion(iri));
+            return content.byVersionIRI(iri).findFirst().isPresent();
         } finally {
             getLock().readLock().unlock();
         }
@@ -908,7 +942,8 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     public OntologyModel getImportedOntology(@Nonnull OWLImportsDeclaration declaration) {
         getLock().readLock().lock();
         try {
-            Optional<OntInfo> res = content.values().filter(e -> Objects.equals(e.getImportDeclaration(), declaration)).findFirst();
+            Optional<OntInfo> res = Stream.concat(content.byImportIRI(declaration.getIRI()), content.byOntologyIRI(declaration.getIRI()))
+                    .filter(e -> Objects.equals(e.getImportDeclaration(), declaration)).findFirst();
             if (!res.isPresent()) {
                 // No such ontology has been loaded through an import
                 // declaration, but it might have been loaded manually.
@@ -916,7 +951,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
                 // return null.
                 // Last possibility is an import by document IRI; if the
                 // ontology is not found by IRI, check by document IRI.
-                res = content.values().filter(e -> Objects.equals(e.getDocumentIRI(), declaration.getIRI())).findFirst();
+                res = content.byDocumentIRI(declaration.getIRI()).findFirst();
             }
             return res.map(OntInfo::get).orElse(null);
         } finally {
@@ -935,8 +970,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     protected OntologyModel getOntologyByDocumentIRI(IRI iri) {
         getLock().readLock().lock();
         try {
-            return content.values().filter(o -> Objects.equals(iri, o.getDocumentIRI()))
-                    .map(OntInfo::get).findFirst().orElse(null);
+            return content.byDocumentIRI(iri).map(OntInfo::get).findFirst().orElse(null);
         } finally {
             getLock().readLock().unlock();
         }
@@ -1033,6 +1067,18 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         }
     }
 
+    /**
+     * Notifies the manager that the base graph of the specified ontology has been replaced,
+     * so the ontology header must be tracked through the new graph.
+     * No lock is needed: the ontology registry is synchronized itself.
+     *
+     * @param ont {@link OntologyModel}
+     * @see InternalModelHolder#setBase(InternalModel)
+     */
+    protected void baseGraphChanged(OntologyModel ont) {
+        content.relink(ont);
+    }
+
     /**
      * @param ontology {@link OWLOntology}
      * @return Stream of {@link OWLOntology}
@@ -1152,7 +1198,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     public Stream<OWLOntologyID> ontologyIDsByVersion(@Nonnull IRI iri) {
         getLock().readLock().lock();
         try {
-            return content.keys().filter(o -> o.matchVersion(iri));
+            return content.byVersionIRI(iri).map(OntInfo::id);
         } finally {
             getLock().readLock().unlock();
         }
@@ -1232,10 +1278,19 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
             // will be reverted in case of a rollback
             List<OWLOntologyChange> appliedChanges = new ArrayList<>();
             listeners.fireBeginChanges(changes.size());
-            actuallyApply(changes, rollbackRequested, allNoOps, appliedChanges);
-            if (rollbackRequested.get()) {
-                rollBack(appliedChanges);
-                appliedChanges.clear();
+            Collection<InternalModel> transaction = beginTransaction(changes);
+            try {
+                actuallyApply(changes, rollbackRequested, allNoOps, appliedChanges);
+                if (rollbackRequested.get()) {
+                    if (transaction == null) {
+                        rollBack(appliedChanges);
+                    } else {
+                        transaction.forEach(InternalModel::rollbackTransaction);
+                    }
+                    appliedChanges.clear();
+                }
+            } finally {
+                if (transaction != null) transaction.forEach(InternalModel::commitTransaction);
             }
             listeners.fireEndChanges();
             listeners.broadcastChanges(appliedChanges);
@@ -1264,24 +1319,87 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
      */
     protected void actuallyApply(List<? extends OWLOntologyChange> changes, AtomicBoolean rollbackRequested,
                                  AtomicBoolean allNoOps, List<OWLOntologyChange> appliedChanges) {
-        for (OWLOntologyChange change : changes) {
-            // once rollback is requested by a failed change, do not carry
-            // out any more changes
-            if (!rollbackRequested.get()) {
-                assert change != null;
-                ChangeApplied enactChangeApplication = enactChangeApplication(change);
-                if (enactChangeApplication == ChangeApplied.UNSUCCESSFULLY) {
-                    rollbackRequested.set(true);
-                }
-                if (enactChangeApplication == ChangeApplied.SUCCESSFULLY) {
-                    allNoOps.set(false);
-                    appliedChanges.add(change);
+        Collection<InternalModel> batch = beginBatch(changes);
+        try {
+            for (OWLOntologyChange change : changes) {
+                // once rollback is requested by a failed change, do not carry
+                // out any more changes
+                if (!rollbackRequested.get()) {
+                    assert change != null;
+                    ChangeApplied enactChangeApplication = enactChangeApplication(change);
+                    if (enactChangeApplication == ChangeApplied.UNSUCCESSFULLY) {
+                        rollbackRequested.set(true);
+                    }
+                    if (enactChangeApplication == ChangeApplied.SUCCESSFULLY) {
+                        allNoOps.set(false);
+                        appliedChanges.add(change);
+                    }
+                    listeners.fireChangeApplied(change);
                 }
-                listeners.fireChangeApplied(change);
             }
+        } finally {
+            batch.forEach(InternalModel::endBatch);
         }
     }
 
+    /**
+     * Turns on the batch write mode for all ontologies, which are going to get several axioms or annotations.
+     * This is the bulk path for {@link #addAxioms(OWLOntology, Stream)} and for all methods that use it
+     * (e.g. {@link #createOntology(Stream, IRI)} or {@link #copyOntology(OWLOntology, OntologyCopy)}):
+     * all the additions are written under the single capture listener instead of registering one for each axiom.
+     *
+     * @param changes List of {@link OWLOntologyChange}s
+     * @return Collection of {@link InternalModel}s, for which the batch mode must be turned off at the end
+     * @see InternalModel#beginBatch()
+     */
+    protected Collection<InternalModel> beginBatch(List<? extends OWLOntologyChange> changes) {
+        if (changes.size() < 2) return Collections.emptyList();
+        Set<InternalModel> res = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (OWLOntologyChange change : changes) {
+            if (!change.isAddAxiom() && !(change instanceof AddOntologyAnnotation)) continue;
+            OWLOntology ont = change.getOntology();
+            if (!(ont instanceof InternalModelHolder)) continue;
+            InternalModel m = ((InternalModelHolder) ont).getBase();
+            if (res.add(m)) {
+                m.beginBatch();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Opens a graph-level transaction (see {@link InternalModel#beginTransaction()}) for each ontology touched by the changes,
+     * so that in case of failure all of them can be restored from the triple delta journals in one step,
+     * instead of re-translating reverse changes one by one (see {@link #rollBack(List)}).
+     * The changes are not reordered, since the order is significant for the listeners.
+     * Only lists of axiom and ontology annotation changes are handled in this way:
+     * an import or id change affects also the manager state, which is not covered by the journal.
+     *
+     * @param changes List of {@link OWLOntologyChange}s
+     * @return Collection of {@link InternalModel}s, for which the transaction must be closed at the end,
+     * or null if the changes should be rolled back in the ordinary way
+     */
+    protected Collection<InternalModel> beginTransaction(List<? extends OWLOntologyChange> changes) {
+        if (changes.size() < 2) return null;
+        Set<InternalModel> res = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (OWLOntologyChange change : changes) {
+            if (!change.isAxiomChange() && !(change instanceof AnnotationChange)) return null;
+            OWLOntology ont = change.getOntology();
+            if (!(ont instanceof InternalModelHolder)) return null;
+            res.add(((InternalModelHolder) ont).getBase());
+        }
+        List<InternalModel> started = new ArrayList<>();
+        for (InternalModel m : res) {
+            if (!m.beginTransaction()) {
+                // nested call, e.g. from a listener: the outer transaction takes care
+                started.forEach(InternalModel::commitTransaction);
+                return null;
+            }
+            started.add(m);
+        }
+        return started;
+    }
+
     /**
      * @param appliedChanges List of {@link OWLOntologyChange}
      * @see OWLOntologyManagerImpl#rollBack(List)
@@ -1409,8 +1527,12 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
                 case SHALLOW:
                 case DEEP:
                     OntologyModel o = createOntology(toCopy.getOntologyID());
-                    AxiomType.AXIOM_TYPES.forEach(t -> addAxioms(o, toCopy.axioms(t)));
-                    toCopy.annotations().forEach(a -> applyChange(new AddOntologyAnnotation(o, a)));
+                    if (canCopyGraph(toCopy)) {
+                        copyGraph((OntologyModel) toCopy, o);
+                    } else {
+                        AxiomType.AXIOM_TYPES.forEach(t -> addAxioms(o, toCopy.axioms(t)));
+                        toCopy.annotations().forEach(a -> applyChange(new AddOntologyAnnotation(o, a)));
+                    }
                     toCopy.importsDeclarations().forEach(a -> applyChange(new AddImport(o, a)));
                     res = o;
                     break;
@@ -1438,6 +1560,44 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         }
     }
 
+    /**
+     * Answers if the specified ontology can be copied at the graph level (see {@link #copyGraph(OntologyModel, OntologyModel)}).
+     * This is possible for any ONT ontology from this manager or from a non-concurrent ONT manager:
+     * an ontology from another concurrent manager is copied axiom by axiom, since that way respects its lock.
+     *
+     * @param o {@link OWLOntology}
+     * @return boolean
+     */
+    protected boolean canCopyGraph(OWLOntology o) {
+        if (!(o instanceof OntologyModel) || !(o instanceof InternalModelHolder)) return false;
+        OWLOntologyManager m = o.getOWLOntologyManager();
+        return this.equals(m) || (m instanceof OntologyManagerImpl && !((OntologyManagerImpl) m).isConcurrent());
+    }
+
+    /**
+     * Copies the content of one ontology to another (fresh) ontology at the graph level:
+     * the base graph triples are copied in bulk, without translating axioms to triples and back.
+     * The already built axioms caches are shared with the new ontology (see {@link InternalModel#copyFrom(InternalModel, boolean)})
+     * if both ontologies have the same loader settings and the source has no imports,
+     * i.e. if the new ontology would read exactly the same axioms from the same triples.
+     * The imports declarations are not copied, they should be added through the {@link AddImport} changes.
+     *
+     * @param from {@link OntologyModel} the source
+     * @param to   {@link OntologyModel} the target, must be an ONT ontology from this manager
+     */
+    protected void copyGraph(OntologyModel from, OntologyModel to) {
+        InternalModel source = ((InternalModelHolder) from).getBase();
+        InternalModel target = ((InternalModelHolder) to).getBase();
+        boolean caches = Objects.equals(source.getConfig().loaderConfig(), target.getConfig().loaderConfig())
+                && !from.importsDeclarations().findFirst().isPresent();
+        target.copyFrom(source, caches);
+        // the graph has been changed bypassing the OWL-API interface, in copy-on-write mode the new snapshot is needed:
+        OWLOntology res = to instanceof OntologyModelImpl.Concurrent ? ((OntologyModelImpl.Concurrent) to).delegate : to;
+        if (res instanceof OntologyModelImpl && ((OntologyModelImpl) res).copyOnWrite != null) {
+            ((OntologyModelImpl) res).copyOnWrite.changed((OntologyModelImpl) res);
+        }
+    }
+
     /**
      * in case of coping from ONT to OWL there will be an exception.
      * This method helps to fix origin manager.
@@ -1512,7 +1672,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         if (documentIRI != null) {
             // The ontology might be being loaded, but its IRI might
             // not have been set (as is probably the case with RDF/XML!)
-            Optional<OntologyModel> op = content.values().filter(o -> Objects.equals(o.getDocumentIRI(), documentIRI)).map(OntInfo::get).findFirst();
+            Optional<OntologyModel> op = content.byDocumentIRI(documentIRI).map(OntInfo::get).findFirst();
             if (op.isPresent() && !allowExists) {
                 throw new OWLOntologyDocumentAlreadyExistsException(documentIRI);
             }
@@ -1815,17 +1975,23 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         in.defaultReadObject();
         loaderConfig = (OntLoaderConfiguration) in.readObject();
         writerConfig = (OntWriterConfiguration) in.readObject();
+        // the ontology uri -> graph map, the first one wins:
+        Map<String, UnionGraph> graphs = new HashMap<>();
+        content.values().map(OntInfo::get).map(InternalModelHolder.class::cast)
+                .map(InternalModelHolder::getBase).map(OntGraphModelImpl::getGraph)
+                .forEach(g -> {
+                    String uri = Graphs.getURI(g);
+                    if (uri != null) graphs.putIfAbsent(uri, g);
+                });
         content.values().forEach(info -> {
             ConfigProvider.Config conf = info.getModelConfig();
             InternalModelHolder m = (InternalModelHolder) info.get();
             UnionGraph baseGraph = m.getBase().getGraph();
-            Stream<UnionGraph> imports = Graphs.getImports(baseGraph).stream()
-                    .map(s -> content.values().map(OntInfo::get).map(InternalModelHolder.class::cast)
-                            .map(InternalModelHolder::getBase).map(OntGraphModelImpl::getGraph)
-                            .filter(g -> Objects.equals(s, Graphs.getURI(g))).findFirst().orElse(null))
-                    .filter(Objects::nonNull);
-            imports.forEach(baseGraph::addGraph);
+            Graphs.getImports(baseGraph).stream().map(graphs::get).filter(Objects::nonNull).forEach(baseGraph::addGraph);
             InternalModel baseModel = new InternalModel(baseGraph, conf);
+            if (in instanceof OntSnapshot.Input) {
+                ((OntSnapshot.Input) in).applyCache(baseModel);
+            }
             m.setBase(baseModel);
         });
     }
@@ -2121,12 +2287,25 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     /**
      * The 'collection' of {@link OntInfo}s which wrap {@link OntologyModel}s.
      * To be sure that all members are in consistent state.
-     * We can't use Map like in the initial OWL-API implementation since Ontology ID ({@link OWLOntologyID})
-     * could be changed externally (e.g. directly from jena graph)
-     * But perhaps we can introduce some caches to speed up if necessary.
+     * We can't use a plain Map like in the initial OWL-API implementation since Ontology ID ({@link OWLOntologyID})
+     * could be changed externally (e.g. directly from jena graph).
+     * So the members are kept in the collection, while the lookups go through hash indexes
+     * (by ontology id, ontology iri, version iri, document iri and import declaration iri).
+     * Each member's base graph has a {@link IDListener} attached,
+     * which marks the member as changed if some triple of the ontology header is added or deleted,
+     * and the changed members are reindexed on the next access.
+     * If the base model of a member is replaced, the listener is moved to the new graph (see {@link #relink(OntologyModel)}).
+     * The indexes are transient and are rebuilt lazily after deserialization.
      */
     public class OntologyCollection implements Serializable {
         private final Collection<OntInfo> map;
+        private transient Map<OWLOntologyID, Set<OntInfo>> byID;
+        private transient Map<IRI, Set<OntInfo>> byOntologyIRI;
+        private transient Map<IRI, Set<OntInfo>> byVersionIRI;
+        private transient Map<IRI, Set<OntInfo>> byDocumentIRI;
+        private transient Map<IRI, Set<OntInfo>> byImportIRI;
+        // the members to reindex, it is filled from graph listeners, so it is a concurrent set:
+        private transient Set<OntInfo> changed;
 
         public OntologyCollection(Collection<OntInfo> c) {
             this.map = c;
@@ -2140,8 +2319,10 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
             return map.isEmpty(); // no need
         }
 
-        public void clear() {
+        public synchronized void clear() {
+            map.forEach(this::detach);
             map.clear();
+            byID = null;
         }
 
         protected Stream<OntInfo> values() {
@@ -2152,27 +2333,264 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
             return values().map(OntInfo::id);
         }
 
-        public Optional<OntInfo> get(@Nonnull OWLOntologyID key) {
-            return values()
-                    .filter(o -> o.id().hashCode() == key.hashCode())
-                    .filter(o -> key.equals(o.id())).findFirst();
+        public synchronized Optional<OntInfo> get(@Nonnull OWLOntologyID key) {
+            refresh();
+            Optional<OntInfo> res = find(byID, key).filter(o -> key.equals(o.id())).findFirst();
+            if (res.isPresent() || !find(byID, key).findFirst().isPresent()) {
+                return res;
+            }
+            // the index is out of date, e.g. the base graph does not support listeners
+            rebuild();
+            return find(byID, key).filter(o -> key.equals(o.id())).findFirst();
         }
 
         public boolean contains(@Nonnull OWLOntologyID key) {
-            return values().filter(o -> o.id().hashCode() == key.hashCode()).anyMatch(o -> key.equals(o.id()));
+            return get(key).isPresent();
         }
 
-        public OntInfo add(OntologyModel o) {
+        /**
+         * Lists all members whose ontology iri is equal to the given one.
+         *
+         * @param iri {@link IRI}
+         * @return Stream of {@link OntInfo}s
+         * @see OWLOntologyID#matchOntology(IRI)
+         */
+        public synchronized Stream<OntInfo> byOntologyIRI(@Nonnull IRI iri) {
+            refresh();
+            return copy(find(byOntologyIRI, iri));
+        }
+
+        /**
+         * Lists all members whose version iri is equal to the given one.
+         *
+         * @param iri {@link IRI}
+         * @return Stream of {@link OntInfo}s
+         * @see OWLOntologyID#matchVersion(IRI)
+         */
+        public synchronized Stream<OntInfo> byVersionIRI(@Nonnull IRI iri) {
+            refresh();
+            return copy(find(byVersionIRI, iri));
+        }
+
+        /**
+         * Lists all members whose ontology or version iri is equal to the given one.
+         *
+         * @param iri {@link IRI}
+         * @return Stream of {@link OntInfo}s
+         * @see OWLOntologyID#match(IRI)
+         */
+        public synchronized Stream<OntInfo> byIRI(@Nonnull IRI iri) {
+            refresh();
+            return copy(Stream.concat(find(byOntologyIRI, iri), find(byVersionIRI, iri)).distinct());
+        }
+
+        /**
+         * Lists all members with the specified document iri.
+         *
+         * @param iri {@link IRI}
+         * @return Stream of {@link OntInfo}s
+         * @see OntInfo#getDocumentIRI()
+         */
+        public synchronized Stream<OntInfo> byDocumentIRI(@Nonnull IRI iri) {
+            refresh();
+            return copy(find(byDocumentIRI, iri));
+        }
+
+        /**
+         * Lists all members which have been loaded through an import declaration with the specified iri.
+         *
+         * @param iri {@link IRI}
+         * @return Stream of {@link OntInfo}s
+         * @see OntInfo#addImportDeclaration(OWLImportsDeclaration)
+         */
+        public synchronized Stream<OntInfo> byImportIRI(@Nonnull IRI iri) {
+            refresh();
+            return copy(find(byImportIRI, iri));
+        }
+
+        public synchronized OntInfo add(OntologyModel o) {
             OntInfo res = new OntInfo(o);
             map.add(res);
+            if (byID != null) {
+                attach(res);
+                index(res);
+            }
             return res;
         }
 
-        public Optional<OntInfo> remove(@Nonnull OWLOntologyID id) {
+        public synchronized Optional<OntInfo> remove(@Nonnull OWLOntologyID id) {
             Optional<OntInfo> res = get(id);
-            res.ifPresent(map::remove);
+            res.ifPresent(o -> {
+                map.remove(o);
+                unindex(o);
+                detach(o);
+            });
             return res;
         }
+
+        /**
+         * Marks the member as changed, it will be reindexed on the next access.
+         * Does not require the collection monitor, since it is called from graph listeners.
+         *
+         * @param info {@link OntInfo}
+         */
+        protected void changed(OntInfo info) {
+            Set<OntInfo> res = changed;
+            if (res != null) res.add(info);
+        }
+
+        /**
+         * Reindexes the changed members, or builds the indexes if they are absent.
+         */
+        private void refresh() {
+            if (byID == null) {
+                rebuild();
+                return;
+            }
+            if (changed.isEmpty()) return;
+            List<OntInfo> infos = new ArrayList<>(changed);
+            changed.removeAll(infos);
+            infos.forEach(this::unindex);
+            infos.stream().filter(map::contains).forEach(this::index);
+        }
+
+        private <K> Stream<OntInfo> find(Map<K, Set<OntInfo>> index, K key) {
+            Set<OntInfo> res = index.get(key);
+            return res == null ? Stream.empty() : res.stream();
+        }
+
+        private Stream<OntInfo> copy(Stream<OntInfo> stream) {
+            return stream.collect(Collectors.toList()).stream();
+        }
+
+        private void rebuild() {
+            byID = new HashMap<>();
+            byOntologyIRI = new HashMap<>();
+            byVersionIRI = new HashMap<>();
+            byDocumentIRI = new HashMap<>();
+            byImportIRI = new HashMap<>();
+            changed = ConcurrentHashMap.newKeySet();
+            map.forEach(o -> {
+                attach(o);
+                index(o);
+            });
+        }
+
+        private void index(OntInfo o) {
+            OWLOntologyID id = o.id();
+            IRI doc = o.getDocumentIRI();
+            IRI imp = o.declaration == null ? null : o.declaration.getIRI();
+            unindex(o);
+            put(byID, id, o);
+            id.getOntologyIRI().ifPresent(i -> put(byOntologyIRI, i, o));
+            id.getVersionIRI().ifPresent(i -> put(byVersionIRI, i, o));
+            if (doc != null) put(byDocumentIRI, doc, o);
+            if (imp != null) put(byImportIRI, imp, o);
+            o.indexedID = id;
+            o.indexedDocumentIRI = doc;
+            o.indexedImportIRI = imp;
+        }
+
+        private void unindex(OntInfo o) {
+            OWLOntologyID id = o.indexedID;
+            if (id == null) return;
+            delete(byID, id, o);
+            id.getOntologyIRI().ifPresent(i -> delete(byOntologyIRI, i, o));
+            id.getVersionIRI().ifPresent(i -> delete(byVersionIRI, i, o));
+            if (o.indexedDocumentIRI != null) delete(byDocumentIRI, o.indexedDocumentIRI, o);
+            if (o.indexedImportIRI != null) delete(byImportIRI, o.indexedImportIRI, o);
+            o.indexedID = null;
+            o.indexedDocumentIRI = null;
+            o.indexedImportIRI = null;
+        }
+
+        private <K> void put(Map<K, Set<OntInfo>> index, K key, OntInfo o) {
+            index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(o);
+        }
+
+        private <K> void delete(Map<K, Set<OntInfo>> index, K key, OntInfo o) {
+            Set<OntInfo> res = index.get(key);
+            if (res == null) return;
+            res.remove(o);
+            if (res.isEmpty()) index.remove(key);
+        }
+
+        /**
+         * Moves the listeners to the new base graphs and reindexes the members
+         * if the base model of the specified ontology has been replaced.
+         * The member is searched by the current id first,
+         * the full scan is needed only if the new graph has another ontology header.
+         *
+         * @param o {@link OntologyModel}
+         * @see InternalModelHolder#setBase(InternalModel)
+         */
+        public synchronized void relink(@Nonnull OntologyModel o) {
+            // the listeners are attached along with the indexes:
+            if (byID == null) return;
+            List<OntInfo> res = find(byID, o.getOntologyID()).filter(this::isDetached).collect(Collectors.toList());
+            if (res.isEmpty()) {
+                res = values().filter(this::isDetached).collect(Collectors.toList());
+            }
+            res.forEach(i -> {
+                detach(i);
+                attach(i);
+                changed(i);
+            });
+        }
+
+        private boolean isDetached(OntInfo o) {
+            return o.listener != null && o.listener.graph != o.graph();
+        }
+
+        private void attach(OntInfo o) {
+            if (o.listener != null) return;
+            Graph g = o.graph();
+            o.listener = new IDListener(o, g);
+            g.getEventManager().register(o.listener);
+        }
+
+        private void detach(OntInfo o) {
+            if (o.listener == null) return;
+            o.listener.graph.getEventManager().unregister(o.listener);
+            o.listener = null;
+        }
+    }
+
+    /**
+     * The listener to track changes in the ontology header ({@code _:x rdf:type owl:Ontology}, {@code _:x owl:versionIRI v})
+     * which could change the ontology id.
+     */
+    public class IDListener extends GraphListenerBase {
+        private final OntInfo info;
+        // the graph this listener is registered on, it may differ from the current base graph of the ontology:
+        private final Graph graph;
+
+        protected IDListener(OntInfo info, Graph graph) {
+            this.info = info;
+            this.graph = graph;
+        }
+
+        protected boolean isHeader(Triple t) {
+            return OWL.versionIRI.asNode().equals(t.getPredicate())
+                    || (RDF.type.asNode().equals(t.getPredicate()) && OWL.Ontology.asNode().equals(t.getObject()));
+        }
+
+        @Override
+        protected void addEvent(Triple t) {
+            if (isHeader(t)) content.changed(info);
+        }
+
+        @Override
+        protected void deleteEvent(Triple t) {
+            if (isHeader(t)) content.changed(info);
+        }
+
+        @Override
+        public void notifyEvent(Graph source, Object value) {
+            // e.g. GraphEvents.removeAll
+            content.changed(info);
+            super.notifyEvent(source, value);
+        }
     }
 
     /**
@@ -2194,6 +2612,11 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         private IRI documentIRI;
         private OWLImportsDeclaration declaration;
         private OWLDocumentFormat format;
+        // the keys under which this container is indexed in the OntologyCollection:
+        private transient OWLOntologyID indexedID;
+        private transient IRI indexedDocumentIRI;
+        private transient IRI indexedImportIRI;
+        private transient IDListener listener;
 
         public OntInfo(@Nonnull OntologyModel ont) {
             this.ont = ont;
@@ -2209,6 +2632,10 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
             return ont;
         }
 
+        protected Graph graph() {
+            return ((InternalModelHolder) ont).getBase().getBaseGraph();
+        }
+
         public OntInfo addFormat(OWLDocumentFormat format) {
             this.format = format;
             return this;
@@ -2216,11 +2643,13 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
 
         public OntInfo addDocumentIRI(IRI iri) {
             documentIRI = iri;
+            content.changed(this);
             return this;
         }
 
         public OntInfo addImportDeclaration(OWLImportsDeclaration declaration) {
             this.declaration = declaration;
+            content.changed(this);
             return this;
         }
 
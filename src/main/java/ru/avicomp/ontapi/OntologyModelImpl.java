@@ -15,9 +15,14 @@
 package ru.avicomp.ontapi;
 
 import javax.annotation.Nonnull;
+import java.util.*;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.stream.Collectors;
 
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 
@@ -45,6 +50,9 @@ import static org.semanticweb.owlapi.model.parameters.ChangeApplied.SUCCESSFULLY
 public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel {
 
     protected transient ChangeProcessor changer;
+    // copy-on-write mode: the lock and the live (editable) model, the field #base holds the last published snapshot
+    protected CopyOnWriteLock copyOnWrite;
+    protected transient volatile InternalModel live;
 
     /**
      * To construct fresh (empty) ontology.
@@ -65,9 +73,67 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
         super(graph, config);
     }
 
+    /**
+     * Returns the editable model.
+     * In copy-on-write mode it is the live model, which is never seen by readers directly.
+     *
+     * @return {@link InternalModel}
+     */
+    @Override
+    public InternalModel getBase() {
+        InternalModel res = live;
+        return res == null ? base : res;
+    }
+
+    /**
+     * Sets the editable model.
+     * In copy-on-write mode the new snapshot will be published immediately,
+     * or on the release of the write lock, if the current thread holds it.
+     * If the base graph is replaced, the manager is notified, since it tracks the ontology header through the graph events.
+     *
+     * @param m {@link InternalModel}
+     */
+    @Override
+    public void setBase(InternalModel m) {
+        InternalModel prev = getBase();
+        if (copyOnWrite == null) {
+            super.setBase(m);
+        } else {
+            m.getGraph().getEventManager().register(new ChangesListener());
+            live = m;
+            copyOnWrite.commit(this);
+        }
+        // the model could be temporary, e.g. while deserialization, then there is no manager yet:
+        if (prev == null || prev.getBaseGraph() == m.getBaseGraph() || !(m.getConfig() instanceof OntologyManagerImpl.ModelConfig)) {
+            return;
+        }
+        OntologyManagerImpl manager = ((OntologyManagerImpl.ModelConfig) m.getConfig()).manager();
+        if (manager != null) manager.baseGraphChanged(this);
+    }
+
+    /**
+     * Returns the model to read from.
+     * In copy-on-write mode a writer (i.e. the thread that holds the write lock) sees its own changes,
+     * while all other threads read the last published snapshot;
+     * the changes made without the write lock are published before reading (see {@link CopyOnWriteLock#flush()}),
+     * if it is not possible (the read lock is held), the live model is used.
+     *
+     * @return {@link InternalModel}
+     */
+    @Override
+    protected InternalModel current() {
+        if (copyOnWrite == null || copyOnWrite.isWriter() || !copyOnWrite.flush()) return getBase();
+        return base;
+    }
+
     @Override
     public ChangeApplied applyDirectChange(OWLOntologyChange change) {
-        return change.accept(getChangeProcessor());
+        ChangeApplied res = change.accept(getChangeProcessor());
+        if (copyOnWrite != null && SUCCESSFULLY.equals(res)) {
+            // not every change touches the graph, some of them affect only the cache:
+            copyOnWrite.changed(this);
+        }
+        return res;
     }
 
     @Override
@@ -105,7 +171,99 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
         if (!manager.isConcurrent()) {
             throw new OntApiException.Unsupported("Concurrency is not allowed.");
         }
-        return new Concurrent(this, manager.getLock());
+        ReadWriteLock lock = manager.getLock();
+        if (!(lock instanceof CopyOnWriteLock)) {
+            return new Concurrent(this, lock);
+        }
+        copyOnWrite = (CopyOnWriteLock) lock;
+        setBase(base);
+        return new Concurrent(this, copyOnWrite.ontologyLock(), lock);
+    }
+
+    /**
+     * Publishes the snapshots of the specified changed ontologies and all the ontologies which import them.
+     * The snapshot of an imported ontology is published before the importing one,
+     * and it is used as a sub-graph in the union graph of the latter.
+     *
+     * @param changed Collection of {@link OntologyModelImpl}s in copy-on-write mode
+     * @see CopyOnWriteLock#publish()
+     */
+    protected static void publish(Collection<OntologyModelImpl> changed) {
+        // all copy-on-write ontologies from the same managers by their base graphs:
+        Map<Graph, OntologyModelImpl> owners = new IdentityHashMap<>();
+        changed.forEach(o -> owners.put(o.live.getBaseGraph(), o));
+        changed.stream().map(OntologyModelImpl::getOWLOntologyManager).filter(Objects::nonNull).distinct()
+                .flatMap(m -> m.content.values().map(OntologyManagerImpl.OntInfo::get))
+                .map(o -> o instanceof Concurrent ? ((Concurrent) o).delegate : o)
+                .filter(OntologyModelImpl.class::isInstance).map(OntologyModelImpl.class::cast)
+                .filter(o -> o.copyOnWrite != null && o.live != null)
+                .forEach(o -> owners.put(o.live.getBaseGraph(), o));
+        Set<OntologyModelImpl> affected = new HashSet<>(changed);
+        boolean found;
+        do {
+            Set<OntologyModelImpl> importers = owners.values().stream()
+                    .filter(o -> !affected.contains(o))
+                    .filter(o -> o.live.getGraph().getUnderlying().graphs()
+                            .map(g -> owners.get(baseGraph(g))).anyMatch(affected::contains))
+                    .collect(Collectors.toSet());
+            found = affected.addAll(importers);
+        } while (found);
+        Set<OntologyModelImpl> done = new HashSet<>();
+        affected.forEach(o -> o.publish(owners, affected, done));
+    }
+
+    private static Graph baseGraph(Graph g) {
+        return g instanceof UnionGraph ? ((UnionGraph) g).getBaseGraph() : g;
+    }
+
+    /**
+     * Makes a new snapshot from the live model and publishes it for readers.
+     * The base graph is copied, the sub-graphs are replaced with the snapshots of the corresponding ontologies,
+     * which are published first, if they are affected too.
+     *
+     * @param owners   Map with all known copy-on-write ontologies by their base graphs
+     * @param affected Set of ontologies to publish
+     * @param done     Set of already processed ontologies
+     */
+    protected void publish(Map<Graph, OntologyModelImpl> owners, Set<OntologyModelImpl> affected, Set<OntologyModelImpl> done) {
+        if (!done.add(this)) return;
+        UnionGraph from = live.getGraph();
+        Graph copy = OntModelFactory.createDefaultGraph();
+        copy.getPrefixMapping().setNsPrefixes(from.getBaseGraph().getPrefixMapping());
+        GraphUtil.addInto(copy, from.getBaseGraph());
+        UnionGraph res = new UnionGraph(copy);
+        from.getUnderlying().graphs().forEach(g -> {
+            OntologyModelImpl o = owners.get(baseGraph(g));
+            if (o == null) {
+                res.addGraph(g);
+                return;
+            }
+            if (affected.contains(o)) {
+                o.publish(owners, affected, done);
+            }
+            res.addGraph(o.base.getGraph());
+        });
+        base = live.createSnapshot(res);
+    }
+
+    /**
+     * The listener to register the changed ontology in the {@link CopyOnWriteLock}.
+     * It goes after the {@link InternalModel.DirectListener}, so the cache is already in actual state.
+     * Note: the events from {@link ConcurrentGraph} come when the write lock is already released,
+     * in this case the new snapshot is published on the next read, once for all the changes made so far
+     * (see {@link CopyOnWriteLock#defer(OntologyModelImpl)}).
+     */
+    protected class ChangesListener extends GraphListenerBase {
+
+        @Override
+        protected void addEvent(Triple t) {
+            copyOnWrite.defer(OntologyModelImpl.this);
+        }
+
+        @Override
+        protected void deleteEvent(Triple t) {
+            copyOnWrite.defer(OntologyModelImpl.this);
+        }
     }
 
     protected class ChangeProcessor implements OWLOntologyChangeVisitorEx<ChangeApplied> {
@@ -212,7 +370,16 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
         protected ReadWriteLock lock;
 
         protected Concurrent(OntologyModelImpl delegate, ReadWriteLock lock) {
-            super(delegate, lock);
+            this(delegate, lock, lock);
+        }
+
+        /**
+         * @param delegate     {@link OntologyModelImpl} the ontology
+         * @param ontologyLock {@link ReadWriteLock} to guard the OWL-API methods of the ontology
+         * @param lock         {@link ReadWriteLock} the manager's lock to guard the graph
+         */
+        protected Concurrent(OntologyModelImpl delegate, ReadWriteLock ontologyLock, ReadWriteLock lock) {
+            super(delegate, ontologyLock);
             this.delegate = delegate;
             this.lock = lock;
         }
@@ -236,7 +403,8 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
 
         protected OntGraphModel makeGraphModel() {
             UnionGraph thisGraph = getBase().getGraph();
-            UnionGraph newGraph = new UnionGraph(new ConcurrentGraph(thisGraph.getBaseGraph(), lock), thisGraph.getEventManager());
+            ConcurrentGraph.Mode mode = getConfig().loaderConfig().getConcurrentGraphMode();
+            UnionGraph newGraph = new UnionGraph(new ConcurrentGraph(thisGraph.getBaseGraph(), lock, mode), thisGraph.getEventManager());
             thisGraph.getUnderlying().graphs().forEach(newGraph::addGraph);
             return OntModelFactory.createModel(newGraph, getConfig().loaderConfig().getPersonality());
         }
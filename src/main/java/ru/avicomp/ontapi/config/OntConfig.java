@@ -23,6 +23,7 @@ import java.util.stream.Stream;
 import org.semanticweb.owlapi.model.*;
 
 import ru.avicomp.ontapi.OntApiException;
+import ru.avicomp.ontapi.jena.ConcurrentGraph;
 import ru.avicomp.ontapi.jena.impl.configuration.Configurable;
 import ru.avicomp.ontapi.jena.impl.configuration.OntModelConfig;
 import ru.avicomp.ontapi.jena.impl.configuration.OntPersonality;
@@ -41,6 +42,11 @@ import ru.avicomp.ontapi.transforms.GraphTransformers;
  * - {@link #isAllowBulkAnnotationAssertions()}
  * - {@link #isIgnoreAnnotationAxiomOverlaps()}
  * - {@link #isUseOWLParsersToLoad()}
+ * - {@link #getImportsLoadingThreads()}
+ * - {@link #getAxiomsReadingThreads()}
+ * - {@link #isUseDictionaryGraph()}
+ * - {@link #getMappedGraphDirectory()}
+ * - {@link #getConcurrentGraphMode()}
  * - {@link #isControlImports()}
  *
  * @see OntSettings
@@ -211,6 +217,96 @@ public class OntConfig extends OntologyConfigurator {
         return put(OntSettings.ONT_API_LOAD_CONF_USE_OWL_PARSERS_TO_LOAD, b);
     }
 
+    /**
+     * ONT-API(NEW) manager load config getter.
+     *
+     * @see OntLoaderConfiguration#getImportsLoadingThreads()
+     */
+    public int getImportsLoadingThreads() {
+        return (int) get(OntSettings.ONT_API_LOAD_CONF_IMPORTS_LOADING_THREADS);
+    }
+
+    /**
+     * ONT-API(NEW) manager load config setter.
+     *
+     * @see OntLoaderConfiguration#setImportsLoadingThreads(int)
+     */
+    public OntConfig setImportsLoadingThreads(int n) {
+        return put(OntSettings.ONT_API_LOAD_CONF_IMPORTS_LOADING_THREADS, n);
+    }
+
+    /**
+     * ONT-API(NEW) manager load config getter.
+     *
+     * @see OntLoaderConfiguration#getAxiomsReadingThreads()
+     */
+    public int getAxiomsReadingThreads() {
+        return (int) get(OntSettings.ONT_API_LOAD_CONF_AXIOMS_READING_THREADS);
+    }
+
+    /**
+     * ONT-API(NEW) manager load config setter.
+     *
+     * @see OntLoaderConfiguration#setAxiomsReadingThreads(int)
+     */
+    public OntConfig setAxiomsReadingThreads(int n) {
+        return put(OntSettings.ONT_API_LOAD_CONF_AXIOMS_READING_THREADS, n);
+    }
+
+    /**
+     * ONT-API(NEW) manager load config getter.
+     *
+     * @see OntLoaderConfiguration#isUseDictionaryGraph()
+     */
+    public boolean isUseDictionaryGraph() {
+        return (boolean) get(OntSettings.ONT_API_LOAD_CONF_USE_DICTIONARY_GRAPH);
+    }
+
+    /**
+     * ONT-API(NEW) manager load config setter.
+     *
+     * @see OntLoaderConfiguration#setUseDictionaryGraph(boolean)
+     */
+    public OntConfig setUseDictionaryGraph(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_USE_DICTIONARY_GRAPH, b);
+    }
+
+    /**
+     * ONT-API(NEW) manager load config getter.
+     *
+     * @see OntLoaderConfiguration#getMappedGraphDirectory()
+     */
+    public String getMappedGraphDirectory() {
+        return (String) get(OntSettings.ONT_API_LOAD_CONF_MAPPED_GRAPH_DIRECTORY);
+    }
+
+    /**
+     * ONT-API(NEW) manager load config setter.
+     *
+     * @see OntLoaderConfiguration#setMappedGraphDirectory(String)
+     */
+    public OntConfig setMappedGraphDirectory(String dir) {
+        return put(OntSettings.ONT_API_LOAD_CONF_MAPPED_GRAPH_DIRECTORY, OntApiException.notNull(dir, "Null directory"));
+    }
+
+    /**
+     * ONT-API(NEW) manager load config getter.
+     *
+     * @see OntLoaderConfiguration#getConcurrentGraphMode()
+     */
+    public ConcurrentGraph.Mode getConcurrentGraphMode() {
+        return (ConcurrentGraph.Mode) get(OntSettings.ONT_API_LOAD_CONF_CONCURRENT_GRAPH_MODE);
+    }
+
+    /**
+     * ONT-API(NEW) manager load config setter.
+     *
+     * @see OntLoaderConfiguration#setConcurrentGraphMode(ConcurrentGraph.Mode)
+     */
+    public OntConfig setConcurrentGraphMode(ConcurrentGraph.Mode mode) {
+        return put(OntSettings.ONT_API_LOAD_CONF_CONCURRENT_GRAPH_MODE, OntApiException.notNull(mode, "Null mode"));
+    }
+
     /**
      * ONT-API(NEW) manager write config getter.
      *
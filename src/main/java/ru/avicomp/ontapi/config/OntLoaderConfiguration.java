@@ -24,6 +24,7 @@ import org.semanticweb.owlapi.vocab.Namespaces;
 
 import ru.avicomp.ontapi.OntApiException;
 import ru.avicomp.ontapi.OntFormat;
+import ru.avicomp.ontapi.jena.ConcurrentGraph;
 import ru.avicomp.ontapi.jena.impl.configuration.OntPersonality;
 import ru.avicomp.ontapi.transforms.GraphTransformers;
 
@@ -333,6 +334,128 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration {
         return set(OntSettings.ONT_API_LOAD_CONF_USE_OWL_PARSERS_TO_LOAD, b);
     }
 
+    /**
+     * ONT-API config method.
+     * By default it is {@code 4}.
+     *
+     * @return int, the maximum number of threads to fetch and parse the imported documents concurrently,
+     * a value less than {@code 2} means the imports are loaded one by one.
+     */
+    public int getImportsLoadingThreads() {
+        return (int) get(OntSettings.ONT_API_LOAD_CONF_IMPORTS_LOADING_THREADS);
+    }
+
+    /**
+     * ONT-API config setter.
+     * Note: the order of imports in the result {@link ru.avicomp.ontapi.jena.UnionGraph} does not depend on this setting.
+     *
+     * @param n int, the number of threads to load the imports closure
+     * @return this or new config.
+     */
+    public OntLoaderConfiguration setImportsLoadingThreads(int n) {
+        return set(OntSettings.ONT_API_LOAD_CONF_IMPORTS_LOADING_THREADS, n);
+    }
+
+    /**
+     * ONT-API config method.
+     * By default it is {@code 1}.
+     *
+     * @return int, the maximum number of threads to read axioms of different types from a graph concurrently,
+     * a value less than {@code 2} means all axioms are read in the current thread.
+     * @see ru.avicomp.ontapi.internal.AxiomsCollector#collect(java.util.stream.Stream, int)
+     */
+    public int getAxiomsReadingThreads() {
+        return (int) get(OntSettings.ONT_API_LOAD_CONF_AXIOMS_READING_THREADS);
+    }
+
+    /**
+     * ONT-API config setter.
+     * Note: the axioms do not depend on this setting, only the time to read them does.
+     * It makes sense for large ontologies only, small graphs are always read in the current thread.
+     *
+     * @param n int, the number of threads to read axioms
+     * @return this or new config.
+     */
+    public OntLoaderConfiguration setAxiomsReadingThreads(int n) {
+        return set(OntSettings.ONT_API_LOAD_CONF_AXIOMS_READING_THREADS, n);
+    }
+
+    /**
+     * ONT-API config method.
+     * By default it is {@code false}.
+     *
+     * @return true if the documents are read into the {@link ru.avicomp.ontapi.jena.DictionaryGraph}
+     * instead of the default {@link org.apache.jena.mem.GraphMem}.
+     * @see ru.avicomp.ontapi.jena.OntModelFactory#createGraph(boolean)
+     */
+    public boolean isUseDictionaryGraph() {
+        return (boolean) get(OntSettings.ONT_API_LOAD_CONF_USE_DICTIONARY_GRAPH);
+    }
+
+    /**
+     * ONT-API config setter.
+     * The dictionary graph takes noticeably less memory for large ontologies,
+     * but it matches literals by terms rather than by values, see {@link ru.avicomp.ontapi.jena.DictionaryGraph}.
+     *
+     * @param b true to read the documents into the dictionary-encoded graphs.
+     * @return this or new config.
+     */
+    public OntLoaderConfiguration setUseDictionaryGraph(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_USE_DICTIONARY_GRAPH, b);
+    }
+
+    /**
+     * ONT-API config method.
+     * By default it is empty.
+     *
+     * @return String, the directory for the persistent graph stores ({@link ru.avicomp.ontapi.jena.MappedGraph}),
+     * or empty string if the documents are read into the in-memory graphs.
+     */
+    public String getMappedGraphDirectory() {
+        return (String) get(OntSettings.ONT_API_LOAD_CONF_MAPPED_GRAPH_DIRECTORY);
+    }
+
+    /**
+     * ONT-API config setter.
+     * If the directory is specified, each local document file (an IRI or file document source with a {@code file:} IRI)
+     * is imported into its own memory-mapped store inside that directory, the store location is derived from the document IRI.
+     * The next loading of the same unchanged document (the same size and modification time)
+     * copies the triples from the store instead of parsing, a changed document is re-imported.
+     * Other sources (streams, strings, remote URLs) are always parsed.
+     * An ontology is always loaded into a separate in-memory graph, its changes never reach the store;
+     * to work with a store directly wrap it with {@link ru.avicomp.ontapi.OntGraphDocumentSource#wrap(org.apache.jena.graph.Graph)}.
+     *
+     * @param dir String, the path to the directory, or empty string to disable the persistent stores.
+     * @return this or new config.
+     */
+    public OntLoaderConfiguration setMappedGraphDirectory(String dir) {
+        return set(OntSettings.ONT_API_LOAD_CONF_MAPPED_GRAPH_DIRECTORY, OntApiException.notNull(dir, "Null directory"));
+    }
+
+    /**
+     * ONT-API config method.
+     * By default it is {@link ConcurrentGraph.Mode#DIRECT}.
+     *
+     * @return {@link ConcurrentGraph.Mode}, the way to iterate over the jena view of an ontology from a concurrent manager.
+     * @see ru.avicomp.ontapi.OntologyModelImpl.Concurrent#asGraphModel()
+     */
+    public ConcurrentGraph.Mode getConcurrentGraphMode() {
+        return (ConcurrentGraph.Mode) get(OntSettings.ONT_API_LOAD_CONF_CONCURRENT_GRAPH_MODE);
+    }
+
+    /**
+     * ONT-API config setter.
+     * The {@link ConcurrentGraph.Mode#LOCKING} mode makes the iterators safe, but they must be exhausted or closed.
+     * The {@link ConcurrentGraph.Mode#SNAPSHOT} mode does not block writers while iterating,
+     * but each first read after a change costs a new snapshot, so it is for read-mostly ontologies.
+     *
+     * @param mode {@link ConcurrentGraph.Mode}, not null
+     * @return this or new config.
+     */
+    public OntLoaderConfiguration setConcurrentGraphMode(ConcurrentGraph.Mode mode) {
+        return set(OntSettings.ONT_API_LOAD_CONF_CONCURRENT_GRAPH_MODE, OntApiException.notNull(mode, "Null mode"));
+    }
+
     /**
      * Determines whether or not annotation axioms (instances of {@code OWLAnnotationAxiom}) should be loaded.
      * By default the loading of annotation axioms is enabled.
@@ -28,13 +28,14 @@ import org.semanticweb.owlapi.model.PriorityCollectionSorting;
 import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 
 import ru.avicomp.ontapi.OntApiException;
+import ru.avicomp.ontapi.jena.ConcurrentGraph;
 import ru.avicomp.ontapi.jena.impl.configuration.Configurable;
 import ru.avicomp.ontapi.transforms.DeclarationTransform;
 import ru.avicomp.ontapi.transforms.OWLTransform;
 import ru.avicomp.ontapi.transforms.RDFSTransform;
 
 /**
- * Enum of all ONT-API settings (20 origin OWL-API options + 9 new ONT-API options + ignored imports)
+ * Enum of all ONT-API settings (20 origin OWL-API options + 12 new ONT-API options + ignored imports)
  * Note: System properties are not taken into account (this is a difference from OWL-API).
  * We use the properties file as the primary settings store and this enum goes as secondary attempt to load.
  *
@@ -54,6 +55,11 @@ public enum OntSettings implements OntConfig.OptionSetting {
     ONT_API_LOAD_CONF_ALLOW_READ_DECLARATIONS(true),
     ONT_API_LOAD_CONF_IGNORE_ANNOTATION_AXIOM_OVERLAPS(true),
     ONT_API_LOAD_CONF_USE_OWL_PARSERS_TO_LOAD(false),
+    ONT_API_LOAD_CONF_IMPORTS_LOADING_THREADS(4),
+    ONT_API_LOAD_CONF_AXIOMS_READING_THREADS(1),
+    ONT_API_LOAD_CONF_USE_DICTIONARY_GRAPH(false),
+    ONT_API_LOAD_CONF_MAPPED_GRAPH_DIRECTORY(""),
+    ONT_API_LOAD_CONF_CONCURRENT_GRAPH_MODE(ConcurrentGraph.Mode.DIRECT),
 
     OWL_API_LOAD_CONF_ACCEPT_HTTP_COMPRESSION(true),
     OWL_API_LOAD_CONF_CONNECTION_TIMEOUT(20000),
@@ -82,6 +82,11 @@ public abstract class AbstractNaryTranslator<Axiom extends OWLAxiom & OWLNaryAxi
         return statement.getPredicate().equals(getPredicate()) && statement.getSubject().canAs(getView());
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(getPredicate(), null));
+    }
+
     private Set<InternalObject<Axiom>> readPairwiseAxioms(OntGraphModel model) {
         Set<InternalObject<Axiom>> init = super.read(model);
         Set<InternalObject<Axiom>> res = new HashSet<>();
@@ -167,11 +172,4 @@ public abstract class AbstractNaryTranslator<Axiom extends OWLAxiom & OWLNaryAxi
         }
         return res;
     }
-
-    @Override
-    public Set<InternalObject<Axiom>> readAxioms(OntGraphModel model) {
-        Map<Axiom, InternalObject<Axiom>> res = new HashMap<>();
-        statements(model).map(this::asAxiom).forEach(c -> res.compute(c.getObject(), (a, w) -> w == null ? c : w.append(c)));
-        return new HashSet<>(res.values());
-    }
 }
@@ -16,6 +16,7 @@ package ru.avicomp.ontapi.internal;
 
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.vocabulary.RDF;
 import org.semanticweb.owlapi.model.OWLPropertyAssertionAxiom;
 
@@ -56,4 +57,9 @@ public abstract class AbstractNegativePropertyAssertionTranslator<Axiom extends
                 && statement.getPredicate().equals(RDF.type)
                 && statement.getSubject().canAs(getView());
     }
+
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(RDF.type, OWL.NegativePropertyAssertion));
+    }
 }
@@ -16,6 +16,7 @@ package ru.avicomp.ontapi.internal;
 
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.vocabulary.RDFS;
 import org.semanticweb.owlapi.model.HasDomain;
 import org.semanticweb.owlapi.model.HasProperty;
@@ -51,4 +52,9 @@ public abstract class AbstractPropertyDomainTranslator<Axiom extends OWLAxiom &
         return statement.getPredicate().equals(RDFS.domain)
                 && statement.getSubject().canAs(getView());
     }
+
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(RDFS.domain, null));
+    }
 }
@@ -16,6 +16,7 @@ package ru.avicomp.ontapi.internal;
 
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.vocabulary.RDFS;
 import org.semanticweb.owlapi.model.HasProperty;
 import org.semanticweb.owlapi.model.HasRange;
@@ -51,4 +52,9 @@ public abstract class AbstractPropertyRangeTranslator<Axiom extends OWLAxiom & H
         return statement.getPredicate().equals(RDFS.range) && statement.getSubject().canAs(getView());
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(RDFS.range, null));
+    }
+
 }
@@ -16,6 +16,7 @@ package ru.avicomp.ontapi.internal;
 
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Resource;
 import org.semanticweb.owlapi.model.HasProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -63,6 +64,11 @@ public abstract class AbstractPropertyTypeTranslator<Axiom extends OWLAxiom & Ha
                 && statement.getSubject().canAs(getView());
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(RDF.type, getType()));
+    }
+
     @Override
     public void write(Axiom axiom, OntGraphModel model) {
         WriteHelper.writeTriple(model, axiom.getProperty(), RDF.type, getType(), axiom.annotations());
@@ -16,6 +16,7 @@ package ru.avicomp.ontapi.internal;
 
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFList;
 import org.semanticweb.owlapi.model.OWLLogicalAxiom;
@@ -56,11 +57,16 @@ public abstract class AbstractSubChainedTranslator<Axiom extends OWLLogicalAxiom
 
     @Override
     public boolean testStatement(OntStatement statement) {
-        return statement.getSubject().equals(getPredicate())
+        return statement.getPredicate().equals(getPredicate())
                 && statement.getSubject().canAs(getView())
                 && statement.getObject().canAs(RDFList.class);
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(getPredicate(), null));
+    }
+
     Stream<OntStatement> content(OntStatement statement) {
         return Stream.concat(Stream.of(statement),
                 ((OntObjectImpl) statement.getSubject()).rdfListContent(getPredicate()));
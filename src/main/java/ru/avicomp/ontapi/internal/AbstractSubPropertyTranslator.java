@@ -16,6 +16,7 @@ package ru.avicomp.ontapi.internal;
 
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.vocabulary.RDFS;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLPropertyExpression;
@@ -53,6 +54,11 @@ public abstract class AbstractSubPropertyTranslator<Axiom extends OWLAxiom, P ex
                 && statement.getObject().canAs(getView());
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(RDFS.subPropertyOf, null));
+    }
+
     @Override
     public void write(Axiom axiom, OntGraphModel model) {
         WriteHelper.writeTriple(model, getSubProperty(axiom), RDFS.subPropertyOf, getSuperProperty(axiom), axiom.annotations());
@@ -18,6 +18,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
 import org.semanticweb.owlapi.model.*;
@@ -72,6 +73,21 @@ public abstract class AbstractTwoWayNaryTranslator<Axiom extends OWLAxiom & OWLN
         return super.testStatement(statement) || statement.getSubject().canAs(getDisjointView());
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.concat(super.patterns(), Stream.of(pattern(RDF.type, getMembersType())));
+    }
+
+    @Override
+    protected OntStatement select(OntStatement statement) {
+        if (!RDF.type.equals(statement.getPredicate())) {
+            return super.testStatement(statement) ? statement : null;
+        }
+        if (!statement.getSubject().canAs(getDisjointView())) return null;
+        OntStatement res = statement.getSubject().as(getDisjointView()).getRoot();
+        return statement.equals(res) ? res : null;
+    }
+
     abstract Resource getMembersType();
 
     abstract Property getMembersPredicate();
@@ -61,6 +61,11 @@ public class AnnotationAssertionTranslator extends AxiomTranslator<OWLAnnotation
                 ReadHelper.isEntityOrAnonymousIndividual(statement.getSubject());
     }
 
+    @Override
+    protected OntStatement select(OntStatement statement) {
+        return testStatement(statement) && getConfig(statement).loaderConfig().isLoadAnnotationAxioms() ? statement : null;
+    }
+
     @Override
     public InternalObject<OWLAnnotationAssertionAxiom> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
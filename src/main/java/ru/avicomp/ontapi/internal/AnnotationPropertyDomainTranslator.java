@@ -56,6 +56,14 @@ public class AnnotationPropertyDomainTranslator extends AbstractPropertyDomainTr
         return super.testStatement(statement) && statement.getObject().isURIResource();
     }
 
+    @Override
+    protected OntStatement select(OntStatement statement) {
+        if (!testStatement(statement)) return null;
+        OntLoaderConfiguration conf = getConfig(statement).loaderConfig();
+        if (!conf.isLoadAnnotationAxioms()) return null;
+        return ReadHelper.testAnnotationAxiomOverlaps(statement, conf, AxiomType.OBJECT_PROPERTY_DOMAIN, AxiomType.DATA_PROPERTY_DOMAIN) ? statement : null;
+    }
+
     @Override
     public InternalObject<OWLAnnotationPropertyDomainAxiom> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
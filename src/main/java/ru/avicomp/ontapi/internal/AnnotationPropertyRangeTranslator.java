@@ -57,6 +57,14 @@ public class AnnotationPropertyRangeTranslator extends AbstractPropertyRangeTran
         return super.testStatement(statement) && statement.getObject().isURIResource();
     }
 
+    @Override
+    protected OntStatement select(OntStatement statement) {
+        if (!testStatement(statement)) return null;
+        OntLoaderConfiguration conf = getConfig(statement).loaderConfig();
+        if (!conf.isLoadAnnotationAxioms()) return null;
+        return ReadHelper.testAnnotationAxiomOverlaps(statement, conf, AxiomType.OBJECT_PROPERTY_RANGE, AxiomType.DATA_PROPERTY_RANGE) ? statement : null;
+    }
+
     @Override
     public InternalObject<OWLAnnotationPropertyRangeAxiom> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
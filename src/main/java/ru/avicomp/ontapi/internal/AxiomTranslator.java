@@ -14,11 +14,16 @@
 
 package ru.avicomp.ontapi.internal;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
 import org.semanticweb.owlapi.model.OWLAxiom;
 
 import ru.avicomp.ontapi.OntApiException;
@@ -57,7 +62,20 @@ public abstract class AxiomTranslator<Axiom extends OWLAxiom> {
     }
 
     public Set<InternalObject<Axiom>> readAxioms(OntGraphModel model) {
-        return statements(model).map(this::asAxiom).collect(Collectors.toSet());
+        return readAxioms(statements(model));
+    }
+
+    /**
+     * Reads axioms and triples from the specified statements, which are supposed to be already selected.
+     * If different statements give the same axiom, their triples are merged.
+     *
+     * @param statements Stream of {@link OntStatement}s, see {@link #statements(OntGraphModel)} and {@link #select(OntStatement)}
+     * @return Set of {@link InternalObject} with {@link OWLAxiom} as key and Set of {@link Triple} as value
+     */
+    public Set<InternalObject<Axiom>> readAxioms(Stream<OntStatement> statements) {
+        Map<Axiom, InternalObject<Axiom>> res = new HashMap<>();
+        statements.map(this::asAxiom).forEach(c -> res.compute(c.getObject(), (a, w) -> w == null ? c : w.append(c)));
+        return new HashSet<>(res.values());
     }
 
     /**
@@ -76,6 +94,41 @@ public abstract class AxiomTranslator<Axiom extends OWLAxiom> {
      */
     public abstract boolean testStatement(OntStatement statement);
 
+    /**
+     * Returns the triple patterns which cover all statements from {@link #statements(OntGraphModel)}.
+     * Used to build the dispatch table while reading all axioms in one pass through the graph (see {@link AxiomsCollector}).
+     * By default it is {@link Triple#ANY}, i.e. any statement could be a candidate.
+     *
+     * @return Stream of {@link Triple}s with {@link org.apache.jena.graph.Node#ANY} as wildcard
+     */
+    protected Stream<Triple> patterns() {
+        return Stream.of(Triple.ANY);
+    }
+
+    /**
+     * Creates a triple pattern with any subject and the specified predicate and object.
+     *
+     * @param predicate {@link Property}, not null
+     * @param object    {@link RDFNode} or null to match any object
+     * @return {@link Triple}
+     */
+    protected static Triple pattern(Property predicate, RDFNode object) {
+        return Triple.create(Node.ANY, predicate.asNode(), object == null ? Node.ANY : object.asNode());
+    }
+
+    /**
+     * Selects the statement which determines the axiom by the specified local statement, that matches one of the {@link #patterns()}.
+     * Must be consistent with {@link #statements(OntGraphModel)}:
+     * the method returns non-null result if and only if the statement (or its root form, see {@link OntStatement#isRoot()})
+     * belongs to the stream of axiom statements.
+     *
+     * @param statement {@link OntStatement} from the base graph
+     * @return {@link OntStatement} or null
+     */
+    protected OntStatement select(OntStatement statement) {
+        return testStatement(statement) ? statement : null;
+    }
+
     /**
      * Wraps the statement as OWL Axiom.
      *
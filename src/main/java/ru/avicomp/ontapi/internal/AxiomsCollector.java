@@ -0,0 +1,228 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.internal;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import ru.avicomp.ontapi.OntApiException;
+import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
+import ru.avicomp.ontapi.jena.model.OntStatement;
+
+/**
+ * The engine to read axioms of several types in one pass through the base graph.
+ * Instead of calling {@link AxiomTranslator#read(ru.avicomp.ontapi.jena.model.OntGraphModel)} for each axiom type
+ * (which means a separate graph scan for each of them)
+ * it walks over all local statements only once and dispatches every statement to the suitable translators.
+ * The dispatch table is built from the {@link AxiomTranslator#patterns()},
+ * the final decision is made by the {@link AxiomTranslator#select(OntStatement)} method,
+ * which in turn is based on the {@link AxiomTranslator#testStatement(OntStatement)}.
+ *
+ * @see InternalModel#axioms(Set)
+ */
+@SuppressWarnings("WeakerAccess")
+public class AxiomsCollector {
+    /**
+     * The minimal number of selected statements to read axioms in parallel, see {@link #collect(Stream, int)}.
+     */
+    public static final int PARALLEL_THRESHOLD = 10_000;
+    // translators with patterns (ANY, P, ANY):
+    protected final Map<Node, List<AxiomType<? extends OWLAxiom>>> byPredicate = new HashMap<>();
+    // translators with patterns (ANY, P, O):
+    protected final Map<Node, Map<Node, List<AxiomType<? extends OWLAxiom>>>> byPredicateAndObject = new HashMap<>();
+    // translators with pattern (ANY, ANY, ANY):
+    protected final List<AxiomType<? extends OWLAxiom>> any = new ArrayList<>();
+    protected final Map<AxiomType<? extends OWLAxiom>, AxiomTranslator<? extends OWLAxiom>> translators = new LinkedHashMap<>();
+
+    /**
+     * Creates the collector for the specified axiom types.
+     * Note: the subject in translator's patterns is ignored (treated as {@link Node#ANY}).
+     *
+     * @param types Collection of {@link AxiomType}s
+     */
+    public AxiomsCollector(Collection<AxiomType<? extends OWLAxiom>> types) {
+        types.forEach(type -> translators.put(type, AxiomParserProvider.get(type)));
+        translators.forEach((type, translator) -> translator.patterns().forEach(pattern -> {
+            Node p = pattern.getPredicate();
+            Node o = pattern.getObject();
+            if (!p.isConcrete()) {
+                any.add(type);
+                return;
+            }
+            if (!o.isConcrete()) {
+                byPredicate.computeIfAbsent(p, x -> new ArrayList<>()).add(type);
+                return;
+            }
+            byPredicateAndObject.computeIfAbsent(p, x -> new HashMap<>()).computeIfAbsent(o, x -> new ArrayList<>()).add(type);
+        }));
+    }
+
+    /**
+     * Returns the axiom types to read.
+     *
+     * @return Set of {@link AxiomType}s
+     */
+    public Set<AxiomType<? extends OWLAxiom>> getTypes() {
+        return Collections.unmodifiableSet(translators.keySet());
+    }
+
+    /**
+     * Returns the axiom types which translators could be interested in the specified triple.
+     *
+     * @param triple {@link Triple}
+     * @return List of {@link AxiomType}s, possibly empty
+     */
+    protected List<AxiomType<? extends OWLAxiom>> candidates(Triple triple) {
+        List<AxiomType<? extends OWLAxiom>> a = byPredicate.getOrDefault(triple.getPredicate(), Collections.emptyList());
+        List<AxiomType<? extends OWLAxiom>> b = byPredicateAndObject.getOrDefault(triple.getPredicate(), Collections.emptyMap())
+                .getOrDefault(triple.getObject(), Collections.emptyList());
+        if (a.isEmpty() && b.isEmpty()) return any;
+        List<AxiomType<? extends OWLAxiom>> res = new ArrayList<>(any.size() + a.size() + b.size());
+        res.addAll(any);
+        res.addAll(a);
+        res.addAll(b);
+        return res;
+    }
+
+    /**
+     * Reads all axioms of the {@link #getTypes() specified types} from the model.
+     * The result map contains all types, including those which have no axioms.
+     *
+     * @param model {@link OntGraphModelImpl}, usually {@link InternalModel}
+     * @return Map with {@link AxiomType}s as keys and Sets of {@link InternalObject}s as values
+     */
+    public Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> collect(OntGraphModelImpl model) {
+        return collect(model, 1);
+    }
+
+    /**
+     * Reads all axioms of the {@link #getTypes() specified types} from the model using the specified number of threads.
+     *
+     * @param model   {@link OntGraphModelImpl}, usually {@link InternalModel}
+     * @param threads int, the maximum number of threads to translate statements into axioms, see {@link #collect(Stream, int)}
+     * @return Map with {@link AxiomType}s as keys and Sets of {@link InternalObject}s as values
+     */
+    public Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> collect(OntGraphModelImpl model, int threads) {
+        try (Stream<OntStatement> local = model.localStatements()) {
+            return collect(local, threads);
+        }
+    }
+
+    /**
+     * Reads all axioms of the {@link #getTypes() specified types} from the given statements.
+     * The statements are expected to be local.
+     * The result map contains all types, including those which have no axioms.
+     *
+     * @param statements Stream of {@link OntStatement}s
+     * @return Map with {@link AxiomType}s as keys and Sets of {@link InternalObject}s as values
+     */
+    public Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> collect(Stream<OntStatement> statements) {
+        return collect(statements, 1);
+    }
+
+    /**
+     * Reads all axioms of the {@link #getTypes() specified types} from the given statements.
+     * The reading goes in two stages: first the statements are dispatched to the translators in one pass,
+     * then each translator turns its own statements into axioms.
+     * The second stage is the expensive one, and if {@code threads > 1} it is performed in parallel
+     * in a separate {@link ForkJoinPool}, a task per axiom type.
+     * The first stage and the assembling of the result are always done in the current thread,
+     * and the result map has the same order as the {@link #getTypes() types},
+     * so the output does not depend on the number of threads.
+     * Small inputs (less than {@link #PARALLEL_THRESHOLD} selected statements) are always read in the current thread.
+     * Note: the model must not be modified while reading,
+     * and the translators must share nothing except the thread-safe model caches (see {@link InternalModel#fetch}).
+     *
+     * @param statements Stream of {@link OntStatement}s
+     * @param threads    int, the maximum number of threads, a value less than {@code 2} means the reading in the current thread
+     * @return Map with {@link AxiomType}s as keys and Sets of {@link InternalObject}s as values
+     */
+    public Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> collect(Stream<OntStatement> statements, int threads) {
+        Map<AxiomType<? extends OWLAxiom>, List<OntStatement>> roots = new HashMap<>();
+        statements.forEach(s -> {
+            for (AxiomType<? extends OWLAxiom> type : candidates(s.asTriple())) {
+                OntStatement res = select(translators.get(type), s);
+                if (res == null) continue;
+                roots.computeIfAbsent(type, t -> new ArrayList<>()).add(res);
+            }
+        });
+        Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> read;
+        if (threads > 1 && roots.size() > 1 && roots.values().stream().mapToInt(List::size).sum() >= PARALLEL_THRESHOLD) {
+            read = read(roots, threads);
+        } else {
+            read = new HashMap<>();
+            for (Map.Entry<AxiomType<? extends OWLAxiom>, List<OntStatement>> e : roots.entrySet()) {
+                read.put(e.getKey(), read(translators.get(e.getKey()), e.getValue()));
+            }
+        }
+        Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> res = new LinkedHashMap<>();
+        translators.keySet().forEach(type -> res.put(type, read.getOrDefault(type, new HashSet<>())));
+        return res;
+    }
+
+    /**
+     * Translates the selected statements into axioms in a bounded {@link ForkJoinPool}.
+     * The largest groups are submitted first so that they do not end up as the tail of the work.
+     *
+     * @param roots   Map with {@link AxiomType}s as keys and Lists of selected {@link OntStatement}s as values
+     * @param threads int, the parallelism level
+     * @return Map with {@link AxiomType}s as keys and Sets of {@link InternalObject}s as values
+     */
+    protected Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> read(Map<AxiomType<? extends OWLAxiom>, List<OntStatement>> roots,
+                                                                                                 int threads) {
+        ForkJoinPool pool = new ForkJoinPool(Math.min(threads, roots.size()));
+        try {
+            List<Map.Entry<AxiomType<? extends OWLAxiom>, ForkJoinTask<Set<InternalObject<? extends OWLAxiom>>>>> tasks = new ArrayList<>();
+            roots.entrySet().stream()
+                    .sorted(Comparator.comparingInt((Map.Entry<AxiomType<? extends OWLAxiom>, List<OntStatement>> e) -> e.getValue().size()).reversed())
+                    .forEach(e -> {
+                        AxiomTranslator<? extends OWLAxiom> translator = translators.get(e.getKey());
+                        List<OntStatement> list = e.getValue();
+                        tasks.add(new AbstractMap.SimpleEntry<>(e.getKey(), pool.submit(() -> read(translator, list))));
+                    });
+            Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> res = new HashMap<>();
+            tasks.forEach(e -> res.put(e.getKey(), e.getValue().join()));
+            return res;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static OntStatement select(AxiomTranslator<? extends OWLAxiom> translator, OntStatement statement) {
+        try {
+            return translator.select(statement);
+        } catch (Exception e) {
+            throw new OntApiException(String.format("Can't process reading. Translator <%s>, statement: %s.",
+                    translator.getClass(), statement), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<InternalObject<? extends OWLAxiom>> read(AxiomTranslator<? extends OWLAxiom> translator, List<OntStatement> statements) {
+        if (statements.isEmpty()) return new HashSet<>();
+        try {
+            return (Set<InternalObject<? extends OWLAxiom>>) (Set) translator.readAxioms(statements.stream());
+        } catch (Exception e) {
+            throw new OntApiException(String.format("Can't process reading. Translator <%s>.", translator.getClass()), e);
+        }
+    }
+}
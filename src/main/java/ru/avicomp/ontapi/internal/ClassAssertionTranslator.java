@@ -16,6 +16,7 @@ package ru.avicomp.ontapi.internal;
 
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -57,6 +58,11 @@ public class ClassAssertionTranslator extends AxiomTranslator<OWLClassAssertionA
                 && statement.getSubject().canAs(OntIndividual.class);
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(RDF.type, null));
+    }
+
     @Override
     public InternalObject<OWLClassAssertionAxiom> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
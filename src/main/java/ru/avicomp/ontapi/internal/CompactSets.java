@@ -0,0 +1,237 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.internal;
+
+import java.util.*;
+
+/**
+ * Helper to work with the compact sets, which are used by the caches of {@link InternalModel} and {@link InternalObject}
+ * (e.g. the triples of an axiom and the axioms of a triple) instead of {@link HashSet}s.
+ * An ontology with a million axioms keeps several millions of such small sets,
+ * and a {@link HashSet} (with its backing {@link HashMap}, table and entries) costs much more than the elements themselves.
+ * <p>
+ * There are three kinds of compact sets: the empty set, the singleton and the immutable array set,
+ * whose elements are sorted by hash code (so {@link Set#contains(Object)} is a binary search).
+ * All of them are immutable, a modification ({@link #add(Set, Object)}, {@link #remove(Set, Object)}) returns a new set,
+ * which must be stored by the caller instead of the old one.
+ * A set that has grown over the {@link #LIMIT} by one-by-one additions becomes a {@link HashSet}, which is modified in place,
+ * since the copying of a large array on each addition would be too expensive.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CompactSets {
+    // the max size of the array set, which is modified by copying:
+    protected static final int LIMIT = 32;
+    // the max size of the array set, which is searched without hashing:
+    protected static final int LINEAR = 8;
+    private static final Class<?> SINGLETON = Collections.singleton(null).getClass();
+
+    /**
+     * Returns a compact immutable set with the same elements.
+     * If the specified set is already compact it is returned as is.
+     *
+     * @param elements Collection, not null, without nulls
+     * @param <E>      the type of elements
+     * @return Set
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Set<E> of(Collection<? extends E> elements) {
+        if (isCompact(elements)) return (Set<E>) elements;
+        Collection<? extends E> set = elements instanceof Set ? elements : new HashSet<>(elements);
+        switch (set.size()) {
+            case 0:
+                return Collections.emptySet();
+            case 1:
+                return Collections.singleton(set.iterator().next());
+            default:
+                return new ArraySet<>(set.toArray());
+        }
+    }
+
+    /**
+     * Returns the union of two sets as a compact set.
+     *
+     * @param left  Set
+     * @param right Set
+     * @param <E>   the type of elements
+     * @return Set
+     */
+    public static <E> Set<E> union(Set<E> left, Set<E> right) {
+        if (right.isEmpty() || left.containsAll(right)) return of(left);
+        if (left.isEmpty()) return of(right);
+        Set<E> res = new HashSet<>(left);
+        res.addAll(right);
+        return of(res);
+    }
+
+    /**
+     * Adds the element to the set.
+     *
+     * @param set     Set, compact or {@link HashSet}
+     * @param element the element to add, not null
+     * @param <E>     the type of elements
+     * @return Set, the same or new one
+     */
+    public static <E> Set<E> add(Set<E> set, E element) {
+        if (set instanceof HashSet) {
+            set.add(element);
+            return set;
+        }
+        if (set.contains(element)) return set;
+        int size = set.size();
+        if (size == 0) return Collections.singleton(element);
+        if (size >= LIMIT) {
+            Set<E> res = new HashSet<>(set);
+            res.add(element);
+            return res;
+        }
+        Object[] array = set.toArray(new Object[size + 1]);
+        array[size] = element;
+        return new ArraySet<>(array);
+    }
+
+    /**
+     * Removes the element from the set.
+     *
+     * @param set     Set, compact or {@link HashSet}
+     * @param element the element to remove
+     * @param <E>     the type of elements
+     * @return Set, the same or new one
+     */
+    public static <E> Set<E> remove(Set<E> set, Object element) {
+        if (set instanceof HashSet) {
+            set.remove(element);
+            return set;
+        }
+        if (!set.contains(element)) return set;
+        int size = set.size();
+        if (size == 1) return Collections.emptySet();
+        Object[] array = new Object[size - 1];
+        int i = 0;
+        for (E e : set) {
+            if (!e.equals(element)) array[i++] = e;
+        }
+        return size == 2 ? Collections.singleton(elementAt(array, 0)) : new ArraySet<>(array);
+    }
+
+    /**
+     * Makes a copy of the set, which does not depend on the specified one.
+     * Since the compact sets are immutable, only a {@link HashSet} is really copied.
+     *
+     * @param set Set, compact or {@link HashSet}
+     * @param <E> the type of elements
+     * @return Set
+     */
+    public static <E> Set<E> copy(Set<E> set) {
+        return isCompact(set) ? set : of(set);
+    }
+
+    /**
+     * Answers {@code true} if the collection is an immutable compact set.
+     *
+     * @param c Collection
+     * @return boolean
+     */
+    public static boolean isCompact(Collection<?> c) {
+        return c instanceof ArraySet || c == Collections.emptySet() || c.getClass() == SINGLETON;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementAt(Object[] array, int index) {
+        return (E) array[index];
+    }
+
+    /**
+     * The immutable set, which is backed by an array sorted by hash code.
+     *
+     * @param <E> the type of elements
+     */
+    protected static final class ArraySet<E> extends AbstractSet<E> {
+        private static final Comparator<Object> BY_HASH = Comparator.comparingInt(Object::hashCode);
+        private final Object[] elements;
+
+        protected ArraySet(Object[] elements) {
+            Arrays.sort(elements, BY_HASH);
+            this.elements = elements;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < elements.length;
+                }
+
+                @Override
+                public E next() {
+                    if (index >= elements.length) throw new NoSuchElementException();
+                    return elementAt(elements, index++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o == null) return false;
+            if (elements.length <= LINEAR) {
+                for (Object e : elements) {
+                    if (o.equals(e)) return true;
+                }
+                return false;
+            }
+            int hash = o.hashCode();
+            int low = 0;
+            int high = elements.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int h = elements[mid].hashCode();
+                if (h < hash) {
+                    low = mid + 1;
+                } else if (h > hash) {
+                    high = mid - 1;
+                } else {
+                    return scan(o, mid, hash);
+                }
+            }
+            return false;
+        }
+
+        private boolean scan(Object o, int index, int hash) {
+            for (int i = index; i >= 0 && elements[i].hashCode() == hash; i--) {
+                if (o.equals(elements[i])) return true;
+            }
+            for (int i = index + 1; i < elements.length && elements[i].hashCode() == hash; i++) {
+                if (o.equals(elements[i])) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            int res = 0;
+            for (Object e : elements) {
+                res += e.hashCode();
+            }
+            return res;
+        }
+    }
+}
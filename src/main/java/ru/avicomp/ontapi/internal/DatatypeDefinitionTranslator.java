@@ -16,6 +16,7 @@ package ru.avicomp.ontapi.internal;
 
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLDataRange;
 import org.semanticweb.owlapi.model.OWLDatatype;
@@ -54,6 +55,11 @@ public class DatatypeDefinitionTranslator extends AxiomTranslator<OWLDatatypeDef
                 && statement.getObject().canAs(OntDR.class);
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(OWL.equivalentClass, null));
+    }
+
     @Override
     public InternalObject<OWLDatatypeDefinitionAxiom> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
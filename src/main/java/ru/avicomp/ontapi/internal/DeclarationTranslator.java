@@ -17,15 +17,13 @@ package ru.avicomp.ontapi.internal;
 import java.util.Objects;
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 
 import ru.avicomp.ontapi.jena.impl.Entities;
-import ru.avicomp.ontapi.jena.model.OntEntity;
-import ru.avicomp.ontapi.jena.model.OntGraphModel;
-import ru.avicomp.ontapi.jena.model.OntObject;
-import ru.avicomp.ontapi.jena.model.OntStatement;
+import ru.avicomp.ontapi.jena.model.*;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
 /**
@@ -53,6 +51,23 @@ public class DeclarationTranslator extends AxiomTranslator<OWLDeclarationAxiom>
                 && Stream.of(Entities.values()).map(Entities::type).anyMatch(t -> statement.getObject().equals(t));
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(Entities.values()).map(e -> pattern(RDF.type, e.type()));
+    }
+
+    @Override
+    protected OntStatement select(OntStatement statement) {
+        if (!getConfig(statement).loaderConfig().isAllowReadDeclarations()) return null;
+        OntObject subject = statement.getSubject();
+        if (!subject.isURIResource()) return null;
+        return Stream.of(OntClass.class, OntDT.class, OntIndividual.Named.class, OntNOP.class, OntNAP.class, OntNDP.class)
+                .filter(subject::canAs)
+                .map(view -> subject.as(view).getRoot())
+                .filter(statement::equals)
+                .findFirst().orElse(null);
+    }
+
     @Override
     public InternalObject<OWLDeclarationAxiom> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
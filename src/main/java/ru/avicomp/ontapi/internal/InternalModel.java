@@ -22,16 +22,25 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.shared.Lock;
 import org.apache.jena.sparql.util.graph.GraphListenerBase;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Navigation;
 
 import ru.avicomp.ontapi.OntApiException;
 import ru.avicomp.ontapi.OwlObjects;
+import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
 import ru.avicomp.ontapi.jena.model.*;
+import ru.avicomp.ontapi.jena.utils.Iter;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
 /**
  * Buffer RDF-OWL model.
@@ -48,23 +57,27 @@ import ru.avicomp.ontapi.jena.model.*;
 @SuppressWarnings({"WeakerAccess"})
 public class InternalModel extends OntGraphModelImpl implements OntGraphModel, ConfigProvider {
 
-    /**
-     * The experimental flag which specifies the behaviour on axioms loading.
-     * if true then reading of axioms through {@link AxiomTranslator}s occurs in parallel-stream mode (see {@link #axioms(Set)}).
-     * As shown by pizza-performance-test it might really help to speed up the initial loading.
-     * But it seems for small ontologies using this flag is dangerous and may degrade performance.
-     * From this point this flag is always false.
-     */
-    public static boolean optimizeCollecting = false;
+    // To choose axiom types by triple:
+    protected static final AxiomsCollector ALL_AXIOMS_COLLECTOR = new AxiomsCollector(AxiomType.AXIOM_TYPES);
     // Axioms & header annotations store.
     // Used to work through OWL-API interfaces. The use of jena model methods must clear this cache.
-    protected Map<Class<? extends OWLObject>, OwlObjectTriplesMap<? extends OWLObject>> componentsStore
-            = optimizeCollecting ? new ConcurrentHashMap<>(29, 0.75f, 39) : new HashMap<>();
-    // OWL objects store to improve performance (working with OWL-API 'signature' methods)
-    // Any change in the graph must reset these caches.
-    protected Map<Class<? extends OWLObject>, Set<? extends OWLObject>> objectsStore = new HashMap<>();
+    protected Map<Class<? extends OWLObject>, OwlObjectTriplesMap<? extends OWLObject>> componentsStore = new HashMap<>();
+    // OWL objects store to improve performance (working with OWL-API 'signature' methods).
+    // The objects are reference-counted and updated on each add and remove through the OWL-API interface,
+    // any direct change in the graph must reset these caches.
+    protected Map<Class<? extends OWLObject>, ObjectsCounter<? extends OWLObject>> objectsStore = new HashMap<>();
     // Temporary stores for collecting axioms, should be reset after axioms getting.
-    protected Map<MapType, Map> temporaryObjects = new EnumMap<>(MapType.class);
+    // They are also the interning tables: each nested expression, literal or annotation is translated once per load.
+    // Must be thread-safe, since axioms of different types can be read concurrently (see #readAxiomTripleStores(Set)).
+    protected Map<MapType, Map> temporaryObjects = new ConcurrentHashMap<>();
+    // The triples written through the OWL-API interface which are roots of other (not cached yet) axioms.
+    // They are re-read with the next direct change, see #updateCache(Triple)
+    protected Set<Triple> unreadTriples = new HashSet<>();
+    // The listener which is shared by all writes in the batch mode, see #beginBatch()
+    protected OwlObjectListener<? extends OWLObject> batch;
+    protected int batchDepth;
+    // The types of objects touched within the current transaction, not null only while it is open, see #beginTransaction()
+    protected Set<Class<? extends OWLObject>> transaction;
     // Configuration settings
     private ConfigProvider.Config config;
 
@@ -151,6 +164,17 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         return fetch(ce, MapType.CE, c -> ReadHelper.getClassExpression(c, getConfig().dataFactory()));
     }
 
+    /**
+     * Auxiliary method, which is used while reading a nested class expression.
+     *
+     * @param ce   {@link OntCE}
+     * @param seen Set of {@link Resource}, the expressions which are being read
+     * @return {@link InternalObject} which wraps {@link OWLClassExpression}
+     */
+    protected InternalObject<? extends OWLClassExpression> fetchClassExpression(OntCE ce, Set<Resource> seen) {
+        return fetch(ce, MapType.CE, c -> ReadHelper.getClassExpression(c, getConfig().dataFactory(), seen));
+    }
+
     /**
      * Auxiliary method, which is used while axioms collecting.
      *
@@ -161,6 +185,37 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         return fetch(dr, MapType.DR, d -> ReadHelper.getDataRange(d, getConfig().dataFactory()));
     }
 
+    /**
+     * Auxiliary method, which is used while reading a nested data range.
+     *
+     * @param dr   {@link OntDR}
+     * @param seen Set of {@link Resource}, the data ranges which are being read
+     * @return {@link InternalObject} which wraps {@link OWLDataRange}
+     */
+    protected InternalObject<? extends OWLDataRange> fetchDataRange(OntDR dr, Set<Resource> seen) {
+        return fetch(dr, MapType.DR, d -> ReadHelper.getDataRange(d, getConfig().dataFactory(), seen));
+    }
+
+    /**
+     * Auxiliary method, which is used while axioms collecting.
+     *
+     * @param literal {@link Literal}
+     * @return {@link InternalObject} which wraps {@link OWLLiteral}
+     */
+    protected InternalObject<OWLLiteral> fetchLiteral(Literal literal) {
+        return fetch(literal, MapType.L, l -> ReadHelper.getLiteral(l, getConfig().dataFactory()));
+    }
+
+    /**
+     * Auxiliary method, which is used while axioms collecting.
+     *
+     * @param statement {@link OntStatement} the annotation assertion
+     * @return {@link InternalObject} which wraps {@link OWLAnnotation}
+     */
+    protected InternalObject<OWLAnnotation> fetchAnnotation(OntStatement statement) {
+        return fetch(statement, MapType.A, a -> ReadHelper.getAnnotation(a, getConfig().dataFactory()));
+    }
+
     /**
      * Auxiliary method, which is used while axioms collecting.
      *
@@ -203,12 +258,16 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
 
     /**
      * Auxiliary method, which is used while axioms collecting.
+     * It is the interning layer: each distinct object (in particular, a blank node expression)
+     * is translated once and then the same {@link InternalObject} (which shares its triples) is used by all axioms.
+     * Note: the function may call this method recursively for the components (e.g. for nested class expressions),
+     * so the map is not modified while the function is running.
      *
-     * @param b    {@link OntObject}
+     * @param b    {@link OntObject}, {@link Literal} or {@link OntStatement}
      * @param type {@link MapType} enum with types
      * @param func {@link Function} to read, see {@link ReadHelper}
      * @param <A>  {@link OWLObject}
-     * @param <B>  {@link OntObject}
+     * @param <B>  the key type
      * @return {@link InternalObject} around the {@code &lt;A&gt;}
      * @see #fetchClassExpression(OntCE)
      * @see #fetchDataRange(OntDR)
@@ -216,10 +275,17 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      * @see #fetchObjectProperty(OntOPE)
      * @see #fetchDataProperty(OntNDP)
      * @see #fetchAnnotationProperty(OntNAP)
+     * @see #fetchLiteral(Literal)
+     * @see #fetchAnnotation(OntStatement)
      */
     @SuppressWarnings("unchecked")
-    protected <A extends OWLObject, B extends OntObject> InternalObject<A> fetch(B b, MapType type, Function<B, InternalObject<A>> func) {
-        return (InternalObject<A>) temporaryObjects.computeIfAbsent(type, t -> new HashMap<>()).computeIfAbsent(b, func);
+    protected <A extends OWLObject, B> InternalObject<A> fetch(B b, MapType type, Function<B, InternalObject<A>> func) {
+        Map<B, InternalObject<A>> map = temporaryObjects.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        InternalObject<A> res = map.get(b);
+        if (res != null) return res;
+        res = func.apply(b);
+        InternalObject<A> prev = map.putIfAbsent(b, res);
+        return prev == null ? res : prev;
     }
 
     /**
@@ -325,19 +391,66 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         return objects(OWLDatatype.class);
     }
 
+    /**
+     * Answers whether the specified entity is a part of the signature of the model.
+     * This is a hash lookup, the axioms are not enumerated (except building the signature cache for the first time).
+     *
+     * @param entity {@link OWLEntity}
+     * @return boolean
+     */
+    public boolean containsEntity(OWLEntity entity) {
+        Class<? extends OWLEntity> type = entity.isOWLClass() ? OWLClass.class
+                : entity.isOWLDatatype() ? OWLDatatype.class
+                : entity.isOWLAnnotationProperty() ? OWLAnnotationProperty.class
+                : entity.isOWLDataProperty() ? OWLDataProperty.class
+                : entity.isOWLObjectProperty() ? OWLObjectProperty.class
+                : OWLNamedIndividual.class;
+        return getObjectsCounter(type).contains(entity);
+    }
+
     /**
      * Gets owl-objects from axioms and annotations.
      *
      * @param view Class type of owl-object.
      * @return Stream of {@link OWLObject}s.
      */
-    @SuppressWarnings("unchecked")
     protected <O extends OWLObject> Stream<O> objects(Class<O> view) {
-        return (Stream<O>) objectsStore.computeIfAbsent(view, c ->
-                Stream.concat(
-                        annotations().map(annotation -> OwlObjects.objects(c, annotation)).flatMap(Function.identity()),
-                        axioms().map(axiom -> OwlObjects.objects(c, axiom)).flatMap(Function.identity())
-                ).collect(Collectors.toSet())).stream();
+        return getObjectsCounter(view).objects().stream();
+    }
+
+    /**
+     * Returns the reference-counted set of owl-objects of the specified type, builds it if it is absent.
+     *
+     * @param view Class type of owl-object.
+     * @param <O>  {@link OWLObject}
+     * @return {@link ObjectsCounter}
+     */
+    @SuppressWarnings("unchecked")
+    protected <O extends OWLObject> ObjectsCounter<O> getObjectsCounter(Class<O> view) {
+        return (ObjectsCounter<O>) objectsStore.computeIfAbsent(view, c -> {
+            ObjectsCounter<O> res = new ObjectsCounter<>(new HashMap<>());
+            Stream<OWLObject> objects = Stream.concat(annotations(), axioms());
+            objects.forEach(o -> res.add(o, view));
+            return res;
+        });
+    }
+
+    /**
+     * Updates the signature caches after the specified axiom or annotation has been added or removed.
+     *
+     * @param object {@link OWLAxiom} or {@link OWLAnnotation}
+     * @param add    boolean, true if the object has been added, false if it has been removed
+     */
+    @SuppressWarnings("unchecked")
+    protected void updateObjects(OWLObject object, boolean add) {
+        objectsStore.forEach((type, counter) -> {
+            ObjectsCounter<OWLObject> res = (ObjectsCounter<OWLObject>) counter;
+            if (add) {
+                res.add(object, (Class<OWLObject>) type);
+            } else {
+                res.remove(object, (Class<OWLObject>) type);
+            }
+        });
     }
 
     /**
@@ -358,7 +471,6 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      */
     public void remove(OWLAnnotation annotation) {
         remove(annotation, getAnnotationTripleStore());
-        clearObjectsCache();
     }
 
     /**
@@ -381,32 +493,22 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      * of ConcurrentModificationException (in case use of standard java collections api) or deadlocks (in case of concurrent collections),
      * if we allow some processing outside the method.
      * <p>
-     * Collecting performs through parallel-stream in the following cases:
-     * - {@link #optimizeCollecting} is true
-     * - {@link #componentsStore} is empty
-     * - the set of {@link AxiomType}s contains more then one element.
+     * If there are more than one uncached axiom types,
+     * the missing axioms are read in one pass through the graph (see {@link #readAxiomTripleStores(Set)}),
+     * possibly in several threads, if it is allowed by the {@link ru.avicomp.ontapi.config.OntLoaderConfiguration#getAxiomsReadingThreads()}.
+     * A single axiom type is always read lazily by its own translator.
      *
      * @param types Set of {@link AxiomType}s
      * @return Stream of {@link OWLAxiom}
      * @see #annotations()
      */
     public Stream<OWLAxiom> axioms(Set<AxiomType<? extends OWLAxiom>> types) {
-        Stream<OWLAxiom> res;
-        if (optimizeCollecting && componentsStore.isEmpty() && types.size() > 1) {
-            types.parallelStream().forEach(type -> getAxiomTripleStore(type.getActualClass()));
-            res = componentsStore.values().stream()
-                    .filter(v -> !Objects.equals(v.type(), OWLAnnotation.class))
-                    .map(OwlObjectTriplesMap::getObjects)
-                    .map(Collection::stream)
-                    .flatMap(Function.identity())
-                    .map(OWLAxiom.class::cast);
-        } else {
-            res = types.stream()
-                    .map(t -> getAxiomTripleStore(t.getActualClass()).getObjects())
-                    .map(Collection::stream)
-                    .flatMap(Function.identity())
-                    .map(OWLAxiom.class::cast);
-        }
+        readAxiomTripleStores(types);
+        Stream<OWLAxiom> res = types.stream()
+                .map(t -> getAxiomTripleStore(t.getActualClass()).getObjects())
+                .map(Collection::stream)
+                .flatMap(Function.identity())
+                .map(OWLAxiom.class::cast);
         return getConfig().parallel() ? res.collect(Collectors.toList()).stream() : res;
     }
 
@@ -428,14 +530,6 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      */
     public void remove(OWLAxiom axiom) {
         remove(axiom, getAxiomTripleStore(axiom.getAxiomType()));
-        Stream.of(OWLClass.class,
-                OWLDatatype.class,
-                OWLAnnotationProperty.class,
-                OWLDataProperty.class,
-                OWLObjectProperty.class,
-                OWLNamedIndividual.class,
-                OWLAnonymousIndividual.class).filter(c -> OwlObjects.objects(c, axiom).anyMatch(p -> true))
-                .forEach(type -> objectsStore.remove(type));
     }
 
     /**
@@ -468,6 +562,58 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         return axioms(Collections.singleton(type)).map(x -> (A) x);
     }
 
+    /**
+     * Answers whether the specified axiom is present in the model.
+     * This is a hash lookup in the store of the axiom type: the axioms are not enumerated.
+     * Note: all missing stores are read from the graph first, not only the store of the axiom type.
+     * This method is called by the manager before each addition,
+     * and the other stores must be cached before the axiom is written:
+     * otherwise the triples written as a side effect (e.g. implicit declarations)
+     * would be read later as separate axioms.
+     *
+     * @param axiom {@link OWLAxiom}
+     * @return boolean
+     */
+    public boolean contains(OWLAxiom axiom) {
+        if (!hasAllAxiomTripleStores()) {
+            readAxiomTripleStores(AxiomType.AXIOM_TYPES);
+            AxiomType.AXIOM_TYPES.forEach(t -> getAxiomTripleStore(t.getActualClass()));
+        }
+        return getAxiomTripleStore(axiom.getAxiomType()).contains(axiom);
+    }
+
+    /**
+     * Answers {@code true} if the stores of all axiom types are in the cache.
+     * The keys are checked one by one, since the cache contains also the stores of other objects (e.g. annotations),
+     * and any store can be dropped separately (see {@link #clearCache()} and the listeners).
+     *
+     * @return boolean
+     */
+    protected boolean hasAllAxiomTripleStores() {
+        for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+            if (!componentsStore.containsKey(type.getActualClass())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Answers the number of axioms of the specified types.
+     * The counts are taken from the sizes of the stores, which are kept in sync on each add, remove or cache invalidation,
+     * so the axioms are not enumerated.
+     * The missing stores are read in the same way as in the {@link #axioms(Set)} method.
+     *
+     * @param types Set of {@link AxiomType}s
+     * @return int, non-negative
+     */
+    public int getAxiomCount(Set<AxiomType<? extends OWLAxiom>> types) {
+        readAxiomTripleStores(types);
+        int res = 0;
+        for (AxiomType<? extends OWLAxiom> type : types) {
+            res += getAxiomTripleStore(type).size();
+        }
+        return res;
+    }
+
     /**
      * Auxiliary method.
      * Returns map of axioms by specified OWLAxiom type.
@@ -481,6 +627,54 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         return getAxiomTripleStore((Class<A>) type.getActualClass());
     }
 
+    /**
+     * Returns the axioms of the specified types which refer to the given primitive anywhere in their structure,
+     * including annotations.
+     * The result is taken from the {@link SignatureIndex}es of the axiom stores.
+     *
+     * @param types Set of {@link AxiomType}s
+     * @param key   {@link OWLPrimitive}
+     * @return Stream of {@link OWLAxiom}s
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<OWLAxiom> referencingAxioms(Set<AxiomType<? extends OWLAxiom>> types, OWLPrimitive key) {
+        readAxiomTripleStores(types);
+        Stream<OWLAxiom> res = types.stream()
+                .map(t -> getAxiomTripleStore((Class<OWLAxiom>) t.getActualClass()).signature().references(key))
+                .flatMap(Collection::stream);
+        return getConfig().parallel() ? res.collect(Collectors.toList()).stream() : res;
+    }
+
+    /**
+     * Returns the axioms of the specified type which refer to the given primitive.
+     *
+     * @param type {@link Class} of axiom
+     * @param key  {@link OWLPrimitive}
+     * @param <A>  {@link OWLAxiom}
+     * @return Stream of {@link OWLAxiom}s
+     * @see #referencingAxioms(Set, OWLPrimitive)
+     */
+    public <A extends OWLAxiom> Stream<A> referencingAxioms(Class<A> type, OWLPrimitive key) {
+        Stream<A> res = getAxiomTripleStore(type).signature().references(key).stream();
+        return getConfig().parallel() ? res.collect(Collectors.toList()).stream() : res;
+    }
+
+    /**
+     * Returns the axioms of the specified type which contain the given object at the specified position.
+     * Only the axiom types which have sides are supported (e.g. {@link OWLSubClassOfAxiom}),
+     * see {@link SignatureIndex#subPositions(OWLAxiom)} and {@link SignatureIndex#superPositions(OWLAxiom)}.
+     *
+     * @param type     {@link Class} of axiom
+     * @param object   {@link OWLObject}, either entity or anonymous expression
+     * @param position {@link Navigation}
+     * @param <A>      {@link OWLAxiom}
+     * @return Stream of {@link OWLAxiom}s
+     */
+    public <A extends OWLAxiom> Stream<A> axioms(Class<A> type, OWLObject object, Navigation position) {
+        Stream<A> res = getAxiomTripleStore(type).signature().positions(object, position).stream();
+        return getConfig().parallel() ? res.collect(Collectors.toList()).stream() : res;
+    }
+
     /**
      * Auxiliary method.
      * Returns map of axioms by specified OWLAxiom class.
@@ -495,6 +689,29 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
                 c -> new OwlObjectTriplesMap<>(type, AxiomParserProvider.get((Class<A>) c).read(InternalModel.this)));
     }
 
+    /**
+     * Auxiliary method.
+     * Fills the cache with the axioms of the specified types in one pass through the base graph using {@link AxiomsCollector}.
+     * Does nothing if there is only one (or none) axiom type which is absent in the cache:
+     * in that case the lazy per-type reading is used (see {@link #getAxiomTripleStore(Class)}).
+     * The translation of the found statements into axioms is split between the axiom types
+     * and run in a bounded pool of {@link ru.avicomp.ontapi.config.OntLoaderConfiguration#getAxiomsReadingThreads()} threads.
+     * The cache is filled in the current thread once all types are read, so the result does not depend on the number of threads.
+     *
+     * @param types Set of {@link AxiomType}s
+     * @see AxiomsCollector#collect(OntGraphModelImpl, int)
+     */
+    @SuppressWarnings("unchecked")
+    protected void readAxiomTripleStores(Set<AxiomType<? extends OWLAxiom>> types) {
+        List<AxiomType<? extends OWLAxiom>> absent = types.stream()
+                .filter(t -> !componentsStore.containsKey(t.getActualClass()))
+                .collect(Collectors.toList());
+        if (absent.size() < 2) return;
+        int threads = getConfig().loaderConfig().getAxiomsReadingThreads();
+        new AxiomsCollector(absent).collect(this, threads).forEach((type, axioms) -> componentsStore.put(type.getActualClass(),
+                new OwlObjectTriplesMap<>((Class<OWLAxiom>) type.getActualClass(), (Set<InternalObject<OWLAxiom>>) (Set) axioms)));
+    }
+
     /**
      * Auxiliary method.
      * Returns triples-map of owl-annotations
@@ -514,30 +731,144 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      * @param store  {@link OwlObjectTriplesMap}
      * @param writer {@link Consumer} to process writing.
      */
+    @SuppressWarnings("unchecked")
     protected <O extends OWLObject> void add(O object, OwlObjectTriplesMap<O> store, Consumer<O> writer) {
-        OwlObjectListener<O> listener = store.createListener(object);
+        if (transaction != null) transaction.add(store.type());
+        OwlObjectListener<O> listener = (OwlObjectListener<O>) batch;
+        if (listener != null) {
+            listener.capture(store, object);
+            try {
+                write(object, store, writer);
+            } finally {
+                listener.capture(null, null);
+            }
+            return;
+        }
+        listener = store.createListener(object);
         try {
             getGraph().getEventManager().register(listener);
+            write(object, store, writer);
+        } finally {
+            getGraph().getEventManager().unregister(listener);
+        }
+    }
+
+    private <O extends OWLObject> void write(O object, OwlObjectTriplesMap<O> store, Consumer<O> writer) {
+        boolean isNew = !store.contains(object);
+        try {
             writer.accept(object);
+            store.get(object).stream().filter(t -> isRootOfOtherAxiom(t, object)).forEach(unreadTriples::add);
+            if (isNew) updateObjects(object, true);
         } catch (Exception e) {
             throw new OntApiException(String.format("OWLObject: %s, message: %s", object, e.getMessage()), e);
-        } finally {
-            getGraph().getEventManager().unregister(listener);
         }
     }
 
+    /**
+     * Turns on the batch write mode.
+     * In this mode all axioms and annotations are written under the single {@link OwlObjectListener},
+     * which is registered once and switched from one object to another,
+     * instead of registering a new listener for each object.
+     * The calls could be nested, each must be paired with the {@link #endBatch()}.
+     * Used by the manager when it applies many changes at once (e.g. {@code addAxioms}).
+     */
+    public void beginBatch() {
+        if (batchDepth++ > 0) return;
+        batch = new OwlObjectListener<>(null, null);
+        getGraph().getEventManager().register(batch);
+    }
+
+    /**
+     * Turns off the batch write mode, if it is the last of the nested calls.
+     *
+     * @see #beginBatch()
+     */
+    public void endBatch() {
+        if (batchDepth == 0 || --batchDepth > 0) return;
+        getGraph().getEventManager().unregister(batch);
+        batch = null;
+    }
+
+    /**
+     * Opens a graph-level transaction:
+     * all changes of the base graph are recorded into the triple delta journal (see {@link UnionGraph.Journal})
+     * until the transaction is either committed or rolled back.
+     * Used by the manager to apply a list of changes atomically.
+     *
+     * @return false if the transaction is already open, in that case nothing happens
+     * @see #commitTransaction()
+     * @see #rollbackTransaction()
+     */
+    public boolean beginTransaction() {
+        if (transaction != null) return false;
+        getGraph().startJournal();
+        transaction = new HashSet<>();
+        return true;
+    }
+
+    /**
+     * Closes the transaction keeping all changes.
+     *
+     * @see #beginTransaction()
+     */
+    public void commitTransaction() {
+        getGraph().stopJournal();
+        transaction = null;
+    }
+
+    /**
+     * Closes the transaction discarding all changes.
+     * The base graph is restored from the journal in one step, without translating the axioms back to triples,
+     * then the caches of the touched axiom (and annotation) types are dropped, they will be re-read on demand.
+     * Note: the listeners of the union graph are not notified,
+     * so the graph caches maintained by them (e.g. the index of bulk annotations) are dropped as well.
+     *
+     * @see #beginTransaction()
+     */
+    public void rollbackTransaction() {
+        UnionGraph.Journal journal = getGraph().stopJournal();
+        Set<Class<? extends OWLObject>> types = transaction;
+        transaction = null;
+        if (journal == null || types == null) return;
+        journal.triples().map(Triple::getSubject).forEach(enhNodes::remove);
+        journal.undo();
+        types.forEach(componentsStore::remove);
+        clearObjectsCache();
+        resetGraphCaches();
+    }
+
+    /**
+     * Answers if the triple written for the specified object could be also a root of some another axiom,
+     * e.g. an entity declaration written for a class assertion axiom.
+     * Such an axiom is not visible through the OWL-API interface,
+     * but it must appear after the next direct change (see {@link #updateCache(Triple)}).
+     *
+     * @param triple {@link Triple}
+     * @param object {@link OWLAxiom} or {@link OWLAnnotation}
+     * @return boolean
+     */
+    protected boolean isRootOfOtherAxiom(Triple triple, OWLObject object) {
+        AxiomType<?> type = object instanceof OWLAxiom ? ((OWLAxiom) object).getAxiomType() : null;
+        return ALL_AXIOMS_COLLECTOR.candidates(triple).stream()
+                .filter(t -> !ALL_AXIOMS_COLLECTOR.any.contains(t))
+                .anyMatch(t -> !t.equals(type));
+    }
+
     /**
      * Removes an object from the model.
-     * Note: remove associated objects from {@link #objectsStore}!
+     * The associated objects from the {@link #objectsStore} are released.
      *
      * @param object either {@link OWLAxiom} or {@link OWLAnnotation}
      * @param store  {@link OwlObjectTriplesMap}
-     * @see #clearObjectsCache()
+     * @see #updateObjects(OWLObject, boolean)
      */
     protected <O extends OWLObject> void remove(O object, OwlObjectTriplesMap<O> store) {
+        if (transaction != null) transaction.add(store.type());
+        boolean isPresent = store.contains(object);
         Set<Triple> triples = store.get(object);
         store.clear(object);
         triples.stream().filter(this::canDelete).forEach(this::delete);
+        if (isPresent) updateObjects(object, false);
     }
 
     /**
@@ -547,13 +878,12 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      * @param triple {@link Triple}
      * @return Set of OWLAxioms types (classes)
      */
+    @SuppressWarnings("unchecked")
     protected Set<Class<? extends OWLAxiom>> getAxiomTypes(Triple triple) {
         return componentsStore.values().stream()
                 .filter(v -> !Objects.equals(v.type(), OWLAnnotation.class))
-                .map(s -> s.get(triple).stream())
-                .flatMap(Function.identity())
-                .map(OWLAxiom.class::cast)
-                .map(a -> a.getAxiomType().getActualClass())
+                .filter(v -> v.contains(triple))
+                .map(v -> (Class<? extends OWLAxiom>) v.type())
                 .collect(Collectors.toSet());
     }
 
@@ -564,12 +894,10 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      * @return true if there are no axiom which includes this triple, otherwise false.
      */
     protected boolean canDelete(Triple triple) {
-        int count = 0;
         for (OwlObjectTriplesMap<? extends OWLObject> store : componentsStore.values()) {
-            count += store.get(triple).size();
-            if (count > 1) return false;
+            if (store.contains(triple)) return false;
         }
-        return count == 0;
+        return true;
     }
 
     /**
@@ -579,7 +907,14 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      */
     protected void delete(Triple triple) {
         enhNodes.remove(triple.getSubject());
-        getBaseGraph().delete(triple);
+        UnionGraph.Journal journal = getGraph().getJournal();
+        if (journal == null) {
+            getBaseGraph().delete(triple);
+        } else {
+            journal.delete(triple);
+        }
+        // the base graph is changed bypassing the event manager:
+        getIDCache().notifyDeleteTriple(getGraph(), triple);
     }
 
     /**
@@ -607,9 +942,141 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      */
     public void clearCache() {
         componentsStore.clear();
+        unreadTriples.clear();
         clearObjectsCache();
     }
 
+    /**
+     * Creates an immutable snapshot of this model over the specified graph,
+     * which must be a copy of this model's graph.
+     * All axioms and annotations are read (if it is not done yet) and the stores are copied into the new model,
+     * so the snapshot does not need to read the graph again and can be shared between several threads
+     * as long as nobody modifies it.
+     * Used in copy-on-write concurrency mode.
+     *
+     * @param graph {@link UnionGraph}, the copy of {@link #getGraph()}
+     * @return {@link InternalModel}
+     * @see ru.avicomp.ontapi.CopyOnWriteLock
+     */
+    public InternalModel createSnapshot(UnionGraph graph) {
+        readAxiomTripleStores(AxiomType.AXIOM_TYPES);
+        AxiomType.AXIOM_TYPES.forEach(this::getAxiomTripleStore);
+        getAnnotationTripleStore();
+        InternalModel res = new InternalModel(graph, config);
+        res.componentsStore = new ConcurrentHashMap<>();
+        componentsStore.values().forEach(store -> res.componentsStore.put(store.type(), res.copy(store)));
+        res.objectsStore = new ConcurrentHashMap<>();
+        objectsStore.forEach((type, counter) -> res.objectsStore.put(type, counter.copy()));
+        return res;
+    }
+
+    /**
+     * Returns the axioms and annotations stores, which are currently in the cache.
+     * Used to write a binary snapshot of the manager.
+     *
+     * @return unmodifiable Collection of {@link OwlObjectTriplesMap}s
+     * @see ru.avicomp.ontapi.OntSnapshot
+     */
+    public Collection<OwlObjectTriplesMap<? extends OWLObject>> cachedStores() {
+        return Collections.unmodifiableCollection(componentsStore.values());
+    }
+
+    /**
+     * Returns the signature (entities) sets, which are currently in the cache.
+     *
+     * @return unmodifiable Map
+     * @see ru.avicomp.ontapi.OntSnapshot
+     */
+    public Map<Class<? extends OWLObject>, ObjectsCounter<? extends OWLObject>> cachedObjects() {
+        return Collections.unmodifiableMap(objectsStore);
+    }
+
+    /**
+     * Returns the triples written through the OWL-API interface, which are roots of other (not cached yet) axioms.
+     *
+     * @return Set of {@link Triple}s, modifiable
+     * @see #updateCache(Triple)
+     */
+    public Set<Triple> unreadTriples() {
+        return unreadTriples;
+    }
+
+    /**
+     * Puts the axioms or annotations store, which has been prepared outside (e.g. read from a snapshot), into the cache.
+     * The triples must belong to the graph of this model.
+     *
+     * @param type      Class, the type of objects
+     * @param objects   Map with the objects as keys and the triples as values
+     * @param signature if true the signature index is built immediately
+     * @param <O>       {@link OWLObject}
+     * @see ru.avicomp.ontapi.OntSnapshot
+     */
+    public <O extends OWLObject> void putStore(Class<O> type, Map<O, Set<Triple>> objects, boolean signature) {
+        OwlObjectTriplesMap<O> res = new OwlObjectTriplesMap<>(type, objects);
+        if (signature) {
+            res.signature();
+        }
+        componentsStore.put(type, res);
+    }
+
+    /**
+     * Puts the signature (entities) set, which has been prepared outside, into the cache.
+     *
+     * @param type   Class, the type of objects
+     * @param counts Map with the objects as keys and the numbers of axioms and annotations which refer to them as values
+     * @param <O>    {@link OWLObject}
+     * @see #objects(Class)
+     */
+    public <O extends OWLObject> void putObjects(Class<O> type, Map<O, Integer> counts) {
+        objectsStore.put(type, new ObjectsCounter<>(counts));
+    }
+
+    /**
+     * Fills this (fresh) model with the content of the specified one, bypassing the OWL-API interface.
+     * All triples of the base graph are copied in bulk directly, so the listeners of the union graph are not notified.
+     * The ontology header node of the source is replaced with the own header node (they differ for anonymous ontologies),
+     * the imports declarations are skipped: they must be added separately.
+     * If {@code caches} is true, the already built axioms and annotations caches are copied too,
+     * so the new model does not need to read the graph again.
+     * It is safe only if both models have the same settings and no imports,
+     * and only if the header nodes are equal: otherwise the cached triples would differ.
+     *
+     * @param other  {@link InternalModel} to copy from
+     * @param caches boolean, true to share the caches
+     */
+    public void copyFrom(InternalModel other, boolean caches) {
+        Node from = other.getID().asNode();
+        Node to = getID().asNode();
+        Node imports = OWL.imports.asNode();
+        Graph target = getBaseGraph();
+        other.getBaseGraph().find(Triple.ANY).forEachRemaining(t -> {
+            if (from.equals(t.getSubject()) && imports.equals(t.getPredicate())) return;
+            if (!from.equals(to)) {
+                t = Triple.create(from.equals(t.getSubject()) ? to : t.getSubject(), t.getPredicate(),
+                        from.equals(t.getObject()) ? to : t.getObject());
+            }
+            target.add(t);
+        });
+        target.getPrefixMapping().setNsPrefixes(other.getBaseGraph().getPrefixMapping());
+        clearCache();
+        resetGraphCaches();
+        if (!caches || !from.equals(to)) return;
+        other.componentsStore.values().forEach(store -> componentsStore.put(store.type(), copy(store)));
+        other.objectsStore.forEach((type, counter) -> objectsStore.put(type, counter.copy()));
+        unreadTriples.addAll(other.unreadTriples);
+    }
+
+    /**
+     * Makes a deep copy of the specified store, that belongs to another model.
+     *
+     * @param store {@link OwlObjectTriplesMap}
+     * @param <O>   {@link OWLObject}
+     * @return {@link OwlObjectTriplesMap}
+     */
+    protected <O extends OWLObject> OwlObjectTriplesMap<O> copy(OwlObjectTriplesMap<O> store) {
+        return new OwlObjectTriplesMap<>(store);
+    }
+
     /**
      * Clears cache for the specified triple
      *
@@ -620,6 +1087,121 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         clearObjectsCache();
     }
 
+    /**
+     * Updates the cache after the specified triple has been added to the graph directly, bypassing the OWL-API interface.
+     * Unlike the {@link #clearCache()} method it does not reset all axioms,
+     * instead it re-reads only the statements which could be affected by the new triple (see {@link #getAffectedTriples(Triple)})
+     * and patches the already loaded axiom stores in place.
+     * The candidate axiom types for each statement are chosen by its predicate and object (see {@link AxiomsCollector}),
+     * the final decision is made by the translator itself.
+     * A triple which changes the ontology declaration or imports resets the whole cache,
+     * since it may change the meaning of any other statement.
+     *
+     * @param triple {@link Triple}, which has just been added
+     */
+    @SuppressWarnings("unchecked")
+    public void updateCache(Triple triple) {
+        if (OWL.imports.asNode().equals(triple.getPredicate())
+                || (RDF.type.asNode().equals(triple.getPredicate()) && OWL.Ontology.asNode().equals(triple.getObject()))) {
+            clearCache();
+            return;
+        }
+        clearObjectsCache();
+        enhNodes.remove(triple.getSubject());
+        Set<Triple> affected = getAffectedTriples(triple);
+        unreadTriples.stream().filter(getBaseGraph()::contains).map(this::getAffectedTriples).forEach(affected::addAll);
+        unreadTriples.clear();
+        getIDCache().find(getBaseGraph())
+                .filter(n -> affected.stream().map(Triple::getSubject).anyMatch(n::equals))
+                .ifPresent(n -> componentsStore.remove(OWLAnnotation.class));
+        List<OwlObjectTriplesMap<OWLAxiom>> stores = componentsStore.values().stream()
+                .filter(v -> !Objects.equals(v.type(), OWLAnnotation.class))
+                .map(v -> (OwlObjectTriplesMap<OWLAxiom>) v)
+                .collect(Collectors.toList());
+        if (stores.isEmpty()) return;
+        // the axioms which include affected triples must be re-read too, since their content could be changed:
+        Map<Class<? extends OWLObject>, Set<OWLAxiom>> outdated = new HashMap<>();
+        Set<Triple> candidates = new HashSet<>(affected);
+        stores.forEach(store -> {
+            Set<OWLAxiom> axioms = affected.stream().map(store::get).flatMap(Collection::stream).collect(Collectors.toSet());
+            axioms.forEach(a -> candidates.addAll(store.get(a)));
+            outdated.put(store.type(), axioms);
+        });
+        List<AxiomType<? extends OWLAxiom>> types = stores.stream()
+                .map(store -> AxiomType.getTypeForClass((Class<OWLAxiom>) store.type()))
+                .collect(Collectors.toList());
+        Map<AxiomType<? extends OWLAxiom>, Set<InternalObject<? extends OWLAxiom>>> res;
+        try {
+            res = new AxiomsCollector(types)
+                    .collect(candidates.stream().filter(getBaseGraph()::contains).map(t -> toOntStatement(null, asStatement(t))));
+        } catch (OntApiException e) {
+            // the graph could be in an intermediate (broken) state, e.g. in the middle of a sparql update.
+            // the error (if it is still actual) will be thrown on the next reading:
+            clearCache();
+            return;
+        }
+        stores.forEach(store -> {
+            outdated.get(store.type()).forEach(store::clear);
+            res.get(AxiomType.getTypeForClass((Class<OWLAxiom>) store.type()))
+                    .forEach(a -> store.add((InternalObject<OWLAxiom>) a));
+        });
+    }
+
+    /**
+     * Returns all triples from the base graph which could be the roots of axioms affected by the specified new triple.
+     * These are:
+     * - the triple itself and all other triples with the same subject;
+     * - if the subject is a blank node (i.e. part of some anonymous construction, e.g. class expression, []-list or annotation)
+     * then all triples which refer to it, recursively, up to named resources, including annotated statements;
+     * - if the triple is a rdf:type declaration of a named resource then all triples which use that resource
+     * as a predicate or an object (and recursively all triples which refer to their blank subjects),
+     * since its new type could change the meaning of any such statement.
+     *
+     * @param triple {@link Triple}
+     * @return Set of {@link Triple}s
+     */
+    protected Set<Triple> getAffectedTriples(Triple triple) {
+        Graph graph = getBaseGraph();
+        Set<Triple> res = new HashSet<>();
+        res.add(triple);
+        Node subject = triple.getSubject();
+        graph.find(subject, Node.ANY, Node.ANY).forEachRemaining(res::add);
+        Deque<Node> queue = new ArrayDeque<>();
+        if (subject.isBlank()) {
+            queue.add(subject);
+        } else if (RDF.type.asNode().equals(triple.getPredicate())) {
+            graph.find(Node.ANY, subject, Node.ANY).forEachRemaining(t -> {
+                res.add(t);
+                if (t.getSubject().isBlank()) queue.add(t.getSubject());
+            });
+            queue.add(subject);
+        }
+        Set<Node> seen = new HashSet<>();
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (!seen.add(node)) continue;
+            graph.find(Node.ANY, Node.ANY, node).forEachRemaining(t -> {
+                res.add(t);
+                if (t.getSubject().isBlank()) queue.add(t.getSubject());
+            });
+            if (!node.isBlank()) continue;
+            // bulk annotation (owl:Axiom or owl:Annotation):
+            Node source = getObject(graph, node, OWL.annotatedSource);
+            Node property = getObject(graph, node, OWL.annotatedProperty);
+            Node target = getObject(graph, node, OWL.annotatedTarget);
+            if (source == null || property == null || target == null) continue;
+            res.add(Triple.create(source, property, target));
+            if (source.isBlank()) queue.add(source);
+        }
+        return res;
+    }
+
+    private static Node getObject(Graph graph, Node subject, Property predicate) {
+        try (Stream<Triple> triples = Iter.asStream(graph.find(subject, predicate.asNode(), Node.ANY))) {
+            return triples.map(Triple::getObject).findFirst().orElse(null);
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("[%s]%s", getClass().getSimpleName(), getID());
@@ -634,23 +1216,54 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      * @see #fetchObjectProperty(OntOPE)
      * @see #fetchDataProperty(OntNDP)
      * @see #fetchAnnotationProperty(OntNAP)
+     * @see #fetchLiteral(Literal)
+     * @see #fetchAnnotation(OntStatement)
      */
     protected enum MapType {
-        CE, DR, AP, DP, OP, I
+        CE, DR, AP, DP, OP, I, L, A
     }
 
     /**
      * Auxiliary object to provide common way for working with {@link OWLObject}s and {@link Triple}s together.
+     * It holds two maps: the direct one ({@code O -> Set<Triple>}) and the reverse one ({@code Triple -> Set<O>}),
+     * both are kept in sync.
+     * The values of both maps are compact sets (see {@link CompactSets}), which are replaced on modification,
+     * the triple sets are shared with the {@link InternalObject}s the store is built from.
+     * The size of the reverse map value is the reference count of the triple within this store,
+     * this allows to answer whether a triple is in use without scanning over all objects.
      *
      * @param <O> {@link OWLAxiom} or {@link OWLAnnotation} (currently).
      */
     public class OwlObjectTriplesMap<O extends OWLObject> {
         protected final Class<O> type;
         protected Map<O, Set<Triple>> cache;
+        protected Map<Triple, Set<O>> index;
+        // the index of objects by their signature, built on demand:
+        protected volatile SignatureIndex<O> signature;
 
         public OwlObjectTriplesMap(Class<O> type, Set<InternalObject<O>> set) {
             this.type = type;
-            this.cache = set.stream().collect(Collectors.toMap(InternalObject::getObject, InternalObject::getTriples));
+            this.cache = set.stream().collect(Collectors.toMap(InternalObject::getObject, InternalObject::getTriples, CompactSets::union));
+            this.index = new HashMap<>();
+            cache.forEach((o, triples) -> triples.forEach(t -> link(o, t)));
+        }
+
+        public OwlObjectTriplesMap(Class<O> type, Map<O, Set<Triple>> objects) {
+            this.type = type;
+            this.cache = new HashMap<>();
+            this.index = new HashMap<>();
+            objects.forEach((o, triples) -> {
+                cache.put(o, CompactSets.copy(triples));
+                triples.forEach(t -> link(o, t));
+            });
+        }
+
+        protected OwlObjectTriplesMap(OwlObjectTriplesMap<O> other) {
+            this.type = other.type;
+            this.cache = new HashMap<>();
+            this.index = new HashMap<>();
+            other.cache.forEach((o, triples) -> cache.put(o, CompactSets.copy(triples)));
+            other.index.forEach((t, objects) -> index.put(t, CompactSets.copy(objects)));
         }
 
         public Class<O> type() {
@@ -658,7 +1271,39 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         }
 
         public void add(O object, Triple triple) {
-            cache.computeIfAbsent(object, e -> new HashSet<>()).add(triple);
+            Set<Triple> triples = cache.get(object);
+            if (triples == null) {
+                triples = Collections.emptySet();
+                addToSignature(object);
+            }
+            cache.put(object, CompactSets.add(triples, triple));
+            link(object, triple);
+        }
+
+        /**
+         * Adds the object with all its triples to the store.
+         * If the store already contains an equal object, the triples are merged.
+         *
+         * @param object {@link InternalObject}
+         */
+        public void add(InternalObject<O> object) {
+            O key = object.getObject();
+            Set<Triple> triples = cache.get(key);
+            if (triples == null) {
+                addToSignature(key);
+                triples = object.getTriples();
+            } else {
+                triples = CompactSets.union(triples, object.getTriples());
+            }
+            cache.put(key, triples);
+            object.triples().forEach(t -> link(key, t));
+        }
+
+        private void addToSignature(O object) {
+            SignatureIndex<O> signature = this.signature;
+            if (signature != null) {
+                signature.add(object);
+            }
         }
 
         public Set<Triple> get(O object) {
@@ -666,19 +1311,77 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         }
 
         public Set<O> get(Triple triple) {
-            return cache.entrySet().stream().filter(e -> e.getValue().contains(triple)).map(Map.Entry::getKey).collect(Collectors.toSet());
+            return Collections.unmodifiableSet(index.getOrDefault(triple, Collections.emptySet()));
+        }
+
+        /**
+         * Answers the number of objects from this store which use the specified triple.
+         *
+         * @param triple {@link Triple}
+         * @return int, non-negative
+         */
+        public int count(Triple triple) {
+            Set<O> res = index.get(triple);
+            return res == null ? 0 : res.size();
+        }
+
+        public boolean contains(Triple triple) {
+            return index.containsKey(triple);
+        }
+
+        public boolean contains(O object) {
+            return cache.containsKey(object);
+        }
+
+        public int size() {
+            return cache.size();
         }
 
         public void delete(O object, Triple triple) {
-            get(object).remove(triple);
+            Set<Triple> triples = cache.get(object);
+            if (triples != null) {
+                cache.put(object, CompactSets.remove(triples, triple));
+            }
+            unlink(object, triple);
         }
 
         public void clear() {
             cache.clear();
+            index.clear();
+            signature = null;
         }
 
         public void clear(O object) {
-            cache.remove(object);
+            Set<Triple> triples = cache.remove(object);
+            if (triples == null) return;
+            triples.forEach(t -> unlink(object, t));
+            SignatureIndex<O> signature = this.signature;
+            if (signature != null) {
+                signature.remove(object);
+            }
+        }
+
+        /**
+         * Returns the signature index for this store, builds it if it is absent.
+         * Once built, the index is kept in sync with the store.
+         *
+         * @return {@link SignatureIndex}
+         */
+        public SignatureIndex<O> signature() {
+            SignatureIndex<O> res = signature;
+            if (res == null) {
+                signature = res = new SignatureIndex<>(cache.keySet());
+            }
+            return res;
+        }
+
+        /**
+         * Answers whether the signature index has been built for this store.
+         *
+         * @return boolean
+         */
+        public boolean hasSignature() {
+            return signature != null;
         }
 
         public Set<O> getObjects() {
@@ -688,6 +1391,107 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
         public OwlObjectListener<O> createListener(O obj) {
             return new OwlObjectListener<>(this, obj);
         }
+
+        private void link(O object, Triple triple) {
+            Set<O> objects = index.get(triple);
+            Set<O> res = CompactSets.add(objects == null ? Collections.emptySet() : objects, object);
+            if (res != objects) {
+                index.put(triple, res);
+            }
+        }
+
+        private void unlink(O object, Triple triple) {
+            Set<O> objects = index.get(triple);
+            if (objects == null) return;
+            Set<O> res = CompactSets.remove(objects, object);
+            if (res.isEmpty()) {
+                index.remove(triple);
+            } else if (res != objects) {
+                index.put(triple, res);
+            }
+        }
+    }
+
+    /**
+     * The reference-counted set of owl-objects of some type (e.g. classes), which are used in axioms and ontology annotations.
+     * For each object it keeps the number of axioms and annotations that refer to it,
+     * so the set is updated in place on each add and remove, instead of being rebuilt from scratch.
+     * The streams are produced from an immutable copy of the set, which is made on demand after the set is changed,
+     * so it is safe to modify the model while iterating over its signature.
+     *
+     * @param <O> {@link OWLObject}
+     */
+    public static class ObjectsCounter<O extends OWLObject> {
+        protected final Map<O, Integer> counts;
+        protected volatile Set<O> objects;
+
+        protected ObjectsCounter(Map<O, Integer> counts) {
+            this.counts = counts;
+        }
+
+        /**
+         * Counts all distinct objects of the specified type from the container.
+         *
+         * @param container {@link OWLAxiom} or {@link OWLAnnotation}
+         * @param type      Class type of owl-object
+         */
+        protected void add(OWLObject container, Class<O> type) {
+            objects(type, container).distinct().forEach(o -> {
+                if (counts.merge(o, 1, Integer::sum) == 1) objects = null;
+            });
+        }
+
+        /**
+         * Releases all distinct objects of the specified type from the container.
+         *
+         * @param container {@link OWLAxiom} or {@link OWLAnnotation}
+         * @param type      Class type of owl-object
+         */
+        protected void remove(OWLObject container, Class<O> type) {
+            objects(type, container).distinct().forEach(o -> {
+                if (counts.computeIfPresent(o, (k, v) -> v == 1 ? null : v - 1) == null) objects = null;
+            });
+        }
+
+        private static <X extends OWLObject> Stream<X> objects(Class<X> type, OWLObject container) {
+            if (container instanceof OWLAxiom) {
+                return OwlObjects.objects(type, (OWLAxiom) container);
+            }
+            if (container instanceof OWLAnnotation) {
+                return OwlObjects.objects(type, (OWLAnnotation) container);
+            }
+            throw new OntApiException.Unsupported("Unexpected container: " + container);
+        }
+
+        public boolean contains(Object object) {
+            return counts.containsKey(object);
+        }
+
+        /**
+         * Returns an immutable snapshot of the objects.
+         *
+         * @return unmodifiable Set
+         */
+        public Set<O> objects() {
+            Set<O> res = objects;
+            if (res == null) {
+                objects = res = Collections.unmodifiableSet(new HashSet<>(counts.keySet()));
+            }
+            return res;
+        }
+
+        /**
+         * Returns the objects with their reference counts.
+         *
+         * @return unmodifiable Map
+         */
+        public Map<O, Integer> counts() {
+            return Collections.unmodifiableMap(counts);
+        }
+
+        protected ObjectsCounter<O> copy() {
+            return new ObjectsCounter<>(new HashMap<>(counts));
+        }
     }
 
     /**
@@ -696,21 +1500,45 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      * @param <O> {@link OWLAxiom} in our case.
      */
     public class OwlObjectListener<O extends OWLObject> extends GraphListenerBase {
-        private final OwlObjectTriplesMap<O> store;
-        private final O object;
+        private OwlObjectTriplesMap<O> store;
+        private O object;
 
         public OwlObjectListener(OwlObjectTriplesMap<O> store, O object) {
             this.store = store;
             this.object = object;
         }
 
+        /**
+         * Switches the listener to another object, used in the batch mode.
+         *
+         * @param store  {@link OwlObjectTriplesMap}
+         * @param object {@link O}
+         * @see InternalModel#beginBatch()
+         */
+        protected void capture(OwlObjectTriplesMap<O> store, O object) {
+            this.store = store;
+            this.object = object;
+        }
+
+        /**
+         * Answers whether the listener is attached to some object.
+         * In the batch mode it is detached between the writes, and then it does nothing.
+         *
+         * @return boolean
+         */
+        public boolean isCapturing() {
+            return store != null;
+        }
+
         @Override
         protected void addEvent(Triple t) {
+            if (store == null) return;
             store.add(object, t);
         }
 
         @Override
         protected void deleteEvent(Triple t) {
+            if (store == null) return;
             store.delete(object, t);
         }
     }
@@ -720,20 +1548,22 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, C
      */
     public class DirectListener extends GraphListenerBase {
         private boolean hasObjectListener() {
+            OwlObjectListener<? extends OWLObject> batch = InternalModel.this.batch;
+            if (batch != null) return batch.isCapturing();
             return getGraph().getEventManager().hasListeners(OwlObjectListener.class);
         }
 
         /**
-         * if at the moment there is an {@link OwlObjectListener} then it's called from {@link InternalModel#add(OWLAxiom)} => don't clear cache;
-         * otherwise it is direct call and cache must be reset to have correct list of axioms.
+         * if at the moment there is an {@link OwlObjectListener} then it's called from {@link InternalModel#add(OWLAxiom)} => don't touch cache;
+         * otherwise it is direct call and cache must be updated to have correct list of axioms.
          *
          * @param t {@link Triple}
+         * @see InternalModel#updateCache(Triple)
          */
         @Override
         protected void addEvent(Triple t) {
             if (hasObjectListener()) return;
-            // we don't know which axiom would own this triple, so we clear whole cache.
-            clearCache();
+            updateCache(t);
         }
 
         @Override
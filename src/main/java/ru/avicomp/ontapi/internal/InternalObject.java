@@ -34,24 +34,35 @@ import ru.avicomp.ontapi.jena.model.OntObject;
 
 /**
  * Immutable container for {@link OWLObject} and associated with it set of rdf-graph {@link Triple}s.
+ * The triples are kept as a list of immutable parts (the own triples and the triple sets of the components),
+ * which are shared with the components and united only on demand (see {@link #getTriples()}),
+ * so appending a component (e.g. a nested class expression) does not copy its triples.
+ * All triple sets are compact (see {@link CompactSets}).
  * <p>
  * Created by @szuev on 27.11.2016.
  */
 @SuppressWarnings("WeakerAccess")
 public class InternalObject<O extends OWLObject> {
     private final O object;
-    private final Set<Triple> triples;
+    private final List<Set<Triple>> parts;
+    private volatile Set<Triple> triples;
     private int hashCode;
 
     public InternalObject(O object, Set<Triple> triples) {
         this.object = OntApiException.notNull(object, "Null OWLObject.");
-        this.triples = Collections.unmodifiableSet(OntApiException.notNull(triples, "Null triples."));
+        this.triples = CompactSets.of(OntApiException.notNull(triples, "Null triples."));
+        this.parts = Collections.singletonList(this.triples);
     }
 
     public InternalObject(O object, Triple triple) {
         this(object, Collections.singleton(triple));
     }
 
+    protected InternalObject(O object, List<Set<Triple>> parts) {
+        this.object = object;
+        this.parts = parts;
+    }
+
     /**
      * Gets wrapped {@link OWLObject}.
      *
@@ -67,11 +78,16 @@ public class InternalObject<O extends OWLObject> {
      * @return Set of triples
      */
     public Set<Triple> getTriples() {
-        return triples;
+        Set<Triple> res = triples;
+        if (res != null) return res;
+        if (parts.size() == 1) return triples = parts.get(0);
+        Set<Triple> set = new HashSet<>();
+        parts.forEach(set::addAll);
+        return triples = CompactSets.of(set);
     }
 
     public Stream<Triple> triples() {
-        return triples.stream();
+        return getTriples().stream();
     }
 
     /**
@@ -82,20 +98,36 @@ public class InternalObject<O extends OWLObject> {
      */
     public Graph asGraph() {
         Graph res = OntModelFactory.createDefaultGraph();
-        GraphUtil.add(res, triples.iterator());
+        GraphUtil.add(res, triples().iterator());
         return res;
     }
 
     public InternalObject<O> add(java.util.Collection<Triple> _triples) {
         if (OntApiException.notNull(_triples, "Null triples.").isEmpty())
             return this;
-        Set<Triple> set = new HashSet<>(this.triples);
-        set.addAll(_triples);
-        return new InternalObject<>(object, set);
+        return join(Stream.of(CompactSets.of(_triples)));
     }
 
     public InternalObject<O> append(InternalObject<? extends OWLObject> other) {
-        return add(other.getTriples());
+        return join(Stream.of(other.getTriples()));
+    }
+
+    /**
+     * Appends the triples of all specified components.
+     *
+     * @param others Collection of {@link InternalObject}s
+     * @return new {@link InternalObject} with the same {@link OWLObject}
+     */
+    public InternalObject<O> append(java.util.Collection<? extends InternalObject<? extends OWLObject>> others) {
+        if (others.isEmpty()) return this;
+        return join(others.stream().map(InternalObject::getTriples));
+    }
+
+    private InternalObject<O> join(Stream<Set<Triple>> other) {
+        Set<Triple> res = triples;
+        List<Set<Triple>> parts = new ArrayList<>(res == null ? this.parts : Collections.singletonList(res));
+        other.filter(s -> !s.isEmpty()).forEach(parts::add);
+        return new InternalObject<>(object, parts);
     }
 
     @Override
@@ -167,7 +199,7 @@ public class InternalObject<O extends OWLObject> {
          * @return Set of triples.
          */
         public Set<Triple> getTriples() {
-            return triples == null ? triples = Collections.unmodifiableSet(wraps.stream()
+            return triples == null ? triples = CompactSets.of(wraps.stream()
                     .map(InternalObject::triples)
                     .flatMap(Function.identity())
                     .collect(Collectors.toSet())) : triples;
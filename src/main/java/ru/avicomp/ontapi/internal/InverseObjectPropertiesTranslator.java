@@ -18,6 +18,7 @@ import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
@@ -27,6 +28,7 @@ import ru.avicomp.ontapi.jena.model.OntOPE;
 import ru.avicomp.ontapi.jena.model.OntObject;
 import ru.avicomp.ontapi.jena.model.OntStatement;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
 /**
  * example:
@@ -67,6 +69,20 @@ class InverseObjectPropertiesTranslator extends AxiomTranslator<OWLInverseObject
                 && (object.isURIResource() || object.hasType(OWL.ObjectProperty));
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(OWL.inverseOf, null));
+    }
+
+    @Override
+    protected OntStatement select(OntStatement statement) {
+        // the same as in #statements: only typed subjects are considered,
+        // i.e. anonymous object property expressions are skipped:
+        if (!statement.getSubject().hasProperty(RDF.type)) return null;
+        if (!statement.getSubject().canAs(OntOPE.class) || !statement.getObject().canAs(OntOPE.class)) return null;
+        return statement.getSubject().as(OntOPE.class).statement(OWL.inverseOf, statement.getObject()).orElse(null);
+    }
+
     @Override
     public InternalObject<OWLInverseObjectPropertiesAxiom> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
@@ -18,12 +18,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.apache.jena.graph.FrontsTriple;
-import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
@@ -33,6 +30,7 @@ import org.semanticweb.owlapi.vocab.OWLFacet;
 
 import ru.avicomp.ontapi.OntApiException;
 import ru.avicomp.ontapi.config.OntLoaderConfiguration;
+import ru.avicomp.ontapi.jena.impl.OntKind;
 import ru.avicomp.ontapi.jena.impl.OntObjectImpl;
 import ru.avicomp.ontapi.jena.model.*;
 import ru.avicomp.ontapi.jena.utils.Models;
@@ -53,22 +51,32 @@ public class ReadHelper {
      * @return {@link InternalObject} around {@link OWLEntity}
      */
     protected static InternalObject<? extends OWLEntity> wrapEntity(OntEntity entity, OWLDataFactory df) {
-        Class<? extends OntObject> view = OntApiException.notNull(((OntObjectImpl) entity).getActualClass(),
-                "Can't determine view of entity " + entity);
-        if (OntClass.class.equals(view)) {
-            return fetchClass((OntClass) entity, df);
-        } else if (OntDT.class.equals(view)) {
-            return fetchDatatype((OntDT) entity, df);
-        } else if (OntIndividual.Named.class.equals(view)) {
-            return fetchNamedIndividual((OntIndividual.Named) entity, df);
-        } else if (OntNAP.class.equals(view)) {
-            return fetchAnnotationProperty((OntNAP) entity, df);
-        } else if (OntNDP.class.equals(view)) {
-            return fetchDataProperty((OntNDP) entity, df);
-        } else if (OntNOP.class.equals(view)) {
-            return fetchObjectProperty((OntNOP) entity, df);
+        switch (kind(entity)) {
+            case CLASS:
+                return fetchClass((OntClass) entity, df);
+            case DATATYPE:
+                return fetchDatatype((OntDT) entity, df);
+            case NAMED_INDIVIDUAL:
+                return fetchNamedIndividual((OntIndividual.Named) entity, df);
+            case ANNOTATION_PROPERTY:
+                return fetchAnnotationProperty((OntNAP) entity, df);
+            case DATA_PROPERTY:
+                return fetchDataProperty((OntNDP) entity, df);
+            case OBJECT_PROPERTY:
+                return fetchObjectProperty((OntNOP) entity, df);
+            default:
+                throw new OntApiException("Unsupported " + entity);
         }
-        throw new OntApiException("Unsupported " + entity);
+    }
+
+    /**
+     * Returns the precomputed kind tag of the object.
+     *
+     * @param o {@link OntObject}
+     * @return {@link OntKind}
+     */
+    protected static OntKind kind(OntObject o) {
+        return ((OntObjectImpl) OntApiException.notNull(o, "Null object.")).getKind();
     }
 
     public static InternalObject<? extends OWLClassExpression> fetchClassExpression(OntCE ce, OWLDataFactory df) {
@@ -79,6 +87,38 @@ public class ReadHelper {
         return dr.getModel() instanceof InternalModel ? ((InternalModel) dr.getModel()).fetchDataRange(dr) : getDataRange(dr, df);
     }
 
+    /**
+     * Gets the class expression from the model cache, so that a nested expression shared by several axioms is read once.
+     *
+     * @param ce   {@link OntCE}
+     * @param df   {@link OWLDataFactory}
+     * @param seen Set of {@link Resource}, the expressions which are being read, to detect loops
+     * @return {@link InternalObject} around {@link OWLClassExpression}
+     */
+    protected static InternalObject<? extends OWLClassExpression> fetchClassExpression(OntCE ce, OWLDataFactory df, Set<Resource> seen) {
+        return ce.getModel() instanceof InternalModel ? ((InternalModel) ce.getModel()).fetchClassExpression(ce, seen) : getClassExpression(ce, df, seen);
+    }
+
+    /**
+     * Gets the data range from the model cache, so that a nested data range shared by several axioms is read once.
+     *
+     * @param dr   {@link OntDR}
+     * @param df   {@link OWLDataFactory}
+     * @param seen Set of {@link Resource}, the data ranges which are being read, to detect loops
+     * @return {@link InternalObject} around {@link OWLDataRange}
+     */
+    protected static InternalObject<? extends OWLDataRange> fetchDataRange(OntDR dr, OWLDataFactory df, Set<Resource> seen) {
+        return dr.getModel() instanceof InternalModel ? ((InternalModel) dr.getModel()).fetchDataRange(dr, seen) : getDataRange(dr, df, seen);
+    }
+
+    public static InternalObject<OWLLiteral> fetchLiteral(Literal literal, OWLDataFactory df) {
+        return literal.getModel() instanceof InternalModel ? ((InternalModel) literal.getModel()).fetchLiteral(literal) : getLiteral(literal, df);
+    }
+
+    public static InternalObject<OWLAnnotation> fetchAnnotation(OntStatement ann, OWLDataFactory df) {
+        return ann.getModel() instanceof InternalModel ? ((InternalModel) ann.getModel()).fetchAnnotation(ann) : getAnnotation(ann, df);
+    }
+
     public static InternalObject<? extends OWLIndividual> fetchIndividual(OntIndividual indi, OWLDataFactory df) {
         return indi.getModel() instanceof InternalModel ? ((InternalModel) indi.getModel()).fetchIndividual(indi) : getIndividual(indi, df);
     }
@@ -139,7 +179,6 @@ public class ReadHelper {
      * @param df      {@link OWLDataFactory}
      * @return {@link InternalObject}
      */
-    @SuppressWarnings("unchecked")
     public static InternalObject<OWLLiteral> getLiteral(Literal literal, OWLDataFactory df) {
         String txt = OntApiException.notNull(literal, "Null literal").getLexicalForm();
         String lang = literal.getLanguage();
@@ -151,7 +190,7 @@ public class ReadHelper {
         if (dt.isBuiltIn()) {
             owl = InternalObject.create(df.getOWLDatatype(IRI.create(dt.getURI())), Stream.empty());
         } else {
-            owl = (InternalObject<OWLDatatype>) getDataRange(dt, df);
+            owl = fetchDatatype(dt, df);
         }
         OWLLiteral res = df.getOWLLiteral(txt, owl.getObject());
         return InternalObject.create(res, Stream.empty()).append(owl);
@@ -183,7 +222,7 @@ public class ReadHelper {
      */
     public static InternalObject<? extends OWLAnnotationValue> getAnnotationValue(RDFNode node, OWLDataFactory df) {
         if (OntApiException.notNull(node, "Null node").isLiteral()) {
-            return getLiteral(node.asLiteral(), df);
+            return fetchLiteral(node.asLiteral(), df);
         }
         if (node.isURIResource()) {
             return wrapIRI(node.as(OntObject.class));
@@ -305,7 +344,7 @@ public class ReadHelper {
             // for compatibility with OWL-API skip all plain annotations attached to an entity (or anonymous individual)
             // they would go separately as annotation-assertions.
             statement.annotations().filter(s -> isAnnotationAssertionStatement(s, conf))
-                    .map(a -> getAnnotation(a, df)).forEach(res::remove);
+                    .map(a -> fetchAnnotation(a, df)).forEach(res::remove);
         }
         return res;
     }
@@ -352,7 +391,7 @@ public class ReadHelper {
     }
 
     private static Set<InternalObject<OWLAnnotation>> getAllAnnotations(OntStatement statement, OWLDataFactory df) {
-        return statement.annotations().map(a -> getAnnotation(a, df)).collect(Collectors.toSet());
+        return statement.annotations().map(a -> fetchAnnotation(a, df)).collect(Collectors.toSet());
     }
 
     /**
@@ -397,26 +436,37 @@ public class ReadHelper {
     }
 
     private static OWLFacetRestriction getOWLFacetRestriction(OntFR fr, OWLDataFactory df) {
-        OWLLiteral literal = getLiteral(OntApiException.notNull(fr, "Null facet restriction.").getValue(), df).getObject();
-        Class<? extends OntObject> view = OntApiException.notNull(((OntObjectImpl) fr).getActualClass(),
-                "Can't determine view of facet restriction " + fr);
-        if (OntFR.Length.class.equals(view)) return df.getOWLFacetRestriction(OWLFacet.LENGTH, literal);
-        if (OntFR.MinLength.class.equals(view)) return df.getOWLFacetRestriction(OWLFacet.MIN_LENGTH, literal);
-        if (OntFR.MaxLength.class.equals(view)) return df.getOWLFacetRestriction(OWLFacet.MAX_LENGTH, literal);
-        if (OntFR.MinInclusive.class.equals(view))
-            return df.getOWLFacetRestriction(OWLFacet.MIN_INCLUSIVE, literal);
-        if (OntFR.MaxInclusive.class.equals(view))
-            return df.getOWLFacetRestriction(OWLFacet.MAX_INCLUSIVE, literal);
-        if (OntFR.MinExclusive.class.equals(view))
-            return df.getOWLFacetRestriction(OWLFacet.MIN_EXCLUSIVE, literal);
-        if (OntFR.MaxExclusive.class.equals(view))
-            return df.getOWLFacetRestriction(OWLFacet.MAX_EXCLUSIVE, literal);
-        if (OntFR.Pattern.class.equals(view)) return df.getOWLFacetRestriction(OWLFacet.PATTERN, literal);
-        if (OntFR.FractionDigits.class.equals(view))
-            return df.getOWLFacetRestriction(OWLFacet.FRACTION_DIGITS, literal);
-        if (OntFR.TotalDigits.class.equals(view)) return df.getOWLFacetRestriction(OWLFacet.TOTAL_DIGITS, literal);
-        if (OntFR.LangRange.class.equals(view)) return df.getOWLFacetRestriction(OWLFacet.LANG_RANGE, literal);
-        throw new OntApiException("Unsupported facet restriction " + fr);
+        OWLLiteral literal = fetchLiteral(OntApiException.notNull(fr, "Null facet restriction.").getValue(), df).getObject();
+        return df.getOWLFacetRestriction(getFacet(fr), literal);
+    }
+
+    private static OWLFacet getFacet(OntFR fr) {
+        switch (kind(fr)) {
+            case LENGTH:
+                return OWLFacet.LENGTH;
+            case MIN_LENGTH:
+                return OWLFacet.MIN_LENGTH;
+            case MAX_LENGTH:
+                return OWLFacet.MAX_LENGTH;
+            case MIN_INCLUSIVE:
+                return OWLFacet.MIN_INCLUSIVE;
+            case MAX_INCLUSIVE:
+                return OWLFacet.MAX_INCLUSIVE;
+            case MIN_EXCLUSIVE:
+                return OWLFacet.MIN_EXCLUSIVE;
+            case MAX_EXCLUSIVE:
+                return OWLFacet.MAX_EXCLUSIVE;
+            case PATTERN:
+                return OWLFacet.PATTERN;
+            case FRACTION_DIGITS:
+                return OWLFacet.FRACTION_DIGITS;
+            case TOTAL_DIGITS:
+                return OWLFacet.TOTAL_DIGITS;
+            case LANG_RANGE:
+                return OWLFacet.LANG_RANGE;
+            default:
+                throw new OntApiException("Unsupported facet restriction " + fr);
+        }
     }
 
     /**
@@ -444,40 +494,39 @@ public class ReadHelper {
         if (dr.isURIResource()) {
             return InternalObject.create(df.getOWLDatatype(IRI.create(dr.getURI())), dr);
         }
-        Class<? extends OntObject> view = OntApiException.notNull(((OntObjectImpl) dr).getActualClass(),
-                "Can't determine view of data range " + dr);
-        if (OntDR.Restriction.class.equals(view)) {
-            OntDR.Restriction _dr = (OntDR.Restriction) dr;
-            InternalObject<OWLDatatype> d = fetchDatatype(_dr.getDatatype(), df);
-            List<InternalObject<OWLFacetRestriction>> restrictions = _dr.facetRestrictions().map(f -> getFacetRestriction(f, df)).collect(Collectors.toList());
-            OWLDataRange res = df.getOWLDatatypeRestriction(d.getObject(), restrictions.stream().map(InternalObject::getObject).collect(Collectors.toList()));
-            Stream<Triple> triples = Stream.concat(_dr.content().map(FrontsTriple::asTriple),
-                    restrictions.stream().map(InternalObject::triples).flatMap(Function.identity()));
-            return new InternalObject<>(res, triples.collect(Collectors.toSet()));
-        }
-        if (OntDR.ComplementOf.class.equals(view)) {
-            OntDR.ComplementOf _dr = (OntDR.ComplementOf) dr;
-            InternalObject<? extends OWLDataRange> d = getDataRange(_dr.getDataRange(), df, seen);
-            return InternalObject.create(df.getOWLDataComplementOf(d.getObject()), _dr).append(d);
-        }
-        if (OntDR.UnionOf.class.equals(view) ||
-                OntDR.IntersectionOf.class.equals(view)) {
-            List<InternalObject<? extends OWLDataRange>> dataRanges =
-                    (OntDR.UnionOf.class.equals(view) ? ((OntDR.UnionOf) dr).dataRanges() : ((OntDR.IntersectionOf) dr).dataRanges())
-                            .map(d -> getDataRange(d, df, seen)).collect(Collectors.toList());
-            OWLDataRange res = OntDR.UnionOf.class.equals(view) ?
-                    df.getOWLDataUnionOf(dataRanges.stream().map(InternalObject::getObject)) :
-                    df.getOWLDataIntersectionOf(dataRanges.stream().map(InternalObject::getObject));
-            Stream<Triple> triples = Stream.concat(dr.content().map(FrontsTriple::asTriple),
-                    dataRanges.stream().map(InternalObject::triples).flatMap(Function.identity()));
-            return new InternalObject<>(res, triples.collect(Collectors.toSet()));
+        OntKind kind = kind(dr);
+        switch (kind) {
+            case DATATYPE_RESTRICTION: {
+                OntDR.Restriction _dr = (OntDR.Restriction) dr;
+                InternalObject<OWLDatatype> d = fetchDatatype(_dr.getDatatype(), df);
+                List<InternalObject<OWLFacetRestriction>> restrictions = _dr.facetRestrictions().map(f -> getFacetRestriction(f, df)).collect(Collectors.toList());
+                OWLDataRange res = df.getOWLDatatypeRestriction(d.getObject(), restrictions.stream().map(InternalObject::getObject).collect(Collectors.toList()));
+                return InternalObject.create(res, _dr).append(restrictions);
+            }
+            case DATA_COMPLEMENT_OF: {
+                OntDR.ComplementOf _dr = (OntDR.ComplementOf) dr;
+                InternalObject<? extends OWLDataRange> d = fetchDataRange(_dr.getDataRange(), df, seen);
+                return InternalObject.create(df.getOWLDataComplementOf(d.getObject()), _dr).append(d);
+            }
+            case DATA_UNION_OF:
+            case DATA_INTERSECTION_OF: {
+                boolean union = OntKind.DATA_UNION_OF == kind;
+                List<InternalObject<? extends OWLDataRange>> dataRanges =
+                        (union ? ((OntDR.UnionOf) dr).dataRanges() : ((OntDR.IntersectionOf) dr).dataRanges())
+                                .map(d -> fetchDataRange(d, df, seen)).collect(Collectors.toList());
+                OWLDataRange res = union ?
+                        df.getOWLDataUnionOf(dataRanges.stream().map(InternalObject::getObject)) :
+                        df.getOWLDataIntersectionOf(dataRanges.stream().map(InternalObject::getObject));
+                return InternalObject.create(res, dr).append(dataRanges);
+            }
+            case DATA_ONE_OF: {
+                OntDR.OneOf _dr = (OntDR.OneOf) dr;
+                InternalObject.Collection<OWLLiteral> literals = InternalObject.Collection.create(_dr.values().map(v -> fetchLiteral(v, df)));
+                return InternalObject.create(df.getOWLDataOneOf(literals.getObjects()), _dr);
+            }
+            default:
+                throw new OntApiException("Unsupported data range expression " + dr);
         }
-        if (OntDR.OneOf.class.equals(view)) {
-            OntDR.OneOf _dr = (OntDR.OneOf) dr;
-            InternalObject.Collection<OWLLiteral> literals = InternalObject.Collection.create(_dr.values().map(v -> getLiteral(v, df)));
-            return InternalObject.create(df.getOWLDataOneOf(literals.getObjects()), _dr);
-        }
-        throw new OntApiException("Unsupported data range expression " + dr);
     }
 
     @SuppressWarnings("unchecked")
@@ -510,118 +559,100 @@ public class ReadHelper {
         if (ce.isURIResource()) {
             return InternalObject.create(df.getOWLClass(IRI.create(ce.getURI())), ce);
         }
-        Class<? extends OntObject> view = OntApiException.notNull(((OntObjectImpl) ce).getActualClass(),
-                "Can't determine view of class expression " + ce);
-        if (OntCE.ObjectSomeValuesFrom.class.equals(view) ||
-                OntCE.ObjectAllValuesFrom.class.equals(view)) {
-            OntCE.ComponentRestrictionCE<OntCE, OntOPE> _ce = (OntCE.ComponentRestrictionCE<OntCE, OntOPE>) ce;
-            InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_ce.getOnProperty(), df);
-            InternalObject<? extends OWLClassExpression> c = getClassExpression(_ce.getValue(), df, seen);
-            OWLClassExpression res;
-            if (OntCE.ObjectSomeValuesFrom.class.equals(view))
-                res = df.getOWLObjectSomeValuesFrom(p.getObject(), c.getObject());
-            else if (OntCE.ObjectAllValuesFrom.class.equals(view))
-                res = df.getOWLObjectAllValuesFrom(p.getObject(), c.getObject());
-            else
-                throw new OntApiException("Should never happen");
-            return InternalObject.create(res, _ce).append(p).append(c);
-        }
-        if (OntCE.DataSomeValuesFrom.class.equals(view) ||
-                OntCE.DataAllValuesFrom.class.equals(view)) {
-            OntCE.ComponentRestrictionCE<OntDR, OntNDP> _ce = (OntCE.ComponentRestrictionCE<OntDR, OntNDP>) ce;
-            InternalObject<OWLDataProperty> p = fetchDataProperty(_ce.getOnProperty(), df);
-            InternalObject<? extends OWLDataRange> d = fetchDataRange(_ce.getValue(), df);
-            OWLClassExpression res;
-            if (OntCE.DataSomeValuesFrom.class.equals(view))
-                res = df.getOWLDataSomeValuesFrom(p.getObject(), d.getObject());
-            else if (OntCE.DataAllValuesFrom.class.equals(view))
-                res = df.getOWLDataAllValuesFrom(p.getObject(), d.getObject());
-            else
-                throw new OntApiException("Should never happen");
-            return InternalObject.create(res, _ce).append(p).append(d);
-        }
-        if (OntCE.ObjectHasValue.class.equals(view)) {
-            OntCE.ObjectHasValue _ce = (OntCE.ObjectHasValue) ce;
-            InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_ce.getOnProperty(), df);
-            InternalObject<? extends OWLIndividual> i = fetchIndividual(_ce.getValue(), df);
-            return InternalObject.create(df.getOWLObjectHasValue(p.getObject(), i.getObject()), _ce).append(p).append(i);
-        }
-        if (OntCE.DataHasValue.class.equals(view)) {
-            OntCE.DataHasValue _ce = (OntCE.DataHasValue) ce;
-            InternalObject<OWLDataProperty> p = fetchDataProperty(_ce.getOnProperty(), df);
-            InternalObject<OWLLiteral> l = getLiteral(_ce.getValue(), df);
-            return InternalObject.create(df.getOWLDataHasValue(p.getObject(), l.getObject()), _ce).append(p);
-        }
-        if (OntCE.ObjectMinCardinality.class.equals(view) ||
-                OntCE.ObjectMaxCardinality.class.equals(view) ||
-                OntCE.ObjectCardinality.class.equals(view)) {
-            OntCE.CardinalityRestrictionCE<OntCE, OntOPE> _ce = (OntCE.CardinalityRestrictionCE<OntCE, OntOPE>) ce;
-            InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_ce.getOnProperty(), df);
-            InternalObject<? extends OWLClassExpression> c = getClassExpression(_ce.getValue() == null ? _ce.getModel().getOWLThing() : _ce.getValue(), df, seen);
-            OWLObjectCardinalityRestriction res;
-            if (OntCE.ObjectMinCardinality.class.equals(view))
-                res = df.getOWLObjectMinCardinality(_ce.getCardinality(), p.getObject(), c.getObject());
-            else if (OntCE.ObjectMaxCardinality.class.equals(view))
-                res = df.getOWLObjectMaxCardinality(_ce.getCardinality(), p.getObject(), c.getObject());
-            else if (OntCE.ObjectCardinality.class.equals(view))
-                res = df.getOWLObjectExactCardinality(_ce.getCardinality(), p.getObject(), c.getObject());
-            else
-                throw new OntApiException("Should never happen");
-            return InternalObject.create(res, _ce).append(p).append(c);
+        OntKind kind = kind(ce);
+        switch (kind) {
+            case OBJECT_SOME_VALUES_FROM:
+            case OBJECT_ALL_VALUES_FROM: {
+                OntCE.ComponentRestrictionCE<OntCE, OntOPE> _ce = (OntCE.ComponentRestrictionCE<OntCE, OntOPE>) ce;
+                InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_ce.getOnProperty(), df);
+                InternalObject<? extends OWLClassExpression> c = fetchClassExpression(_ce.getValue(), df, seen);
+                OWLClassExpression res = OntKind.OBJECT_SOME_VALUES_FROM == kind ?
+                        df.getOWLObjectSomeValuesFrom(p.getObject(), c.getObject()) :
+                        df.getOWLObjectAllValuesFrom(p.getObject(), c.getObject());
+                return InternalObject.create(res, _ce).append(p).append(c);
+            }
+            case DATA_SOME_VALUES_FROM:
+            case DATA_ALL_VALUES_FROM: {
+                OntCE.ComponentRestrictionCE<OntDR, OntNDP> _ce = (OntCE.ComponentRestrictionCE<OntDR, OntNDP>) ce;
+                InternalObject<OWLDataProperty> p = fetchDataProperty(_ce.getOnProperty(), df);
+                InternalObject<? extends OWLDataRange> d = fetchDataRange(_ce.getValue(), df);
+                OWLClassExpression res = OntKind.DATA_SOME_VALUES_FROM == kind ?
+                        df.getOWLDataSomeValuesFrom(p.getObject(), d.getObject()) :
+                        df.getOWLDataAllValuesFrom(p.getObject(), d.getObject());
+                return InternalObject.create(res, _ce).append(p).append(d);
+            }
+            case OBJECT_HAS_VALUE: {
+                OntCE.ObjectHasValue _ce = (OntCE.ObjectHasValue) ce;
+                InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_ce.getOnProperty(), df);
+                InternalObject<? extends OWLIndividual> i = fetchIndividual(_ce.getValue(), df);
+                return InternalObject.create(df.getOWLObjectHasValue(p.getObject(), i.getObject()), _ce).append(p).append(i);
+            }
+            case DATA_HAS_VALUE: {
+                OntCE.DataHasValue _ce = (OntCE.DataHasValue) ce;
+                InternalObject<OWLDataProperty> p = fetchDataProperty(_ce.getOnProperty(), df);
+                InternalObject<OWLLiteral> l = fetchLiteral(_ce.getValue(), df);
+                return InternalObject.create(df.getOWLDataHasValue(p.getObject(), l.getObject()), _ce).append(p);
+            }
+            case OBJECT_MIN_CARDINALITY:
+            case OBJECT_MAX_CARDINALITY:
+            case OBJECT_EXACT_CARDINALITY: {
+                OntCE.CardinalityRestrictionCE<OntCE, OntOPE> _ce = (OntCE.CardinalityRestrictionCE<OntCE, OntOPE>) ce;
+                InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_ce.getOnProperty(), df);
+                InternalObject<? extends OWLClassExpression> c = fetchClassExpression(_ce.getValue() == null ? _ce.getModel().getOWLThing() : _ce.getValue(), df, seen);
+                OWLObjectCardinalityRestriction res;
+                if (OntKind.OBJECT_MIN_CARDINALITY == kind)
+                    res = df.getOWLObjectMinCardinality(_ce.getCardinality(), p.getObject(), c.getObject());
+                else if (OntKind.OBJECT_MAX_CARDINALITY == kind)
+                    res = df.getOWLObjectMaxCardinality(_ce.getCardinality(), p.getObject(), c.getObject());
+                else
+                    res = df.getOWLObjectExactCardinality(_ce.getCardinality(), p.getObject(), c.getObject());
+                return InternalObject.create(res, _ce).append(p).append(c);
+            }
+            case DATA_MIN_CARDINALITY:
+            case DATA_MAX_CARDINALITY:
+            case DATA_EXACT_CARDINALITY: {
+                OntCE.CardinalityRestrictionCE<OntDR, OntNDP> _ce = (OntCE.CardinalityRestrictionCE<OntDR, OntNDP>) ce;
+                InternalObject<OWLDataProperty> p = fetchDataProperty(_ce.getOnProperty(), df);
+                InternalObject<? extends OWLDataRange> d = fetchDataRange(_ce.getValue() == null ? _ce.getModel().getRDFSLiteral() : _ce.getValue(), df);
+                OWLDataCardinalityRestriction res;
+                if (OntKind.DATA_MIN_CARDINALITY == kind)
+                    res = df.getOWLDataMinCardinality(_ce.getCardinality(), p.getObject(), d.getObject());
+                else if (OntKind.DATA_MAX_CARDINALITY == kind)
+                    res = df.getOWLDataMaxCardinality(_ce.getCardinality(), p.getObject(), d.getObject());
+                else
+                    res = df.getOWLDataExactCardinality(_ce.getCardinality(), p.getObject(), d.getObject());
+                return InternalObject.create(res, _ce).append(p).append(d);
+            }
+            case OBJECT_HAS_SELF: {
+                OntCE.HasSelf _ce = (OntCE.HasSelf) ce;
+                InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_ce.getOnProperty(), df);
+                return InternalObject.create(df.getOWLObjectHasSelf(p.getObject()), _ce).append(p);
+            }
+            case OBJECT_UNION_OF:
+            case OBJECT_INTERSECTION_OF: {
+                OntCE.ComponentsCE<OntCE> _ce = (OntCE.ComponentsCE<OntCE>) ce;
+                List<InternalObject<? extends OWLClassExpression>> components = _ce.components()
+                        .map(c -> fetchClassExpression(c, df, seen)).collect(Collectors.toList());
+                OWLClassExpression res = OntKind.OBJECT_UNION_OF == kind ?
+                        df.getOWLObjectUnionOf(components.stream().map(InternalObject::getObject)) :
+                        df.getOWLObjectIntersectionOf(components.stream().map(InternalObject::getObject));
+                return InternalObject.create(res, _ce).append(components);
+            }
+            case OBJECT_ONE_OF: {
+                OntCE.OneOf _ce = (OntCE.OneOf) ce;
+                List<InternalObject<? extends OWLIndividual>> components = _ce.components()
+                        .map(c -> fetchIndividual(c, df)).collect(Collectors.toList());
+                OWLClassExpression res = df.getOWLObjectOneOf(components.stream().map(InternalObject::getObject));
+                return InternalObject.create(res, _ce).append(components);
+            }
+            case OBJECT_COMPLEMENT_OF: {
+                OntCE.ComplementOf _ce = (OntCE.ComplementOf) ce;
+                InternalObject<? extends OWLClassExpression> c = fetchClassExpression(_ce.getValue(), df, seen);
+                return InternalObject.create(df.getOWLObjectComplementOf(c.getObject()), _ce).append(c);
+            }
+            default:
+                throw new OntApiException("Unsupported class expression " + ce);
         }
-        if (OntCE.DataMinCardinality.class.equals(view) ||
-                OntCE.DataMaxCardinality.class.equals(view) ||
-                OntCE.DataCardinality.class.equals(view)) {
-            OntCE.CardinalityRestrictionCE<OntDR, OntNDP> _ce = (OntCE.CardinalityRestrictionCE<OntDR, OntNDP>) ce;
-            InternalObject<OWLDataProperty> p = fetchDataProperty(_ce.getOnProperty(), df);
-            InternalObject<? extends OWLDataRange> d = fetchDataRange(_ce.getValue() == null ? _ce.getModel().getRDFSLiteral() : _ce.getValue(), df);
-            OWLDataCardinalityRestriction res;
-            if (OntCE.DataMinCardinality.class.equals(view))
-                res = df.getOWLDataMinCardinality(_ce.getCardinality(), p.getObject(), d.getObject());
-            else if (OntCE.DataMaxCardinality.class.equals(view))
-                res = df.getOWLDataMaxCardinality(_ce.getCardinality(), p.getObject(), d.getObject());
-            else if (OntCE.DataCardinality.class.equals(view))
-                res = df.getOWLDataExactCardinality(_ce.getCardinality(), p.getObject(), d.getObject());
-            else
-                throw new OntApiException("Should never happen");
-            return InternalObject.create(res, _ce).append(p).append(d);
-        }
-        if (OntCE.HasSelf.class.equals(view)) {
-            OntCE.HasSelf _ce = (OntCE.HasSelf) ce;
-            InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_ce.getOnProperty(), df);
-            return InternalObject.create(df.getOWLObjectHasSelf(p.getObject()), _ce).append(p);
-        }
-        if (OntCE.UnionOf.class.equals(view) ||
-                OntCE.IntersectionOf.class.equals(view)) {
-            OntCE.ComponentsCE<OntCE> _ce = (OntCE.ComponentsCE<OntCE>) ce;
-            List<InternalObject<? extends OWLClassExpression>> components = _ce.components()
-                    .map(c -> getClassExpression(c, df, seen)).collect(Collectors.toList());
-            OWLClassExpression res;
-            if (OntCE.UnionOf.class.equals(view))
-                res = df.getOWLObjectUnionOf(components.stream().map(InternalObject::getObject));
-            else if (OntCE.IntersectionOf.class.equals(view))
-                res = df.getOWLObjectIntersectionOf(components.stream().map(InternalObject::getObject));
-            else
-                throw new OntApiException("Should never happen");
-            Stream<Triple> triples = Stream.concat(_ce.content().map(FrontsTriple::asTriple),
-                    components.stream().map(InternalObject::triples).flatMap(Function.identity()));
-            return new InternalObject<>(res, triples.collect(Collectors.toSet()));
-        }
-        if (OntCE.OneOf.class.equals(view)) {
-            OntCE.OneOf _ce = (OntCE.OneOf) ce;
-            List<InternalObject<? extends OWLIndividual>> components = _ce.components()
-                    .map(c -> fetchIndividual(c, df)).collect(Collectors.toList());
-            OWLClassExpression res = df.getOWLObjectOneOf(components.stream().map(InternalObject::getObject));
-            Stream<Triple> triples = Stream.concat(_ce.content().map(FrontsTriple::asTriple),
-                    components.stream().map(InternalObject::triples).flatMap(Function.identity()));
-            return new InternalObject<>(res, triples.collect(Collectors.toSet()));
-        }
-        if (OntCE.ComplementOf.class.isInstance(ce)) {
-            OntCE.ComplementOf _ce = (OntCE.ComplementOf) ce;
-            InternalObject<? extends OWLClassExpression> c = getClassExpression(_ce.getValue(), df, seen);
-            return InternalObject.create(df.getOWLObjectComplementOf(c.getObject()), _ce).append(c);
-        }
-        throw new OntApiException("Unsupported class expression " + ce);
     }
 
     /**
@@ -643,7 +674,7 @@ public class ReadHelper {
      */
     public static InternalObject<? extends SWRLDArgument> getSWRLLiteralArg(OntSWRL.DArg arg, OWLDataFactory df) {
         if (OntApiException.notNull(arg, "Null SWRL-D arg").isLiteral()) {
-            return InternalObject.create(df.getSWRLLiteralArgument(getLiteral(arg.asLiteral(), df).getObject()), arg);
+            return InternalObject.create(df.getSWRLLiteralArgument(fetchLiteral(arg.asLiteral(), df).getObject()), arg);
         }
         if (arg.canAs(OntSWRL.Variable.class)) {
             return getSWRLVariable(arg.as(OntSWRL.Variable.class), df);
@@ -673,56 +704,55 @@ public class ReadHelper {
      */
     @SuppressWarnings("unchecked")
     public static InternalObject<? extends SWRLAtom> getSWRLAtom(OntSWRL.Atom atom, OWLDataFactory df) {
-        Class<? extends OntObject> view = OntApiException.notNull(((OntObjectImpl) OntApiException.notNull(atom, "Null SWRL atom.")).getActualClass(),
-                "Can't determine view of SWRL atom " + atom);
-        if (OntSWRL.Atom.BuiltIn.class.equals(view)) {
-            OntSWRL.Atom.BuiltIn _atom = (OntSWRL.Atom.BuiltIn) atom;
-            IRI iri = IRI.create(_atom.getPredicate().getURI());
-            List<InternalObject<? extends SWRLDArgument>> arguments = _atom.arguments().map(a -> getSWRLLiteralArg(a, df)).collect(Collectors.toList());
-            SWRLAtom res = df.getSWRLBuiltInAtom(iri, arguments.stream().map(InternalObject::getObject).collect(Collectors.toList()));
-            Stream<Triple> triples = Stream.concat(_atom.content().map(FrontsTriple::asTriple),
-                    arguments.stream().map(InternalObject::triples).flatMap(Function.identity()));
-            return new InternalObject<>(res, triples.collect(Collectors.toSet()));
-        }
-        if (OntSWRL.Atom.OntClass.class.equals(view)) {
-            OntSWRL.Atom.OntClass _atom = (OntSWRL.Atom.OntClass) atom;
-            InternalObject<? extends OWLClassExpression> c = getClassExpression(_atom.getPredicate(), df, new HashSet<>());
-            InternalObject<? extends SWRLIArgument> a = getSWRLIndividualArg(_atom.getArg(), df);
-            return InternalObject.create(df.getSWRLClassAtom(c.getObject(), a.getObject()), _atom).append(c).append(a);
-        }
-        if (OntSWRL.Atom.DataProperty.class.equals(view)) {
-            OntSWRL.Atom.DataProperty _atom = (OntSWRL.Atom.DataProperty) atom;
-            InternalObject<OWLDataProperty> p = fetchDataProperty(_atom.getPredicate(), df);
-            InternalObject<? extends SWRLIArgument> f = getSWRLIndividualArg(_atom.getFirstArg(), df);
-            InternalObject<? extends SWRLDArgument> s = getSWRLLiteralArg(_atom.getSecondArg(), df);
-            return InternalObject.create(df.getSWRLDataPropertyAtom(p.getObject(), f.getObject(), s.getObject()), _atom).append(p).append(f).append(s);
-        }
-        if (OntSWRL.Atom.ObjectProperty.class.equals(view)) {
-            OntSWRL.Atom.ObjectProperty _atom = (OntSWRL.Atom.ObjectProperty) atom;
-            InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_atom.getPredicate(), df);
-            InternalObject<? extends SWRLIArgument> f = getSWRLIndividualArg(_atom.getFirstArg(), df);
-            InternalObject<? extends SWRLIArgument> s = getSWRLIndividualArg(_atom.getSecondArg(), df);
-            return InternalObject.create(df.getSWRLObjectPropertyAtom(p.getObject(), f.getObject(), s.getObject()), _atom).append(p).append(f).append(s);
-        }
-        if (OntSWRL.Atom.DataRange.class.equals(view)) {
-            OntSWRL.Atom.DataRange _atom = (OntSWRL.Atom.DataRange) atom;
-            InternalObject<? extends OWLDataRange> d = getDataRange(_atom.getPredicate(), df, new HashSet<>());
-            InternalObject<? extends SWRLDArgument> a = getSWRLLiteralArg(_atom.getArg(), df);
-            return InternalObject.create(df.getSWRLDataRangeAtom(d.getObject(), a.getObject()), _atom).append(d).append(a);
-        }
-        if (OntSWRL.Atom.DifferentIndividuals.class.equals(view)) {
-            OntSWRL.Atom.DifferentIndividuals _atom = (OntSWRL.Atom.DifferentIndividuals) atom;
-            InternalObject<? extends SWRLIArgument> f = getSWRLIndividualArg(_atom.getFirstArg(), df);
-            InternalObject<? extends SWRLIArgument> s = getSWRLIndividualArg(_atom.getSecondArg(), df);
-            return InternalObject.create(df.getSWRLDifferentIndividualsAtom(f.getObject(), s.getObject()), _atom).append(f).append(s);
-        }
-        if (OntSWRL.Atom.SameIndividuals.class.equals(view)) {
-            OntSWRL.Atom.SameIndividuals _atom = (OntSWRL.Atom.SameIndividuals) atom;
-            InternalObject<? extends SWRLIArgument> f = getSWRLIndividualArg(_atom.getFirstArg(), df);
-            InternalObject<? extends SWRLIArgument> s = getSWRLIndividualArg(_atom.getSecondArg(), df);
-            return InternalObject.create(df.getSWRLSameIndividualAtom(f.getObject(), s.getObject()), _atom).append(f).append(s);
+        switch (kind(OntApiException.notNull(atom, "Null SWRL atom."))) {
+            case SWRL_BUILT_IN_ATOM: {
+                OntSWRL.Atom.BuiltIn _atom = (OntSWRL.Atom.BuiltIn) atom;
+                IRI iri = IRI.create(_atom.getPredicate().getURI());
+                List<InternalObject<? extends SWRLDArgument>> arguments = _atom.arguments().map(a -> getSWRLLiteralArg(a, df)).collect(Collectors.toList());
+                SWRLAtom res = df.getSWRLBuiltInAtom(iri, arguments.stream().map(InternalObject::getObject).collect(Collectors.toList()));
+                return InternalObject.create(res, _atom).append(arguments);
+            }
+            case SWRL_CLASS_ATOM: {
+                OntSWRL.Atom.OntClass _atom = (OntSWRL.Atom.OntClass) atom;
+                InternalObject<? extends OWLClassExpression> c = fetchClassExpression(_atom.getPredicate(), df);
+                InternalObject<? extends SWRLIArgument> a = getSWRLIndividualArg(_atom.getArg(), df);
+                return InternalObject.create(df.getSWRLClassAtom(c.getObject(), a.getObject()), _atom).append(c).append(a);
+            }
+            case SWRL_DATA_PROPERTY_ATOM: {
+                OntSWRL.Atom.DataProperty _atom = (OntSWRL.Atom.DataProperty) atom;
+                InternalObject<OWLDataProperty> p = fetchDataProperty(_atom.getPredicate(), df);
+                InternalObject<? extends SWRLIArgument> f = getSWRLIndividualArg(_atom.getFirstArg(), df);
+                InternalObject<? extends SWRLDArgument> s = getSWRLLiteralArg(_atom.getSecondArg(), df);
+                return InternalObject.create(df.getSWRLDataPropertyAtom(p.getObject(), f.getObject(), s.getObject()), _atom).append(p).append(f).append(s);
+            }
+            case SWRL_OBJECT_PROPERTY_ATOM: {
+                OntSWRL.Atom.ObjectProperty _atom = (OntSWRL.Atom.ObjectProperty) atom;
+                InternalObject<? extends OWLObjectPropertyExpression> p = fetchObjectPropertyExpression(_atom.getPredicate(), df);
+                InternalObject<? extends SWRLIArgument> f = getSWRLIndividualArg(_atom.getFirstArg(), df);
+                InternalObject<? extends SWRLIArgument> s = getSWRLIndividualArg(_atom.getSecondArg(), df);
+                return InternalObject.create(df.getSWRLObjectPropertyAtom(p.getObject(), f.getObject(), s.getObject()), _atom).append(p).append(f).append(s);
+            }
+            case SWRL_DATA_RANGE_ATOM: {
+                OntSWRL.Atom.DataRange _atom = (OntSWRL.Atom.DataRange) atom;
+                InternalObject<? extends OWLDataRange> d = fetchDataRange(_atom.getPredicate(), df);
+                InternalObject<? extends SWRLDArgument> a = getSWRLLiteralArg(_atom.getArg(), df);
+                return InternalObject.create(df.getSWRLDataRangeAtom(d.getObject(), a.getObject()), _atom).append(d).append(a);
+            }
+            case SWRL_DIFFERENT_INDIVIDUALS_ATOM: {
+                OntSWRL.Atom.DifferentIndividuals _atom = (OntSWRL.Atom.DifferentIndividuals) atom;
+                InternalObject<? extends SWRLIArgument> f = getSWRLIndividualArg(_atom.getFirstArg(), df);
+                InternalObject<? extends SWRLIArgument> s = getSWRLIndividualArg(_atom.getSecondArg(), df);
+                return InternalObject.create(df.getSWRLDifferentIndividualsAtom(f.getObject(), s.getObject()), _atom).append(f).append(s);
+            }
+            case SWRL_SAME_INDIVIDUALS_ATOM: {
+                OntSWRL.Atom.SameIndividuals _atom = (OntSWRL.Atom.SameIndividuals) atom;
+                InternalObject<? extends SWRLIArgument> f = getSWRLIndividualArg(_atom.getFirstArg(), df);
+                InternalObject<? extends SWRLIArgument> s = getSWRLIndividualArg(_atom.getSecondArg(), df);
+                return InternalObject.create(df.getSWRLSameIndividualAtom(f.getObject(), s.getObject()), _atom).append(f).append(s);
+            }
+            default:
+                throw new OntApiException("Unsupported SWRL atom " + atom);
         }
-        throw new OntApiException("Unsupported SWRL atom " + atom);
     }
 
     /**
@@ -17,6 +17,7 @@ package ru.avicomp.ontapi.internal;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLRule;
@@ -25,6 +26,8 @@ import ru.avicomp.ontapi.jena.model.OntGraphModel;
 import ru.avicomp.ontapi.jena.model.OntObject;
 import ru.avicomp.ontapi.jena.model.OntSWRL;
 import ru.avicomp.ontapi.jena.model.OntStatement;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+import ru.avicomp.ontapi.jena.vocabulary.SWRL;
 
 /**
  * for "Rule" Axiom {@link org.semanticweb.owlapi.model.AxiomType#SWRL_RULE}
@@ -50,6 +53,18 @@ public class SWRLRuleTranslator extends AxiomTranslator<SWRLRule> {
         return statement.getSubject().canAs(OntSWRL.Imp.class);
     }
 
+    @Override
+    protected Stream<Triple> patterns() {
+        return Stream.of(pattern(RDF.type, SWRL.Imp));
+    }
+
+    @Override
+    protected OntStatement select(OntStatement statement) {
+        if (!statement.getSubject().canAs(OntSWRL.Imp.class)) return null;
+        OntStatement res = statement.getSubject().as(OntSWRL.Imp.class).getRoot();
+        return statement.equals(res) ? res : null;
+    }
+
     @Override
     public InternalObject<SWRLRule> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
@@ -0,0 +1,207 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.internal;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+import ru.avicomp.ontapi.OwlObjects;
+
+/**
+ * The index of axioms by the objects they refer to.
+ * It is used to answer the entity-scoped axiom queries
+ * (e.g. {@link OWLOntology#axioms(OWLClass)}, {@link OWLOntology#referencingAxioms(OWLPrimitive)}
+ * or {@link OWLOntology#axioms(Class, Class, OWLObject, Navigation)}) without scanning over all axioms.
+ * It holds three maps:
+ * <ul>
+ * <li>the references: each {@link OWLPrimitive} found in the axiom structure (see {@link OwlObjects#objects(Class, HasAnnotations)}),
+ * and also each {@link OWLDatatype}, which could be hidden inside a literal</li>
+ * <li>the sub-position bucket: the object standing on the left side of the axiom
+ * (i.e. the sub class, the sub property, the subject of an assertion, etc)</li>
+ * <li>the super-position bucket: the object(s) standing on the right side of the axiom
+ * (i.e. the super class, the super property, the object of an assertion, etc)</li>
+ * </ul>
+ * The position buckets are filled only for the axiom types which are
+ * handled by {@link ru.avicomp.ontapi.OntBaseModelImpl#axioms(Class, Class, OWLObject, Navigation)}.
+ * The index is not thread-safe, it is built and kept in sync by the {@link InternalModel.OwlObjectTriplesMap}.
+ *
+ * @param <O> {@link OWLObject}, only {@link OWLAxiom}s are indexed
+ */
+@SuppressWarnings("WeakerAccess")
+public class SignatureIndex<O extends OWLObject> {
+    protected final Map<OWLObject, Set<O>> references = new HashMap<>();
+    protected final Map<OWLObject, Set<O>> subPositions = new HashMap<>();
+    protected final Map<OWLObject, Set<O>> superPositions = new HashMap<>();
+
+    public SignatureIndex(Collection<O> objects) {
+        objects.forEach(this::add);
+    }
+
+    /**
+     * Adds the object to the index.
+     *
+     * @param object {@link O}
+     */
+    public void add(O object) {
+        if (!(object instanceof OWLAxiom)) return;
+        OWLAxiom axiom = (OWLAxiom) object;
+        references(axiom).forEach(k -> references.computeIfAbsent(k, x -> new HashSet<>()).add(object));
+        subPositions(axiom).forEach(k -> subPositions.computeIfAbsent(k, x -> new HashSet<>()).add(object));
+        superPositions(axiom).forEach(k -> superPositions.computeIfAbsent(k, x -> new HashSet<>()).add(object));
+    }
+
+    /**
+     * Removes the object from the index.
+     *
+     * @param object {@link O}
+     */
+    public void remove(O object) {
+        if (!(object instanceof OWLAxiom)) return;
+        OWLAxiom axiom = (OWLAxiom) object;
+        references(axiom).forEach(k -> unlink(references, k, object));
+        subPositions(axiom).forEach(k -> unlink(subPositions, k, object));
+        superPositions(axiom).forEach(k -> unlink(superPositions, k, object));
+    }
+
+    /**
+     * Returns all objects that refer the specified primitive.
+     *
+     * @param key {@link OWLPrimitive}
+     * @return unmodifiable Set of {@link O}s
+     */
+    public Set<O> references(OWLPrimitive key) {
+        return get(references, key);
+    }
+
+    /**
+     * Returns all objects that contain the specified object at the given position.
+     *
+     * @param key      {@link OWLObject}
+     * @param position {@link Navigation}, {@code null} means {@link Navigation#IN_SUB_POSITION}
+     * @return unmodifiable Set of {@link O}s
+     */
+    public Set<O> positions(OWLObject key, Navigation position) {
+        return get(Navigation.IN_SUPER_POSITION.equals(position) ? superPositions : subPositions, key);
+    }
+
+    private static <X> Set<X> get(Map<OWLObject, Set<X>> map, OWLObject key) {
+        Set<X> res = map.get(key);
+        return res == null ? Collections.emptySet() : Collections.unmodifiableSet(res);
+    }
+
+    private static <X> void unlink(Map<OWLObject, Set<X>> map, OWLObject key, X object) {
+        Set<X> res = map.get(key);
+        if (res == null) return;
+        res.remove(object);
+        if (res.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * Lists all primitives from the axiom.
+     *
+     * @param axiom {@link OWLAxiom}
+     * @return Stream of {@link OWLPrimitive}s, possible with duplicates
+     */
+    public static Stream<OWLPrimitive> references(OWLAxiom axiom) {
+        return Stream.concat(OwlObjects.objects(OWLPrimitive.class, axiom), OwlObjects.objects(OWLDatatype.class, axiom));
+    }
+
+    /**
+     * Lists the objects standing on the sub (left) position of the axiom.
+     *
+     * @param axiom {@link OWLAxiom}
+     * @return Stream of {@link OWLObject}s
+     * @see ru.avicomp.ontapi.OntBaseModelImpl#axioms(Class, Class, OWLObject, Navigation)
+     */
+    public static Stream<OWLObject> subPositions(OWLAxiom axiom) {
+        if (axiom instanceof OWLSubObjectPropertyOfAxiom) {
+            return Stream.of(((OWLSubObjectPropertyOfAxiom) axiom).getSubProperty());
+        }
+        if (axiom instanceof OWLSubDataPropertyOfAxiom) {
+            return Stream.of(((OWLSubDataPropertyOfAxiom) axiom).getSubProperty());
+        }
+        if (axiom instanceof OWLSubAnnotationPropertyOfAxiom) {
+            return Stream.of(((OWLSubAnnotationPropertyOfAxiom) axiom).getSubProperty());
+        }
+        if (axiom instanceof OWLSubClassOfAxiom) {
+            return Stream.of(((OWLSubClassOfAxiom) axiom).getSubClass());
+        }
+        if (axiom instanceof OWLInverseObjectPropertiesAxiom) {
+            return Stream.of(((OWLInverseObjectPropertiesAxiom) axiom).getFirstProperty());
+        }
+        if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+            return Stream.of(((OWLObjectPropertyAssertionAxiom) axiom).getSubject());
+        }
+        if (axiom instanceof OWLNegativeObjectPropertyAssertionAxiom) {
+            return Stream.of(((OWLNegativeObjectPropertyAssertionAxiom) axiom).getSubject());
+        }
+        if (axiom instanceof OWLAnnotationAssertionAxiom) {
+            return Stream.of(((OWLAnnotationAssertionAxiom) axiom).getSubject());
+        }
+        if (axiom instanceof OWLDisjointUnionAxiom) {
+            return Stream.of(((OWLDisjointUnionAxiom) axiom).getOWLClass());
+        }
+        if (axiom instanceof OWLSubPropertyChainOfAxiom) {
+            return Stream.of(((OWLSubPropertyChainOfAxiom) axiom).getSuperProperty());
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * Lists the objects standing on the super (right) position of the axiom.
+     *
+     * @param axiom {@link OWLAxiom}
+     * @return Stream of {@link OWLObject}s
+     * @see ru.avicomp.ontapi.OntBaseModelImpl#axioms(Class, Class, OWLObject, Navigation)
+     */
+    public static Stream<OWLObject> superPositions(OWLAxiom axiom) {
+        if (axiom instanceof OWLSubObjectPropertyOfAxiom) {
+            return Stream.of(((OWLSubObjectPropertyOfAxiom) axiom).getSuperProperty());
+        }
+        if (axiom instanceof OWLSubDataPropertyOfAxiom) {
+            return Stream.of(((OWLSubDataPropertyOfAxiom) axiom).getSuperProperty());
+        }
+        if (axiom instanceof OWLSubAnnotationPropertyOfAxiom) {
+            return Stream.of(((OWLSubAnnotationPropertyOfAxiom) axiom).getSuperProperty());
+        }
+        if (axiom instanceof OWLSubClassOfAxiom) {
+            return Stream.of(((OWLSubClassOfAxiom) axiom).getSuperClass());
+        }
+        if (axiom instanceof OWLInverseObjectPropertiesAxiom) {
+            return Stream.of(((OWLInverseObjectPropertiesAxiom) axiom).getSecondProperty());
+        }
+        if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+            return Stream.of(((OWLObjectPropertyAssertionAxiom) axiom).getObject());
+        }
+        if (axiom instanceof OWLNegativeObjectPropertyAssertionAxiom) {
+            return Stream.of(((OWLNegativeObjectPropertyAssertionAxiom) axiom).getObject());
+        }
+        if (axiom instanceof OWLAnnotationAssertionAxiom) {
+            return Stream.of(((OWLAnnotationAssertionAxiom) axiom).getValue());
+        }
+        if (axiom instanceof OWLDisjointUnionAxiom) {
+            return ((OWLDisjointUnionAxiom) axiom).classExpressions().map(OWLObject.class::cast);
+        }
+        if (axiom instanceof OWLSubPropertyChainOfAxiom) {
+            return ((OWLSubPropertyChainOfAxiom) axiom).getPropertyChain().stream().map(OWLObject.class::cast);
+        }
+        return Stream.empty();
+    }
+}
@@ -59,6 +59,14 @@ public class SubAnnotationPropertyOfTranslator extends AbstractSubPropertyTransl
                         AxiomType.SUB_OBJECT_PROPERTY, AxiomType.SUB_DATA_PROPERTY));
     }
 
+    @Override
+    protected OntStatement select(OntStatement statement) {
+        if (!testStatement(statement)) return null;
+        OntLoaderConfiguration conf = getConfig(statement).loaderConfig();
+        if (!conf.isLoadAnnotationAxioms()) return null;
+        return ReadHelper.testAnnotationAxiomOverlaps(statement, conf, AxiomType.SUB_OBJECT_PROPERTY, AxiomType.SUB_DATA_PROPERTY) ? statement : null;
+    }
+
     @Override
     public InternalObject<OWLSubAnnotationPropertyOfAxiom> asAxiom(OntStatement statement) {
         ConfigProvider.Config conf = getConfig(statement);
@@ -14,6 +14,9 @@
 
 package ru.avicomp.ontapi.internal;
 
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -493,11 +496,11 @@ public class WriteHelper {
             this.type = type;
         }
 
+        private static final Map<DataRangeType, DRTranslator> TYPES = Arrays.stream(values())
+                .collect(Collectors.toMap(t -> t.type, t -> t, (a, b) -> a, () -> new EnumMap<>(DataRangeType.class)));
+
         public static DRTranslator valueOf(DataRangeType type) {
-            for (DRTranslator t : values()) {
-                if (t.type.equals(type)) return t;
-            }
-            return null;
+            return TYPES.get(type);
         }
 
         private static abstract class Translator<FROM extends OWLDataRange, TO extends OntDR> {
@@ -649,11 +652,11 @@ public class WriteHelper {
             this.translator = translator;
         }
 
+        private static final Map<ClassExpressionType, CETranslator> TYPES = Arrays.stream(values())
+                .collect(Collectors.toMap(t -> t.type, t -> t, (a, b) -> a, () -> new EnumMap<>(ClassExpressionType.class)));
+
         public static CETranslator valueOf(ClassExpressionType type) {
-            for (CETranslator t : values()) {
-                if (t.type.equals(type)) return t;
-            }
-            return null;
+            return TYPES.get(type);
         }
 
         private static abstract class Translator<FROM extends OWLClassExpression, TO extends OntCE> {
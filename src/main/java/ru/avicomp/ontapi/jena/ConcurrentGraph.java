@@ -14,27 +14,67 @@
 
 package ru.avicomp.ontapi.jena;
 
+import java.lang.ref.WeakReference;
+import java.util.*;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import org.apache.jena.graph.*;
+import org.apache.jena.graph.impl.GraphBase;
 import org.apache.jena.shared.AddDeniedException;
 import org.apache.jena.shared.DeleteDeniedException;
 import org.apache.jena.shared.PrefixMapping;
 import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
 
 /**
  * Wrapper with {@link ReadWriteLock} inside (OWL-API synchronization style).
+ * The iterators returned by the {@code find} methods are safe to use while other threads modify the graph,
+ * how it is achieved depends on the {@link Mode}:
+ * <ul>
+ * <li>{@link Mode#DIRECT} - the read lock is held only while an iterator is being created,
+ * the iteration itself is not protected, so the results should be materialized if the graph could be changed meanwhile.</li>
+ * <li>{@link Mode#LOCKING} - an iterator holds the read lock until it is exhausted or closed.
+ * It must be consumed by the same thread which has created it,
+ * and an unclosed and unexhausted iterator blocks all writers forever.</li>
+ * <li>{@link Mode#SNAPSHOT} - an iterator works over an immutable snapshot of the base graph,
+ * which is shared between readers and reused till the next modification, so readers never block writers while iterating.
+ * The snapshot is a frozen copy of the base graph plus the sets of triples added and deleted since that copy was made.
+ * The changes are journaled by a graph listener, and the next snapshot is made from the previous one and the journal,
+ * so its cost is proportional to the number of changes accumulated since the last full copy,
+ * not to the size of the graph. The full copy is made again (under the read lock) when the accumulated changes
+ * exceed the fraction of the graph size (see {@link #COMPACT_RATIO}), and after bulk changes, such as {@link Graph#clear()}.</li>
+ * </ul>
+ * The default mode is {@link Mode#DIRECT}, which does not change the behaviour of the existing code:
+ * note that an iterator in {@link Mode#LOCKING} mode, which is neither exhausted nor closed
+ * (e.g. inside {@link Graph#isIsomorphicWith(Graph)}), holds the read lock forever.
  * Note: the related objects (such as {@link PrefixMapping}) are not synchronized!
  * <p>
  * Created by @szuev on 07.04.2017.
  */
 public class ConcurrentGraph implements Graph {
+    // the max number of journaled changes, after that the snapshot is made from scratch:
+    protected static final int JOURNAL_LIMIT = 1 << 16;
+    // the snapshot is made from scratch if the accumulated changes exceed 1/COMPACT_RATIO of the graph size:
+    protected static final int COMPACT_RATIO = 4;
+
     protected final Graph base;
     protected final ReadWriteLock lock;
+    protected final Mode mode;
+    protected final Map<Triple, Boolean> journal = new LinkedHashMap<>();
+    protected boolean reset = true;
+    protected volatile long version;
+    protected volatile Snapshot snapshot;
+    protected SnapshotListener listener;
 
     public ConcurrentGraph(Graph base, ReadWriteLock lock) {
+        this(base, lock, Mode.DIRECT);
+    }
+
+    public ConcurrentGraph(Graph base, ReadWriteLock lock, Mode mode) {
         this.base = OntJenaException.notNull(base, "Null base graph");
         this.lock = OntJenaException.notNull(lock, "Null lock");
+        this.mode = OntJenaException.notNull(mode, "Null mode");
     }
 
     public Graph get() {
@@ -45,6 +85,115 @@ public class ConcurrentGraph implements Graph {
         return lock;
     }
 
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Returns an immutable snapshot of the base graph, which is actual at the moment.
+     * The snapshot is shared between readers and is recreated after any change in the base graph.
+     * Note: the returned graph must not be modified.
+     *
+     * @return {@link Graph}
+     */
+    public Graph snapshot() {
+        Snapshot res = snapshot;
+        if (res != null && res.version == version) return res;
+        // the read lock goes first: a writer, which reads its own changes, must not wait for the monitor,
+        // that is held by a thread which waits for the lock
+        lock().readLock().lock();
+        try {
+            // only one thread makes a snapshot, the others wait for it:
+            synchronized (this) {
+                res = snapshot;
+                if (res != null && res.version == version) return res;
+                if (listener == null) {
+                    get().getEventManager().register(listener = new SnapshotListener(this));
+                }
+                Map<Triple, Boolean> changes;
+                long v;
+                synchronized (journal) {
+                    v = version;
+                    changes = res == null || reset ? null : new LinkedHashMap<>(journal);
+                    journal.clear();
+                    reset = false;
+                }
+                if (changes == null || (res.delta() + changes.size()) * COMPACT_RATIO > res.frozen.size()) {
+                    res = new Snapshot(copy(get()), v);
+                } else {
+                    res = res.next(changes, v);
+                }
+                return snapshot = res;
+            }
+        } finally {
+            lock().readLock().unlock();
+        }
+    }
+
+    private static Graph copy(Graph graph) {
+        Graph res = OntModelFactory.createDefaultGraph();
+        GraphUtil.addInto(res, graph);
+        return res;
+    }
+
+    /**
+     * Records the change of the base graph.
+     *
+     * @param t   {@link Triple}
+     * @param add boolean, {@code true} if the triple is added, {@code false} if deleted
+     */
+    protected void record(Triple t, boolean add) {
+        synchronized (journal) {
+            version++;
+            if (reset) return;
+            if (journal.size() < JOURNAL_LIMIT) {
+                journal.put(t, add);
+                return;
+            }
+            journal.clear();
+            reset = true;
+        }
+    }
+
+    /**
+     * Records the change of the base graph that cannot be journaled, the next snapshot will be made from scratch.
+     */
+    protected void reset() {
+        synchronized (journal) {
+            version++;
+            journal.clear();
+            reset = true;
+        }
+    }
+
+    /**
+     * Makes the lock-safe iterator over the base graph according to the {@link Mode}.
+     *
+     * @param s {@link Node} subject
+     * @param p {@link Node} predicate
+     * @param o {@link Node} object
+     * @return {@link ExtendedIterator} of {@link Triple}s
+     */
+    protected ExtendedIterator<Triple> iterator(Node s, Node p, Node o) {
+        if (Mode.SNAPSHOT.equals(mode)) {
+            return new SnapshotIterator(snapshot().find(s, p, o));
+        }
+        lock().readLock().lock();
+        if (Mode.DIRECT.equals(mode)) {
+            try {
+                return get().find(s, p, o);
+            } finally {
+                lock().readLock().unlock();
+            }
+        }
+        try {
+            return new LockedIterator(get().find(s, p, o));
+        } catch (RuntimeException e) {
+            lock().readLock().unlock();
+            throw e;
+        }
+    }
+
     @Override
     public boolean dependsOn(Graph other) {
         lock().readLock().lock();
@@ -77,22 +226,12 @@ public class ConcurrentGraph implements Graph {
 
     @Override
     public ExtendedIterator<Triple> find(Triple m) {
-        lock().readLock().lock();
-        try {
-            return get().find(m);
-        } finally {
-            lock().readLock().unlock();
-        }
+        return iterator(m.getMatchSubject(), m.getMatchPredicate(), m.getMatchObject());
     }
 
     @Override
     public ExtendedIterator<Triple> find(Node s, Node p, Node o) {
-        lock().readLock().lock();
-        try {
-            return get().find(s, p, o);
-        } finally {
-            lock().readLock().unlock();
-        }
+        return iterator(s, p, o);
     }
 
     @Override
@@ -234,4 +373,261 @@ public class ConcurrentGraph implements Graph {
             lock().readLock().unlock();
         }
     }
+
+    /**
+     * The ways to iterate over the graph safely.
+     */
+    public enum Mode {
+        /**
+         * The read lock is held only while an iterator is being created.
+         */
+        DIRECT,
+        /**
+         * An iterator holds the read lock until it is exhausted or closed.
+         */
+        LOCKING,
+        /**
+         * An iterator works over an immutable copy of the graph without any lock.
+         */
+        SNAPSHOT,
+    }
+
+    /**
+     * The iterator which holds the read lock while it is alive.
+     * The lock is released on {@link #close()} or when the iterator is exhausted.
+     * The removal is not allowed since it requires the write lock.
+     */
+    public class LockedIterator extends NiceIterator<Triple> {
+        private ExtendedIterator<Triple> base;
+
+        protected LockedIterator(ExtendedIterator<Triple> base) {
+            this.base = base;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (base == null) return false;
+            boolean res;
+            try {
+                res = base.hasNext();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            if (!res) close();
+            return res;
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) return noElements("No more triples.");
+            return base.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Can't remove under the read lock.");
+        }
+
+        @Override
+        public void close() {
+            if (base == null) return;
+            try {
+                base.close();
+            } finally {
+                base = null;
+                lock().readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * The iterator over a {@link #snapshot() snapshot}.
+     * The removal goes to the base graph under the write lock, the snapshot is not affected.
+     */
+    public class SnapshotIterator extends NiceIterator<Triple> {
+        private final ExtendedIterator<Triple> base;
+        private Triple current;
+
+        protected SnapshotIterator(ExtendedIterator<Triple> base) {
+            this.base = base;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return base.hasNext();
+        }
+
+        @Override
+        public Triple next() {
+            return current = base.next();
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) throw new IllegalStateException();
+            delete(current);
+            current = null;
+        }
+
+        @Override
+        public void close() {
+            base.close();
+        }
+    }
+
+    /**
+     * An immutable snapshot of the base graph with the version of the changes journal:
+     * a frozen copy of the graph, which is shared between the successive snapshots,
+     * plus the sets of triples added and deleted since the copy has been made.
+     */
+    protected static class Snapshot extends GraphBase {
+        private final Graph frozen;
+        private final Set<Triple> added;
+        private final Set<Triple> deleted;
+        private final long version;
+
+        protected Snapshot(Graph frozen, long version) {
+            this(frozen, Collections.emptySet(), Collections.emptySet(), version);
+        }
+
+        protected Snapshot(Graph frozen, Set<Triple> added, Set<Triple> deleted, long version) {
+            this.frozen = frozen;
+            this.added = added;
+            this.deleted = deleted;
+            this.version = version;
+        }
+
+        /**
+         * Makes the next snapshot, the frozen graph is shared, only the changes are copied.
+         *
+         * @param changes Map of triples, {@code true} for added, {@code false} for deleted
+         * @param version long
+         * @return {@link Snapshot}
+         */
+        protected Snapshot next(Map<Triple, Boolean> changes, long version) {
+            Set<Triple> added = new HashSet<>(this.added);
+            Set<Triple> deleted = new HashSet<>(this.deleted);
+            changes.forEach((t, add) -> {
+                if (add) {
+                    if (!deleted.remove(t) && !frozen.contains(t)) added.add(t);
+                } else {
+                    if (!added.remove(t) && frozen.contains(t)) deleted.add(t);
+                }
+            });
+            return new Snapshot(frozen, added, deleted, version);
+        }
+
+        /**
+         * Answers the number of the accumulated changes.
+         *
+         * @return int
+         */
+        protected int delta() {
+            return added.size() + deleted.size();
+        }
+
+        @Override
+        protected ExtendedIterator<Triple> graphBaseFind(Triple m) {
+            ExtendedIterator<Triple> res = frozen.find(m);
+            if (!deleted.isEmpty()) {
+                res = res.filterDrop(deleted::contains);
+            }
+            if (added.isEmpty()) return res;
+            return res.andThen(WrappedIterator.create(added.stream().filter(m::matches).iterator()));
+        }
+
+        @Override
+        protected int graphBaseSize() {
+            return frozen.size() + added.size() - deleted.size();
+        }
+    }
+
+    /**
+     * The listener to journal the changes of the base graph.
+     * It refers the {@link ConcurrentGraph} weakly and unregisters itself when the graph is gone.
+     */
+    protected static class SnapshotListener implements GraphListener {
+        private final WeakReference<ConcurrentGraph> graph;
+
+        protected SnapshotListener(ConcurrentGraph graph) {
+            this.graph = new WeakReference<>(graph);
+        }
+
+        protected ConcurrentGraph get(Graph source) {
+            ConcurrentGraph res = graph.get();
+            if (res == null) {
+                source.getEventManager().unregister(this);
+            }
+            return res;
+        }
+
+        protected void record(Graph source, Iterator<Triple> triples, boolean add) {
+            ConcurrentGraph g = get(source);
+            if (g == null) return;
+            triples.forEachRemaining(t -> g.record(t, add));
+        }
+
+        protected void reset(Graph source) {
+            ConcurrentGraph g = get(source);
+            if (g == null) return;
+            g.reset();
+        }
+
+        @Override
+        public void notifyAddTriple(Graph g, Triple t) {
+            record(g, Collections.singleton(t).iterator(), true);
+        }
+
+        @Override
+        public void notifyAddArray(Graph g, Triple[] triples) {
+            record(g, Arrays.asList(triples).iterator(), true);
+        }
+
+        @Override
+        public void notifyAddList(Graph g, List<Triple> triples) {
+            record(g, triples.iterator(), true);
+        }
+
+        @Override
+        public void notifyAddIterator(Graph g, Iterator<Triple> it) {
+            reset(g);
+        }
+
+        @Override
+        public void notifyAddGraph(Graph g, Graph added) {
+            reset(g);
+        }
+
+        @Override
+        public void notifyDeleteTriple(Graph g, Triple t) {
+            record(g, Collections.singleton(t).iterator(), false);
+        }
+
+        @Override
+        public void notifyDeleteList(Graph g, List<Triple> triples) {
+            record(g, triples.iterator(), false);
+        }
+
+        @Override
+        public void notifyDeleteArray(Graph g, Triple[] triples) {
+            record(g, Arrays.asList(triples).iterator(), false);
+        }
+
+        @Override
+        public void notifyDeleteIterator(Graph g, Iterator<Triple> it) {
+            reset(g);
+        }
+
+        @Override
+        public void notifyDeleteGraph(Graph g, Graph removed) {
+            reset(g);
+        }
+
+        @Override
+        public void notifyEvent(Graph g, Object value) {
+            if (GraphEvents.startRead.equals(value) || GraphEvents.finishRead.equals(value)) return;
+            reset(g);
+        }
+    }
 }
@@ -0,0 +1,625 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import org.apache.jena.graph.Capabilities;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.AllCapabilities;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+
+/**
+ * An in-memory graph which keeps every distinct {@link Node} only once, in a dictionary under an {@code int} id,
+ * and the triples as pairs of ids in three primitive indexes (SPO, POS and OSP).
+ * There are no {@link Triple} objects inside: they are created while iterating only.
+ * It is an alternative to the {@link org.apache.jena.mem.GraphMem} for large ontologies,
+ * see {@link OntModelFactory#createDictionaryGraph()}.
+ * <p>
+ * Differences from the {@code GraphMem}:
+ * <ul>
+ * <li>the nodes are matched by terms ({@link Node#equals(Object)}), not by values,
+ * e.g. a search for {@code "1"^^xsd:int} does not find {@code "01"^^xsd:int},
+ * so the {@link Capabilities#handlesLiteralTyping()} is {@code false}</li>
+ * <li>a node is removed from the dictionary as soon as there are no more triples with it,
+ * and its id is reused later</li>
+ * </ul>
+ * As well as the {@code GraphMem}, the graph is not thread-safe (use {@link ConcurrentGraph} to share it),
+ * and its iterators are fail-fast: any modification, except through the {@link java.util.Iterator#remove()}
+ * of the iterator itself, causes a {@link ConcurrentModificationException}.
+ */
+public class DictionaryGraph extends GraphBase {
+    private static final long[][] NO_DATA = new long[0][];
+
+    protected final Dictionary dictionary = new Dictionary();
+    // for each node id (in the first position of a triple) the set of pairs of ids in other positions, see LongSets:
+    protected long[][] spo = NO_DATA;
+    protected long[][] pos = NO_DATA;
+    protected long[][] osp = NO_DATA;
+    protected int size;
+    protected int modCount;
+    private Capabilities termCapabilities;
+
+    @Override
+    public void performAdd(Triple t) {
+        int s = dictionary.add(t.getSubject());
+        int p = dictionary.add(t.getPredicate());
+        int o = dictionary.add(t.getObject());
+        ensureCapacity(dictionary.capacity());
+        long po = pair(p, o);
+        if (LongSets.contains(spo[s], po)) return;
+        spo[s] = LongSets.add(spo[s], po);
+        pos[p] = LongSets.add(pos[p], pair(o, s));
+        osp[o] = LongSets.add(osp[o], pair(s, p));
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        int s, p, o;
+        if ((s = dictionary.id(t.getSubject())) < 0) return;
+        if ((p = dictionary.id(t.getPredicate())) < 0) return;
+        if ((o = dictionary.id(t.getObject())) < 0) return;
+        long po = pair(p, o);
+        if (!LongSets.contains(spo[s], po)) return;
+        spo[s] = LongSets.remove(spo[s], po);
+        pos[p] = LongSets.remove(pos[p], pair(o, s));
+        osp[o] = LongSets.remove(osp[o], pair(s, p));
+        size--;
+        modCount++;
+        release(s);
+        release(p);
+        release(o);
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) return containsByFind(t);
+        int s, p, o;
+        return (s = dictionary.id(t.getSubject())) >= 0
+                && (p = dictionary.id(t.getPredicate())) >= 0
+                && (o = dictionary.id(t.getObject())) >= 0
+                && LongSets.contains(spo[s], pair(p, o));
+    }
+
+    /**
+     * Chooses the index to search in.
+     * If there are two concrete nodes in the pattern the smallest group of the two possible is taken,
+     * the rest node is checked by the iterator.
+     *
+     * @param m {@link Triple} pattern
+     * @return {@link ExtendedIterator} of {@link Triple}s
+     */
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple m) {
+        Node sn = m.getSubject(), pn = m.getPredicate(), on = m.getObject();
+        int s = -1, p = -1, o = -1;
+        if (sn.isConcrete() && (s = dictionary.id(sn)) < 0) return NiceIterator.emptyIterator();
+        if (pn.isConcrete() && (p = dictionary.id(pn)) < 0) return NiceIterator.emptyIterator();
+        if (on.isConcrete() && (o = dictionary.id(on)) < 0) return NiceIterator.emptyIterator();
+        if (s >= 0) {
+            if (p >= 0 && o >= 0) {
+                return LongSets.contains(spo[s], pair(p, o)) ? new TripleIterator(Index.SPO, s, p, o) : NiceIterator.emptyIterator();
+            }
+            if (p >= 0) {
+                return LongSets.size(spo[s]) <= LongSets.size(pos[p]) ?
+                        new TripleIterator(Index.SPO, s, p, -1) : new TripleIterator(Index.POS, p, -1, s);
+            }
+            if (o >= 0) {
+                return LongSets.size(spo[s]) <= LongSets.size(osp[o]) ?
+                        new TripleIterator(Index.SPO, s, -1, o) : new TripleIterator(Index.OSP, o, s, -1);
+            }
+            return new TripleIterator(Index.SPO, s, -1, -1);
+        }
+        if (p >= 0) {
+            if (o >= 0) {
+                return LongSets.size(pos[p]) <= LongSets.size(osp[o]) ?
+                        new TripleIterator(Index.POS, p, o, -1) : new TripleIterator(Index.OSP, o, -1, p);
+            }
+            return new TripleIterator(Index.POS, p, -1, -1);
+        }
+        if (o >= 0) {
+            return new TripleIterator(Index.OSP, o, -1, -1);
+        }
+        return new TripleIterator();
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return size;
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        if (termCapabilities == null) {
+            termCapabilities = new AllCapabilities() {
+                @Override
+                public boolean handlesLiteralTyping() {
+                    return false;
+                }
+            };
+        }
+        return termCapabilities;
+    }
+
+    @Override
+    public void clear() {
+        clearStore();
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+
+    @Override
+    public void close() {
+        clearStore();
+        super.close();
+    }
+
+    /**
+     * Answers the number of distinct nodes in the graph.
+     *
+     * @return int
+     */
+    public int nodesCount() {
+        return dictionary.count;
+    }
+
+    protected void clearStore() {
+        dictionary.clear();
+        spo = pos = osp = NO_DATA;
+        size = 0;
+        modCount++;
+    }
+
+    protected void ensureCapacity(int capacity) {
+        if (spo.length >= capacity) return;
+        spo = Arrays.copyOf(spo, capacity);
+        pos = Arrays.copyOf(pos, capacity);
+        osp = Arrays.copyOf(osp, capacity);
+    }
+
+    /**
+     * Removes the node from the dictionary if it is not used any more.
+     *
+     * @param id int
+     */
+    protected void release(int id) {
+        if (spo[id] != null || pos[id] != null || osp[id] != null) return;
+        dictionary.remove(id);
+    }
+
+    protected long[][] data(Index index) {
+        switch (index) {
+            case SPO:
+                return spo;
+            case POS:
+                return pos;
+            case OSP:
+                return osp;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    private static long pair(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+
+    private static int left(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    private static int right(long pair) {
+        return (int) pair;
+    }
+
+    /**
+     * The index kinds, each knows how to assemble a triple from the first id and the pair of the rest ids.
+     */
+    protected enum Index {
+        SPO {
+            @Override
+            Triple triple(Dictionary d, int first, long pair) {
+                return Triple.create(d.node(first), d.node(left(pair)), d.node(right(pair)));
+            }
+        },
+        POS {
+            @Override
+            Triple triple(Dictionary d, int first, long pair) {
+                return Triple.create(d.node(right(pair)), d.node(first), d.node(left(pair)));
+            }
+        },
+        OSP {
+            @Override
+            Triple triple(Dictionary d, int first, long pair) {
+                return Triple.create(d.node(left(pair)), d.node(right(pair)), d.node(first));
+            }
+        },
+        ;
+
+        abstract Triple triple(Dictionary d, int first, long pair);
+    }
+
+    /**
+     * The fail-fast iterator over a single group of an index (if the first id is specified) or over the whole SPO index.
+     * It walks over the raw table of the group, which is copied before the first removal through this iterator,
+     * so that the order of the rest elements is not broken.
+     */
+    protected class TripleIterator extends NiceIterator<Triple> {
+        private final Index index;
+        private final boolean all;
+        private final int left;
+        private final int right;
+        private int first;
+        private long[] group;
+        private boolean copied;
+        private int cursor = 1;
+        private long next = LongSets.EMPTY;
+        private Triple current;
+        private int expectedModCount = modCount;
+
+        /**
+         * Creates an iterator over all triples.
+         */
+        protected TripleIterator() {
+            this.index = Index.SPO;
+            this.all = true;
+            this.first = -1;
+            this.left = -1;
+            this.right = -1;
+        }
+
+        /**
+         * Creates an iterator over a group.
+         *
+         * @param index {@link Index}
+         * @param first the id of the group node
+         * @param left  the id to match the left part of the pairs, or {@code -1} to match any
+         * @param right the id to match the right part of the pairs, or {@code -1} to match any
+         */
+        protected TripleIterator(Index index, int first, int left, int right) {
+            this.index = index;
+            this.all = false;
+            this.first = first;
+            this.left = left;
+            this.right = right;
+            this.group = data(index)[first];
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (next != LongSets.EMPTY) return true;
+            while (true) {
+                if (group != null) {
+                    while (cursor < group.length) {
+                        long v = group[cursor++];
+                        if (v == LongSets.EMPTY) continue;
+                        if (left >= 0 && left(v) != left) continue;
+                        if (right >= 0 && right(v) != right) continue;
+                        next = v;
+                        return true;
+                    }
+                    group = null;
+                }
+                if (!all) return false;
+                long[][] data = data(index);
+                do {
+                    first++;
+                } while (first < data.length && data[first] == null);
+                if (first >= data.length) return false;
+                group = data[first];
+                copied = false;
+                cursor = 1;
+            }
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            current = index.triple(dictionary, first, next);
+            next = LongSets.EMPTY;
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) throw new IllegalStateException();
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (group != null && !copied) {
+                group = group.clone();
+                copied = true;
+            }
+            delete(current);
+            current = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * The bidirectional map between nodes and non-negative ints.
+     * The ids are dense: a released id is reused by the next new node.
+     */
+    protected static class Dictionary {
+        private Node[] nodes;
+        // open addressing table with linear probing, the values are (id + 1), 0 means empty slot:
+        private int[] table;
+        private int[] free;
+        private int freeCount;
+        private int count;
+        private int top;
+
+        protected Dictionary() {
+            clear();
+        }
+
+        protected void clear() {
+            nodes = new Node[16];
+            table = new int[32];
+            free = new int[8];
+            freeCount = count = top = 0;
+        }
+
+        /**
+         * Returns the id of the node.
+         *
+         * @param n {@link Node}
+         * @return int, the id or {@code -1} if there is no such node
+         */
+        protected int id(Node n) {
+            int mask = table.length - 1;
+            for (int i = mix(n.hashCode()) & mask; ; i = (i + 1) & mask) {
+                int v = table[i];
+                if (v == 0) return -1;
+                if (n.equals(nodes[v - 1])) return v - 1;
+            }
+        }
+
+        /**
+         * Returns the id of the node, registering it if it is absent.
+         *
+         * @param n {@link Node}
+         * @return int id
+         */
+        protected int add(Node n) {
+            int mask = table.length - 1;
+            int i = mix(n.hashCode()) & mask;
+            for (int v; (v = table[i]) != 0; i = (i + 1) & mask) {
+                if (n.equals(nodes[v - 1])) return v - 1;
+            }
+            int res = freeCount > 0 ? free[--freeCount] : top++;
+            if (res == nodes.length) {
+                nodes = Arrays.copyOf(nodes, res * 2);
+            }
+            nodes[res] = n;
+            table[i] = res + 1;
+            if (++count * 2 > table.length) {
+                rehash(table.length * 2);
+            }
+            return res;
+        }
+
+        protected Node node(int id) {
+            return nodes[id];
+        }
+
+        protected void remove(int id) {
+            Node n = nodes[id];
+            if (n == null) return;
+            int mask = table.length - 1;
+            int i = mix(n.hashCode()) & mask;
+            while (table[i] != id + 1) {
+                i = (i + 1) & mask;
+            }
+            // backward shift deletion:
+            for (int j = i; ; ) {
+                j = (j + 1) & mask;
+                int v = table[j];
+                if (v == 0) break;
+                int k = mix(nodes[v - 1].hashCode()) & mask;
+                if (i <= j ? (i < k && k <= j) : (i < k || k <= j)) continue;
+                table[i] = v;
+                i = j;
+            }
+            table[i] = 0;
+            nodes[id] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = id;
+            count--;
+        }
+
+        /**
+         * Answers the size of the id space, i.e. all ids are less than this number.
+         *
+         * @return int
+         */
+        protected int capacity() {
+            return nodes.length;
+        }
+
+        private void rehash(int length) {
+            int[] res = new int[length];
+            int mask = length - 1;
+            for (int v : table) {
+                if (v == 0) continue;
+                int i = mix(nodes[v - 1].hashCode()) & mask;
+                while (res[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                res[i] = v;
+            }
+            table = res;
+        }
+
+        private static int mix(int h) {
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * Helper to work with sets of non-negative longs, which are stored as bare {@code long[]} arrays.
+     * The element with index {@code 0} is the size of the set, the rest are the slots, {@link #EMPTY} marks a free slot.
+     * A small set (up to {@link #LINEAR_LIMIT} elements) is an unordered array,
+     * a large one is an open addressing hash table with linear probing (the number of slots is a power of two).
+     * An absent (empty) set is {@code null}.
+     */
+    protected static class LongSets {
+        static final long EMPTY = -1;
+        static final int LINEAR_LIMIT = 8;
+
+        static int size(long[] set) {
+            return set == null ? 0 : (int) set[0];
+        }
+
+        static boolean contains(long[] set, long v) {
+            if (set == null) return false;
+            if (isLinear(set)) {
+                for (int i = 1, n = (int) set[0]; i <= n; i++) {
+                    if (set[i] == v) return true;
+                }
+                return false;
+            }
+            return find(set, v) > 0;
+        }
+
+        /**
+         * Adds the element, which must be absent in the set.
+         *
+         * @param set long array or {@code null}
+         * @param v   long, non-negative
+         * @return the same or new array
+         */
+        static long[] add(long[] set, long v) {
+            if (set == null) {
+                return new long[]{1, v};
+            }
+            int n = (int) set[0];
+            if (isLinear(set)) {
+                if (n + 1 < set.length) {
+                    set[n + 1] = v;
+                    set[0] = n + 1;
+                    return set;
+                }
+                if (n < LINEAR_LIMIT) {
+                    long[] res = Arrays.copyOf(set, Math.min(LINEAR_LIMIT, n * 2) + 1);
+                    Arrays.fill(res, n + 2, res.length, EMPTY);
+                    res[n + 1] = v;
+                    res[0] = n + 1;
+                    return res;
+                }
+                set = rehash(set, LINEAR_LIMIT * 2);
+            } else if ((n + 1) * 4 > (set.length - 1) * 3) {
+                set = rehash(set, (set.length - 1) * 2);
+            }
+            set[-find(set, v)] = v;
+            set[0] = n + 1;
+            return set;
+        }
+
+        /**
+         * Removes the element, which must be present in the set.
+         *
+         * @param set long array
+         * @param v   long
+         * @return the same or new array, or {@code null} if the set becomes empty
+         */
+        static long[] remove(long[] set, long v) {
+            int n = (int) set[0];
+            if (n == 1) return null;
+            if (isLinear(set)) {
+                for (int i = 1; i <= n; i++) {
+                    if (set[i] != v) continue;
+                    set[i] = set[n];
+                    set[n] = EMPTY;
+                    set[0] = n - 1;
+                    break;
+                }
+                return set;
+            }
+            int i = find(set, v) - 1;
+            if (i < 0) return set;
+            int mask = set.length - 2;
+            // backward shift deletion (the slot of a table index i is i + 1):
+            for (int j = i; ; ) {
+                j = (j + 1) & mask;
+                long x = set[j + 1];
+                if (x == EMPTY) break;
+                int k = hash(x) & mask;
+                if (i <= j ? (i < k && k <= j) : (i < k || k <= j)) continue;
+                set[i + 1] = x;
+                i = j;
+            }
+            set[i + 1] = EMPTY;
+            set[0] = --n;
+            if (n <= LINEAR_LIMIT / 2) {
+                long[] res = new long[LINEAR_LIMIT + 1];
+                Arrays.fill(res, EMPTY);
+                int k = 0;
+                for (int j = 1; j < set.length; j++) {
+                    if (set[j] != EMPTY) res[++k] = set[j];
+                }
+                res[0] = k;
+                return res;
+            }
+            return n * 8 < set.length - 1 ? rehash(set, (set.length - 1) / 2) : set;
+        }
+
+        private static boolean isLinear(long[] set) {
+            return set.length <= LINEAR_LIMIT + 1;
+        }
+
+        /**
+         * Finds the slot in the hash table.
+         *
+         * @param set long array in the hash mode
+         * @param v   long
+         * @return positive slot index if the element is found, otherwise a negated index of the free slot to insert
+         */
+        private static int find(long[] set, long v) {
+            int mask = set.length - 2;
+            for (int i = hash(v) & mask; ; i = (i + 1) & mask) {
+                long x = set[i + 1];
+                if (x == v) return i + 1;
+                if (x == EMPTY) return -(i + 1);
+            }
+        }
+
+        private static long[] rehash(long[] set, int slots) {
+            long[] res = new long[slots + 1];
+            Arrays.fill(res, EMPTY);
+            for (int i = 1; i < set.length; i++) {
+                long x = set[i];
+                if (x == EMPTY) continue;
+                res[-find(res, x)] = x;
+            }
+            res[0] = set[0];
+            return res;
+        }
+
+        private static int hash(long v) {
+            long h = v * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
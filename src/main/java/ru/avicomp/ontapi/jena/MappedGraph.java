@@ -0,0 +1,1226 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.*;
+import org.apache.jena.graph.impl.AllCapabilities;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+
+/**
+ * A persistent graph, which keeps its data in the memory-mapped files of a directory,
+ * so its size is not limited by the java heap, and opening an existing store is just mapping the files again.
+ * No external database is needed.
+ * <p>
+ * The store layout:
+ * <ul>
+ * <li>the node dictionary: the encoded nodes ({@code nodes.dat}), the offsets of them by int id ({@code nodes.ids})
+ * and the hash table to find the id of a node ({@code nodes.hash.N}); the dictionary is append-only</li>
+ * <li>the triples: immutable sorted runs of id-triples, each run is three files ({@code run-N.spo}, {@code .pos}, {@code .osp}).
+ * Any search pattern is a prefix of one of these orders, so a search is a binary search in each run</li>
+ * <li>the recent changes: the in-memory primitive sets of added and deleted id-triples.
+ * When there are too many additions they are written as a new run,
+ * and the runs of similar sizes are merged, so there is only a logarithmic number of them</li>
+ * <li>{@code manifest.properties}: the list of runs, the dictionary state and the user information
+ * (see {@link #putInfo(String, String)}), it is rewritten atomically; {@code prefixes.properties}: the prefixes</li>
+ * </ul>
+ * The graph is write-through: the changes are persisted by {@link #flush()} and {@link #close()},
+ * and the stores which are still open are closed (so flushed) on JVM shutdown.
+ * A directory is served by a single graph: {@link #open(Path)} returns the same instance within the JVM,
+ * and the directory is locked against other processes;
+ * so the owner of a store should close it instead of passing it to the independent parties.
+ * As well as the {@link DictionaryGraph}, the graph matches the nodes by terms, not by values,
+ * its iterators are fail-fast, and it is not thread-safe (use {@link ConcurrentGraph} to share it).
+ */
+@SuppressWarnings("WeakerAccess")
+public class MappedGraph extends GraphBase {
+    protected static final String MANIFEST = "manifest.properties";
+    protected static final String PREFIXES = "prefixes.properties";
+    protected static final String LOCK = "lock";
+    protected static final String INFO_PREFIX = "info.";
+    protected static final int DEFAULT_DELTA_LIMIT = 1 << 20;
+
+    private static final Map<Path, MappedGraph> OPENED = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> new ArrayList<>(OPENED.values()).forEach(g -> {
+            try {
+                g.close();
+            } catch (RuntimeException e) {
+                // ignore: nothing can be done on shutdown
+            }
+        })));
+    }
+
+    protected final Path location;
+    protected final NodeTable nodes;
+    protected final List<Run> runs = new ArrayList<>();
+    protected final TripleSet added = new TripleSet();
+    protected final TripleSet deleted = new TripleSet();
+    protected final Properties info = new Properties();
+    protected FileChannel lockChannel;
+    protected FileLock lock;
+    protected int deltaLimit = DEFAULT_DELTA_LIMIT;
+    protected int nextRun;
+    protected long size;
+    protected int modCount;
+    private Capabilities termCapabilities;
+
+    protected MappedGraph(Path location) {
+        this.location = location;
+        try {
+            Files.createDirectories(location);
+            lockChannel = FileChannel.open(location.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = lockChannel.tryLock();
+            if (lock == null) {
+                throw new OntJenaException("The store " + location + " is locked by another process.");
+            }
+            Properties manifest = readProperties(location.resolve(MANIFEST));
+            boolean clean = Boolean.parseBoolean(manifest.getProperty("clean", "true"));
+            nodes = new NodeTable(location,
+                    Integer.parseInt(manifest.getProperty("nodes.count", "0")),
+                    Long.parseLong(manifest.getProperty("nodes.end", "0")),
+                    Integer.parseInt(manifest.getProperty("nodes.slots", String.valueOf(NodeTable.MIN_SLOTS))), !clean);
+            nextRun = Integer.parseInt(manifest.getProperty("runs.next", "0"));
+            for (String r : manifest.getProperty("runs", "").split(",")) {
+                if (r.isEmpty()) continue;
+                String[] parts = r.split(":");
+                Run run = new Run(location, Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+                runs.add(run);
+                size += run.count;
+            }
+            manifest.stringPropertyNames().stream().filter(k -> k.startsWith(INFO_PREFIX))
+                    .forEach(k -> info.setProperty(k.substring(INFO_PREFIX.length()), manifest.getProperty(k)));
+            Properties prefixes = readProperties(location.resolve(PREFIXES));
+            prefixes.stringPropertyNames().forEach(p -> getPrefixMapping().setNsPrefix(p, prefixes.getProperty(p)));
+            deleteGarbage();
+            writeManifest(false);
+        } catch (IOException | RuntimeException e) {
+            releaseLock();
+            if (e instanceof OntJenaException) throw (OntJenaException) e;
+            throw new OntJenaException("Can't open the store " + location, e);
+        }
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if needed.
+     * If the store is already open in this JVM the same instance is returned.
+     *
+     * @param dir {@link Path} the directory
+     * @return {@link MappedGraph}
+     * @throws OntJenaException in case of any I/O problem or if the store is locked by another process
+     */
+    public static MappedGraph open(Path dir) {
+        return OPENED.computeIfAbsent(dir.toAbsolutePath().normalize(), MappedGraph::new);
+    }
+
+    /**
+     * Answers if there is a store in the directory.
+     *
+     * @param dir {@link Path}
+     * @return boolean
+     */
+    public static boolean exists(Path dir) {
+        return Files.exists(dir.resolve(MANIFEST));
+    }
+
+    /**
+     * Returns the store directory for the specified name (e.g. a document IRI) inside the root directory.
+     *
+     * @param root {@link Path} the root directory
+     * @param name String
+     * @return {@link Path}
+     */
+    public static Path location(Path root, String name) {
+        return root.resolve(UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString());
+    }
+
+    public Path getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns the user information stored along with the graph.
+     *
+     * @param key String
+     * @return String or {@code null}
+     */
+    public String getInfo(String key) {
+        return info.getProperty(key);
+    }
+
+    /**
+     * Puts the user information to be stored along with the graph, it is persisted on {@link #flush()}.
+     *
+     * @param key   String
+     * @param value String
+     * @return this graph
+     */
+    public MappedGraph putInfo(String key, String value) {
+        info.setProperty(key, value);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of additions kept in memory before they are written as a new run.
+     *
+     * @param limit positive int
+     * @return this graph
+     */
+    public MappedGraph setDeltaLimit(int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Wrong limit: " + limit);
+        this.deltaLimit = limit;
+        return this;
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        int s = nodes.add(t.getSubject());
+        int p = nodes.add(t.getPredicate());
+        int o = nodes.add(t.getObject());
+        if (deleted.remove(s, p, o)) {
+            size++;
+            modCount++;
+            return;
+        }
+        if (added.contains(s, p, o) || inRuns(s, p, o)) return;
+        added.add(s, p, o);
+        size++;
+        modCount++;
+        if (added.size() >= deltaLimit) {
+            spill();
+        }
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        int s, p, o;
+        if ((s = nodes.id(t.getSubject())) < 0) return;
+        if ((p = nodes.id(t.getPredicate())) < 0) return;
+        if ((o = nodes.id(t.getObject())) < 0) return;
+        if (added.remove(s, p, o)) {
+            size--;
+            modCount++;
+            return;
+        }
+        if (deleted.contains(s, p, o) || !inRuns(s, p, o)) return;
+        deleted.add(s, p, o);
+        size--;
+        modCount++;
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) return containsByFind(t);
+        int s, p, o;
+        if ((s = nodes.id(t.getSubject())) < 0) return false;
+        if ((p = nodes.id(t.getPredicate())) < 0) return false;
+        if ((o = nodes.id(t.getObject())) < 0) return false;
+        return added.contains(s, p, o) || !deleted.contains(s, p, o) && inRuns(s, p, o);
+    }
+
+    /**
+     * Chooses the order where the concrete nodes of the pattern form a key prefix.
+     *
+     * @param m {@link Triple} pattern
+     * @return {@link ExtendedIterator} of {@link Triple}s
+     */
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple m) {
+        Node sn = m.getSubject(), pn = m.getPredicate(), on = m.getObject();
+        int s = -1, p = -1, o = -1;
+        if (sn.isConcrete() && (s = nodes.id(sn)) < 0) return NiceIterator.emptyIterator();
+        if (pn.isConcrete() && (p = nodes.id(pn)) < 0) return NiceIterator.emptyIterator();
+        if (on.isConcrete() && (o = nodes.id(on)) < 0) return NiceIterator.emptyIterator();
+        if (s >= 0) {
+            if (p >= 0) return new TripleIterator(Order.SPO, o >= 0 ? 3 : 2, s, p, o);
+            if (o >= 0) return new TripleIterator(Order.OSP, 2, o, s, -1);
+            return new TripleIterator(Order.SPO, 1, s, -1, -1);
+        }
+        if (p >= 0) return new TripleIterator(Order.POS, o >= 0 ? 2 : 1, p, o, -1);
+        if (o >= 0) return new TripleIterator(Order.OSP, 1, o, -1, -1);
+        return new TripleIterator(Order.SPO, 0, -1, -1, -1);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        if (termCapabilities == null) {
+            termCapabilities = new AllCapabilities() {
+                @Override
+                public boolean handlesLiteralTyping() {
+                    return false;
+                }
+            };
+        }
+        return termCapabilities;
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        runs.forEach(r -> r.delete(location));
+        runs.clear();
+        added.clear();
+        deleted.clear();
+        size = 0;
+        modCount++;
+        writeManifest(false);
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+
+    /**
+     * Writes all the changes to the disk.
+     * The recent additions become a new run, the recent deletions are applied by merging all runs into one.
+     */
+    public void flush() {
+        checkOpen();
+        spill();
+        if (!deleted.isEmpty()) {
+            merge(0);
+        }
+        nodes.force();
+        Properties prefixes = new Properties();
+        prefixes.putAll(getPrefixMapping().getNsPrefixMap());
+        writeProperties(prefixes, location.resolve(PREFIXES));
+        writeManifest(false);
+    }
+
+    /**
+     * Flushes and closes the store.
+     */
+    @Override
+    public void close() {
+        if (isClosed()) return;
+        try {
+            flush();
+            writeManifest(true);
+        } finally {
+            nodes.close();
+            runs.forEach(Run::close);
+            releaseLock();
+            OPENED.remove(location);
+            super.close();
+        }
+    }
+
+    /**
+     * Answers the number of runs, for diagnostic.
+     *
+     * @return int
+     */
+    public int runsCount() {
+        return runs.size();
+    }
+
+    protected void releaseLock() {
+        try {
+            if (lock != null) lock.release();
+            if (lockChannel != null) lockChannel.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    protected boolean inRuns(int s, int p, int o) {
+        for (Run r : runs) {
+            if (r.contains(s, p, o)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes the recent additions as a new run,
+     * then merges the last runs while the newest is not much smaller than the previous one.
+     */
+    protected void spill() {
+        if (added.isEmpty()) return;
+        int id = nextRun++;
+        try {
+            for (Order order : Order.values()) {
+                try (DataOutputStream out = output(Run.file(location, id, order))) {
+                    for (int x : added.sorted(order)) {
+                        out.writeInt(x);
+                    }
+                }
+            }
+            runs.add(new Run(location, id, added.size()));
+        } catch (IOException e) {
+            throw new OntJenaException("Can't write the run " + id, e);
+        }
+        added.clear();
+        modCount++;
+        while (runs.size() > 1 && runs.get(runs.size() - 1).count * 2 >= runs.get(runs.size() - 2).count) {
+            merge(runs.size() - 2);
+        }
+        writeManifest(false);
+    }
+
+    /**
+     * Merges the runs starting from the specified index into one, skipping the deleted triples.
+     *
+     * @param from int
+     */
+    protected void merge(int from) {
+        List<Run> list = runs.subList(from, runs.size());
+        Run[] sources = list.toArray(new Run[0]);
+        TripleSet dropped = new TripleSet();
+        int id = nextRun++;
+        long count = 0;
+        try {
+            for (Order order : Order.values()) {
+                count = 0;
+                long[] cursors = new long[sources.length];
+                try (DataOutputStream out = output(Run.file(location, id, order))) {
+                    while (true) {
+                        int best = -1;
+                        for (int i = 0; i < sources.length; i++) {
+                            if (cursors[i] >= sources[i].count) continue;
+                            if (best < 0 || sources[i].compare(order, cursors[i], sources[best], cursors[best]) < 0) {
+                                best = i;
+                            }
+                        }
+                        if (best < 0) break;
+                        Run r = sources[best];
+                        long i = cursors[best]++;
+                        int x = r.get(order, i, 0), y = r.get(order, i, 1), z = r.get(order, i, 2);
+                        int s = order.spo(0, x, y, z), p = order.spo(1, x, y, z), o = order.spo(2, x, y, z);
+                        if (deleted.contains(s, p, o)) {
+                            if (order == Order.SPO) dropped.add(s, p, o);
+                            continue;
+                        }
+                        out.writeInt(x);
+                        out.writeInt(y);
+                        out.writeInt(z);
+                        count++;
+                    }
+                }
+            }
+            Run res = new Run(location, id, count);
+            list.forEach(r -> {
+                r.close();
+                r.delete(location);
+            });
+            list.clear();
+            if (count == 0) {
+                res.close();
+                res.delete(location);
+            } else {
+                runs.add(res);
+            }
+            modCount++;
+        } catch (IOException e) {
+            throw new OntJenaException("Can't merge the runs", e);
+        }
+        int[] keys = dropped.sorted(Order.SPO);
+        for (int i = 0; i < keys.length; i += 3) {
+            deleted.remove(keys[i], keys[i + 1], keys[i + 2]);
+        }
+    }
+
+    protected void writeManifest(boolean clean) {
+        Properties res = new Properties();
+        res.setProperty("clean", String.valueOf(clean));
+        res.setProperty("nodes.count", String.valueOf(nodes.count));
+        res.setProperty("nodes.end", String.valueOf(nodes.end));
+        res.setProperty("nodes.slots", String.valueOf(nodes.slots));
+        res.setProperty("runs.next", String.valueOf(nextRun));
+        res.setProperty("runs", runs.stream().map(r -> r.id + ":" + r.count).collect(Collectors.joining(",")));
+        info.stringPropertyNames().forEach(k -> res.setProperty(INFO_PREFIX + k, info.getProperty(k)));
+        writeProperties(res, location.resolve(MANIFEST));
+    }
+
+    /**
+     * Deletes the files left from the previous sessions: the merged runs and the old node hash tables.
+     *
+     * @throws IOException if any
+     */
+    protected void deleteGarbage() throws IOException {
+        Set<String> keep = new HashSet<>(Arrays.asList(MANIFEST, PREFIXES, LOCK, NodeTable.DATA, NodeTable.IDS,
+                NodeTable.hashFile(nodes.slots)));
+        runs.forEach(r -> Arrays.stream(Order.values()).map(o -> Run.file(location, r.id, o).getFileName().toString()).forEach(keep::add));
+        List<Path> garbage;
+        try (Stream<Path> files = Files.list(location)) {
+            garbage = files.filter(f -> !keep.contains(f.getFileName().toString())).collect(Collectors.toList());
+        }
+        for (Path f : garbage) {
+            deleteQuietly(f);
+        }
+    }
+
+    protected static Properties readProperties(Path file) throws IOException {
+        Properties res = new Properties();
+        if (!Files.exists(file)) return res;
+        try (InputStream in = Files.newInputStream(file)) {
+            res.load(in);
+        }
+        return res;
+    }
+
+    protected static void writeProperties(Properties properties, Path file) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new OntJenaException("Can't write " + file, e);
+        }
+    }
+
+    protected static DataOutputStream output(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+    }
+
+    protected static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // the file may still be mapped (on windows), it will be deleted on the next opening
+        }
+    }
+
+    /**
+     * The orders of id-triples in the indexes.
+     * The array {@code key} contains the positions (0 - subject, 1 - predicate, 2 - object) of the key parts,
+     * and the array {@code spo} - the positions of the subject, predicate and object in the key.
+     */
+    protected enum Order {
+        SPO(new int[]{0, 1, 2}, new int[]{0, 1, 2}),
+        POS(new int[]{1, 2, 0}, new int[]{2, 0, 1}),
+        OSP(new int[]{2, 0, 1}, new int[]{1, 2, 0}),
+        ;
+        private final int[] key;
+        private final int[] spo;
+
+        Order(int[] key, int[] spo) {
+            this.key = key;
+            this.spo = spo;
+        }
+
+        /**
+         * Returns the key part by the subject, predicate and object ids.
+         *
+         * @param k int, 0, 1 or 2
+         * @param s subject id
+         * @param p predicate id
+         * @param o object id
+         * @return int
+         */
+        int key(int k, int s, int p, int o) {
+            return pick(key[k], s, p, o);
+        }
+
+        /**
+         * Returns the subject, predicate or object id by the key.
+         *
+         * @param i int, 0 (subject), 1 (predicate) or 2 (object)
+         * @param x the first key part
+         * @param y the second key part
+         * @param z the third key part
+         * @return int
+         */
+        int spo(int i, int x, int y, int z) {
+            return pick(spo[i], x, y, z);
+        }
+
+        private static int pick(int i, int a, int b, int c) {
+            return i == 0 ? a : i == 1 ? b : c;
+        }
+    }
+
+    /**
+     * The iterator over the matching triples of all runs (excluding the deleted ones) and of the recent additions.
+     */
+    protected class TripleIterator extends NiceIterator<Triple> {
+        private final Order order;
+        private final int length;
+        private final int x;
+        private final int y;
+        private final int z;
+        private final Run[] sources = runs.toArray(new Run[0]);
+        private final int[] delta;
+        private int source = -1;
+        private long cursor;
+        private boolean ready;
+        private int s, p, o;
+        private Triple current;
+        private int expectedModCount = modCount;
+
+        /**
+         * Creates the iterator.
+         *
+         * @param order  {@link Order}
+         * @param length the number of concrete parts of the key
+         * @param x      the first key part
+         * @param y      the second key part
+         * @param z      the third key part
+         */
+        protected TripleIterator(Order order, int length, int x, int y, int z) {
+            this.order = order;
+            this.length = length;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.delta = added.sorted(order);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (ready) return true;
+            while (source <= sources.length) {
+                if (source < 0) {
+                    nextSource();
+                    continue;
+                }
+                int a, b, c;
+                if (source < sources.length) {
+                    Run r = sources[source];
+                    if (cursor >= r.count || r.compare(order, cursor, length, x, y, z) != 0) {
+                        nextSource();
+                        continue;
+                    }
+                    a = r.get(order, cursor, 0);
+                    b = r.get(order, cursor, 1);
+                    c = r.get(order, cursor, 2);
+                } else {
+                    int i = (int) cursor * 3;
+                    if (i >= delta.length || TripleSet.compare(delta, i, length, x, y, z) != 0) {
+                        nextSource();
+                        continue;
+                    }
+                    a = delta[i];
+                    b = delta[i + 1];
+                    c = delta[i + 2];
+                }
+                cursor++;
+                s = order.spo(0, a, b, c);
+                p = order.spo(1, a, b, c);
+                o = order.spo(2, a, b, c);
+                if (source < sources.length && deleted.contains(s, p, o)) continue;
+                return ready = true;
+            }
+            return false;
+        }
+
+        private void nextSource() {
+            source++;
+            if (source < sources.length) {
+                cursor = sources[source].lowerBound(order, length, x, y, z);
+            } else if (source == sources.length) {
+                cursor = TripleSet.lowerBound(delta, length, x, y, z);
+            }
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            ready = false;
+            return current = Triple.create(nodes.node(s), nodes.node(p), nodes.node(o));
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) throw new IllegalStateException();
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            delete(current);
+            current = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * An immutable sorted run: three files of id-triples, one for each {@link Order}.
+     */
+    protected static class Run {
+        protected final int id;
+        protected final long count;
+        protected final MappedFile[] files = new MappedFile[Order.values().length];
+
+        protected Run(Path dir, int id, long count) throws IOException {
+            this.id = id;
+            this.count = count;
+            for (Order order : Order.values()) {
+                files[order.ordinal()] = MappedFile.open(file(dir, id, order), false);
+            }
+        }
+
+        protected static Path file(Path dir, int id, Order order) {
+            return dir.resolve("run-" + id + "." + order.name().toLowerCase(Locale.ROOT));
+        }
+
+        protected int get(Order order, long i, int k) {
+            return files[order.ordinal()].getInt((i * 3 + k) * 4);
+        }
+
+        protected boolean contains(int s, int p, int o) {
+            long i = lowerBound(Order.SPO, 3, s, p, o);
+            return i < count && compare(Order.SPO, i, 3, s, p, o) == 0;
+        }
+
+        /**
+         * Finds the first entry which is not less than the key prefix.
+         *
+         * @param order  {@link Order}
+         * @param length the length of the key prefix
+         * @param x      the first key part
+         * @param y      the second key part
+         * @param z      the third key part
+         * @return the index of the entry, or the {@link #count} if there is no such entry
+         */
+        protected long lowerBound(Order order, int length, int x, int y, int z) {
+            long lo = 0, hi = count;
+            while (lo < hi) {
+                long mid = (lo + hi) >>> 1;
+                if (compare(order, mid, length, x, y, z) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Compares the prefix of the entry with the key prefix.
+         *
+         * @param order  {@link Order}
+         * @param i      the index of the entry
+         * @param length the length of the key prefix
+         * @param x      the first key part
+         * @param y      the second key part
+         * @param z      the third key part
+         * @return int
+         */
+        protected int compare(Order order, long i, int length, int x, int y, int z) {
+            for (int k = 0; k < length; k++) {
+                int res = Integer.compare(get(order, i, k), k == 0 ? x : k == 1 ? y : z);
+                if (res != 0) return res;
+            }
+            return 0;
+        }
+
+        protected int compare(Order order, long i, Run other, long j) {
+            for (int k = 0; k < 3; k++) {
+                int res = Integer.compare(get(order, i, k), other.get(order, j, k));
+                if (res != 0) return res;
+            }
+            return 0;
+        }
+
+        protected void close() {
+            for (MappedFile f : files) {
+                f.close();
+            }
+        }
+
+        protected void delete(Path dir) {
+            for (Order order : Order.values()) {
+                deleteQuietly(file(dir, id, order));
+            }
+        }
+    }
+
+    /**
+     * The append-only disk dictionary of nodes.
+     * Each id has the 16-byte entry in the {@link #IDS} file: the offset of the encoded node in the {@link #DATA} file,
+     * the hash and the length of the encoded node.
+     * The hash table (linear probing, the values are {@code id + 1}) is rebuilt into a new file when it is half full,
+     * and also on opening after an unclean shutdown.
+     */
+    protected static class NodeTable {
+        static final String DATA = "nodes.dat";
+        static final String IDS = "nodes.ids";
+        static final int MIN_SLOTS = 1 << 10;
+        private static final int CACHE_SIZE = 1 << 16;
+        private static final byte URI = 'U';
+        private static final byte BLANK = 'B';
+        private static final byte LITERAL = 'L';
+
+        protected final Path dir;
+        protected final MappedFile data;
+        protected final MappedFile ids;
+        protected MappedFile table;
+        protected int slots;
+        protected int count;
+        protected long end;
+        // the direct-mapped cache of decoded nodes:
+        private final Node[] cache = new Node[CACHE_SIZE];
+        private final int[] cacheIds = new int[CACHE_SIZE];
+
+        protected NodeTable(Path dir, int count, long end, int slots, boolean rebuild) throws IOException {
+            this.dir = dir;
+            this.count = count;
+            this.end = end;
+            this.slots = slots;
+            this.data = MappedFile.open(dir.resolve(DATA), true);
+            this.ids = MappedFile.open(dir.resolve(IDS), true);
+            Arrays.fill(cacheIds, -1);
+            Path file = dir.resolve(hashFile(slots));
+            if (rebuild || !Files.exists(file)) {
+                Files.deleteIfExists(file);
+                rehash(slots);
+            } else {
+                this.table = MappedFile.open(file, true);
+            }
+        }
+
+        static String hashFile(int slots) {
+            return "nodes.hash." + slots;
+        }
+
+        protected int id(Node n) {
+            byte[] bytes = encode(n);
+            int h = hash(bytes);
+            int mask = slots - 1;
+            for (int i = h & mask; ; i = (i + 1) & mask) {
+                int v = table.getInt(i * 4L);
+                if (v == 0) return -1;
+                if (same(v - 1, bytes, h)) return v - 1;
+            }
+        }
+
+        protected int add(Node n) {
+            byte[] bytes = encode(n);
+            int h = hash(bytes);
+            int mask = slots - 1;
+            int i = h & mask;
+            for (int v; (v = table.getInt(i * 4L)) != 0; i = (i + 1) & mask) {
+                if (same(v - 1, bytes, h)) return v - 1;
+            }
+            int res = count;
+            data.ensure(end + bytes.length);
+            data.put(end, bytes);
+            ids.ensure((res + 1) * 16L);
+            ids.putLong(res * 16L, end);
+            ids.putInt(res * 16L + 8, h);
+            ids.putInt(res * 16L + 12, bytes.length);
+            end += bytes.length;
+            table.putInt(i * 4L, res + 1);
+            count++;
+            if (count * 2L > slots) {
+                try {
+                    rehash(slots * 2);
+                } catch (IOException e) {
+                    throw new OntJenaException("Can't rebuild the node table", e);
+                }
+            }
+            return res;
+        }
+
+        protected Node node(int id) {
+            int c = id & (CACHE_SIZE - 1);
+            if (cacheIds[c] == id) return cache[c];
+            byte[] bytes = new byte[ids.getInt(id * 16L + 12)];
+            data.get(ids.getLong(id * 16L), bytes);
+            Node res = decode(bytes);
+            cache[c] = res;
+            cacheIds[c] = id;
+            return res;
+        }
+
+        private boolean same(int id, byte[] bytes, int hash) {
+            if (ids.getInt(id * 16L + 8) != hash || ids.getInt(id * 16L + 12) != bytes.length) return false;
+            byte[] other = new byte[bytes.length];
+            data.get(ids.getLong(id * 16L), other);
+            return Arrays.equals(bytes, other);
+        }
+
+        private void rehash(int newSlots) throws IOException {
+            MappedFile res = MappedFile.open(dir.resolve(hashFile(newSlots)), true);
+            res.ensure(newSlots * 4L);
+            int mask = newSlots - 1;
+            for (int id = 0; id < count; id++) {
+                int i = ids.getInt(id * 16L + 8) & mask;
+                while (res.getInt(i * 4L) != 0) {
+                    i = (i + 1) & mask;
+                }
+                res.putInt(i * 4L, id + 1);
+            }
+            // the previous table file is deleted on the next opening, when it is surely unmapped:
+            if (table != null) table.close();
+            table = res;
+            slots = newSlots;
+        }
+
+        protected void force() {
+            data.force();
+            ids.force();
+            table.force();
+        }
+
+        protected void close() {
+            data.close();
+            ids.close();
+            table.close();
+        }
+
+        private static int hash(byte[] bytes) {
+            int h = Arrays.hashCode(bytes) * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        protected static byte[] encode(Node n) {
+            if (n.isURI()) return encode(URI, n.getURI());
+            if (n.isBlank()) return encode(BLANK, n.getBlankNodeLabel());
+            if (!n.isLiteral()) throw new OntJenaException("Can't store the node " + n);
+            byte[] lang = n.getLiteralLanguage().getBytes(StandardCharsets.UTF_8);
+            byte[] type = n.getLiteralDatatypeURI().getBytes(StandardCharsets.UTF_8);
+            byte[] lex = n.getLiteralLexicalForm().getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.allocate(9 + lang.length + type.length + lex.length)
+                    .put(LITERAL).putInt(lang.length).put(lang).putInt(type.length).put(type).put(lex).array();
+        }
+
+        private static byte[] encode(byte tag, String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.allocate(1 + bytes.length).put(tag).put(bytes).array();
+        }
+
+        protected static Node decode(byte[] bytes) {
+            ByteBuffer b = ByteBuffer.wrap(bytes);
+            byte tag = b.get();
+            if (tag == URI) return NodeFactory.createURI(string(b, b.remaining()));
+            if (tag == BLANK) return NodeFactory.createBlankNode(string(b, b.remaining()));
+            String lang = string(b, b.getInt());
+            String type = string(b, b.getInt());
+            String lex = string(b, b.remaining());
+            if (!lang.isEmpty()) return NodeFactory.createLiteral(lex, lang);
+            return NodeFactory.createLiteral(lex, TypeMapper.getInstance().getSafeTypeByName(type));
+        }
+
+        private static String string(ByteBuffer b, int length) {
+            String res = new String(b.array(), b.position(), length, StandardCharsets.UTF_8);
+            b.position(b.position() + length);
+            return res;
+        }
+    }
+
+    /**
+     * The primitive open addressing hash set of int-triples, with linear probing and backward shift deletion.
+     * It can also give the elements as an array of keys sorted in the specified {@link Order},
+     * the array is cached and replaced (not modified) on the next change.
+     */
+    protected static class TripleSet {
+        private int[] table;
+        private int slots;
+        private int size;
+        private final int[][] sorted = new int[Order.values().length][];
+
+        protected TripleSet() {
+            clear();
+        }
+
+        protected int size() {
+            return size;
+        }
+
+        protected boolean isEmpty() {
+            return size == 0;
+        }
+
+        protected void clear() {
+            slots = 16;
+            table = new int[slots * 3];
+            Arrays.fill(table, -1);
+            size = 0;
+            Arrays.fill(sorted, null);
+        }
+
+        protected boolean contains(int s, int p, int o) {
+            return size != 0 && find(s, p, o) >= 0;
+        }
+
+        protected boolean add(int s, int p, int o) {
+            int i = find(s, p, o);
+            if (i >= 0) return false;
+            i = -1 - i;
+            table[i * 3] = s;
+            table[i * 3 + 1] = p;
+            table[i * 3 + 2] = o;
+            size++;
+            Arrays.fill(sorted, null);
+            if (size * 2 > slots) {
+                rehash(slots * 2);
+            }
+            return true;
+        }
+
+        protected boolean remove(int s, int p, int o) {
+            if (size == 0) return false;
+            int i = find(s, p, o);
+            if (i < 0) return false;
+            int mask = slots - 1;
+            for (int j = i; ; ) {
+                j = (j + 1) & mask;
+                if (table[j * 3] == -1) break;
+                int k = hash(table[j * 3], table[j * 3 + 1], table[j * 3 + 2]) & mask;
+                if (i <= j ? (i < k && k <= j) : (i < k || k <= j)) continue;
+                System.arraycopy(table, j * 3, table, i * 3, 3);
+                i = j;
+            }
+            table[i * 3] = -1;
+            size--;
+            Arrays.fill(sorted, null);
+            return true;
+        }
+
+        protected int[] sorted(Order order) {
+            int[] res = sorted[order.ordinal()];
+            if (res != null) return res;
+            res = new int[size * 3];
+            int n = 0;
+            for (int i = 0; i < table.length; i += 3) {
+                int s = table[i];
+                if (s == -1) continue;
+                int p = table[i + 1], o = table[i + 2];
+                res[n++] = order.key(0, s, p, o);
+                res[n++] = order.key(1, s, p, o);
+                res[n++] = order.key(2, s, p, o);
+            }
+            sort(res, 0, size);
+            return sorted[order.ordinal()] = res;
+        }
+
+        private int find(int s, int p, int o) {
+            int mask = slots - 1;
+            for (int i = hash(s, p, o) & mask; ; i = (i + 1) & mask) {
+                int j = i * 3;
+                if (table[j] == -1) return -1 - i;
+                if (table[j] == s && table[j + 1] == p && table[j + 2] == o) return i;
+            }
+        }
+
+        private void rehash(int newSlots) {
+            int[] old = table;
+            slots = newSlots;
+            table = new int[newSlots * 3];
+            Arrays.fill(table, -1);
+            int mask = newSlots - 1;
+            for (int j = 0; j < old.length; j += 3) {
+                if (old[j] == -1) continue;
+                int i = hash(old[j], old[j + 1], old[j + 2]) & mask;
+                while (table[i * 3] != -1) {
+                    i = (i + 1) & mask;
+                }
+                System.arraycopy(old, j, table, i * 3, 3);
+            }
+        }
+
+        private static int hash(int s, int p, int o) {
+            int h = s * 0x9E3779B9 + p * 0x85EBCA6B + o * 0xC2B2AE35;
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * Finds the first triple in the sorted array which is not less than the key prefix.
+         *
+         * @param keys   sorted array of int-triples
+         * @param length the length of the key prefix
+         * @param x      the first key part
+         * @param y      the second key part
+         * @param z      the third key part
+         * @return the triple index
+         */
+        static int lowerBound(int[] keys, int length, int x, int y, int z) {
+            int lo = 0, hi = keys.length / 3;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(keys, mid * 3, length, x, y, z) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        static int compare(int[] keys, int i, int length, int x, int y, int z) {
+            for (int k = 0; k < length; k++) {
+                int res = Integer.compare(keys[i + k], k == 0 ? x : k == 1 ? y : z);
+                if (res != 0) return res;
+            }
+            return 0;
+        }
+
+        /**
+         * Sorts the triples of the array in the range {@code [from, to)} (the triple indexes).
+         *
+         * @param a    array of int-triples
+         * @param from int
+         * @param to   int
+         */
+        static void sort(int[] a, int from, int to) {
+            while (to - from > 16) {
+                int m = (from + to) >>> 1;
+                int x = a[m * 3], y = a[m * 3 + 1], z = a[m * 3 + 2];
+                int i = from, j = to - 1;
+                while (i <= j) {
+                    while (compare(a, i * 3, 3, x, y, z) < 0) i++;
+                    while (compare(a, j * 3, 3, x, y, z) > 0) j--;
+                    if (i <= j) {
+                        swap(a, i++, j--);
+                    }
+                }
+                // recursion for the smaller part, the loop for the larger:
+                if (j - from < to - i) {
+                    sort(a, from, j + 1);
+                    from = i;
+                } else {
+                    sort(a, i, to);
+                    to = j + 1;
+                }
+            }
+            for (int i = from + 1; i < to; i++) {
+                for (int j = i; j > from && compare(a, (j - 1) * 3, 3, a[j * 3], a[j * 3 + 1], a[j * 3 + 2]) > 0; j--) {
+                    swap(a, j, j - 1);
+                }
+            }
+        }
+
+        private static void swap(int[] a, int i, int j) {
+            for (int k = 0; k < 3; k++) {
+                int t = a[i * 3 + k];
+                a[i * 3 + k] = a[j * 3 + k];
+                a[j * 3 + k] = t;
+            }
+        }
+    }
+
+    /**
+     * A file mapped into memory by segments (so it may be larger than 2GB).
+     * The ints and longs must be aligned to their sizes, so that they never cross a segment border.
+     * A writable file grows by remapping (doubling till the segment size, then by segments).
+     */
+    protected static class MappedFile {
+        private static final int SEGMENT_BITS = 28;
+        private static final long SEGMENT = 1L << SEGMENT_BITS;
+
+        private final FileChannel channel;
+        private final boolean writable;
+        private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+        private long capacity;
+
+        private MappedFile(FileChannel channel, boolean writable) {
+            this.channel = channel;
+            this.writable = writable;
+        }
+
+        protected static MappedFile open(Path file, boolean writable) throws IOException {
+            FileChannel channel = writable ?
+                    FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE) :
+                    FileChannel.open(file, StandardOpenOption.READ);
+            MappedFile res = new MappedFile(channel, writable);
+            res.map(channel.size());
+            return res;
+        }
+
+        protected void ensure(long required) {
+            if (required <= capacity) return;
+            long res = Math.max(capacity, 1 << 12);
+            while (res < required) {
+                res = res < SEGMENT ? res * 2 : res + SEGMENT;
+            }
+            try {
+                map(res);
+            } catch (IOException e) {
+                throw new OntJenaException("Can't map the file", e);
+            }
+        }
+
+        private void map(long size) throws IOException {
+            FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            MappedByteBuffer[] res = new MappedByteBuffer[(int) ((size + SEGMENT - 1) >>> SEGMENT_BITS)];
+            for (int i = 0; i < res.length; i++) {
+                long from = (long) i << SEGMENT_BITS;
+                res[i] = channel.map(mode, from, Math.min(SEGMENT, size - from));
+            }
+            segments = res;
+            capacity = size;
+        }
+
+        protected int getInt(long pos) {
+            return segments[(int) (pos >>> SEGMENT_BITS)].getInt((int) (pos & (SEGMENT - 1)));
+        }
+
+        protected void putInt(long pos, int v) {
+            segments[(int) (pos >>> SEGMENT_BITS)].putInt((int) (pos & (SEGMENT - 1)), v);
+        }
+
+        protected long getLong(long pos) {
+            return segments[(int) (pos >>> SEGMENT_BITS)].getLong((int) (pos & (SEGMENT - 1)));
+        }
+
+        protected void putLong(long pos, long v) {
+            segments[(int) (pos >>> SEGMENT_BITS)].putLong((int) (pos & (SEGMENT - 1)), v);
+        }
+
+        protected void get(long pos, byte[] dst) {
+            for (int done = 0; done < dst.length; ) {
+                ByteBuffer b = segments[(int) ((pos + done) >>> SEGMENT_BITS)].duplicate();
+                int offset = (int) ((pos + done) & (SEGMENT - 1));
+                int n = (int) Math.min(dst.length - done, b.limit() - offset);
+                b.position(offset);
+                b.get(dst, done, n);
+                done += n;
+            }
+        }
+
+        protected void put(long pos, byte[] src) {
+            for (int done = 0; done < src.length; ) {
+                ByteBuffer b = segments[(int) ((pos + done) >>> SEGMENT_BITS)].duplicate();
+                int offset = (int) ((pos + done) & (SEGMENT - 1));
+                int n = (int) Math.min(src.length - done, b.limit() - offset);
+                b.position(offset);
+                b.put(src, done, n);
+                done += n;
+            }
+        }
+
+        protected void force() {
+            for (MappedByteBuffer b : segments) {
+                b.force();
+            }
+        }
+
+        protected void close() {
+            segments = new MappedByteBuffer[0];
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
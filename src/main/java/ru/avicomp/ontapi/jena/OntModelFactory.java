@@ -51,6 +51,26 @@ public class OntModelFactory {
         return new GraphMem();
     }
 
+    /**
+     * Creates an in-memory graph which keeps the nodes in a dictionary and the triples as primitive ids.
+     * It takes less memory than the {@link #createDefaultGraph() default} one, and is intended for large ontologies.
+     *
+     * @return {@link DictionaryGraph}
+     */
+    public static Graph createDictionaryGraph() {
+        return new DictionaryGraph();
+    }
+
+    /**
+     * Creates a fresh in-memory graph of the kind specified by the flag.
+     *
+     * @param dictionary if true then {@link #createDictionaryGraph()}, otherwise {@link #createDefaultGraph()}
+     * @return {@link Graph}
+     */
+    public static Graph createGraph(boolean dictionary) {
+        return dictionary ? createDictionaryGraph() : createDefaultGraph();
+    }
+
     public static Model createDefaultModel() {
         return new ModelCom(createDefaultGraph());
     }
@@ -14,16 +14,22 @@
 
 package ru.avicomp.ontapi.jena;
 
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEventManager;
 import org.apache.jena.graph.GraphListener;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.compose.MultiUnion;
 import org.apache.jena.graph.compose.Union;
 import org.apache.jena.graph.impl.SimpleEventManager;
 import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.util.iterator.ExtendedIterator;
 
 /**
  * Union Graph.
@@ -34,6 +40,9 @@ import org.apache.jena.shared.PrefixMapping;
  */
 public class UnionGraph extends Union {
 
+    // the journal of the base graph changes, not null only while a transaction is open
+    protected Journal journal;
+
     /**
      * @param base Graph
      */
@@ -58,15 +67,71 @@ public class UnionGraph extends Union {
         return (OntMultiUnion) R;
     }
 
+    /**
+     * Finds triples without remembering all of them in memory as it is done in the {@link Union}:
+     * the right triples are checked against the base graph directly.
+     *
+     * @param t {@link Triple} pattern
+     * @return {@link ExtendedIterator} of {@link Triple}s
+     */
+    @Override
+    protected ExtendedIterator<Triple> _graphBaseFind(Triple t) {
+        if (!getUnderlying().hasSubGraphs()) {
+            return L.find(t);
+        }
+        return L.find(t).andThen(R.find(t).filterDrop(L::contains));
+    }
+
     @Override
     public void performDelete(Triple t) {
-        L.delete(t);
+        Journal j = journal;
+        if (j == null) {
+            L.delete(t);
+        } else {
+            j.delete(t);
+        }
     }
 
     @Override
     public void performAdd(Triple t) {
-        if (!R.contains(t))
+        if (R.contains(t)) return;
+        Journal j = journal;
+        if (j == null) {
             L.add(t);
+        } else {
+            j.add(t);
+        }
+    }
+
+    /**
+     * Starts recording all changes of the base graph into a new {@link Journal}.
+     *
+     * @return {@link Journal}
+     * @throws OntJenaException if the journal is already started
+     */
+    public Journal startJournal() {
+        if (journal != null) throw new OntJenaException("The journal is already started.");
+        return journal = new Journal(L);
+    }
+
+    /**
+     * Returns the current journal.
+     *
+     * @return {@link Journal} or null if there is no open transaction
+     */
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Stops recording the base graph changes.
+     *
+     * @return {@link Journal} or null if it was not started
+     */
+    public Journal stopJournal() {
+        Journal res = journal;
+        journal = null;
+        return res;
     }
 
     @Override
@@ -110,14 +175,91 @@ public class UnionGraph extends Union {
         }
     }
 
+    /**
+     * The event manager which answers whether it has listeners of some type.
+     * The answers are cached until the next registration or unregistration,
+     * since the check could be performed for each triple.
+     */
     public static class OntEventManager extends SimpleEventManager {
+        private final Map<Class<? extends GraphListener>, Boolean> types = new ConcurrentHashMap<>();
 
         public Stream<GraphListener> listeners() {
             return listeners.stream();
         }
 
         public boolean hasListeners(Class<? extends GraphListener> view) {
-            return listeners().anyMatch(l -> view.isAssignableFrom(l.getClass()));
+            return types.computeIfAbsent(view, v -> listeners().anyMatch(l -> v.isAssignableFrom(l.getClass())));
+        }
+
+        @Override
+        public GraphEventManager register(GraphListener listener) {
+            super.register(listener);
+            types.clear();
+            return this;
+        }
+
+        @Override
+        public GraphEventManager unregister(GraphListener listener) {
+            super.unregister(listener);
+            types.clear();
+            return this;
+        }
+    }
+
+    /**
+     * The triple delta journal of a graph:
+     * it keeps the net sets of triples that have been added to and deleted from the graph since the journal was started.
+     * A triple which is added and then deleted (or vice versa) is not recorded at all,
+     * so the size of the journal does not depend on the number of changes, but only on the difference.
+     * All changes, which should be recorded, must go through this journal
+     * (see {@link UnionGraph#performAdd(Triple)}, {@link UnionGraph#performDelete(Triple)}).
+     */
+    public static class Journal {
+        protected final Graph graph;
+        protected final Set<Triple> added = new HashSet<>();
+        protected final Set<Triple> deleted = new HashSet<>();
+
+        protected Journal(Graph graph) {
+            this.graph = OntJenaException.notNull(graph, "Null graph.");
+        }
+
+        public void add(Triple t) {
+            if (!deleted.remove(t) && !graph.contains(t)) {
+                added.add(t);
+            }
+            graph.add(t);
+        }
+
+        public void delete(Triple t) {
+            if (!added.remove(t) && graph.contains(t)) {
+                deleted.add(t);
+            }
+            graph.delete(t);
+        }
+
+        /**
+         * Lists all triples touched since the journal has been started.
+         *
+         * @return Stream of {@link Triple}s
+         */
+        public Stream<Triple> triples() {
+            return Stream.concat(added.stream(), deleted.stream());
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && deleted.isEmpty();
+        }
+
+        /**
+         * Restores the graph to the state it had when the journal was started.
+         * The graph is changed directly, i.e. only the listeners of the graph itself get the notifications.
+         * The journal becomes empty.
+         */
+        public void undo() {
+            added.forEach(graph::delete);
+            deleted.forEach(graph::add);
+            added.clear();
+            deleted.clear();
         }
     }
 }
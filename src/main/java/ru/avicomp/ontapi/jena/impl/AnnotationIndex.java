@@ -0,0 +1,124 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena.impl;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+
+import ru.avicomp.ontapi.jena.utils.Iter;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+
+/**
+ * The index of bulk annotations (reifications) for a graph.
+ * It maps the annotated triple ({@code owl:annotatedSource}, {@code owl:annotatedProperty}, {@code owl:annotatedTarget})
+ * to the annotation resources (usually blank nodes with rdf:type owl:Axiom or owl:Annotation).
+ * The index is kept up to date by the graph events: it must be registered as listener
+ * (e.g. in the {@link ru.avicomp.ontapi.jena.UnionGraph} event manager) right after creation.
+ * Note: it does not check rdf:type and does not guarantee that the indexed nodes are still in the graph
+ * if the graph has been changed bypassing the event manager, the search results should be checked by the caller.
+ *
+ * @see OntStatementImpl#findAnnotationObject(OntStatementImpl, org.apache.jena.rdf.model.Resource)
+ */
+@SuppressWarnings("WeakerAccess")
+public class AnnotationIndex extends GraphListenerBase {
+    private static final Node SOURCE = OWL.annotatedSource.asNode();
+    private static final Node PROPERTY = OWL.annotatedProperty.asNode();
+    private static final Node TARGET = OWL.annotatedTarget.asNode();
+
+    protected final Graph graph;
+    // annotated triple -> annotation resources:
+    protected final Map<Triple, Set<Node>> index = new HashMap<>();
+    // annotation resource -> annotated triple:
+    protected final Map<Node, Triple> keys = new HashMap<>();
+
+    /**
+     * Creates and fills the index.
+     *
+     * @param graph {@link Graph} to index, not null
+     */
+    public AnnotationIndex(Graph graph) {
+        this.graph = graph;
+        Set<Node> nodes = new HashSet<>();
+        graph.find(Node.ANY, SOURCE, Node.ANY).forEachRemaining(t -> nodes.add(t.getSubject()));
+        nodes.forEach(this::refresh);
+    }
+
+    /**
+     * Lists all annotation resources for the specified annotated triple.
+     *
+     * @param triple {@link Triple} the annotated triple
+     * @return Stream of {@link Node}s
+     */
+    public Stream<Node> find(Triple triple) {
+        Set<Node> res = index.get(triple);
+        return res == null ? Stream.empty() : new ArrayList<>(res).stream();
+    }
+
+    /**
+     * Answers the number of annotated triples in the index.
+     *
+     * @return int
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    protected void addEvent(Triple t) {
+        if (isAnnotationTriple(t)) refresh(t.getSubject());
+    }
+
+    @Override
+    protected void deleteEvent(Triple t) {
+        if (isAnnotationTriple(t)) refresh(t.getSubject());
+    }
+
+    protected static boolean isAnnotationTriple(Triple t) {
+        Node p = t.getPredicate();
+        return SOURCE.equals(p) || PROPERTY.equals(p) || TARGET.equals(p);
+    }
+
+    /**
+     * Re-indexes the specified resource.
+     *
+     * @param node {@link Node} annotation resource
+     */
+    protected void refresh(Node node) {
+        Triple prev = keys.remove(node);
+        if (prev != null) {
+            Set<Node> nodes = index.get(prev);
+            nodes.remove(node);
+            if (nodes.isEmpty()) index.remove(prev);
+        }
+        Node s = getObject(node, SOURCE);
+        Node p = getObject(node, PROPERTY);
+        Node o = getObject(node, TARGET);
+        if (s == null || p == null || o == null) return;
+        Triple key = Triple.create(s, p, o);
+        keys.put(node, key);
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(node);
+    }
+
+    private Node getObject(Node subject, Node predicate) {
+        try (Stream<Triple> triples = Iter.asStream(graph.find(subject, predicate, Node.ANY))) {
+            return triples.map(Triple::getObject).findFirst().orElse(null);
+        }
+    }
+}
@@ -56,7 +56,9 @@ public abstract class OntFRImpl extends OntObjectImpl implements OntFR {
     public static Configurable<OntObjectFactory> langRangeFRFactory = m ->
             new CommonOntObjectFactory(makeMaker(LangRangeImpl.class), makeFinder(XSD.langRange), makeFilter(XSD.langRange));
 
-    public static Configurable<MultiOntObjectFactory> abstractFRFactory = createMultiFactory(OntFinder.ANY_SUBJECT,
+    public static Configurable<MultiOntObjectFactory> abstractFRFactory = createMultiFactory(new OntFinder.ByPredicates(XSD.length, XSD.minLength, XSD.maxLength,
+                    XSD.minInclusive, XSD.maxInclusive, XSD.minExclusive, XSD.maxExclusive,
+                    XSD.totalDigits, XSD.fractionDigits, XSD.pattern, XSD.langRange),
             lengthFRFactory, minLengthFRFactory, maxLengthFRFactory,
             minInclusiveFRFactory, maxInclusiveFRFactory, minExclusiveFRFactory, maxExclusiveFRFactory,
             totalDigitsFRFactory, fractionDigitsFRFactory, patternFRFactory, langRangeFRFactory);
@@ -18,6 +18,7 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -26,6 +27,7 @@ import java.util.stream.Stream;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.ontology.ConversionException;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.rdf.model.impl.InfModelImpl;
@@ -36,9 +38,9 @@ import org.apache.jena.shared.PrefixMapping;
 import ru.avicomp.ontapi.OntApiException;
 import ru.avicomp.ontapi.jena.OntJenaException;
 import ru.avicomp.ontapi.jena.UnionGraph;
+import ru.avicomp.ontapi.jena.impl.configuration.NodeViewCache;
 import ru.avicomp.ontapi.jena.impl.configuration.OntPersonality;
 import ru.avicomp.ontapi.jena.model.*;
-import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
@@ -61,8 +63,20 @@ public class OntGraphModelImpl extends ModelCom implements OntGraphModel {
      */
     public OntGraphModelImpl(Graph graph, OntPersonality personality) {
         super(graph instanceof UnionGraph ? graph : new UnionGraph(graph), OntJenaException.notNull(personality, "Null personality"));
+        // registered right now, so that the header is refreshed before any other listener of this model asks it:
+        this.idCache = OntIDCache.get(getGraph());
     }
 
+    // the cache of the ontology header node, shared between all models over the same union graph
+    private final OntIDCache idCache;
+    // the last returned ontology id
+    private volatile OntID id;
+
+    // the lazily created index of bulk annotations from the base graph
+    private volatile AnnotationIndex annotationIndex;
+    // the lazily created memo of node classifications
+    private volatile NodeViewCache nodeViewCache;
+
     public void syncImports() {
         syncImports(getPersonality());
     }
@@ -80,8 +94,28 @@ public class OntGraphModelImpl extends ModelCom implements OntGraphModel {
 
     @Override
     public OntID getID() {
-        return getNodeAs(Graphs.ontologyNode(getBaseGraph())
-                .orElseGet(() -> createResource().addProperty(RDF.type, OWL.Ontology).asNode()), OntID.class);
+        Node n = idCache.find(getBaseGraph()).orElse(null);
+        OntID res = id;
+        if (res != null && res.asNode().equals(n)) return res;
+        if (n == null) {
+            n = createResource().addProperty(RDF.type, OWL.Ontology).asNode();
+        }
+        return id = getNodeAs(n, OntID.class);
+    }
+
+    @Override
+    public Optional<OntID> cachedID() {
+        OntID res = id;
+        return res != null && idCache.cached().filter(res.asNode()::equals).isPresent() ? Optional.of(res) : Optional.empty();
+    }
+
+    /**
+     * Returns the cache of the ontology header node.
+     *
+     * @return {@link OntIDCache}
+     */
+    protected OntIDCache getIDCache() {
+        return idCache;
     }
 
     @Override
@@ -294,6 +328,97 @@ public class OntGraphModelImpl extends ModelCom implements OntGraphModel {
         return Iter.asStream(listStatements(s, p, o)).map(st -> toOntStatement(null, st));
     }
 
+    /**
+     * Lists all statements from the base graph.
+     * It is the same as {@code statements().filter(OntStatement::isLocal)}, but works directly with the base graph.
+     *
+     * @return Stream of {@link OntStatement}s, all of them are local
+     */
+    public Stream<OntStatement> localStatements() {
+        return Iter.asStream(getBaseGraph().find(Triple.ANY)).map(this::asStatement).map(st -> toOntStatement(null, st));
+    }
+
+    /**
+     * Lists all bulk annotation resources (i.e. resources with owl:annotatedSource, owl:annotatedProperty and owl:annotatedTarget)
+     * which are attached to the specified triple.
+     * The base graph is searched through the {@link AnnotationIndex}, which is built on first call,
+     * the imports (if any) are searched directly through the graph by the annotated source.
+     * Note: rdf:type of the annotation resources is not checked.
+     *
+     * @param triple {@link Triple} the annotated triple
+     * @return Stream of {@link Node}s, distinct
+     */
+    public Stream<Node> annotationNodes(Triple triple) {
+        Graph base = getBaseGraph();
+        Stream<Node> res = getAnnotationIndex().find(triple).filter(n -> isAnnotation(base, n, triple));
+        UnionGraph.OntMultiUnion imports = getGraph().getUnderlying();
+        if (!imports.hasSubGraphs()) return res;
+        Stream<Node> other = Iter.asStream(imports.find(Node.ANY, OWL.annotatedSource.asNode(), triple.getSubject()))
+                .map(Triple::getSubject)
+                .filter(n -> isAnnotation(imports, n, triple));
+        return Stream.concat(res, other).distinct();
+    }
+
+    private static boolean isAnnotation(Graph graph, Node node, Triple triple) {
+        return graph.contains(node, OWL.annotatedSource.asNode(), triple.getSubject())
+                && graph.contains(node, OWL.annotatedProperty.asNode(), triple.getPredicate())
+                && graph.contains(node, OWL.annotatedTarget.asNode(), triple.getObject());
+    }
+
+    /**
+     * Returns the index of bulk annotations for the base graph.
+     * The index is created on demand and then maintained through the {@link UnionGraph} event manager.
+     *
+     * @return {@link AnnotationIndex}
+     */
+    protected AnnotationIndex getAnnotationIndex() {
+        AnnotationIndex res = annotationIndex;
+        if (res != null) return res;
+        synchronized (this) {
+            if (annotationIndex == null) {
+                AnnotationIndex index = new AnnotationIndex(getBaseGraph());
+                getGraph().getEventManager().register(index);
+                annotationIndex = index;
+            }
+            return annotationIndex;
+        }
+    }
+
+    /**
+     * Drops the graph caches, which are maintained through the {@link UnionGraph} event manager:
+     * the {@link AnnotationIndex index of bulk annotations} and the {@link OntIDCache ontology header}.
+     * They are rebuilt on demand.
+     * Must be called after the base graph has been changed bypassing the union graph.
+     */
+    protected void resetGraphCaches() {
+        synchronized (this) {
+            AnnotationIndex index = annotationIndex;
+            if (index != null) {
+                getGraph().getEventManager().unregister(index);
+                annotationIndex = null;
+            }
+        }
+        idCache.clear();
+    }
+
+    /**
+     * Returns the memo table of node classifications, which is used by the personality factories
+     * to answer {@code canAs} without testing the same node again.
+     * The table is created on demand and then invalidated through the event managers of the base graphs.
+     *
+     * @return {@link NodeViewCache}
+     */
+    public NodeViewCache getNodeViewCache() {
+        NodeViewCache res = nodeViewCache;
+        if (res != null) return res;
+        synchronized (this) {
+            if (nodeViewCache == null) {
+                nodeViewCache = new NodeViewCache(getGraph());
+            }
+            return nodeViewCache;
+        }
+    }
+
     protected OntStatement toOntStatement(OntStatement main, Statement st) {
         if (st.equals(main)) return main;
         if (main != null && st.getPredicate().canAs(OntNAP.class)) {
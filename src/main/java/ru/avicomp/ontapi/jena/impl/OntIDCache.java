@@ -0,0 +1,158 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena.impl;
+
+import java.util.Optional;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import ru.avicomp.ontapi.jena.UnionGraph;
+import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+
+/**
+ * The cache of the ontology header node ({@code _:x rdf:type owl:Ontology}) for a graph.
+ * The header resolution ({@link Graphs#ontologyNode(Graph)}) lists all {@code owl:Ontology} subjects
+ * and compares their sizes, which is too expensive to do on each {@link OntGraphModelImpl#getID()} call.
+ * The cache is kept up to date by the graph events: it is registered as listener
+ * in the {@link UnionGraph.OntEventManager} and shared between all models over the same {@link UnionGraph}
+ * (see {@link #get(UnionGraph)}).
+ * The resolved node is dropped when a triple with {@code rdf:type owl:Ontology} or a triple about the cached node
+ * is added or removed; if there are several candidates, any change drops it.
+ * Note: as well as the {@link AnnotationIndex}, it does not see the changes made bypassing the event manager,
+ * so the cached node is checked against the graph before it is returned (see {@link #find(Graph)}):
+ * a header, whose {@code rdf:type owl:Ontology} declaration has been removed directly from the base graph, is resolved again.
+ *
+ * @see Graphs#ontologyNode(Graph)
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntIDCache extends GraphListenerBase {
+    private static final Node TYPE = RDF.type.asNode();
+    private static final Node ONTOLOGY = OWL.Ontology.asNode();
+
+    // the resolved header node or null:
+    protected volatile Node node;
+    // true if the cached node is the only owl:Ontology subject in the graph:
+    protected volatile boolean single;
+    // the number of invalidations, to not cache a node resolved concurrently with a change:
+    protected volatile long version;
+
+    /**
+     * Finds the cache in the event manager of the specified graph or creates and registers a new one.
+     *
+     * @param graph {@link UnionGraph}, not null
+     * @return {@link OntIDCache}
+     */
+    public static OntIDCache get(UnionGraph graph) {
+        UnionGraph.OntEventManager manager = graph.getEventManager();
+        synchronized (manager) {
+            return manager.listeners()
+                    .filter(OntIDCache.class::isInstance)
+                    .map(OntIDCache.class::cast)
+                    .findFirst().orElseGet(() -> {
+                        OntIDCache res = new OntIDCache();
+                        manager.register(res);
+                        return res;
+                    });
+        }
+    }
+
+    /**
+     * Returns the cached header node without any graph query.
+     *
+     * @return Optional around {@link Node}, empty if the header is not resolved yet or has been changed since
+     */
+    public Optional<Node> cached() {
+        return Optional.ofNullable(node);
+    }
+
+    /**
+     * Returns the header node, resolving it from the graph in case it is not cached.
+     *
+     * @param graph {@link Graph} the base graph to search in
+     * @return Optional around {@link Node}, empty if there is no header in the graph
+     */
+    public Optional<Node> find(Graph graph) {
+        Node res = node;
+        if (res != null) {
+            // the header could be removed bypassing the event manager, e.g. directly from the base graph:
+            if (graph.contains(res, TYPE, ONTOLOGY)) return Optional.of(res);
+            clear();
+        }
+        long v = version;
+        Optional<Node> found = Graphs.ontologyNode(graph);
+        found.ifPresent(n -> put(n, isSingle(graph), v));
+        return found;
+    }
+
+    private static boolean isSingle(Graph graph) {
+        ExtendedIterator<Triple> it = graph.find(Node.ANY, TYPE, ONTOLOGY);
+        try {
+            if (!it.hasNext()) return false;
+            it.next();
+            return !it.hasNext();
+        } finally {
+            it.close();
+        }
+    }
+
+    /**
+     * Caches the specified node if there were no changes since the specified version.
+     *
+     * @param n   {@link Node} the header
+     * @param one boolean, true if there are no other candidates
+     * @param v   long, the version when the resolution started
+     */
+    protected synchronized void put(Node n, boolean one, long v) {
+        if (version != v) return;
+        single = one;
+        node = n;
+    }
+
+    /**
+     * Drops the cached header.
+     */
+    public synchronized void clear() {
+        version++;
+        node = null;
+    }
+
+    protected void changed(Triple t) {
+        Node n = node;
+        if (n == null || !single || n.equals(t.getSubject()) || (TYPE.equals(t.getPredicate()) && ONTOLOGY.equals(t.getObject()))) {
+            clear();
+        }
+    }
+
+    @Override
+    protected void addEvent(Triple t) {
+        changed(t);
+    }
+
+    @Override
+    protected void deleteEvent(Triple t) {
+        changed(t);
+    }
+
+    @Override
+    public void notifyEvent(Graph source, Object value) {
+        clear();
+    }
+}
@@ -35,6 +35,7 @@ import ru.avicomp.ontapi.jena.impl.configuration.*;
 import ru.avicomp.ontapi.jena.model.OntCE;
 import ru.avicomp.ontapi.jena.model.OntIndividual;
 import ru.avicomp.ontapi.jena.model.OntStatement;
+import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
@@ -47,9 +48,11 @@ import ru.avicomp.ontapi.jena.vocabulary.RDF;
 public class OntIndividualImpl extends OntObjectImpl implements OntIndividual {
 
     public static Configurable<OntObjectFactory> anonymousIndividualFactory = mode -> new CommonOntObjectFactory(
-            new OntMaker.Default(AnonymousImpl.class), OntFinder.ANY_SUBJECT_AND_OBJECT, AnonymousImpl.FILTER.get(mode));
+            new OntMaker.Default(AnonymousImpl.class), AnonymousImpl.FINDER, AnonymousImpl.FILTER.get(mode));
 
-    public static Configurable<MultiOntObjectFactory> abstractIndividualFactory = createMultiFactory(OntFinder.ANY_SUBJECT_AND_OBJECT,
+    public static final OntFinder FINDER = eg -> Stream.concat(new OntFinder.ByType(OWL.NamedIndividual).find(eg), AnonymousImpl.FINDER.find(eg));
+
+    public static Configurable<MultiOntObjectFactory> abstractIndividualFactory = createMultiFactory(FINDER,
             Entities.INDIVIDUAL, anonymousIndividualFactory);
 
 
@@ -113,6 +116,28 @@ public class OntIndividualImpl extends OntObjectImpl implements OntIndividual {
 
         public static final Configurable<OntFilter> FILTER = mode -> (OntFilter) (node, graph) -> testAnonymousIndividual(node, graph, mode);
 
+        /**
+         * Lists all blank nodes which could be anonymous individuals (see {@link #testAnonymousIndividual(Node, EnhGraph, Configurable.Mode)}),
+         * i.e. the subjects of rdf:type and the subjects and objects of all the other not forbidden predicates.
+         * It goes through the triples predicate by predicate skipping the forbidden ones,
+         * a node is returned only for its first suitable triple, so no any intermediate set is used.
+         */
+        public static final OntFinder FINDER = eg -> {
+            Graph g = eg.asGraph();
+            return Graphs.predicates(g).stream()
+                    .filter(p -> isSubjectCandidate(p) || isObjectCandidate(p))
+                    .flatMap(p -> Iter.asStream(g.find(Node.ANY, p, Node.ANY)))
+                    .filter(t -> t.getSubject().isBlank() || t.getObject().isBlank())
+                    .flatMap(t -> {
+                        Node s = t.getSubject();
+                        Node o = t.getObject();
+                        boolean subject = s.isBlank() && t.equals(firstSubjectCandidate(g, s));
+                        boolean object = o.isBlank() && isObjectCandidate(t.getPredicate()) &&
+                                firstSubjectCandidate(g, o) == null && t.equals(firstObjectCandidate(g, o));
+                        return subject ? object ? Stream.of(s, o) : Stream.of(s) : object ? Stream.of(o) : Stream.empty();
+                    });
+        };
+
         public AnonymousImpl(Node n, EnhGraph m) {
             super(n, m);
         }
@@ -135,6 +160,30 @@ public class OntIndividualImpl extends OntObjectImpl implements OntIndividual {
                 .filter(n -> !ALLOWED_IN_OBJECT_PREDICATES.contains(n))
                 .collect(Collectors.toSet());
 
+        private static boolean isSubjectCandidate(Node predicate) {
+            return RDF.type.asNode().equals(predicate) || !BUILT_IN_SUBJECT_PREDICATE_SET.contains(predicate);
+        }
+
+        private static boolean isObjectCandidate(Node predicate) {
+            return !BUILT_IN_OBJECT_PREDICATE_SET.contains(predicate);
+        }
+
+        private static Triple firstSubjectCandidate(Graph g, Node node) {
+            return first(g.find(node, Node.ANY, Node.ANY).filterKeep(t -> isSubjectCandidate(t.getPredicate())));
+        }
+
+        private static Triple firstObjectCandidate(Graph g, Node node) {
+            return first(g.find(Node.ANY, Node.ANY, node).filterKeep(t -> isObjectCandidate(t.getPredicate())));
+        }
+
+        private static Triple first(ExtendedIterator<Triple> it) {
+            try {
+                return it.hasNext() ? it.next() : null;
+            } finally {
+                it.close();
+            }
+        }
+
         public static boolean testAnonymousIndividual(Node node, EnhGraph eg, Configurable.Mode mode) {
             if (!node.isBlank()) {
                 return false;
@@ -0,0 +1,134 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import ru.avicomp.ontapi.jena.model.*;
+
+/**
+ * The kind of {@link OntObjectImpl ont-object implementation}:
+ * an enum-style tag of the concrete interface which is implemented by the object.
+ * It is calculated only once for an implementation class
+ * and is assigned by the {@link ru.avicomp.ontapi.jena.impl.configuration.OntMaker} while creating a new instance,
+ * so it could be used in switch statements instead of the reflective {@link OntObjectImpl#getActualClass()}.
+ *
+ * @see OntObjectImpl#getKind()
+ */
+public enum OntKind {
+    // entities:
+    CLASS(OntClass.class),
+    DATATYPE(OntDT.class),
+    NAMED_INDIVIDUAL(OntIndividual.Named.class),
+    ANNOTATION_PROPERTY(OntNAP.class),
+    DATA_PROPERTY(OntNDP.class),
+    OBJECT_PROPERTY(OntNOP.class),
+    // other individuals and property expressions:
+    ANONYMOUS_INDIVIDUAL(OntIndividual.Anonymous.class),
+    INVERSE_OBJECT_PROPERTY(OntOPE.Inverse.class),
+    // class expressions:
+    OBJECT_SOME_VALUES_FROM(OntCE.ObjectSomeValuesFrom.class),
+    DATA_SOME_VALUES_FROM(OntCE.DataSomeValuesFrom.class),
+    OBJECT_ALL_VALUES_FROM(OntCE.ObjectAllValuesFrom.class),
+    DATA_ALL_VALUES_FROM(OntCE.DataAllValuesFrom.class),
+    OBJECT_HAS_VALUE(OntCE.ObjectHasValue.class),
+    DATA_HAS_VALUE(OntCE.DataHasValue.class),
+    OBJECT_MIN_CARDINALITY(OntCE.ObjectMinCardinality.class),
+    DATA_MIN_CARDINALITY(OntCE.DataMinCardinality.class),
+    OBJECT_MAX_CARDINALITY(OntCE.ObjectMaxCardinality.class),
+    DATA_MAX_CARDINALITY(OntCE.DataMaxCardinality.class),
+    OBJECT_EXACT_CARDINALITY(OntCE.ObjectCardinality.class),
+    DATA_EXACT_CARDINALITY(OntCE.DataCardinality.class),
+    OBJECT_HAS_SELF(OntCE.HasSelf.class),
+    OBJECT_UNION_OF(OntCE.UnionOf.class),
+    OBJECT_INTERSECTION_OF(OntCE.IntersectionOf.class),
+    OBJECT_ONE_OF(OntCE.OneOf.class),
+    OBJECT_COMPLEMENT_OF(OntCE.ComplementOf.class),
+    NARY_DATA_ALL_VALUES_FROM(OntCE.NaryDataAllValuesFrom.class),
+    NARY_DATA_SOME_VALUES_FROM(OntCE.NaryDataSomeValuesFrom.class),
+    // data ranges:
+    DATA_ONE_OF(OntDR.OneOf.class),
+    DATATYPE_RESTRICTION(OntDR.Restriction.class),
+    DATA_COMPLEMENT_OF(OntDR.ComplementOf.class),
+    DATA_UNION_OF(OntDR.UnionOf.class),
+    DATA_INTERSECTION_OF(OntDR.IntersectionOf.class),
+    // facet restrictions:
+    LENGTH(OntFR.Length.class),
+    MIN_LENGTH(OntFR.MinLength.class),
+    MAX_LENGTH(OntFR.MaxLength.class),
+    MIN_INCLUSIVE(OntFR.MinInclusive.class),
+    MAX_INCLUSIVE(OntFR.MaxInclusive.class),
+    MIN_EXCLUSIVE(OntFR.MinExclusive.class),
+    MAX_EXCLUSIVE(OntFR.MaxExclusive.class),
+    PATTERN(OntFR.Pattern.class),
+    TOTAL_DIGITS(OntFR.TotalDigits.class),
+    FRACTION_DIGITS(OntFR.FractionDigits.class),
+    LANG_RANGE(OntFR.LangRange.class),
+    // SWRL:
+    SWRL_VARIABLE(OntSWRL.Variable.class),
+    SWRL_IMP(OntSWRL.Imp.class),
+    SWRL_BUILT_IN_ATOM(OntSWRL.Atom.BuiltIn.class),
+    SWRL_CLASS_ATOM(OntSWRL.Atom.OntClass.class),
+    SWRL_DATA_RANGE_ATOM(OntSWRL.Atom.DataRange.class),
+    SWRL_DATA_PROPERTY_ATOM(OntSWRL.Atom.DataProperty.class),
+    SWRL_OBJECT_PROPERTY_ATOM(OntSWRL.Atom.ObjectProperty.class),
+    SWRL_DIFFERENT_INDIVIDUALS_ATOM(OntSWRL.Atom.DifferentIndividuals.class),
+    SWRL_SAME_INDIVIDUALS_ATOM(OntSWRL.Atom.SameIndividuals.class),
+    /**
+     * Any other object, which has no special translation.
+     */
+    OTHER(null),
+    ;
+
+    private static final Map<Class<? extends OntObject>, OntKind> VIEWS = new HashMap<>();
+    private static final ClassValue<OntKind> KINDS = new ClassValue<OntKind>() {
+        @Override
+        protected OntKind computeValue(Class<?> type) {
+            return VIEWS.getOrDefault(OntObjectImpl.viewOf(type), OTHER);
+        }
+    };
+
+    static {
+        for (OntKind k : values()) {
+            if (k.view != null) VIEWS.put(k.view, k);
+        }
+    }
+
+    private final Class<? extends OntObject> view;
+
+    OntKind(Class<? extends OntObject> view) {
+        this.view = view;
+    }
+
+    /**
+     * Returns the view interface or {@code null} for {@link #OTHER}.
+     *
+     * @return Class
+     */
+    public Class<? extends OntObject> getView() {
+        return view;
+    }
+
+    /**
+     * Gets the kind for the implementation class.
+     *
+     * @param impl Class, not null
+     * @return {@link OntKind}, not null
+     */
+    public static OntKind of(Class<? extends OntObjectImpl> impl) {
+        return KINDS.get(impl);
+    }
+}
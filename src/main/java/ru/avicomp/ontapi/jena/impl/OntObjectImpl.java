@@ -46,6 +46,17 @@ public class OntObjectImpl extends ResourceImpl implements OntObject {
     public static Configurable<OntObjectFactory> objectFactory = m ->
             new CommonOntObjectFactory(new OntMaker.Default(OntObjectImpl.class), OntFinder.ANY_SUBJECT, OntFilter.URI.or(OntFilter.BLANK));
 
+    private static final ClassValue<Class<? extends OntObject>> VIEWS = new ClassValue<Class<? extends OntObject>>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected Class<? extends OntObject> computeValue(Class<?> type) {
+            return Arrays.stream(type.getInterfaces()).filter(OntObject.class::isAssignableFrom)
+                    .map(c -> (Class<? extends OntObject>) c).findFirst().orElse(null);
+        }
+    };
+
+    protected OntKind kind;
+
     public OntObjectImpl(Node n, EnhGraph m) {
         super(n, m);
     }
@@ -251,9 +262,44 @@ public class OntObjectImpl extends ResourceImpl implements OntObject {
         return (OntGraphModelImpl) super.getModel();
     }
 
-    @SuppressWarnings("unchecked")
     public Class<? extends OntObject> getActualClass() {
-        return Arrays.stream(getClass().getInterfaces()).filter(OntObject.class::isAssignableFrom).map(c -> (Class<? extends OntObject>) c).findFirst().orElse(null);
+        return viewOf(getClass());
+    }
+
+    /**
+     * Returns the kind tag of this object, which is usually assigned by the maker while creating.
+     *
+     * @return {@link OntKind}, not null
+     */
+    public OntKind getKind() {
+        OntKind res = kind;
+        if (res == null) {
+            kind = res = OntKind.of(getClass());
+        }
+        return res;
+    }
+
+    /**
+     * Assigns the precomputed kind tag.
+     * For internal usage only: the kind must correspond to the implementation class.
+     *
+     * @param kind {@link OntKind}
+     * @return this instance
+     */
+    public OntObjectImpl setKind(OntKind kind) {
+        this.kind = kind;
+        return this;
+    }
+
+    /**
+     * Finds the first {@link OntObject} interface directly implemented by the specified class.
+     * The result is cached for each class.
+     *
+     * @param impl Class
+     * @return Class or null
+     */
+    public static Class<? extends OntObject> viewOf(Class<?> impl) {
+        return VIEWS.get(impl);
     }
 
     public static String toString(Class<? extends RDFNode> view) {
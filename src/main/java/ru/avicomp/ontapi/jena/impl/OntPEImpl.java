@@ -14,11 +14,18 @@
 
 package ru.avicomp.ontapi.jena.impl;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.FrontsNode;
+import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
 
 import ru.avicomp.ontapi.jena.impl.configuration.*;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
 /**
  * Property Expression base class.
@@ -26,6 +33,8 @@ import ru.avicomp.ontapi.jena.vocabulary.OWL;
  * Created by @szuev on 08.11.2016.
  */
 public abstract class OntPEImpl extends OntObjectImpl {
+    private static final Set<Node> BUILT_IN_PROPERTIES = Entities.BUILTIN.properties().stream()
+            .map(FrontsNode::asNode).collect(Collectors.toSet());
 
     public static Configurable<MultiOntObjectFactory> abstractNamedPropertyFactory = createMultiFactory(OntFinder.TYPED,
             Entities.OBJECT_PROPERTY, Entities.DATA_PROPERTY, Entities.ANNOTATION_PROPERTY);
@@ -36,8 +45,18 @@ public abstract class OntPEImpl extends OntObjectImpl {
 
     public static Configurable<MultiOntObjectFactory> abstractOPEFactory = createMultiFactory(OntFinder.TYPED,
             Entities.OBJECT_PROPERTY, inversePropertyFactory);
+    /**
+     * Lists all declared properties, all inverse property expressions
+     * and all built-in properties which are subjects of some statements.
+     */
+    public static final OntFinder FINDER = eg -> {
+        Graph g = eg.asGraph();
+        return Stream.concat(new OntFinder.ByPredicates(RDF.type, OWL.inverseOf).find(eg).filter(n -> !BUILT_IN_PROPERTIES.contains(n)),
+                BUILT_IN_PROPERTIES.stream().filter(n -> g.contains(n, Node.ANY, Node.ANY)));
+    };
+
     public static Configurable<MultiOntObjectFactory> abstractPEFactory =
-            createMultiFactory(OntFinder.ANY_SUBJECT, abstractNamedPropertyFactory, inversePropertyFactory);
+            createMultiFactory(FINDER, abstractNamedPropertyFactory, inversePropertyFactory);
 
     public OntPEImpl(Node n, EnhGraph m) {
         super(n, m);
@@ -14,17 +14,22 @@
 
 package ru.avicomp.ontapi.jena.impl;
 
+import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.rdf.model.impl.LiteralImpl;
 
 import ru.avicomp.ontapi.jena.OntJenaException;
 import ru.avicomp.ontapi.jena.impl.configuration.*;
 import ru.avicomp.ontapi.jena.model.*;
+import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.utils.Models;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
@@ -41,13 +46,32 @@ public class OntSWRLImpl extends OntObjectImpl implements OntSWRL {
     public static Configurable<OntObjectFactory> variableSWRLFactory = m ->
             new CommonOntObjectFactory(new OntMaker.WithType(VariableImpl.class, SWRL.Variable), new OntFinder.ByType(SWRL.Variable), VAR_SWRL_FILTER);
 
+    /**
+     * Lists all variables and all nodes from the argument positions of atoms
+     * (i.e. objects of swrl:argument1, swrl:argument2 and members of swrl:arguments lists).
+     * Each node is returned only once: for its first occurrence, no any intermediate set is used.
+     */
+    public static final OntFinder ARG_FINDER = eg -> {
+        Graph g = Graphs.stable(eg.asGraph());
+        Stream<Node> variables = new OntFinder.ByType(SWRL.Variable).find(eg);
+        Stream<Node> args = Stream.of(SWRL.argument1, SWRL.argument2)
+                .flatMap(p -> Iter.asStream(g.find(Node.ANY, p.asNode(), Node.ANY)))
+                .filter(t -> isFirstArgument(g, t))
+                .map(Triple::getObject);
+        Stream<Node> members = Iter.asStream(g.find(Node.ANY, SWRL.arguments.asNode(), Node.ANY))
+                .flatMap(t -> listMembers(g, t.getObject()).stream())
+                .filter(t -> !isVariable(g, t.getObject()) && !isArgument(g, t.getObject()) && t.equals(firstMember(g, t.getObject())))
+                .map(Triple::getObject);
+        return Stream.of(variables, args, members).flatMap(Function.identity());
+    };
+
     public static Configurable<OntObjectFactory> dArgSWRLFactory = m ->
             new CommonOntObjectFactory(new OntMaker.Default(DArgImpl.class),
-                    OntFinder.ANY_SUBJECT_AND_OBJECT, VAR_SWRL_FILTER.or(LiteralImpl.factory::canWrap));
+                    ARG_FINDER, VAR_SWRL_FILTER.or(LiteralImpl.factory::canWrap));
     public static Configurable<OntObjectFactory> iArgSWRLFactory = m ->
             new CommonOntObjectFactory(new OntMaker.Default(IArgImpl.class),
-                    OntFinder.ANY_SUBJECT, VAR_SWRL_FILTER.or((n, g) -> OntIndividualImpl.abstractIndividualFactory.get(m).canWrap(n, g)));
-    public static Configurable<MultiOntObjectFactory> abstractArgSWRLFactory = createMultiFactory(OntFinder.ANY_SUBJECT_AND_OBJECT, dArgSWRLFactory, iArgSWRLFactory);
+                    ARG_FINDER, VAR_SWRL_FILTER.or((n, g) -> OntIndividualImpl.abstractIndividualFactory.get(m).canWrap(n, g)));
+    public static Configurable<MultiOntObjectFactory> abstractArgSWRLFactory = createMultiFactory(ARG_FINDER, dArgSWRLFactory, iArgSWRLFactory);
 
     public static Configurable<OntObjectFactory> builtInAtomSWRLFactory = makeAtomFactory(BuiltInAtomImpl.class, SWRL.BuiltinAtom);
     public static Configurable<OntObjectFactory> classAtomSWRLFactory = makeAtomFactory(OntClassAtomImpl.class, SWRL.ClassAtom);
@@ -72,6 +96,73 @@ public class OntSWRLImpl extends OntObjectImpl implements OntSWRL {
         super(n, m);
     }
 
+    private static boolean isVariable(Graph g, Node node) {
+        return g.contains(node, RDF.type.asNode(), SWRL.Variable.asNode());
+    }
+
+    private static boolean isArgument(Graph g, Node node) {
+        return hasObject(g, SWRL.argument1.asNode(), node) || hasObject(g, SWRL.argument2.asNode(), node);
+    }
+
+    private static boolean hasObject(Graph g, Node predicate, Node object) {
+        // literals are matched by value, so the exact equality is checked:
+        try (Stream<Triple> triples = Iter.asStream(g.find(Node.ANY, predicate, object))) {
+            return triples.anyMatch(t -> object.equals(t.getObject()));
+        }
+    }
+
+    private static boolean isFirstArgument(Graph g, Triple t) {
+        Node o = t.getObject();
+        if (isVariable(g, o)) return false;
+        if (SWRL.argument2.asNode().equals(t.getPredicate()) && hasObject(g, SWRL.argument1.asNode(), o)) {
+            return false;
+        }
+        return OntFinder.isFirst(g, t, Node.ANY, t.getPredicate(), o);
+    }
+
+    /**
+     * Returns the "rdf:first" triples of the []-list.
+     *
+     * @param g    {@link Graph}
+     * @param list {@link Node} the head of the list
+     * @return List of {@link Triple}s
+     */
+    private static List<Triple> listMembers(Graph g, Node list) {
+        List<Triple> res = new ArrayList<>();
+        Set<Node> seen = new HashSet<>();
+        Node cell = list;
+        while (cell != null && !RDF.nil.asNode().equals(cell) && seen.add(cell)) {
+            Iter.asStream(g.find(cell, RDF.first.asNode(), Node.ANY)).findFirst().ifPresent(res::add);
+            cell = Iter.asStream(g.find(cell, RDF.rest.asNode(), Node.ANY)).map(Triple::getObject).findFirst().orElse(null);
+        }
+        return res;
+    }
+
+    /**
+     * Finds the first "rdf:first" triple with the given object which belongs to a swrl:arguments list.
+     *
+     * @param g    {@link Graph}
+     * @param node {@link Node}
+     * @return {@link Triple} or null
+     */
+    private static Triple firstMember(Graph g, Node node) {
+        try (Stream<Triple> cells = Iter.asStream(g.find(Node.ANY, RDF.first.asNode(), node))) {
+            return cells.filter(t -> node.equals(t.getObject()))
+                    .filter(t -> g.contains(Node.ANY, SWRL.arguments.asNode(), listHead(g, t.getSubject()))).findFirst().orElse(null);
+        }
+    }
+
+    private static Node listHead(Graph g, Node cell) {
+        Set<Node> seen = new HashSet<>();
+        Node res = cell;
+        while (seen.add(res)) {
+            Optional<Node> prev = Iter.asStream(g.find(Node.ANY, RDF.rest.asNode(), res)).map(Triple::getSubject).findFirst();
+            if (!prev.isPresent()) break;
+            res = prev.get();
+        }
+        return res;
+    }
+
     public static Variable createVariable(OntGraphModelImpl model, String uri) {
         return model.createOntObject(Variable.class, uri);
     }
@@ -17,7 +17,8 @@ package ru.avicomp.ontapi.jena.impl;
 import java.util.Optional;
 import java.util.stream.Stream;
 
-import org.apache.jena.graph.FrontsNode;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
@@ -125,20 +126,19 @@ public class OntStatementImpl extends StatementImpl implements OntStatement {
     }
 
     /**
-     * Finds the root resource which corresponds specified statement and type
+     * Finds the root resource which corresponds specified statement and type.
+     * The search goes through the model's index of bulk annotations (see {@link OntGraphModelImpl#annotationNodes(Triple)}),
+     * so it does not depend on the total number of annotations in the graph.
      *
      * @param base base ont-statement
      * @param type owl:Axiom or owl:Annotation
      * @return {@link OntAnnotation} the anonymous resource with specified type.
      */
     protected static OntAnnotation findAnnotationObject(OntStatementImpl base, Resource type) {
-        try (Stream<Resource> resources = Iter.asStream(base.getModel().listResourcesWithProperty(RDF.type, type))) {
-            return resources.filter(r -> r.hasProperty(OWL.annotatedSource, base.getSubject()))
-                    .filter(r -> r.hasProperty(OWL.annotatedProperty, base.getPredicate()))
-                    .filter(r -> r.hasProperty(OWL.annotatedTarget, base.getObject()))
-                    //.map(r -> r.as(OntAnnotation.class))
-                    .map(FrontsNode::asNode)
-                    .map(r -> base.getModel().getNodeAs(r, OntAnnotation.class)).findFirst().orElse(null);
+        OntGraphModelImpl model = base.getModel();
+        try (Stream<Node> nodes = model.annotationNodes(base.asTriple())) {
+            return nodes.filter(n -> model.getGraph().contains(n, RDF.type.asNode(), type.asNode()))
+                    .map(n -> model.getNodeAs(n, OntAnnotation.class)).findFirst().orElse(null);
         }
     }
 
@@ -64,7 +64,7 @@ public class CommonOntObjectFactory extends OntObjectFactory {
 
     @Override
     public boolean canWrap(Node node, EnhGraph eg) {
-        return filter.test(node, eg);
+        return NodeViewCache.canWrap(this, node, eg, filter);
     }
 
     @Override
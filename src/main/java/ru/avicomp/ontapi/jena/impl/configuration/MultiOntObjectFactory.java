@@ -73,13 +73,33 @@ public class MultiOntObjectFactory extends OntObjectFactory {
 
     @Override
     public boolean canWrap(Node node, EnhGraph eg) {
-        return !(fittingFilter != null && !fittingFilter.test(node, eg)) && factories().anyMatch(f -> f.canWrap(node, eg));
+        return select(node, eg) >= 0;
     }
 
     @Override
     protected EnhNode doWrap(Node node, EnhGraph eg) {
-        if (fittingFilter != null && !fittingFilter.test(node, eg)) return null;
-        return factories().filter(f -> f.canWrap(node, eg)).map(f -> f.doWrap(node, eg)).findFirst().orElse(null);
+        int index = select(node, eg);
+        return index < 0 ? null : factories.get(index).doWrap(node, eg);
+    }
+
+    /**
+     * Finds the first sub-factory which can wrap the node.
+     * The result is memorized in the {@link NodeViewCache} of the model.
+     *
+     * @param node {@link Node}
+     * @param eg   {@link EnhGraph}
+     * @return int, the index of the sub-factory or -1
+     */
+    protected int select(Node node, EnhGraph eg) {
+        return NodeViewCache.classify(this, node, eg, this::index);
+    }
+
+    private int index(Node node, EnhGraph eg) {
+        if (fittingFilter != null && !fittingFilter.test(node, eg)) return -1;
+        for (int i = 0; i < factories.size(); i++) {
+            if (factories.get(i).canWrap(node, eg)) return i;
+        }
+        return -1;
     }
 
     @Override
@@ -0,0 +1,287 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena.impl.configuration;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntBiFunction;
+
+import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+
+import ru.avicomp.ontapi.jena.OntJenaException;
+import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
+import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+
+/**
+ * The memo table of node classifications for a single {@link OntGraphModelImpl model}.
+ * It maps a pair (factory, node) to the result of {@link OntObjectFactory#canWrap(Node, EnhGraph)}
+ * (for a {@link MultiOntObjectFactory} it is the index of the first suitable sub-factory, so the wrapping is also memorized),
+ * so the same node is not tested again and again by the same {@link OntFilter} chain
+ * (which usually consists of several {@code graph.contains} probes and []-list walks),
+ * e.g. while the axioms are being read.
+ * The table is consulted transparently by {@link CommonOntObjectFactory} and {@link MultiOntObjectFactory}.
+ * <p>
+ * The table is invalidated through the event managers of all base graphs of the model (including imports),
+ * so a change made bypassing the {@link ru.avicomp.ontapi.jena.UnionGraph} is also caught.
+ * Note: any change resets the whole table, not only the entries of the changed triple's subject and object:
+ * the classification of a node depends also on its neighbours
+ * (e.g. an {@code owl:Restriction} depends on the declaration of its {@code owl:onProperty},
+ * a n-ary class expression depends on the []-list members, a class assertion depends on the declarations from the imports),
+ * and there is no cheap way to find all dependent nodes.
+ * Since resetting costs nothing, a sequence of reads (e.g. loading axioms) still gets the full benefit.
+ */
+@SuppressWarnings("WeakerAccess")
+public class NodeViewCache {
+    // the max number of nodes per factory, after that the factory's table is reset to keep memory bounded:
+    protected static final int LIMIT = 1 << 20;
+    // base graph -> its listener, one per graph, shared between all caches:
+    protected static final Map<Graph, Watcher> WATCHERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    protected final Graph graph;
+    protected final Set<Graph> watched = Collections.newSetFromMap(new IdentityHashMap<>());
+    // factory -> (node -> result):
+    protected volatile Map<OntObjectFactory, Map<Node, Integer>> table = new ConcurrentHashMap<>();
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache and subscribes it to the changes of all base graphs from the specified one.
+     *
+     * @param graph {@link Graph}, usually {@link ru.avicomp.ontapi.jena.UnionGraph}, not null
+     */
+    public NodeViewCache(Graph graph) {
+        this.graph = OntJenaException.notNull(graph, "Null graph.");
+        watch();
+    }
+
+    /**
+     * Answers {@code true} if the node can be wrapped by the factory,
+     * using the memo table of the graph if it is an {@link OntGraphModelImpl}.
+     *
+     * @param factory {@link OntObjectFactory} the factory, which is asked, not null
+     * @param node    {@link Node} to test
+     * @param eg      {@link EnhGraph} the graph containing the node
+     * @param filter  {@link OntFilter} the actual test, which is called in case of cache miss
+     * @return boolean
+     */
+    public static boolean canWrap(OntObjectFactory factory, Node node, EnhGraph eg, OntFilter filter) {
+        if (!(eg instanceof OntGraphModelImpl)) return filter.test(node, eg);
+        return ((OntGraphModelImpl) eg).getNodeViewCache().get(factory, node, eg, (n, g) -> filter.test(n, g) ? 0 : -1) >= 0;
+    }
+
+    /**
+     * Classifies the node using the memo table of the graph if it is an {@link OntGraphModelImpl}.
+     * The classifier returns a non-negative number (e.g. the index of the suitable sub-factory) if the node fits
+     * and a negative number if it does not.
+     *
+     * @param factory    {@link OntObjectFactory} the factory, which is asked, not null
+     * @param node       {@link Node} to test
+     * @param eg         {@link EnhGraph} the graph containing the node
+     * @param classifier {@link ToIntBiFunction} the actual test, which is called in case of cache miss
+     * @return int
+     */
+    public static int classify(OntObjectFactory factory, Node node, EnhGraph eg, ToIntBiFunction<Node, EnhGraph> classifier) {
+        if (!(eg instanceof OntGraphModelImpl)) return classifier.applyAsInt(node, eg);
+        return ((OntGraphModelImpl) eg).getNodeViewCache().get(factory, node, eg, classifier);
+    }
+
+    /**
+     * Gets the memorized classification for the pair (factory, node) or calculates and stores it.
+     * Note: the classifier may call this method recursively (for other nodes).
+     *
+     * @param factory    {@link OntObjectFactory}
+     * @param node       {@link Node}
+     * @param eg         {@link EnhGraph}
+     * @param classifier {@link ToIntBiFunction} the actual test
+     * @return int
+     */
+    public int get(OntObjectFactory factory, Node node, EnhGraph eg, ToIntBiFunction<Node, EnhGraph> classifier) {
+        Map<OntObjectFactory, Map<Node, Integer>> table = this.table;
+        Map<Node, Integer> nodes = table.get(factory);
+        Integer res = nodes == null ? null : nodes.get(node);
+        if (res != null) {
+            hits.increment();
+            return res;
+        }
+        misses.increment();
+        int i = classifier.applyAsInt(node, eg);
+        if (nodes == null) {
+            nodes = table.computeIfAbsent(factory, f -> new ConcurrentHashMap<>());
+        }
+        if (nodes.size() >= LIMIT) {
+            nodes.clear();
+        }
+        // if the table has been reset in the meantime the result goes to the discarded one:
+        nodes.put(node, i);
+        return i;
+    }
+
+    /**
+     * Resets the memo table.
+     * The counters are not changed.
+     */
+    public void clear() {
+        if (table.isEmpty()) return;
+        table = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the number of memorized (node, factory) pairs.
+     *
+     * @return int
+     */
+    public int size() {
+        return table.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Returns the number of lookups answered from the table.
+     *
+     * @return long
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which required the actual test.
+     *
+     * @return long
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the share of lookups answered from the table, a number between 0 and 1.
+     *
+     * @return double
+     */
+    public double hitRate() {
+        long h = hits(), total = h + misses();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public void resetCounters() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Handles a change in one of the base graphs.
+     * A change of {@code owl:imports} means the graph structure could be changed, so the subscriptions are synchronized.
+     *
+     * @param triple {@link Triple}, can be null in case of bulk changes
+     */
+    protected void changed(Triple triple) {
+        clear();
+        if (triple == null || OWL.imports.asNode().equals(triple.getPredicate())) {
+            watch();
+        }
+    }
+
+    /**
+     * Synchronizes the subscriptions with the current set of the base graphs.
+     */
+    protected synchronized void watch() {
+        Set<Graph> actual = baseGraphs(graph);
+        watched.stream().filter(g -> !actual.contains(g)).forEach(g -> {
+            Watcher w = WATCHERS.get(g);
+            if (w != null) w.unsubscribe(this);
+        });
+        actual.stream().filter(g -> !watched.contains(g)).forEach(g -> {
+            Watcher w;
+            synchronized (WATCHERS) {
+                w = WATCHERS.computeIfAbsent(g, Watcher::new);
+            }
+            w.subscribe(this);
+        });
+        watched.clear();
+        watched.addAll(actual);
+    }
+
+    /**
+     * Collects all base (non-composite) graphs, taking into account possible recursion in the imports.
+     *
+     * @param graph {@link Graph}
+     * @return Set of {@link Graph}s, identity based
+     */
+    protected static Set<Graph> baseGraphs(Graph graph) {
+        Set<Graph> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Graph> res = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Graph> queue = new ArrayDeque<>();
+        queue.add(graph);
+        while (!queue.isEmpty()) {
+            Graph g = queue.poll();
+            if (!seen.add(g)) continue;
+            res.add(Graphs.getBase(g));
+            Graphs.subGraphs(g).forEach(queue::add);
+        }
+        return res;
+    }
+
+    /**
+     * The listener of a base graph, which notifies all subscribed caches about changes.
+     * It is registered once per graph and refers the caches weakly, so a forgotten model does not leak.
+     */
+    protected static class Watcher extends GraphListenerBase {
+        private final Set<NodeViewCache> caches = Collections.newSetFromMap(new WeakHashMap<>());
+
+        protected Watcher(Graph graph) {
+            graph.getEventManager().register(this);
+        }
+
+        protected synchronized void subscribe(NodeViewCache cache) {
+            caches.add(cache);
+        }
+
+        protected synchronized void unsubscribe(NodeViewCache cache) {
+            caches.remove(cache);
+        }
+
+        protected void fire(Triple triple) {
+            List<NodeViewCache> res;
+            synchronized (this) {
+                if (caches.isEmpty()) return;
+                res = new ArrayList<>(caches);
+            }
+            res.forEach(c -> c.changed(triple));
+        }
+
+        @Override
+        protected void addEvent(Triple t) {
+            fire(t);
+        }
+
+        @Override
+        protected void deleteEvent(Triple t) {
+            fire(t);
+        }
+
+        @Override
+        public void notifyEvent(Graph source, Object value) {
+            fire(null);
+        }
+    }
+}
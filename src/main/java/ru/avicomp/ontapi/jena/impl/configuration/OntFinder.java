@@ -14,16 +14,23 @@
 
 package ru.avicomp.ontapi.jena.impl.configuration;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.util.iterator.ExtendedIterator;
 
 import ru.avicomp.ontapi.jena.OntJenaException;
+import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
@@ -31,14 +38,22 @@ import ru.avicomp.ontapi.jena.vocabulary.RDF;
  * To perform the preliminary search resources in model,
  * then the result stream will be filtered by {@link OntFilter}
  * Used in the factory {@link CommonOntObjectFactory}.
+ * Note: the finders do not buffer the found nodes to make them distinct,
+ * instead a node is returned only for its first triple in the graph (see {@link #isFirst(Graph, Triple, Node, Node, Node)}),
+ * so the memory does not depend on the graph size.
+ * The graph must not be modified while the stream is in use,
+ * except a concurrent graph in the snapshot mode: the searches of one stream are run over the same snapshot
+ * (see {@link Graphs#stable(Graph)}).
  * <p>
  * Created by szuev on 07.11.2016.
  */
 @FunctionalInterface
 public interface OntFinder {
-    OntFinder ANY_SUBJECT = eg -> Iter.asStream(eg.asGraph().find(Triple.ANY).mapWith(Triple::getSubject)).distinct();
-    OntFinder ANY_SUBJECT_AND_OBJECT = eg -> Iter.asStream(eg.asGraph().find(Triple.ANY))
-            .map(t -> Stream.of(t.getSubject(), t.getObject())).flatMap(Function.identity()).distinct();
+    OntFinder ANY_SUBJECT = eg -> subjects(Graphs.stable(eg.asGraph()));
+    OntFinder ANY_SUBJECT_AND_OBJECT = eg -> {
+        Graph g = Graphs.stable(eg.asGraph());
+        return Stream.concat(subjects(g), objects(g).filter(o -> o.isLiteral() || !g.contains(o, Node.ANY, Node.ANY)));
+    };
     OntFinder ANYTHING = eg -> Iter.asStream(eg.asGraph().find(Triple.ANY))
             .map(t -> Stream.of(t.getSubject(), t.getPredicate(), t.getObject()))
             .flatMap(Function.identity()).distinct();
@@ -51,6 +66,82 @@ public interface OntFinder {
         return eg -> find(eg).filter(n -> filter.test(n, eg));
     }
 
+    /**
+     * Lists all distinct subjects from the graph.
+     *
+     * @param graph {@link Graph}
+     * @return Stream of {@link Node}s
+     */
+    static Stream<Node> subjects(Graph graph) {
+        return Iter.asStream(graph.find(Triple.ANY))
+                .filter(new FirstInRun(Triple::getSubject, t -> isFirst(graph, t, t.getSubject(), Node.ANY, Node.ANY)))
+                .map(Triple::getSubject);
+    }
+
+    /**
+     * Lists all distinct objects from the graph.
+     *
+     * @param graph {@link Graph}
+     * @return Stream of {@link Node}s
+     */
+    static Stream<Node> objects(Graph graph) {
+        return Iter.asStream(graph.find(Triple.ANY))
+                .filter(new FirstInRun(Triple::getObject, t -> isFirst(graph, t, Node.ANY, Node.ANY, t.getObject())))
+                .map(Triple::getObject);
+    }
+
+    /**
+     * Answers {@code true} if the triple is the first one which is returned by the graph for the specified pattern.
+     * This is a way to get distinct nodes from a stream of triples without remembering them:
+     * the iteration order of an unchanged graph is stable.
+     *
+     * @param graph   {@link Graph}
+     * @param triple  {@link Triple} to test, must match the pattern
+     * @param subject {@link Node} subject or {@link Node#ANY}
+     * @param predicate {@link Node} predicate or {@link Node#ANY}
+     * @param object  {@link Node} object or {@link Node#ANY}
+     * @return boolean
+     */
+    static boolean isFirst(Graph graph, Triple triple, Node subject, Node predicate, Node object) {
+        // literals are matched by value, so the exact equality is checked:
+        ExtendedIterator<Triple> res = graph.find(subject, predicate, object).filterKeep(t -> Node.ANY.equals(object) || object.equals(t.getObject()));
+        try {
+            return res.hasNext() && triple.equals(res.next());
+        } finally {
+            res.close();
+        }
+    }
+
+    /**
+     * A stateful filter to select the first triple for each key (subject or object) using the specified test,
+     * it does not test the rest of the run of the same key after a success.
+     * Since the in-memory graphs return triples grouped by subject,
+     * the subject test is called usually only once per subject.
+     * Must be used only with sequential streams.
+     */
+    class FirstInRun implements Predicate<Triple> {
+        private final Function<Triple, Node> key;
+        private final Predicate<Triple> test;
+        private Node current;
+        private boolean done;
+
+        public FirstInRun(Function<Triple, Node> key, Predicate<Triple> test) {
+            this.key = key;
+            this.test = test;
+        }
+
+        @Override
+        public boolean test(Triple triple) {
+            Node k = key.apply(triple);
+            if (!k.equals(current)) {
+                current = k;
+                done = false;
+            }
+            if (done) return false;
+            return done = test.test(triple);
+        }
+    }
+
     class ByType implements OntFinder {
         protected final Node type;
 
@@ -60,20 +151,49 @@ public interface OntFinder {
 
         @Override
         public Stream<Node> find(EnhGraph eg) {
-            return Iter.asStream(eg.asGraph().find(Node.ANY, RDF.type.asNode(), type).mapWith(Triple::getSubject)).distinct();
+            // a triple is unique, so the subjects are distinct:
+            return Iter.asStream(eg.asGraph().find(Node.ANY, RDF.type.asNode(), type).mapWith(Triple::getSubject));
         }
     }
 
-    class ByPredicate implements OntFinder {
-        protected final Node predicate;
+    class ByPredicate extends ByPredicates {
 
         public ByPredicate(Property predicate) {
-            this.predicate = OntJenaException.notNull(predicate, "Null predicate.").asNode();
+            super(predicate);
+        }
+    }
+
+    /**
+     * Finds the distinct subjects of the triples with the given predicates.
+     * A subject is returned only once: for the first triple with the first (in the given order) of its predicates.
+     */
+    class ByPredicates implements OntFinder {
+        protected final List<Node> predicates;
+
+        public ByPredicates(Property... predicates) {
+            this.predicates = Arrays.stream(predicates)
+                    .map(p -> OntJenaException.notNull(p, "Null predicate.").asNode())
+                    .distinct()
+                    .collect(Collectors.toList());
         }
 
         @Override
         public Stream<Node> find(EnhGraph eg) {
-            return Iter.asStream(eg.asGraph().find(Node.ANY, predicate, Node.ANY).mapWith(Triple::getSubject)).distinct();
+            Graph g = Graphs.stable(eg.asGraph());
+            return predicates.stream()
+                    .flatMap(p -> Iter.asStream(g.find(Node.ANY, p, Node.ANY)).filter(new FirstInRun(Triple::getSubject, t -> isFirst(g, t))))
+                    .map(Triple::getSubject);
+        }
+
+        protected boolean isFirst(Graph g, Triple t) {
+            Node s = t.getSubject();
+            for (Node p : predicates) {
+                if (p.equals(t.getPredicate())) {
+                    return OntFinder.isFirst(g, t, s, p, Node.ANY);
+                }
+                if (g.contains(s, p, Node.ANY)) return false;
+            }
+            return false;
         }
     }
 }
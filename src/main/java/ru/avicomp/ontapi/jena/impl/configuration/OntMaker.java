@@ -14,6 +14,7 @@
 
 package ru.avicomp.ontapi.jena.impl.configuration;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
 import org.apache.jena.enhanced.EnhGraph;
@@ -24,6 +25,7 @@ import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.shared.JenaException;
 
 import ru.avicomp.ontapi.jena.OntJenaException;
+import ru.avicomp.ontapi.jena.impl.OntKind;
 import ru.avicomp.ontapi.jena.impl.OntObjectImpl;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
@@ -76,6 +78,8 @@ public interface OntMaker {
      */
     class Default implements OntMaker {
         protected final Class<? extends OntObjectImpl> impl;
+        protected final OntKind kind;
+        private Constructor<? extends OntObjectImpl> constructor;
 
         /**
          * Class must be public and have a public constructor with parameters {@link Node} and {@link EnhGraph}.
@@ -84,6 +88,16 @@ public interface OntMaker {
          */
         public Default(Class<? extends OntObjectImpl> impl) {
             this.impl = OntJenaException.notNull(impl, "Null implementation class.");
+            this.kind = OntKind.of(impl);
+        }
+
+        /**
+         * Returns the kind tag which is assigned to every created instance.
+         *
+         * @return {@link OntKind}
+         */
+        public OntKind getKind() {
+            return kind;
         }
 
         @Override
@@ -99,7 +113,11 @@ public interface OntMaker {
         @Override
         public EnhNode instance(Node node, EnhGraph eg) {
             try {
-                return impl.getDeclaredConstructor(Node.class, EnhGraph.class).newInstance(node, eg);
+                Constructor<? extends OntObjectImpl> res = constructor;
+                if (res == null) {
+                    constructor = res = impl.getDeclaredConstructor(Node.class, EnhGraph.class);
+                }
+                return res.newInstance(node, eg).setKind(kind);
             } catch (InstantiationException | IllegalAccessException | NoSuchMethodException e) {
                 throw new OntJenaException("Can't create instance of " + impl, e);
             } catch (InvocationTargetException e) {
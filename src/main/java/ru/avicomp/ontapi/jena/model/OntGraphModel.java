@@ -15,6 +15,7 @@
 package ru.avicomp.ontapi.jena.model;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.apache.jena.graph.Graph;
@@ -71,6 +72,16 @@ public interface OntGraphModel extends Model {
      */
     OntID getID();
 
+    /**
+     * Returns the ontology ID without any graph query, if it is already known.
+     * The ID is known after the {@link #getID()} call and until the header is changed
+     * (i.e. a triple with {@code rdf:type owl:Ontology} or a triple about the ID is added or removed).
+     *
+     * @return Optional around {@link OntID}, empty if the ID is not resolved yet or outdated
+     * @see #getID()
+     */
+    Optional<OntID> cachedID();
+
     /**
      * Creates a new owl:Ontology declaration for the specified uri.
      * All extra ontologies will be removed and all their content will be moved to the new one.
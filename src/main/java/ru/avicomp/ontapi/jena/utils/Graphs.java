@@ -26,9 +26,12 @@ import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.compose.Dyadic;
 import org.apache.jena.graph.compose.Polyadic;
+import org.apache.jena.mem.GraphMemBase;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.util.iterator.ExtendedIterator;
 
 import ru.avicomp.ontapi.OntFormat;
+import ru.avicomp.ontapi.jena.ConcurrentGraph;
 import ru.avicomp.ontapi.jena.OntJenaException;
 import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
@@ -77,6 +80,53 @@ public class Graphs {
         return Stream.concat(Stream.of(getBase(graph)), subGraphs(graph).map(Graphs::flat).flatMap(Function.identity()));
     }
 
+    /**
+     * Returns a graph to read the current state of the specified graph consistently:
+     * if it is a {@link ConcurrentGraph} in the {@link ConcurrentGraph.Mode#SNAPSHOT} mode (or a union graph with such base),
+     * the base is replaced with its current snapshot, which does not change while it is in use,
+     * otherwise the same graph is returned.
+     * It is for an operation, which runs several searches and relies on their consistency
+     * (e.g. a search, which checks each found triple with another search).
+     *
+     * @param graph {@link Graph}
+     * @return {@link Graph} to read only
+     * @since 1.1.0
+     */
+    public static Graph stable(Graph graph) {
+        Graph base = getBase(graph);
+        if (!(base instanceof ConcurrentGraph) || !ConcurrentGraph.Mode.SNAPSHOT.equals(((ConcurrentGraph) base).mode())) {
+            return graph;
+        }
+        Graph snapshot = ((ConcurrentGraph) base).snapshot();
+        if (!(graph instanceof UnionGraph)) return base == graph ? snapshot : graph;
+        UnionGraph res = new UnionGraph(snapshot);
+        ((UnionGraph) graph).getUnderlying().graphs().forEach(res::addGraph);
+        return res;
+    }
+
+    /**
+     * Lists all distinct predicates from the graph.
+     * For in-memory graphs the predicates are taken directly from the index,
+     * for any other graph the whole content is scanned once.
+     *
+     * @param graph {@link Graph}
+     * @return Set of {@link Node}s
+     * @since 1.1.0
+     */
+    public static Set<Node> predicates(Graph graph) {
+        Set<Node> res = new LinkedHashSet<>();
+        flat(graph).forEach(g -> {
+            ExtendedIterator<Node> it = g instanceof GraphMemBase ? ((GraphMemBase) g).store.listPredicates() :
+                    g.find(Triple.ANY).mapWith(Triple::getPredicate);
+            try {
+                it.forEachRemaining(res::add);
+            } finally {
+                it.close();
+            }
+        });
+        return res;
+    }
+
     /**
      * Wraps the given graph as hierarchical Union Graph.
      * Note: this is a recursive method.
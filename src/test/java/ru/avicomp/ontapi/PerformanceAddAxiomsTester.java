@@ -0,0 +1,83 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.semanticweb.owlapi.model.*;
+
+import com.google.common.base.Stopwatch;
+
+/**
+ * Compares the throughput of {@link OntologyManager#addAxioms(OWLOntology, java.util.stream.Stream)},
+ * which writes all axioms in the batch mode (see {@link ru.avicomp.ontapi.internal.InternalModel#beginBatch()}),
+ * with adding the same axioms one by one through {@link OntologyManager#addAxiom(OWLOntology, OWLAxiom)}
+ * (i.e. the path with a listener registration per axiom).
+ */
+public class PerformanceAddAxiomsTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceAddAxiomsTester.class);
+
+    public static void main(String... strings) {
+        // warm up:
+        test(10_000, true);
+        test(10_000, false);
+        for (int count : new int[]{100_000, 1_000_000}) {
+            long single = test(count, false);
+            long batch = test(count, true);
+            LOGGER.info(String.format("%d axioms: one by one = %d ms (%d axioms/s), addAxioms = %d ms (%d axioms/s)",
+                    count, single, count * 1000L / Math.max(1, single), batch, count * 1000L / Math.max(1, batch)));
+        }
+    }
+
+    private static long test(int count, boolean batch) {
+        List<OWLAxiom> axioms = createAxioms(count);
+        OntologyManager m = OntManagers.createONT();
+        OntologyModel o = m.createOntology(IRI.create("http://ru.avicomp/add"));
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        if (batch) {
+            m.addAxioms(o, axioms.stream());
+        } else {
+            axioms.forEach(a -> m.addAxiom(o, a));
+        }
+        stopwatch.stop();
+        Assert.assertEquals(count, o.getAxiomCount());
+        return stopwatch.elapsed(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a class hierarchy: declaration, sub-class-of and annotation assertion for each class.
+     *
+     * @param count int, the number of axioms, a multiple of three is expected
+     * @return List of {@link OWLAxiom}s
+     */
+    private static List<OWLAxiom> createAxioms(int count) {
+        OWLDataFactory df = OntManagers.getDataFactory();
+        String ns = "http://ru.avicomp/add#";
+        List<OWLAxiom> res = new ArrayList<>(count);
+        for (int i = 0; res.size() < count; i++) {
+            OWLClass c = df.getOWLClass(IRI.create(ns + "C" + i));
+            res.add(df.getOWLDeclarationAxiom(c));
+            if (res.size() == count) break;
+            res.add(df.getOWLSubClassOfAxiom(c, df.getOWLClass(IRI.create(ns + "C" + (i / 2)))));
+            if (res.size() == count) break;
+            res.add(df.getOWLAnnotationAssertionAxiom(c.getIRI(), df.getRDFSLabel("Class #" + i)));
+        }
+        return res;
+    }
+}
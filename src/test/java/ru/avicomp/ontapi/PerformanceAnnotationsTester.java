@@ -0,0 +1,74 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.graph.Graph;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+
+import com.google.common.base.Stopwatch;
+import ru.avicomp.ontapi.internal.ConfigProvider;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.model.OntClass;
+import ru.avicomp.ontapi.jena.model.OntGraphModel;
+
+/**
+ * Measures the reading of axioms with bulk annotations (owl:Axiom reifications) depending on the ontology size.
+ * The time per axiom should not grow with the number of annotated axioms
+ * (see {@link ru.avicomp.ontapi.jena.impl.AnnotationIndex}).
+ */
+public class PerformanceAnnotationsTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceAnnotationsTester.class);
+
+    public static void main(String... strings) {
+        // warm up:
+        test(2_000);
+        for (int n = 2_000; n <= 32_000; n *= 2) {
+            long ms = test(n);
+            LOGGER.info(String.format("Annotated axioms: %d, time: %d ms, per 1000 axioms: %.2f ms", n, ms, ms * 1000d / n));
+        }
+    }
+
+    private static long test(int count) {
+        Graph g = createGraph(count);
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        long res = new InternalModel(g, ConfigProvider.DEFAULT).axioms().count();
+        stopwatch.stop();
+        // declarations + sub-class-of axioms:
+        Assert.assertEquals(2 * count + 1, res);
+        return stopwatch.elapsed(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a graph with the specified number of annotated sub-class-of axioms.
+     *
+     * @param count int
+     * @return {@link Graph}
+     */
+    public static Graph createGraph(int count) {
+        OntGraphModel m = OntModelFactory.createModel();
+        String ns = "http://test.com/annotations#";
+        m.setID(ns);
+        OntClass top = m.createOntEntity(OntClass.class, ns + "Top");
+        for (int i = 0; i < count; i++) {
+            m.createOntEntity(OntClass.class, ns + "C" + i).addSubClassOf(top)
+                    .addAnnotation(m.getRDFSComment(), "Sub-class-of axiom #" + i, "en");
+        }
+        return m.getBaseGraph();
+    }
+}
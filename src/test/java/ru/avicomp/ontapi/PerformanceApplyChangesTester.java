@@ -0,0 +1,93 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+
+import com.google.common.base.Stopwatch;
+import ru.avicomp.ontapi.internal.InternalModel;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+/**
+ * Measures {@link OntologyManager#applyChanges(List)} for big lists of mixed add/remove axiom changes,
+ * both the successful path and the path with a failed change at the very end,
+ * which requires the rollback of all previous changes.
+ * The rollback from the triple delta journal (see {@link InternalModel#rollbackTransaction()})
+ * is compared with the ordinary way, i.e. applying the reverse changes one by one.
+ */
+public class PerformanceApplyChangesTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceApplyChangesTester.class);
+    private static final String NS = "http://ru.avicomp/changes#";
+
+    public static void main(String... strings) {
+        // warm up:
+        test(10_000, true, false);
+        test(10_000, false, false);
+        test(10_000, true, true);
+        test(10_000, false, true);
+        int count = 100_000;
+        for (boolean fail : new boolean[]{false, true}) {
+            long journal = test(count, true, fail);
+            long ordinary = test(count, false, fail);
+            LOGGER.info(String.format("%d changes (%s): with journal = %d ms, without journal = %d ms",
+                    count, fail ? "failure and rollback" : "success", journal, ordinary));
+        }
+    }
+
+    private static long test(int count, boolean journal, boolean fail) {
+        OntologyManager m = journal ? OntManagers.createONT() : new OntologyManagerImpl(OntManagers.getDataFactory(), new NoOpReadWriteLock()) {
+            @Override
+            protected Collection<InternalModel> beginTransaction(List<? extends OWLOntologyChange> changes) {
+                return null;
+            }
+        };
+        // annotation axioms are not allowed, so such an axiom could be used to fail the changes:
+        m.setOntologyLoaderConfiguration(m.getOntologyLoaderConfiguration().setLoadAnnotationAxioms(false));
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel o = m.createOntology(IRI.create("http://ru.avicomp/changes"));
+        int half = count / 2;
+        for (int i = 0; i < half; i++) {
+            o.add(subClassOf(df, i));
+        }
+        long before = o.getAxiomCount();
+        List<OWLOntologyChange> changes = new ArrayList<>(count + 1);
+        for (int i = 0; i < half; i++) {
+            changes.add(new RemoveAxiom(o, subClassOf(df, i)));
+            changes.add(new AddAxiom(o, subClassOf(df, half + i)));
+        }
+        if (fail) {
+            changes.add(new AddAxiom(o, df.getOWLAnnotationAssertionAxiom(IRI.create(NS + "C0"), df.getRDFSLabel("C0"))));
+        }
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        ChangeApplied res = m.applyChanges(changes);
+        stopwatch.stop();
+        Assert.assertEquals(fail ? ChangeApplied.UNSUCCESSFULLY : ChangeApplied.SUCCESSFULLY, res);
+        Assert.assertEquals(before, o.getAxiomCount());
+        Assert.assertEquals(fail, o.containsAxiom(subClassOf(df, 0)));
+        return stopwatch.elapsed(TimeUnit.MILLISECONDS);
+    }
+
+    private static OWLAxiom subClassOf(OWLDataFactory df, int i) {
+        return df.getOWLSubClassOfAxiom(df.getOWLClass(IRI.create(NS + "C" + i)), df.getOWLClass(IRI.create(NS + "C" + (i + 1))));
+    }
+}
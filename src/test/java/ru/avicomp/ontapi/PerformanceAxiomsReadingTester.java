@@ -0,0 +1,66 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import org.apache.jena.graph.Graph;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.semanticweb.owlapi.model.AxiomType;
+
+import ru.avicomp.ontapi.internal.ConfigProvider;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.transforms.GraphTransformers;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Compares the cold reading of all axioms in one pass through the graph
+ * (see {@link ru.avicomp.ontapi.internal.AxiomsCollector}) with the lazy per-type reading.
+ */
+public class PerformanceAxiomsReadingTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceAxiomsReadingTester.class);
+
+    private static final int num = 100;
+
+    public static void main(String... strings) {
+        test("pizza.ttl", OntFormat.TURTLE);
+        test("foaf.rdf", OntFormat.RDF_XML);
+        test("goodrelations.rdf", OntFormat.RDF_XML);
+    }
+
+    private static void test(String file, OntFormat format) {
+        Graph graph = GraphTransformers.convert(ReadWriteUtils.load(ReadWriteUtils.getResourceURI(file), format).getGraph());
+        long count = new InternalModel(graph, ConfigProvider.DEFAULT).axioms().count();
+        PerformancePizzaTester.Tester onePassTester = () -> Assert.assertEquals(count,
+                new InternalModel(graph, ConfigProvider.DEFAULT).axioms().count());
+        PerformancePizzaTester.Tester perTypeTester = () -> {
+            InternalModel m = new InternalModel(graph, ConfigProvider.DEFAULT);
+            Assert.assertEquals(count, AxiomType.AXIOM_TYPES.stream().mapToLong(t -> m.axioms(t).count()).sum());
+        };
+        Level level = Logger.getRootLogger().getLevel();
+        float onePass, perType;
+        try {
+            Logger.getRootLogger().setLevel(Level.OFF);
+            // warm up:
+            PerformancePizzaTester.doTest(num / 2, onePassTester, "WARM-UP", false);
+            PerformancePizzaTester.doTest(num / 2, perTypeTester, "WARM-UP", false);
+            onePass = PerformancePizzaTester.doTest(num, onePassTester, "ONE-PASS", false);
+            perType = PerformancePizzaTester.doTest(num, perTypeTester, "PER-TYPE", false);
+        } finally {
+            Logger.getRootLogger().setLevel(level);
+        }
+        LOGGER.info(file + ": ONE-PASS = " + onePass + ", PER-TYPE = " + perType + ", PER-TYPE/ONE-PASS = " + perType / onePass);
+    }
+}
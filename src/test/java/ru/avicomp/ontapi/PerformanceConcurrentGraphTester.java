@@ -0,0 +1,145 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.log4j.Logger;
+
+import ru.avicomp.ontapi.jena.ConcurrentGraph;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+
+/**
+ * Compares the ways of the concurrent iterating over {@link ConcurrentGraph}:
+ * the collect-then-stream approach (a find result is materialized under the read lock),
+ * the {@link ConcurrentGraph.Mode#LOCKING} and the {@link ConcurrentGraph.Mode#SNAPSHOT} modes.
+ * Several readers iterate over the graph while a single writer modifies it with the given pause.
+ */
+public class PerformanceConcurrentGraphTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceConcurrentGraphTester.class);
+    private static final int TRIPLES_NUM = 20_000;
+    private static final int READ_THREADS_NUM = 6;
+    private static final long DURATION = 3_000;
+
+    private static final Node A = NodeFactory.createURI("http://ex#A");
+
+    public static void main(String... strings) throws Exception {
+        // warm up:
+        for (Way way : Way.values()) {
+            test(way, 1, 1_000);
+        }
+        for (long pause : new long[]{-1, 10, 1}) {
+            for (Way way : Way.values()) {
+                test(way, pause, DURATION);
+            }
+        }
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param way      {@link Way}
+     * @param pause    the writer's pause between modifications in ms, negative to disable the writer
+     * @param duration ms
+     * @throws Exception if smth wrong
+     */
+    private static void test(Way way, long pause, long duration) throws Exception {
+        ConcurrentGraph g = new ConcurrentGraph(OntModelFactory.createDefaultGraph(), new ReentrantReadWriteLock(), way.mode);
+        for (int i = 0; i < TRIPLES_NUM; i++) {
+            g.add(Triple.create(NodeFactory.createURI("http://ex#i" + i), RDF.Nodes.type, A));
+        }
+        AtomicBoolean flag = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        ExecutorService service = Executors.newFixedThreadPool(READ_THREADS_NUM + 1);
+        List<Future<?>> res = new ArrayList<>();
+        for (int i = 0; i < READ_THREADS_NUM; i++) {
+            res.add(service.submit(() -> {
+                while (flag.get()) {
+                    long count = 0;
+                    for (ExtendedIterator<Triple> it = way.find(g); it.hasNext(); it.next()) {
+                        count++;
+                    }
+                    if (count < TRIPLES_NUM) throw new IllegalStateException("Wrong count: " + count);
+                    reads.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        if (pause >= 0) {
+            res.add(service.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (flag.get()) {
+                    Triple t = Triple.create(NodeFactory.createURI("http://ex#j" + random.nextInt(100)), RDF.Nodes.type, A);
+                    if (random.nextBoolean()) {
+                        g.add(t);
+                    } else {
+                        g.delete(t);
+                    }
+                    writes.incrementAndGet();
+                    Thread.sleep(pause);
+                }
+                return null;
+            }));
+        }
+        service.shutdown();
+        Thread.sleep(duration);
+        flag.set(false);
+        for (Future<?> f : res) {
+            f.get();
+        }
+        LOGGER.info(String.format("%-10s writer pause: %3s ms, reads per second: %8.1f, writes per second: %8.1f",
+                way, pause < 0 ? "-" : String.valueOf(pause), reads.get() * 1000d / duration, writes.get() * 1000d / duration));
+    }
+
+    private enum Way {
+        COLLECT(ConcurrentGraph.Mode.DIRECT) {
+            @Override
+            ExtendedIterator<Triple> find(ConcurrentGraph g) {
+                List<Triple> res;
+                g.lock().readLock().lock();
+                try {
+                    res = g.get().find(Node.ANY, RDF.Nodes.type, Node.ANY).toList();
+                } finally {
+                    g.lock().readLock().unlock();
+                }
+                return WrappedIterator.create(res.iterator());
+            }
+        },
+        LOCKING(ConcurrentGraph.Mode.LOCKING),
+        SNAPSHOT(ConcurrentGraph.Mode.SNAPSHOT),
+        ;
+        private final ConcurrentGraph.Mode mode;
+
+        Way(ConcurrentGraph.Mode mode) {
+            this.mode = mode;
+        }
+
+        ExtendedIterator<Triple> find(ConcurrentGraph g) {
+            return g.find(Node.ANY, RDF.Nodes.type, Node.ANY);
+        }
+    }
+}
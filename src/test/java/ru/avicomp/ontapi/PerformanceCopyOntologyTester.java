@@ -0,0 +1,95 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.OntologyCopy;
+
+import com.google.common.base.Stopwatch;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.model.OntClass;
+import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+/**
+ * Compares {@link OntologyManager#copyOntology(OWLOntology, OntologyCopy)} at the graph level
+ * (see {@link OntologyManagerImpl#copyGraph(OntologyModel, OntologyModel)})
+ * with the ordinary axiom-by-axiom copying.
+ * The copying time is measured together with the first axioms query on the copy, since the caches could be shared.
+ * The sources are pizza, goodrelations and a synthetic ontology with 1M triples.
+ */
+public class PerformanceCopyOntologyTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceCopyOntologyTester.class);
+
+    public static void main(String... strings) throws Exception {
+        OntologyManager m = OntManagers.createONT();
+        OntologyModel pizza = m.loadOntology(IRI.create(ReadWriteUtils.getResourceURI("pizza.ttl")));
+        OntologyModel goodrelations = m.loadOntology(IRI.create(ReadWriteUtils.getResourceURI("goodrelations.rdf")));
+        OntologyModel big = createBig(m, 1_000_000);
+        // warm up:
+        for (int i = 0; i < 5; i++) {
+            test(pizza, true);
+            test(pizza, false);
+        }
+        for (OntologyModel o : new OntologyModel[]{pizza, goodrelations, big}) {
+            long triples = o.asGraphModel().getBaseGraph().size();
+            long graph = test(o, true);
+            long axioms = test(o, false);
+            LOGGER.info(String.format("%s (%d triples): graph copy = %d ms (%.3f ms per 1000 triples), axioms copy = %d ms",
+                    o.getOntologyID().getOntologyIRI().map(IRI::getIRIString).orElse("anonymous"), triples,
+                    graph, graph * 1000.0 / triples, axioms));
+        }
+    }
+
+    private static long test(OntologyModel o, boolean graph) throws Exception {
+        OntologyManager m = graph ? OntManagers.createONT() : new OntologyManagerImpl(OntManagers.getDataFactory(), new NoOpReadWriteLock()) {
+            @Override
+            protected boolean canCopyGraph(OWLOntology o) {
+                return false;
+            }
+        };
+        // the source caches are built:
+        long count = o.getAxiomCount();
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        OntologyModel res = m.copyOntology(o, OntologyCopy.DEEP);
+        Assert.assertEquals(count, res.getAxiomCount());
+        stopwatch.stop();
+        return stopwatch.elapsed(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates an ontology with the specified number of triples: a class hierarchy with labels.
+     *
+     * @param m     {@link OntologyManager}
+     * @param count int, the number of triples
+     * @return {@link OntologyModel}
+     */
+    private static OntologyModel createBig(OntologyManager m, int count) {
+        String ns = "http://ru.avicomp/big#";
+        OntGraphModel g = OntModelFactory.createModel();
+        g.setID("http://ru.avicomp/big");
+        for (int i = 0; g.size() < count; i++) {
+            OntClass c = g.createOntEntity(OntClass.class, ns + "C" + i);
+            c.addSubClassOf(g.createOntEntity(OntClass.class, ns + "C" + (i / 2)));
+            c.addLabel("Class #" + i, null);
+        }
+        return m.addOntology(g.getBaseGraph());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.apache.jena.vocabulary.XSD;
+import org.apache.log4j.Logger;
+
+import ru.avicomp.ontapi.jena.DictionaryGraph;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Compares the {@link DictionaryGraph} with the default {@link org.apache.jena.mem.GraphMem}:
+ * the retained memory (bytes per triple), the time of filling, and the throughput of the typical searches
+ * (by subject, by predicate and object, the full listing and the {@code contains} checks).
+ * The data are the test resources (<a href='file:/test/resources/pizza.ttl'>pizza</a>, goodrelations)
+ * scaled up synthetically: each copy has its own IRIs (the suffix is appended) and blank nodes,
+ * while the builtin vocabulary and the literals are shared.
+ * Note: it is better to run with a fixed heap (e.g. {@code -Xms4g -Xmx4g}).
+ */
+public class PerformanceDictionaryGraphTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceDictionaryGraphTester.class);
+    private static final int SEARCH_NUM = 100_000;
+
+    public static void main(String... strings) throws Exception {
+        Graph pizza = ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph();
+        Graph goodrelations = ReadWriteUtils.load(ReadWriteUtils.getResourceURI("goodrelations.rdf"), OntFormat.RDF_XML).getGraph();
+        // warm up:
+        test("warm-up", pizza, 10);
+        test("pizza", pizza, 1);
+        test("goodrelations", goodrelations, 1);
+        test("pizza", pizza, 500);
+        test("goodrelations", goodrelations, 500);
+    }
+
+    private static void test(String name, Graph source, int copies) throws InterruptedException {
+        List<Triple> data = scale(source, copies);
+        Node type = RDF.Nodes.type;
+        Node clazz = OWL.Class.asNode();
+        for (Kind kind : Kind.values()) {
+            long before = usedMemory();
+            long start = System.currentTimeMillis();
+            Graph g = kind.factory.get();
+            data.forEach(g::add);
+            long fill = System.currentTimeMillis() - start;
+            long memory = usedMemory() - before;
+
+            Random r = new Random(42);
+            long count = 0;
+            start = System.currentTimeMillis();
+            for (int i = 0; i < SEARCH_NUM; i++) {
+                count += g.find(data.get(r.nextInt(data.size())).getSubject(), Node.ANY, Node.ANY).toList().size();
+            }
+            long bySubject = System.currentTimeMillis() - start;
+            start = System.currentTimeMillis();
+            for (int i = 0; i < 10; i++) {
+                count += g.find(Node.ANY, type, clazz).toList().size();
+            }
+            long byType = System.currentTimeMillis() - start;
+            start = System.currentTimeMillis();
+            for (int i = 0; i < 3; i++) {
+                count += g.find(Node.ANY, Node.ANY, Node.ANY).toList().size();
+            }
+            long all = System.currentTimeMillis() - start;
+            start = System.currentTimeMillis();
+            for (int i = 0; i < SEARCH_NUM; i++) {
+                if (g.contains(data.get(r.nextInt(data.size())))) count++;
+            }
+            long contains = System.currentTimeMillis() - start;
+            LOGGER.info(String.format("%s[x%d, %d triples] %s: %d bytes/triple, fill=%dms, " +
+                            "find(S,?,?)=%dms, find(?,rdf:type,owl:Class)=%dms, find(?,?,?)=%dms, contains=%dms (%d)",
+                    name, copies, g.size(), kind, memory / Math.max(1, g.size()), fill, bySubject, byType, all, contains, count));
+        }
+    }
+
+    /**
+     * Makes the list of triples from several copies of the graph.
+     * The builtin IRIs and the literals are kept, other IRIs get the suffix, the blank nodes are created anew.
+     *
+     * @param g      {@link Graph}
+     * @param copies int
+     * @return List of {@link Triple}s
+     */
+    static List<Triple> scale(Graph g, int copies) {
+        List<Triple> triples = g.find(Triple.ANY).toList();
+        if (copies == 1) return triples;
+        List<Triple> res = new ArrayList<>(triples.size() * copies);
+        for (int i = 0; i < copies; i++) {
+            Map<Node, Node> map = new HashMap<>();
+            String suffix = "-" + i;
+            for (Triple t : triples) {
+                res.add(Triple.create(copy(t.getSubject(), suffix, map), copy(t.getPredicate(), suffix, map), copy(t.getObject(), suffix, map)));
+            }
+        }
+        return res;
+    }
+
+    private static Node copy(Node n, String suffix, Map<Node, Node> map) {
+        if (n.isLiteral()) return n;
+        return map.computeIfAbsent(n, x -> {
+            if (x.isBlank()) return NodeFactory.createBlankNode();
+            String uri = x.getURI();
+            if (uri.startsWith(RDF.getURI()) || uri.startsWith(RDFS.getURI()) || uri.startsWith(OWL.getURI()) || uri.startsWith(XSD.getURI())) {
+                return x;
+            }
+            return NodeFactory.createURI(uri + suffix);
+        });
+    }
+
+    private static long usedMemory() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    enum Kind {
+        MEM(OntModelFactory::createDefaultGraph),
+        DICTIONARY(OntModelFactory::createDictionaryGraph),
+        ;
+        private final Supplier<Graph> factory;
+
+        Kind(Supplier<Graph> factory) {
+            this.factory = factory;
+        }
+    }
+}
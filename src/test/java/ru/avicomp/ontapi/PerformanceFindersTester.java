@@ -0,0 +1,163 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+
+import ru.avicomp.ontapi.jena.impl.Entities;
+import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
+import ru.avicomp.ontapi.jena.impl.OntIndividualImpl;
+import ru.avicomp.ontapi.jena.impl.configuration.*;
+import ru.avicomp.ontapi.jena.utils.Iter;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+
+/**
+ * Compares the targeted individual finders with the old whole-graph scan ({@code ANY_SUBJECT_AND_OBJECT} with distinct)
+ * on a synthetic large ABox.
+ * For each way it prints the average time of listing all individuals
+ * and the number of bytes allocated by the thread during the listing,
+ * both for the bare finders (candidates only) and for the whole factories (candidates plus filters).
+ */
+public class PerformanceFindersTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceFindersTester.class);
+
+    private static final int num = 5;
+    private static final String NS = "http://x#";
+
+    private static final OntFinder WHOLE_GRAPH = eg -> Iter.asStream(eg.asGraph().find(Triple.ANY))
+            .flatMap(t -> Stream.of(t.getSubject(), t.getObject())).distinct();
+
+    public static void main(String... strings) {
+        int individuals = strings.length == 0 ? 200_000 : Integer.parseInt(strings[0]);
+        Graph graph = createABox(individuals);
+        LOGGER.info(String.format("ABox: %d named and %d anonymous individuals, %d triples", individuals, individuals, graph.size()));
+
+        Configurable.Mode mode = Configurable.Mode.STRICT;
+        OntObjectFactory old = new MultiOntObjectFactory(WHOLE_GRAPH, null, Entities.INDIVIDUAL.get(mode),
+                OntIndividualImpl.anonymousIndividualFactory.get(mode));
+        OntObjectFactory targeted = OntIndividualImpl.abstractIndividualFactory.get(mode);
+        long expected = 2L * individuals;
+        Assert.assertEquals(expected, count(graph, old::find));
+        Assert.assertEquals(expected, count(graph, targeted::find));
+
+        compare("finder", graph, WHOLE_GRAPH::find, OntIndividualImpl.FINDER::find);
+        compare("factory", graph, old::find, targeted::find);
+    }
+
+    private static void compare(String name, Graph graph, Function<EnhGraph, Stream<?>> old, Function<EnhGraph, Stream<?>> targeted) {
+        // warm up:
+        measure(graph, old);
+        measure(graph, targeted);
+        long[] o = measure(graph, old);
+        long[] t = measure(graph, targeted);
+        long ro = retained(graph, old);
+        long rt = retained(graph, targeted);
+        LOGGER.info(String.format("%s: WHOLE GRAPH = %.2f ms, %.1f MB allocated, %.1f MB retained; " +
+                        "TARGETED = %.2f ms, %.1f MB allocated, %.1f MB retained; " +
+                        "removed: time = %.1f%%, allocated = %.1f%%",
+                name, o[0] / 1e6, o[1] / 1e6, ro / 1e6, t[0] / 1e6, t[1] / 1e6, rt / 1e6,
+                100. * (o[0] - t[0]) / o[0], 100. * (o[1] - t[1]) / o[1]));
+    }
+
+    /**
+     * Measures the heap used in the middle of the stream processing relative to the heap used before the processing.
+     *
+     * @param graph {@link Graph}
+     * @param find  {@link Function} to list objects
+     * @return long, bytes
+     */
+    private static long retained(Graph graph, Function<EnhGraph, Stream<?>> find) {
+        EnhGraph eg = new OntGraphModelImpl(graph, OntModelConfig.getPersonality());
+        long before = usedMemory();
+        long[] res = new long[1];
+        long[] index = new long[1];
+        find.apply(eg).forEach(x -> {
+            if (index[0]++ == 300_000) res[0] = usedMemory() - before;
+        });
+        return res[0];
+    }
+
+    private static long usedMemory() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    /**
+     * Creates an ABox where each named individual has a class assertion, a data property assertion
+     * and an object property assertion with an anonymous individual, which, in turn, has its own assertions.
+     *
+     * @param individuals int, the number of individuals of each kind
+     * @return {@link Graph}
+     */
+    private static Graph createABox(int individuals) {
+        Graph g = Factory.createGraphMem();
+        Node clazz = NodeFactory.createURI(NS + "C");
+        Node op = NodeFactory.createURI(NS + "p");
+        Node dp = NodeFactory.createURI(NS + "d");
+        Node type = RDF.type.asNode();
+        g.add(Triple.create(NodeFactory.createURI("http://x"), type, OWL.Ontology.asNode()));
+        g.add(Triple.create(clazz, type, OWL.Class.asNode()));
+        g.add(Triple.create(op, type, OWL.ObjectProperty.asNode()));
+        g.add(Triple.create(dp, type, OWL.DatatypeProperty.asNode()));
+        for (int i = 0; i < individuals; i++) {
+            Node named = NodeFactory.createURI(NS + "i" + i);
+            Node anon = NodeFactory.createBlankNode();
+            g.add(Triple.create(named, type, OWL.NamedIndividual.asNode()));
+            g.add(Triple.create(named, type, clazz));
+            g.add(Triple.create(named, dp, NodeFactory.createLiteral("v" + i)));
+            g.add(Triple.create(named, op, anon));
+            g.add(Triple.create(anon, dp, NodeFactory.createLiteral("a" + i)));
+            g.add(Triple.create(anon, op, NodeFactory.createURI(NS + "i" + (i + 1) % individuals)));
+        }
+        return g;
+    }
+
+    private static long count(Graph graph, Function<EnhGraph, Stream<?>> find) {
+        EnhGraph eg = new OntGraphModelImpl(graph, OntModelConfig.getPersonality());
+        return find.apply(eg).count();
+    }
+
+    /**
+     * @param graph {@link Graph}
+     * @param find  {@link Function} to list objects
+     * @return array of two longs: the average time and the average allocated memory of an iteration in bytes
+     */
+    private static long[] measure(Graph graph, Function<EnhGraph, Stream<?>> find) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        long time = 0;
+        long bytes = 0;
+        for (int i = 0; i < num; i++) {
+            long b = bean.getThreadAllocatedBytes(id);
+            long s = System.nanoTime();
+            count(graph, find);
+            time += System.nanoTime() - s;
+            bytes += bean.getThreadAllocatedBytes(id) - b;
+        }
+        return new long[]{time / num, bytes / num};
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+import ru.avicomp.ontapi.internal.ReadHelper;
+import ru.avicomp.ontapi.jena.impl.OntKind;
+import ru.avicomp.ontapi.jena.impl.OntObjectImpl;
+import ru.avicomp.ontapi.jena.model.OntCE;
+import ru.avicomp.ontapi.jena.model.OntClass;
+import ru.avicomp.ontapi.jena.model.OntObject;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Measures the class expression translation throughput ({@link ReadHelper#getClassExpression(OntCE, OWLDataFactory)})
+ * and the cost of the view dispatching: the reflective interfaces scan with the chain of class comparisons (the old way)
+ * against the switch over the precomputed {@link OntKind} tag.
+ */
+public class PerformanceKindDispatchTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceKindDispatchTester.class);
+
+    private static final int num = 200;
+
+    private static final List<Class<? extends OntObject>> CHAIN = Arrays.stream(OntKind.values())
+            .map(OntKind::getView).filter(c -> c != null && c != OntClass.class && OntCE.class.isAssignableFrom(c)).collect(Collectors.toList());
+
+    public static void main(String... strings) throws Exception {
+        test("goodrelations.rdf");
+        test("pizza.ttl");
+    }
+
+    private static void test(String file) throws Exception {
+        OntologyModel o = OntManagers.createONT().loadOntologyFromOntologyDocument(IRI.create(ReadWriteUtils.getResourceURI(file)));
+        OWLDataFactory df = o.getOWLOntologyManager().getOWLDataFactory();
+        List<OntObjectImpl> ces = o.asGraphModel().ontObjects(OntCE.class).filter(OntObject::isAnon)
+                .map(OntObjectImpl.class::cast).collect(Collectors.toList());
+        long expected = ces.stream().mapToLong(PerformanceKindDispatchTester::reflective).sum();
+        if (expected != ces.stream().mapToLong(PerformanceKindDispatchTester::tag).sum()) {
+            throw new AssertionError("Wrong dispatching");
+        }
+        // warm up:
+        measure(() -> ces.forEach(PerformanceKindDispatchTester::reflective));
+        measure(() -> ces.forEach(PerformanceKindDispatchTester::tag));
+        measure(() -> ces.forEach(ce -> ReadHelper.getClassExpression((OntCE) ce, df)));
+        double old = measure(() -> ces.forEach(PerformanceKindDispatchTester::reflective));
+        double tag = measure(() -> ces.forEach(PerformanceKindDispatchTester::tag));
+        double translation = measure(() -> ces.forEach(ce -> ReadHelper.getClassExpression((OntCE) ce, df)));
+        LOGGER.info(String.format("%s: %d class expressions; dispatch per CE: REFLECTIVE = %.1f ns, TAG = %.1f ns; " +
+                        "translation throughput = %.0f CE/s",
+                file, ces.size(), old / ces.size(), tag / ces.size(), ces.size() * 1e9 / translation));
+    }
+
+    private static int reflective(OntObjectImpl ce) {
+        Class<?> view = Arrays.stream(ce.getClass().getInterfaces()).filter(OntObject.class::isAssignableFrom).findFirst().orElse(null);
+        for (int i = 0; i < CHAIN.size(); i++) {
+            if (CHAIN.get(i).equals(view)) return i;
+        }
+        return -1;
+    }
+
+    private static int tag(OntObjectImpl ce) {
+        // the class expression kinds go in a row:
+        return ce.getKind().ordinal() - OntKind.OBJECT_SOME_VALUES_FROM.ordinal();
+    }
+
+    /**
+     * @param tester {@link PerformancePizzaTester.Tester}
+     * @return average time of an iteration in nanoseconds
+     */
+    private static double measure(PerformancePizzaTester.Tester tester) {
+        long start = System.nanoTime();
+        for (int i = 0; i < num; i++) {
+            tester.test();
+        }
+        return (System.nanoTime() - start) / (double) num;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.log4j.Logger;
+
+import ru.avicomp.ontapi.jena.MappedGraph;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Compares the persistent {@link MappedGraph} with the {@link org.apache.jena.mem.GraphMem}:
+ * the time of the import, of the reopening and of the searches (by subject and the {@code contains} checks).
+ * The data is the <a href='file:/test/resources/pizza.ttl'>pizza</a> scaled up synthetically,
+ * see {@link PerformanceDictionaryGraphTester}.
+ */
+public class PerformanceMappedGraphTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceMappedGraphTester.class);
+    private static final int SEARCH_NUM = 100_000;
+
+    public static void main(String... strings) throws Exception {
+        Graph pizza = ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph();
+        for (int copies : new int[]{10, 100, 1000}) {
+            test(PerformanceDictionaryGraphTester.scale(pizza, copies));
+        }
+    }
+
+    private static void test(List<Triple> data) throws Exception {
+        Path dir = Files.createTempDirectory("ont-api-mapped");
+        try {
+            long start = System.currentTimeMillis();
+            Graph mem = OntModelFactory.createDefaultGraph();
+            data.forEach(mem::add);
+            long memFill = System.currentTimeMillis() - start;
+
+            start = System.currentTimeMillis();
+            MappedGraph store = MappedGraph.open(dir);
+            data.forEach(store::add);
+            store.close();
+            long storeFill = System.currentTimeMillis() - start;
+
+            start = System.currentTimeMillis();
+            store = MappedGraph.open(dir);
+            long reopen = System.currentTimeMillis() - start;
+
+            LOGGER.info(String.format("%d triples: fill GraphMem=%dms, fill+close MappedGraph=%dms, reopen=%dms, runs=%d",
+                    store.size(), memFill, storeFill, reopen, store.runsCount()));
+            search("GraphMem", mem, data);
+            search("MappedGraph", store, data);
+            store.close();
+        } finally {
+            List<Path> files;
+            try (Stream<Path> s = Files.walk(dir)) {
+                files = s.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            }
+            for (Path f : files) {
+                Files.deleteIfExists(f);
+            }
+        }
+    }
+
+    private static void search(String name, Graph g, List<Triple> data) {
+        Random r = new Random(42);
+        long count = 0;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < SEARCH_NUM; i++) {
+            count += g.find(data.get(r.nextInt(data.size())).getSubject(), Node.ANY, Node.ANY).toList().size();
+        }
+        long bySubject = System.currentTimeMillis() - start;
+        start = System.currentTimeMillis();
+        for (int i = 0; i < SEARCH_NUM; i++) {
+            if (g.contains(data.get(r.nextInt(data.size())))) count++;
+        }
+        long contains = System.currentTimeMillis() - start;
+        LOGGER.info(String.format("%s: find(S,?,?)=%dms, contains=%dms (%d)", name, bySubject, contains, count));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.jena.graph.Graph;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+
+import ru.avicomp.ontapi.internal.ConfigProvider;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.model.OntCE;
+import ru.avicomp.ontapi.jena.model.OntClass;
+import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.jena.model.OntNOP;
+import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.transforms.GraphTransformers;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Measures the cold reading of all axioms of an ontology with nested class expressions:
+ * the time and the memory allocated by the reading thread per one load.
+ * Cases: <a href='file:/test/resources/pizza.ttl'>pizza</a>
+ * and a synthetic ontology, where the nested {@code owl:unionOf} and {@code owl:someValuesFrom} expressions
+ * are shared by many axioms.
+ * Note: the allocation is taken from {@link com.sun.management.ThreadMXBean}, so it requires the HotSpot JVM.
+ */
+public class PerformanceNestedExpressionsTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceNestedExpressionsTester.class);
+
+    private static final int num = 200;
+    private static final int unionClassesCount = 2_000;
+    private static final int unionSharedCount = 50;
+    private static final int unionSize = 10;
+
+    public static void main(String... strings) {
+        test("pizza.ttl", ReadWriteUtils.load(ReadWriteUtils.getResourceURI("pizza.ttl"), OntFormat.TURTLE).getGraph(), num);
+        test("unions", createUnionsGraph(unionClassesCount, unionSharedCount, unionSize), num / 2);
+    }
+
+    private static void test(String name, Graph source, int num) {
+        // the plain graph: each model registers its listener on a new union graph, so the models are not retained
+        Graph graph = Graphs.getBase(GraphTransformers.convert(source));
+        long count = new InternalModel(graph, ConfigProvider.DEFAULT).axioms().count();
+        PerformancePizzaTester.Tester tester = () -> Assert.assertEquals(count,
+                new InternalModel(graph, ConfigProvider.DEFAULT).axioms().count());
+        Level level = Logger.getRootLogger().getLevel();
+        float time;
+        long allocated;
+        try {
+            Logger.getRootLogger().setLevel(Level.OFF);
+            PerformancePizzaTester.doTest(num / 2, tester, "WARM-UP", false);
+            long before = allocatedBytes();
+            time = PerformancePizzaTester.doTest(num, tester, name, false);
+            allocated = (allocatedBytes() - before) / num;
+        } finally {
+            Logger.getRootLogger().setLevel(level);
+        }
+        LOGGER.info(String.format("%s: %d axioms, time = %.2f ms, allocated = %d KB per load", name, count, time, allocated / 1024));
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Creates an ontology, where each class is a sub-class of a restriction and is equivalent to a union,
+     * both refer to one of the shared unions of the named classes.
+     *
+     * @param classes int, the number of the classes
+     * @param shared  int, the number of the shared unions
+     * @param size    int, the size of each union
+     * @return {@link Graph}
+     */
+    public static Graph createUnionsGraph(int classes, int shared, int size) {
+        OntGraphModel m = OntModelFactory.createModel();
+        m.setID("http://nested.unions");
+        String ns = "http://nested.unions#";
+        OntNOP p = m.createOntEntity(OntNOP.class, ns + "p");
+        List<OntCE> unions = new ArrayList<>();
+        for (int i = 0; i < shared; i++) {
+            List<OntCE> members = new ArrayList<>();
+            for (int j = 0; j < size; j++) {
+                members.add(m.createOntEntity(OntClass.class, ns + "U" + i + "_" + j));
+            }
+            unions.add(m.createUnionOf(members));
+        }
+        for (int i = 0; i < classes; i++) {
+            OntClass c = m.createOntEntity(OntClass.class, ns + "C" + i);
+            OntCE u = unions.get(i % shared);
+            c.addSubClassOf(m.createObjectSomeValuesFrom(p, u));
+            c.addEquivalentClass(m.createUnionOf(Arrays.asList(u, m.createObjectSomeValuesFrom(p, unions.get((i + 1) % shared)))));
+        }
+        return m.getGraph();
+    }
+}
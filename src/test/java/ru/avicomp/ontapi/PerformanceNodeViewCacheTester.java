@@ -0,0 +1,147 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.rdf.model.impl.ResourceImpl;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.semanticweb.owlapi.model.IRI;
+
+import ru.avicomp.ontapi.internal.ConfigProvider;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.jena.impl.configuration.NodeViewCache;
+import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
+import ru.avicomp.ontapi.jena.impl.configuration.OntModelConfig;
+import ru.avicomp.ontapi.jena.impl.configuration.OntObjectFactory;
+import ru.avicomp.ontapi.jena.model.*;
+import ru.avicomp.ontapi.jena.utils.Iter;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Measures how much of the {@code canAs} time is removed by the {@link NodeViewCache}:
+ * - reads all axioms from a fresh {@link InternalModel} with the memo table and with the table turned off,
+ * the result is an average time of a full axioms load;
+ * - classifies all nodes of the graph against the common views ({@code canAs}) again and again through the same model,
+ * the result is an average time of a single pass.
+ */
+public class PerformanceNodeViewCacheTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceNodeViewCacheTester.class);
+
+    private static final int num = 50;
+
+    private static final NodeViewCache NO_CACHE = new NodeViewCache(Factory.createGraphMem()) {
+        @Override
+        public int get(OntObjectFactory factory, Node node, EnhGraph eg, ToIntBiFunction<Node, EnhGraph> classifier) {
+            return classifier.applyAsInt(node, eg);
+        }
+    };
+
+    private static final List<Class<? extends OntObject>> VIEWS = Arrays.asList(OntClass.class, OntCE.class,
+            OntOPE.class, OntNDP.class, OntNAP.class, OntPE.class, OntIndividual.class, OntDT.class, OntDR.class,
+            OntEntity.class, OntDisjoint.class, OntSWRL.Atom.class);
+
+    public static void main(String... strings) throws Exception {
+        test("goodrelations.rdf");
+        test("pizza.ttl");
+    }
+
+    private static void test(String file) throws Exception {
+        OntologyModel o = OntManagers.createONT().loadOntologyFromOntologyDocument(IRI.create(ReadWriteUtils.getResourceURI(file)));
+        Graph graph = o.asGraphModel().getBaseGraph();
+        long count = o.axioms().count();
+        NodeViewCache[] last = new NodeViewCache[1];
+        PerformancePizzaTester.Tester withCache = () -> {
+            InternalModel m = new InternalModel(graph, ConfigProvider.DEFAULT);
+            Assert.assertEquals(count, m.axioms().count());
+            last[0] = m.getNodeViewCache();
+        };
+        PerformancePizzaTester.Tester withoutCache = () -> {
+            InternalModel m = new InternalModel(graph, ConfigProvider.DEFAULT) {
+                @Override
+                public NodeViewCache getNodeViewCache() {
+                    return NO_CACHE;
+                }
+            };
+            Assert.assertEquals(count, m.axioms().count());
+        };
+        Set<Node> nodes = Iter.asStream(graph.find(Node.ANY, Node.ANY, Node.ANY))
+                .flatMap(t -> Stream.of(t.getSubject(), t.getObject()))
+                .filter(n -> !n.isLiteral()).collect(Collectors.toSet());
+        OntGraphModelImpl cached = new OntGraphModelImpl(graph, OntModelConfig.getPersonality());
+        OntGraphModelImpl uncached = new OntGraphModelImpl(graph, OntModelConfig.getPersonality()) {
+            @Override
+            public NodeViewCache getNodeViewCache() {
+                return NO_CACHE;
+            }
+        };
+        long views = classify(cached, nodes);
+        PerformancePizzaTester.Tester withCachePass = () -> Assert.assertEquals(views, classify(cached, nodes));
+        PerformancePizzaTester.Tester withoutCachePass = () -> Assert.assertEquals(views, classify(uncached, nodes));
+        Level level = Logger.getRootLogger().getLevel();
+        double off, on, passOff, passOn;
+        try {
+            Logger.getRootLogger().setLevel(Level.OFF);
+            // warm up:
+            measure(num, withoutCache);
+            measure(num, withCache);
+            on = measure(num, withCache);
+            off = measure(num, withoutCache);
+            on = Math.min(on, measure(num, withCache));
+            off = Math.min(off, measure(num, withoutCache));
+            measure(num, withoutCachePass);
+            measure(num, withCachePass);
+            passOff = measure(num, withoutCachePass);
+            passOn = measure(num, withCachePass);
+        } finally {
+            Logger.getRootLogger().setLevel(level);
+        }
+        NodeViewCache cache = last[0];
+        LOGGER.info(String.format("%s: %d axioms, per load: NO CACHE = %.2f ms, CACHE = %.2f ms, removed = %.1f%%; " +
+                        "cache: size = %d, hits = %d, misses = %d, hit rate = %.1f%%",
+                file, count, off / 1_000_000, on / 1_000_000, 100 * (off - on) / off,
+                cache.size(), cache.hits(), cache.misses(), 100 * cache.hitRate()));
+        LOGGER.info(String.format("%s: %d nodes x %d views, per pass: NO CACHE = %.2f ms, CACHE = %.2f ms, removed = %.1f%%",
+                file, nodes.size(), VIEWS.size(), passOff / 1_000_000, passOn / 1_000_000, 100 * (passOff - passOn) / passOff));
+    }
+
+    private static long classify(OntGraphModelImpl m, Set<Node> nodes) {
+        return nodes.stream().mapToLong(n -> VIEWS.stream().filter(v -> new ResourceImpl(n, m).canAs(v)).count()).sum();
+    }
+
+    /**
+     * @param num    number of iterations
+     * @param tester {@link PerformancePizzaTester.Tester}
+     * @return average time of an iteration in nanoseconds
+     */
+    private static double measure(int num, PerformancePizzaTester.Tester tester) {
+        long start = System.nanoTime();
+        for (int i = 0; i < num; i++) {
+            tester.test();
+        }
+        return (System.nanoTime() - start) / (double) num;
+    }
+}
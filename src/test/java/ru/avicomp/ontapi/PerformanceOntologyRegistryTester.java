@@ -0,0 +1,74 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+
+import com.google.common.base.Stopwatch;
+
+/**
+ * Measures the ontology lookups of {@link OntologyManager} depending on the number of registered ontologies.
+ * The time per lookup should not grow with the number of ontologies
+ * (see {@link OntologyManagerImpl.OntologyCollection}).
+ */
+public class PerformanceOntologyRegistryTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceOntologyRegistryTester.class);
+    private static final String NS = "http://test.com/registry/";
+
+    public static void main(String... strings) {
+        // warm up:
+        test(1_000);
+        for (int n = 10; n <= 10_000; n *= 10) {
+            test(n);
+        }
+    }
+
+    private static void test(int count) {
+        OntologyManager m = OntManagers.createONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        List<OWLOntologyID> ids = new ArrayList<>();
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        for (int i = 0; i < count; i++) {
+            OWLOntologyID id = new OWLOntologyID(Optional.of(IRI.create(NS + i)), Optional.of(IRI.create(NS + i + "/1.0")));
+            m.createOntology(id);
+            ids.add(id);
+        }
+        long create = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+        stopwatch.reset().start();
+        for (OWLOntologyID id : ids) {
+            IRI iri = id.getOntologyIRI().orElseThrow(AssertionError::new);
+            IRI version = id.getVersionIRI().orElseThrow(AssertionError::new);
+            Assert.assertTrue(m.contains(id));
+            Assert.assertTrue(m.contains(iri));
+            Assert.assertTrue(m.containsVersion(version));
+            Assert.assertNotNull(m.getOntology(id));
+            Assert.assertNotNull(m.getOntology(iri));
+            Assert.assertNotNull(m.getImportedOntology(df.getOWLImportsDeclaration(iri)));
+            Assert.assertEquals(1, m.ontologyIDsByVersion(version).count());
+        }
+        long lookup = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+        LOGGER.info(String.format("Ontologies: %d, per creation: %.2f us, per lookup: %.2f us",
+                count, create / 1000d / count, lookup / 1000d / count / 7));
+    }
+}
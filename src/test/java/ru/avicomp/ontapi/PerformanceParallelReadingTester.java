@@ -0,0 +1,94 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package ru.avicomp.ontapi;
+
+import org.apache.jena.graph.Graph;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+
+import ru.avicomp.ontapi.config.OntLoaderConfiguration;
+import ru.avicomp.ontapi.internal.ConfigProvider;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.model.OntClass;
+import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.jena.model.OntNOP;
+
+/**
+ * Measures the speedup of the cold axioms reading
+ * with {@link OntLoaderConfiguration#getAxiomsReadingThreads()} equal to 4 and 8 against the reading in one thread
+ * (see {@link ru.avicomp.ontapi.internal.AxiomsCollector#collect(java.util.stream.Stream, int)}).
+ * The sources are synthetic ontologies (class hierarchies with restrictions, labels and individuals) of different sizes.
+ * Note: the real speedup is bounded by the number of available processors and by the largest axiom type in the graph.
+ */
+public class PerformanceParallelReadingTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceParallelReadingTester.class);
+
+    private static final int num = 5;
+
+    public static void main(String... strings) {
+        LOGGER.info("Available processors: " + Runtime.getRuntime().availableProcessors());
+        for (int classes : new int[]{50_000, 200_000}) {
+            test(createGraph(classes));
+        }
+    }
+
+    private static void test(Graph graph) {
+        long count = new InternalModel(graph, ConfigProvider.DEFAULT).axioms().count();
+        Level level = Logger.getRootLogger().getLevel();
+        float one, four, eight;
+        try {
+            Logger.getRootLogger().setLevel(Level.OFF);
+            // warm up:
+            PerformancePizzaTester.doTest(num, tester(graph, count, 1), "WARM-UP", false);
+            PerformancePizzaTester.doTest(num, tester(graph, count, 8), "WARM-UP", false);
+            one = PerformancePizzaTester.doTest(num, tester(graph, count, 1), "1 THREAD", false);
+            four = PerformancePizzaTester.doTest(num, tester(graph, count, 4), "4 THREADS", false);
+            eight = PerformancePizzaTester.doTest(num, tester(graph, count, 8), "8 THREADS", false);
+        } finally {
+            Logger.getRootLogger().setLevel(level);
+        }
+        LOGGER.info(String.format("%d triples, %d axioms: 1 thread = %s, 4 threads = %s (x%.2f), 8 threads = %s (x%.2f)",
+                graph.size(), count, one, four, one / four, eight, one / eight));
+    }
+
+    private static PerformancePizzaTester.Tester tester(Graph graph, long count, int threads) {
+        OntLoaderConfiguration conf = ConfigProvider.DEFAULT.loaderConfig().setAxiomsReadingThreads(threads);
+        ConfigProvider.Config config = new ConfigProvider.Dummy() {
+            @Override
+            public OntLoaderConfiguration loaderConfig() {
+                return conf;
+            }
+        };
+        return () -> Assert.assertEquals(count, new InternalModel(graph, config).axioms().count());
+    }
+
+    private static Graph createGraph(int classes) {
+        OntGraphModel m = OntModelFactory.createModel();
+        String ns = "http://ru.avicomp/parallel#";
+        m.setID("http://ru.avicomp/parallel");
+        OntNOP p = m.createOntEntity(OntNOP.class, ns + "p");
+        for (int i = 0; i < classes; i++) {
+            OntClass c = m.createOntEntity(OntClass.class, ns + "C" + i);
+            c.addSubClassOf(m.createOntEntity(OntClass.class, ns + "C" + (i / 2)));
+            c.addSubClassOf(m.createObjectSomeValuesFrom(p, m.createOntEntity(OntClass.class, ns + "C" + (i % 101))));
+            c.addLabel("Class #" + i, null);
+            c.createIndividual(ns + "I" + i);
+        }
+        return m.getBaseGraph();
+    }
+}
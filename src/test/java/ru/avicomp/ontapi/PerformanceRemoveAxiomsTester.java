@@ -0,0 +1,122 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.RDFS;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import com.google.common.base.Stopwatch;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Tests the performance of axioms removing
+ * (see {@link ru.avicomp.ontapi.internal.InternalModel#remove(OWLAxiom)}).
+ * Two cases: the <a href='file:/test/resources/pizza.ttl'>pizza</a> ontology, which is reloaded while the limit is not reached,
+ * and the large synthetic ontology with about 1M triples.
+ */
+public class PerformanceRemoveAxiomsTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceRemoveAxiomsTester.class);
+
+    private static final String fileName = "pizza.ttl";
+    private static final int toRemove = 10_000;
+    // each class produces three triples (declaration, sub-class-of, label):
+    private static final int largeClassesCount = 333_334;
+
+    public static void main(String... strings) {
+        OWLOntologyDocumentSource source = new IRIDocumentSource(IRI.create(ReadWriteUtils.getResourceURI(fileName)),
+                OntFormat.TURTLE.createOwlFormat(), null);
+        Level level = Logger.getRootLogger().getLevel();
+        long pizza, large;
+        try {
+            Logger.getRootLogger().setLevel(Level.OFF);
+            pizza = testPizza(source);
+            System.err.println("=============");
+            large = testLarge();
+        } finally {
+            Logger.getRootLogger().setLevel(level);
+        }
+        LOGGER.info("PIZZA (" + toRemove + " axioms) = " + pizza + " ms");
+        LOGGER.info("LARGE (" + toRemove + " axioms) = " + large + " ms");
+    }
+
+    private static long testPizza(OWLOntologyDocumentSource source) {
+        System.err.println("Test pizza");
+        Stopwatch stopwatch = Stopwatch.createUnstarted();
+        int removed = 0;
+        while (removed < toRemove) {
+            OntologyModel o = PerformancePizzaTester.loadONT(source);
+            List<OWLAxiom> axioms = o.axioms().limit(toRemove - removed).collect(Collectors.toList());
+            stopwatch.start();
+            o.remove(axioms);
+            stopwatch.stop();
+            removed += axioms.size();
+            System.err.println("[PIZZA]Removed " + removed);
+        }
+        return stopwatch.elapsed(TimeUnit.MILLISECONDS);
+    }
+
+    private static long testLarge() {
+        System.err.println("Test large");
+        Graph g = createLargeGraph(largeClassesCount);
+        LOGGER.info("Triples: " + g.size());
+        OntologyModel o = OntManagers.createONT().addOntology(g);
+        // warm up the cache:
+        long count = o.getAxiomCount();
+        List<OWLAxiom> axioms = o.axioms().limit(toRemove).collect(Collectors.toList());
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        o.remove(axioms);
+        stopwatch.stop();
+        Assert.assertEquals(count - toRemove, o.getAxiomCount());
+        return stopwatch.elapsed(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a simple class hierarchy.
+     *
+     * @param classes int, number of classes
+     * @return {@link Graph}
+     */
+    public static Graph createLargeGraph(int classes) {
+        String ns = "http://ru.avicomp/large#";
+        Graph res = OntModelFactory.createDefaultGraph();
+        res.add(Triple.create(NodeFactory.createURI("http://ru.avicomp/large"), RDF.type.asNode(), OWL.Ontology.asNode()));
+        Node root = NodeFactory.createURI(ns + "C0");
+        res.add(Triple.create(root, RDF.type.asNode(), OWL.Class.asNode()));
+        for (int i = 1; i < classes; i++) {
+            Node c = NodeFactory.createURI(ns + "C" + i);
+            res.add(Triple.create(c, RDF.type.asNode(), OWL.Class.asNode()));
+            res.add(Triple.create(c, RDFS.subClassOf.asNode(), NodeFactory.createURI(ns + "C" + (i / 2))));
+            res.add(Triple.create(c, RDFS.label.asNode(), NodeFactory.createLiteral("Class #" + i)));
+        }
+        return res;
+    }
+}
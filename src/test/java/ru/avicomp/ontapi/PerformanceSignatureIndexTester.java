@@ -0,0 +1,85 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.semanticweb.owlapi.model.*;
+
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Compares the entity-scoped axiom queries ({@link OWLOntology#axioms(OWLClass)}, {@link OWLOntology#referencingAxioms(OWLPrimitive)}),
+ * which are answered by the {@link ru.avicomp.ontapi.internal.SignatureIndex},
+ * with the former way: scanning over all axioms with the structure walking through {@link OwlObjects}.
+ * The result is an average time per entity.
+ */
+public class PerformanceSignatureIndexTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceSignatureIndexTester.class);
+
+    private static final int num = 50;
+
+    public static void main(String... strings) throws Exception {
+        test("pizza.ttl");
+        test("goodrelations.rdf");
+    }
+
+    private static void test(String file) throws Exception {
+        OntologyModel o = OntManagers.createONT().loadOntologyFromOntologyDocument(IRI.create(ReadWriteUtils.getResourceURI(file)));
+        List<OWLClass> classes = o.classesInSignature().collect(Collectors.toList());
+        List<OWLEntity> entities = o.signature().collect(Collectors.toList());
+        long count = classes.stream().mapToLong(c -> o.axioms(c).count()).sum()
+                + entities.stream().mapToLong(e -> o.referencingAxioms(e).count()).sum();
+        PerformancePizzaTester.Tester scanTester = () -> Assert.assertEquals(count,
+                classes.stream().mapToLong(c -> o.axioms().filter(OWLClassAxiom.class::isInstance).filter(a -> OwlObjects.objects(OWLClass.class, a).anyMatch(c::equals)).count()).sum()
+                        + entities.stream().mapToLong(e -> o.axioms().filter(a -> OwlObjects.objects(OWLPrimitive.class, a).anyMatch(e::equals)
+                        || OwlObjects.objects(OWLDatatype.class, a).anyMatch(e::equals)).count()).sum());
+        PerformancePizzaTester.Tester indexTester = () -> Assert.assertEquals(count,
+                classes.stream().mapToLong(c -> o.axioms(c).count()).sum()
+                        + entities.stream().mapToLong(e -> o.referencingAxioms(e).count()).sum());
+        Level level = Logger.getRootLogger().getLevel();
+        double scan, index;
+        try {
+            Logger.getRootLogger().setLevel(Level.OFF);
+            // warm up:
+            measure(num, scanTester);
+            measure(num * 20, indexTester);
+            scan = measure(num, scanTester);
+            index = measure(num * 20, indexTester);
+        } finally {
+            Logger.getRootLogger().setLevel(level);
+        }
+        int size = classes.size() + entities.size();
+        LOGGER.info(String.format("%s: %d queries, per query: SCAN = %.2f us, INDEX = %.2f us, SCAN/INDEX = %.1f",
+                file, size, scan / 1000 / size, index / 1000 / size, scan / index));
+    }
+
+    /**
+     * @param num    number of iterations
+     * @param tester {@link PerformancePizzaTester.Tester}
+     * @return average time of an iteration in nanoseconds
+     */
+    private static double measure(int num, PerformancePizzaTester.Tester tester) {
+        long start = System.nanoTime();
+        for (int i = 0; i < num; i++) {
+            tester.test();
+        }
+        return (System.nanoTime() - start) / (double) num;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.io.*;
+
+import org.apache.log4j.Logger;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Compares the ways to ship a manager: the java serialization and the {@link OntSnapshot} (with and without caches).
+ * For each way it measures the size, the time of writing, the time of reading
+ * and the time of the first axioms query after reading (i.e. how cold is the restored manager).
+ */
+public class PerformanceSnapshotTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceSnapshotTester.class);
+
+    public static void main(String... strings) throws Exception {
+        OntologyManager m = OntManagers.createONT();
+        m.loadOntology(IRI.create(ReadWriteUtils.getResourceURI("pizza.ttl")));
+        m.loadOntology(IRI.create(ReadWriteUtils.getResourceURI("goodrelations.rdf")));
+        m.loadOntology(IRI.create(ReadWriteUtils.getResourceURI("foaf.rdf")));
+        m.ontologies().forEach(o -> o.axioms().count());
+        // warm up:
+        for (int i = 0; i < 5; i++) {
+            test(m, Way.SERIALIZATION);
+            test(m, Way.SNAPSHOT);
+            test(m, Way.SNAPSHOT_WITH_CACHES);
+        }
+        for (Way way : Way.values()) {
+            LOGGER.info(way + ": " + test(m, way));
+        }
+    }
+
+    private static String test(OntologyManager m, Way way) throws Exception {
+        long start = System.currentTimeMillis();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (way == Way.SERIALIZATION) {
+            ObjectOutputStream stream = new ObjectOutputStream(out);
+            stream.writeObject(m);
+            stream.flush();
+        } else {
+            m.saveSnapshot(out, way == Way.SNAPSHOT_WITH_CACHES);
+        }
+        long write = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+        OntologyManager res = way == Way.SERIALIZATION ? (OntologyManager) new ObjectInputStream(in).readObject() : OntManagers.restoreSnapshot(in);
+        long read = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        long axioms = res.ontologies().mapToLong(OWLOntology::getAxiomCount).sum();
+        long query = System.currentTimeMillis() - start;
+        return String.format("size=%d bytes, write=%dms, read=%dms, first query=%dms (%d axioms)", out.size(), write, read, query, axioms);
+    }
+
+    enum Way {
+        SERIALIZATION,
+        SNAPSHOT,
+        SNAPSHOT_WITH_CACHES,
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import java.util.*;
+import java.util.function.Function;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.log4j.Logger;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import ru.avicomp.ontapi.internal.AxiomParserProvider;
+import ru.avicomp.ontapi.internal.ConfigProvider;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.internal.InternalObject;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * Measures the memory retained by the axiom triple stores ({@link InternalModel.OwlObjectTriplesMap}),
+ * which keep the triples of each axiom and the axioms of each triple.
+ * Two layouts are compared on the same data: the former one, where each value is a {@link HashSet},
+ * and the current one with the compact sets ({@link ru.avicomp.ontapi.internal.CompactSets}).
+ * The result is bytes per axiom, it includes the axioms and triples themselves,
+ * so the difference between the layouts is the cost of the sets only.
+ * Cases: <a href='file:/test/resources/pizza.ttl'>pizza</a>, goodrelations and the large synthetic ontology.
+ * Note: it is better to run with a fixed heap (e.g. {@code -Xms2g -Xmx2g}).
+ */
+public class PerformanceTriplesMemoryTester {
+    private static final Logger LOGGER = Logger.getLogger(PerformanceTriplesMemoryTester.class);
+
+    private static final int largeClassesCount = 100_000;
+
+    public static void main(String... strings) throws Exception {
+        test("pizza.ttl", ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph());
+        test("goodrelations.rdf", ReadWriteUtils.load(ReadWriteUtils.getResourceURI("goodrelations.rdf"), OntFormat.RDF_XML).getGraph());
+        test("large", PerformanceRemoveAxiomsTester.createLargeGraph(largeClassesCount));
+    }
+
+    private static void test(String name, Graph graph) throws Exception {
+        InternalModel model = new InternalModel(graph, ConfigProvider.DEFAULT);
+        int count = read(model).values().stream().mapToInt(Set::size).sum();
+        long hashed = measure(model, PerformanceTriplesMemoryTester::createHashStores);
+        long compact = measure(model, m -> createCompactStores(model, m));
+        LOGGER.info(String.format("%s: %d axioms, per axiom: HASH-SETS = %d bytes, COMPACT = %d bytes",
+                name, count, hashed / count, compact / count));
+    }
+
+    /**
+     * Reads the axioms and builds the stores, returns the retained memory.
+     *
+     * @param model   {@link InternalModel}
+     * @param factory {@link Function} to build the stores
+     * @return long, bytes
+     * @throws InterruptedException if the thread is interrupted
+     */
+    private static long measure(InternalModel model, Function<Map<AxiomType<?>, Set<InternalObject<OWLAxiom>>>, Object> factory) throws InterruptedException {
+        model.clearCache();
+        long before = usedMemory();
+        Object res = factory.apply(read(model));
+        model.clearCache();
+        long after = usedMemory();
+        Objects.requireNonNull(res);
+        return after - before;
+    }
+
+    private static Map<AxiomType<?>, Set<InternalObject<OWLAxiom>>> read(InternalModel model) {
+        Map<AxiomType<?>, Set<InternalObject<OWLAxiom>>> res = new HashMap<>();
+        AxiomType.AXIOM_TYPES.forEach(type -> res.put(type, AxiomParserProvider.get(type).read(model)));
+        return res;
+    }
+
+    /**
+     * Builds the stores in the former way: {@code HashMap<OWLAxiom, HashSet<Triple>>} and {@code HashMap<Triple, HashSet<OWLAxiom>>}.
+     *
+     * @param axioms Map
+     * @return List of maps
+     */
+    private static Object createHashStores(Map<AxiomType<?>, Set<InternalObject<OWLAxiom>>> axioms) {
+        List<Object> res = new ArrayList<>();
+        axioms.values().forEach(set -> {
+            Map<OWLAxiom, Set<Triple>> cache = new HashMap<>();
+            Map<Triple, Set<OWLAxiom>> index = new HashMap<>();
+            set.forEach(o -> o.triples().forEach(t -> {
+                cache.computeIfAbsent(o.getObject(), x -> new HashSet<>()).add(t);
+                index.computeIfAbsent(t, x -> new HashSet<>()).add(o.getObject());
+            }));
+            res.add(cache);
+            res.add(index);
+        });
+        return res;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object createCompactStores(InternalModel model, Map<AxiomType<?>, Set<InternalObject<OWLAxiom>>> axioms) {
+        List<Object> res = new ArrayList<>();
+        axioms.forEach((type, set) -> res.add(model.new OwlObjectTriplesMap<>((Class<OWLAxiom>) type.getActualClass(), set)));
+        return res;
+    }
+
+    private static long usedMemory() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
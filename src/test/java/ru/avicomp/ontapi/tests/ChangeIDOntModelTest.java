@@ -18,6 +18,9 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.util.ResourceUtils;
 import org.apache.jena.vocabulary.RDFS;
@@ -28,6 +31,9 @@ import org.semanticweb.owlapi.model.*;
 import ru.avicomp.ontapi.OntManagers;
 import ru.avicomp.ontapi.OntologyManager;
 import ru.avicomp.ontapi.OntologyModel;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.internal.InternalModelHolder;
+import ru.avicomp.ontapi.jena.OntModelFactory;
 import ru.avicomp.ontapi.jena.model.OntClass;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
 import ru.avicomp.ontapi.jena.model.OntID;
@@ -214,6 +220,84 @@ public class ChangeIDOntModelTest extends OntModelTestBase {
         }
     }
 
+    @Test
+    public void testManagerLookups() throws Exception {
+        OntologyManager manager = OntManagers.createONT();
+        IRI a = IRI.create("http://test.test/a");
+        IRI b = IRI.create("http://test.test/b");
+        IRI v = IRI.create("http://test.test/b/version");
+        OntologyModel o1 = manager.createOntology(a);
+        OntologyModel o2 = manager.createOntology(new OWLOntologyID(Optional.of(b), Optional.of(v)));
+        OntologyModel o3 = manager.createOntology();
+        Assert.assertSame(o1, manager.getOntology(a));
+        Assert.assertSame(o2, manager.getOntology(v));
+        Assert.assertSame(o2, manager.getOntology(o2.getOntologyID()));
+        Assert.assertSame(o3, manager.getOntology(o3.getOntologyID()));
+        Assert.assertEquals(Collections.singletonList(o2.getOntologyID()), manager.ontologyIDsByVersion(v).collect(Collectors.toList()));
+        Assert.assertSame(o1, manager.getOntology(manager.getOntologyDocumentIRI(o1)));
+
+        LOGGER.info("Change ids through owl-api.");
+        IRI c = IRI.create("http://test.test/c");
+        manager.applyChange(new SetOntologyID(o1, new OWLOntologyID(Optional.of(c), Optional.of(v))));
+        Assert.assertFalse(manager.contains(a));
+        Assert.assertSame(o1, manager.getOntology(c));
+        Assert.assertEquals(2, manager.ontologyIDsByVersion(v).count());
+        Assert.assertTrue(manager.containsVersion(v));
+
+        LOGGER.info("Change ids through jena.");
+        o2.asGraphModel().getID().setVersionIRI(null);
+        o3.asGraphModel().setID(a.getIRIString());
+        Assert.assertEquals(Collections.singletonList(o1.getOntologyID()), manager.ontologyIDsByVersion(v).collect(Collectors.toList()));
+        Assert.assertSame(o2, manager.getOntology(b));
+        Assert.assertSame(o3, manager.getOntology(a));
+        Assert.assertTrue(manager.contains(new OWLOntologyID(Optional.of(a), Optional.empty())));
+
+        LOGGER.info("Change id through the base graph.");
+        Graph g = o3.asGraphModel().getBaseGraph();
+        g.delete(Triple.create(NodeFactory.createURI(a.getIRIString()), RDF.type.asNode(), OWL.Ontology.asNode()));
+        g.add(Triple.create(NodeFactory.createURI(b.getIRIString() + "/x"), RDF.type.asNode(), OWL.Ontology.asNode()));
+        Assert.assertFalse(manager.contains(a));
+        Assert.assertSame(o3, manager.getOntology(IRI.create(b + "/x")));
+        Assert.assertTrue(manager.contains(o3));
+        Assert.assertTrue(manager.contains(OntManagers.createONT().createOntology(IRI.create(b + "/x"))));
+        Assert.assertFalse(manager.contains(OntManagers.createONT().createOntology(a)));
+
+        manager.removeOntology(o1);
+        Assert.assertFalse(manager.containsVersion(v));
+        Assert.assertNull(manager.getOntology(c));
+        Assert.assertEquals(2, manager.ontologies().count());
+    }
+
+    @Test
+    public void testManagerLookupsAfterBaseReplacing() throws Exception {
+        for (OntologyManager manager : Arrays.asList(OntManagers.createONT(), OntManagers.createConcurrentONT())) {
+            IRI a = IRI.create("http://test.test/a");
+            IRI b = IRI.create("http://test.test/b");
+            IRI c = IRI.create("http://test.test/c");
+            OntologyModel o = manager.createOntology(a);
+            Assert.assertSame(o, manager.getOntology(a));
+
+            LOGGER.info("Replace the base model (" + manager.getClass().getSimpleName() + ").");
+            InternalModelHolder holder = (InternalModelHolder) o;
+            InternalModel prev = holder.getBase();
+            Graph g = OntModelFactory.createDefaultGraph();
+            g.add(Triple.create(NodeFactory.createURI(b.getIRIString()), RDF.type.asNode(), OWL.Ontology.asNode()));
+            holder.setBase(new InternalModel(g, prev.getConfig()));
+            Assert.assertFalse(manager.contains(a));
+            Assert.assertSame(o, manager.getOntology(b));
+
+            LOGGER.info("Change id through the new base graph.");
+            g.delete(Triple.create(NodeFactory.createURI(b.getIRIString()), RDF.type.asNode(), OWL.Ontology.asNode()));
+            g.add(Triple.create(NodeFactory.createURI(c.getIRIString()), RDF.type.asNode(), OWL.Ontology.asNode()));
+            Assert.assertFalse(manager.contains(b));
+            Assert.assertSame(o, manager.getOntology(c));
+
+            LOGGER.info("The old graph is not tracked anymore.");
+            prev.getBaseGraph().add(Triple.create(NodeFactory.createURI(a.getIRIString() + "/x"), RDF.type.asNode(), OWL.Ontology.asNode()));
+            Assert.assertSame(o, manager.getOntology(c));
+        }
+    }
+
     private static void testHasClass(OntologyModel owl, OntGraphModel jena, IRI classIRI) {
         OWLEntity entity = owl.axioms(AxiomType.DECLARATION).map(OWLDeclarationAxiom::getEntity).filter(AsOWLClass::isOWLClass).findFirst().orElse(null);
         Assert.assertNotNull("Can't find any owl-class", entity);
@@ -0,0 +1,75 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.avicomp.ontapi.internal.CompactSets;
+
+/**
+ * To test {@link CompactSets}: the compact sets must behave as ordinary sets.
+ */
+public class CompactSetsTest {
+
+    @Test
+    public void testAddRemove() {
+        Set<String> expected = new HashSet<>();
+        Set<String> actual = Collections.emptySet();
+        for (int i = 0; i < 100; i++) {
+            String s = "s" + i;
+            expected.add(s);
+            actual = CompactSets.add(actual, s);
+            Assert.assertSame(actual, CompactSets.add(actual, s));
+            Assert.assertEquals(expected, actual);
+            if (i < 32) {
+                Assert.assertTrue("Not compact: " + i, CompactSets.isCompact(actual));
+            }
+        }
+        Assert.assertFalse(CompactSets.isCompact(actual));
+        Set<String> copy = CompactSets.copy(actual);
+        Assert.assertTrue(CompactSets.isCompact(copy));
+        for (int i = 0; i < 100; i++) {
+            String s = "s" + i;
+            expected.remove(s);
+            copy = CompactSets.remove(copy, s);
+            Assert.assertEquals(expected, copy);
+            Assert.assertFalse(copy.contains(s));
+        }
+        Assert.assertTrue(copy.isEmpty());
+        Assert.assertEquals(100, actual.size());
+    }
+
+    @Test
+    public void testHashCollisions() {
+        // "Aa" and "BB" have the same hash code:
+        List<String> list = IntStream.range(0, 20).mapToObj(i -> (i % 2 == 0 ? "Aa" : "BB") + i / 2).collect(Collectors.toList());
+        list.addAll(Arrays.asList("AaAa", "BBBB", "AaBB", "BBAa"));
+        Set<String> set = CompactSets.of(list);
+        Assert.assertEquals(new HashSet<>(list), set);
+        list.forEach(s -> Assert.assertTrue(s, set.contains(s)));
+        Assert.assertFalse(set.contains("AaAaAa"));
+        Assert.assertEquals(new HashSet<>(list).hashCode(), set.hashCode());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        CompactSets.of(Arrays.asList("a", "b", "c")).add("d");
+    }
+}
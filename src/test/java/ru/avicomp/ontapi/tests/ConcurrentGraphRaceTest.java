@@ -0,0 +1,244 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import ru.avicomp.ontapi.jena.ConcurrentGraph;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.UnionGraph;
+import ru.avicomp.ontapi.jena.impl.configuration.OntFinder;
+
+/**
+ * Test for {@link ConcurrentGraph} iterating racing:
+ * some threads add and remove pairs of triples in one write-lock section,
+ * while other threads iterate over the graph and check that each pair is seen in full.
+ */
+@RunWith(Parameterized.class)
+public class ConcurrentGraphRaceTest {
+    // constants for test tuning:
+    private static final long TIMEOUT = 5_000;
+    private static final PrintStream OUT = null;
+    private static final int WRITE_THREADS_NUM = 2;
+    private static final int READ_THREADS_NUM = 6;
+
+    private static final Node TYPE = RDF.Nodes.type;
+    private static final Node A = NodeFactory.createURI("http://ex#A");
+    private static final Node B = NodeFactory.createURI("http://ex#B");
+
+    private final ConcurrentGraph.Mode mode;
+
+    public ConcurrentGraphRaceTest(ConcurrentGraph.Mode mode) {
+        this.mode = mode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static ConcurrentGraph.Mode[] getData() {
+        // the direct mode does not protect the iteration:
+        return new ConcurrentGraph.Mode[]{ConcurrentGraph.Mode.LOCKING, ConcurrentGraph.Mode.SNAPSHOT};
+    }
+
+    @Test
+    public void testRace() throws Exception {
+        ConcurrentGraph g = new ConcurrentGraph(OntModelFactory.createDefaultGraph(), new ReentrantReadWriteLock(), mode);
+        AtomicBoolean flag = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        ExecutorService service = Executors.newFixedThreadPool(WRITE_THREADS_NUM + READ_THREADS_NUM);
+        List<Future<?>> res = new ArrayList<>();
+        for (int i = 0; i < WRITE_THREADS_NUM; i++)
+            res.add(service.submit(() -> write(g, flag)));
+        for (int i = 0; i < READ_THREADS_NUM; i++)
+            res.add(service.submit(() -> read(g, flag, reads)));
+        service.shutdown();
+        Thread.sleep(TIMEOUT);
+        flag.set(false);
+        for (Future<?> f : res) {
+            f.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+        Assert.assertTrue("No reads", reads.get() > 0);
+        Assert.assertEquals(0, g.get().size() % 2);
+        Assert.assertEquals(g.get().size(), g.find(Node.ANY, Node.ANY, Node.ANY).toList().size());
+    }
+
+    @Test
+    public void testIterator() {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        ConcurrentGraph g = new ConcurrentGraph(OntModelFactory.createDefaultGraph(), lock, mode);
+        for (int i = 0; i < 10; i++) {
+            g.add(Triple.create(NodeFactory.createURI("http://ex#i" + i), TYPE, A));
+        }
+        ExtendedIterator<Triple> it = g.find(Node.ANY, TYPE, A);
+        Assert.assertEquals(ConcurrentGraph.Mode.LOCKING.equals(mode) ? 1 : 0, lock.getReadLockCount());
+        it.next();
+        it.close();
+        Assert.assertEquals(0, lock.getReadLockCount());
+        Assert.assertEquals(10, g.find(Node.ANY, TYPE, A).toList().size());
+        Assert.assertEquals(0, lock.getReadLockCount());
+        if (ConcurrentGraph.Mode.LOCKING.equals(mode)) return;
+        // snapshot mode: modification while iterating
+        it = g.find(Node.ANY, TYPE, A);
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+            g.add(Triple.create(NodeFactory.createURI("http://ex#j" + count++), TYPE, B));
+        }
+        Assert.assertEquals(10, count);
+        Assert.assertFalse(g.contains(Node.ANY, TYPE, A));
+        Assert.assertEquals(10, g.find(Node.ANY, TYPE, B).toList().size());
+    }
+
+    @Test
+    public void testFinderOverSnapshot() {
+        Assume.assumeTrue(ConcurrentGraph.Mode.SNAPSHOT.equals(mode));
+        ConcurrentGraph g = new ConcurrentGraph(OntModelFactory.createDefaultGraph(), new ReentrantReadWriteLock(), mode);
+        Set<Node> expected = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            Node s = NodeFactory.createURI("http://ex#i" + i);
+            expected.add(s);
+            g.add(Triple.create(s, TYPE, A));
+            g.add(Triple.create(s, TYPE, B));
+        }
+        Iterator<Node> it = OntFinder.ANY_SUBJECT.find((EnhGraph) OntModelFactory.createModel(new UnionGraph(g))).iterator();
+        Set<Node> actual = new HashSet<>();
+        actual.add(it.next());
+        // the stream goes on over the snapshot, which was actual at its start:
+        g.clear();
+        it.forEachRemaining(actual::add);
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWriterReadsWhileReaderWaits() throws Exception {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        ConcurrentGraph g = new ConcurrentGraph(OntModelFactory.createDefaultGraph(), lock, mode);
+        g.add(Triple.create(NodeFactory.createURI("http://ex#i"), TYPE, A));
+        g.find(Node.ANY, TYPE, A).toList();
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        Future<Integer> reader;
+        lock.writeLock().lock();
+        try {
+            g.add(Triple.create(NodeFactory.createURI("http://ex#j"), TYPE, A));
+            reader = service.submit(() -> g.find(Node.ANY, TYPE, A).toList().size());
+            while (!lock.hasQueuedThreads()) {
+                Thread.yield();
+            }
+            // the writer must see its own changes, while the reader is waiting for the lock:
+            Assert.assertEquals(2, g.find(Node.ANY, TYPE, A).toList().size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Assert.assertEquals(2, reader.get(TIMEOUT, TimeUnit.MILLISECONDS).intValue());
+        service.shutdown();
+    }
+
+    @Test
+    public void testSuccessiveChanges() {
+        ConcurrentGraph g = new ConcurrentGraph(OntModelFactory.createDefaultGraph(), new ReentrantReadWriteLock(), mode);
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            g.add(Triple.create(NodeFactory.createURI("http://ex#i" + i), TYPE, A));
+        }
+        for (int i = 0; i < 500; i++) {
+            // a few changes between the reads, the snapshots are made from the previous ones:
+            for (int j = 0; j < 3; j++) {
+                Triple t = Triple.create(NodeFactory.createURI("http://ex#i" + random.nextInt(1500)), TYPE, random.nextBoolean() ? A : B);
+                if (random.nextBoolean()) {
+                    g.add(t);
+                } else {
+                    g.delete(t);
+                }
+            }
+            Set<Triple> expected = g.get().find(Triple.ANY).toSet();
+            Assert.assertEquals("Wrong triples at step " + i, expected, g.find(Node.ANY, Node.ANY, Node.ANY).toSet());
+            Assert.assertEquals(expected.stream().filter(t -> B.equals(t.getObject())).count(),
+                    g.find(Node.ANY, TYPE, B).toList().size());
+        }
+    }
+
+    /**
+     * Adds and removes pairs of triples in loop
+     *
+     * @param g     {@link ConcurrentGraph}
+     * @param ready {@link AtomicBoolean}
+     */
+    private static void write(ConcurrentGraph g, AtomicBoolean ready) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (ready.get()) {
+            Node s = NodeFactory.createURI("http://ex#i" + random.nextInt(1000));
+            boolean add = random.nextBoolean();
+            g.lock().writeLock().lock();
+            try {
+                if (add) {
+                    g.add(Triple.create(s, TYPE, A));
+                    g.add(Triple.create(s, TYPE, B));
+                } else {
+                    g.delete(Triple.create(s, TYPE, A));
+                    g.delete(Triple.create(s, TYPE, B));
+                }
+            } finally {
+                g.lock().writeLock().unlock();
+            }
+            if (OUT != null)
+                OUT.println((add ? "+ " : "- ") + s);
+        }
+    }
+
+    /**
+     * Iterates over the graph in loop, checks that it is consistent
+     *
+     * @param g     {@link ConcurrentGraph}
+     * @param ready {@link AtomicBoolean}
+     * @param reads {@link AtomicLong} counter
+     */
+    private static void read(ConcurrentGraph g, AtomicBoolean ready, AtomicLong reads) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (ready.get()) {
+            ExtendedIterator<Triple> it = g.find(Node.ANY, TYPE, Node.ANY);
+            if (random.nextInt(10) == 0) { // partial reading
+                if (it.hasNext()) it.next();
+                it.close();
+                continue;
+            }
+            Map<Node, Integer> res = new HashMap<>();
+            while (it.hasNext()) {
+                Triple t = it.next();
+                res.merge(t.getSubject(), 1, Integer::sum);
+                Thread.yield();
+            }
+            res.forEach((s, c) -> Assert.assertEquals("Inconsistent data for " + s, 2, c.intValue()));
+            reads.incrementAndGet();
+            if (OUT != null)
+                OUT.println("* " + res.size());
+        }
+    }
+}
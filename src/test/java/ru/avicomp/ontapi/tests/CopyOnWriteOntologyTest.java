@@ -0,0 +1,189 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import ru.avicomp.ontapi.*;
+import ru.avicomp.ontapi.jena.model.OntClass;
+import ru.avicomp.ontapi.jena.model.OntGraphModel;
+
+/**
+ * Tests for the copy-on-write concurrency mode ({@link OntManagers#createCopyOnWriteONT()}, {@link CopyOnWriteLock}).
+ */
+public class CopyOnWriteOntologyTest {
+    private static final long TIMEOUT = 3_000;
+    private static final int READ_THREADS_NUM = 4;
+    private static final String NS = "http://ex#";
+
+    @Test
+    public void testAddRemove() throws Exception {
+        OntologyManager m = OntManagers.createCopyOnWriteONT();
+        Assert.assertTrue(((OntologyManagerImpl) m).isCopyOnWrite());
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel o = m.createOntology(IRI.create("http://ex"));
+        OWLAxiom a = df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create(NS + "A")));
+        OWLAxiom b = df.getOWLSubClassOfAxiom(df.getOWLClass(IRI.create(NS + "A")), df.getOWLClass(IRI.create(NS + "B")));
+        o.add(a);
+        m.addAxiom(o, b);
+        Assert.assertTrue(o.containsAxiom(a));
+        Assert.assertTrue(o.containsAxiom(b));
+        Assert.assertEquals(2, o.getAxiomCount());
+        Assert.assertEquals(2, o.classesInSignature().count());
+        o.remove(b);
+        Assert.assertFalse(o.containsAxiom(b));
+        Assert.assertEquals(1, o.getAxiomCount());
+        // direct jena changes are also published:
+        OntGraphModel g = o.asGraphModel();
+        g.createOntEntity(OntClass.class, NS + "C");
+        Assert.assertEquals(2, o.axioms(AxiomType.DECLARATION).count());
+        Assert.assertEquals(2, o.asGraphModel().listClasses().count());
+        m.applyChange(new SetOntologyID(o, IRI.create("http://ex2")));
+        Assert.assertEquals(IRI.create("http://ex2"), o.getOntologyID().getOntologyIRI().orElseThrow(AssertionError::new));
+        Assert.assertSame(o, m.getOntology(IRI.create("http://ex2")));
+    }
+
+    @Test
+    public void testImports() throws Exception {
+        OntologyManager m = OntManagers.createCopyOnWriteONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel a = m.createOntology(IRI.create("http://a"));
+        OntologyModel b = m.createOntology(IRI.create("http://b"));
+        m.applyChange(new AddImport(b, df.getOWLImportsDeclaration(IRI.create("http://a"))));
+        Assert.assertEquals(1, b.imports().count());
+        a.add(df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create(NS + "A"))));
+        Assert.assertEquals(1, b.axioms(Imports.INCLUDED).count());
+        Assert.assertEquals(1, b.asGraphModel().listClasses().count());
+    }
+
+    @Test
+    public void testDirectBulkChanges() throws Exception {
+        OntologyManager m = OntManagers.createCopyOnWriteONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel a = m.createOntology(IRI.create("http://a"));
+        OntologyModel b = m.createOntology(IRI.create("http://b"));
+        m.applyChange(new AddImport(b, df.getOWLImportsDeclaration(IRI.create("http://a"))));
+        int num = 1000;
+        // the snapshot is published once on the next read, not for each triple:
+        OntGraphModel g = a.asGraphModel();
+        for (int i = 0; i < num; i++) {
+            g.createOntEntity(OntClass.class, NS + "C" + i);
+        }
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        Assert.assertEquals(num, (long) service.submit(() -> b.axioms(Imports.INCLUDED).count())
+                .get(TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(num, a.getAxiomCount());
+        g.removeOntObject(g.getOntEntity(OntClass.class, NS + "C0"));
+        Assert.assertEquals(num - 1, (long) service.submit(() -> a.getAxiomCount()).get(TIMEOUT, TimeUnit.MILLISECONDS));
+        service.shutdown();
+    }
+
+    @Test
+    public void testDirectChangesUnderReadLock() throws Exception {
+        OntologyManager m = OntManagers.createCopyOnWriteONT();
+        OntologyModel o = m.createOntology(IRI.create("http://ex"));
+        o.asGraphModel().createOntEntity(OntClass.class, NS + "A");
+        // the manager holds the read lock, which cannot be upgraded to publish the pending change:
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        List<OWLOntology> res = service.submit(() -> m.getSortedImportsClosure(o)).get(TIMEOUT, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(Collections.singletonList(o), res);
+        Assert.assertEquals(1, (long) service.submit(() -> o.getAxiomCount()).get(TIMEOUT, TimeUnit.MILLISECONDS));
+        service.shutdown();
+    }
+
+    @Test
+    public void testReadWithoutLock() throws Exception {
+        OntologyManager m = OntManagers.createCopyOnWriteONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel o = m.createOntology(IRI.create("http://ex"));
+        OWLAxiom a = df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create(NS + "A")));
+        OWLAxiom b = df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create(NS + "B")));
+        o.add(a);
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        Lock lock = ((OntologyManagerImpl) m).getLock().writeLock();
+        lock.lock();
+        try {
+            o.add(b);
+            // the writer sees its own changes:
+            Assert.assertEquals(2, o.getAxiomCount());
+            // the reader is not blocked and sees the last published version:
+            Assert.assertEquals(Collections.singleton(a), service.submit(() -> o.axioms().collect(Collectors.toSet()))
+                    .get(TIMEOUT, TimeUnit.MILLISECONDS));
+        } finally {
+            lock.unlock();
+        }
+        Assert.assertEquals(2, (long) service.submit(() -> o.getAxiomCount()).get(TIMEOUT, TimeUnit.MILLISECONDS));
+        service.shutdown();
+    }
+
+    @Test
+    public void testRace() throws Exception {
+        OntologyManager m = OntManagers.createCopyOnWriteONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel o = m.createOntology(IRI.create("http://ex"));
+        OWLClass top = df.getOWLClass(IRI.create(NS + "Top"));
+        AtomicBoolean flag = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        ExecutorService service = Executors.newFixedThreadPool(READ_THREADS_NUM + 1);
+        List<Future<?>> res = new ArrayList<>();
+        res.add(service.submit(() -> {
+            int i = 0;
+            while (flag.get()) {
+                OWLClass c = df.getOWLClass(IRI.create(NS + "C" + i++));
+                // each pair is committed atomically:
+                List<OWLOntologyChange> changes = Arrays.asList(new AddAxiom(o, df.getOWLDeclarationAxiom(c)),
+                        new AddAxiom(o, df.getOWLSubClassOfAxiom(c, top)));
+                m.applyChanges(changes);
+                if (i % 3 == 0) {
+                    m.applyChanges(changes.stream().map(x -> new RemoveAxiom(o, x.getAxiom())).collect(Collectors.toList()));
+                }
+            }
+            return null;
+        }));
+        for (int i = 0; i < READ_THREADS_NUM; i++) {
+            res.add(service.submit(() -> {
+                while (flag.get()) {
+                    Set<OWLAxiom> axioms = o.axioms().collect(Collectors.toSet());
+                    Set<OWLClass> declared = axioms.stream().filter(OWLDeclarationAxiom.class::isInstance)
+                            .map(a -> ((OWLDeclarationAxiom) a).getEntity().asOWLClass()).collect(Collectors.toSet());
+                    Set<OWLClass> subs = axioms.stream().filter(OWLSubClassOfAxiom.class::isInstance)
+                            .map(a -> ((OWLSubClassOfAxiom) a).getSubClass().asOWLClass()).collect(Collectors.toSet());
+                    Assert.assertEquals(declared, subs);
+                    reads.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        service.shutdown();
+        Thread.sleep(TIMEOUT);
+        flag.set(false);
+        service.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS);
+        for (Future<?> f : res) {
+            f.get();
+        }
+        Assert.assertTrue(reads.get() > 0);
+        Assert.assertEquals(o.axioms(AxiomType.DECLARATION).count(), o.axioms(AxiomType.SUBCLASS_OF).count());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.jena.graph.*;
+import org.apache.jena.graph.impl.GraphWithPerform;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import ru.avicomp.ontapi.OntManagers;
+import ru.avicomp.ontapi.OntologyManager;
+import ru.avicomp.ontapi.OntologyModel;
+import ru.avicomp.ontapi.jena.ConcurrentGraph;
+import ru.avicomp.ontapi.jena.DictionaryGraph;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.UnionGraph;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * To test {@link DictionaryGraph}: it must behave as the {@link org.apache.jena.mem.GraphMem}.
+ */
+public class DictionaryGraphTest {
+    private static final Node ANY = Node.ANY;
+
+    @Test
+    public void testRandomChanges() {
+        Random r = new Random(42);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            nodes.add(NodeFactory.createURI("http://ex#n" + i));
+        }
+        for (int i = 0; i < 5; i++) {
+            nodes.add(NodeFactory.createBlankNode());
+            nodes.add(NodeFactory.createLiteral("v" + i, "en"));
+        }
+        Graph expected = OntModelFactory.createDefaultGraph();
+        DictionaryGraph actual = new DictionaryGraph();
+        for (int i = 0; i < 20_000; i++) {
+            Triple t = Triple.create(nodes.get(r.nextInt(nodes.size())), nodes.get(r.nextInt(10)), nodes.get(r.nextInt(nodes.size())));
+            if (r.nextInt(3) == 0) {
+                expected.delete(t);
+                actual.delete(t);
+            } else {
+                expected.add(t);
+                actual.add(t);
+            }
+            Assert.assertEquals(expected.size(), actual.size());
+            if (i % 500 != 0) continue;
+            Node s = nodes.get(r.nextInt(nodes.size()));
+            Node p = nodes.get(r.nextInt(10));
+            Node o = nodes.get(r.nextInt(nodes.size()));
+            for (Triple m : Arrays.asList(Triple.create(s, p, o),
+                    Triple.create(s, ANY, ANY), Triple.create(ANY, p, ANY), Triple.create(ANY, ANY, o),
+                    Triple.create(s, p, ANY), Triple.create(ANY, p, o), Triple.create(s, ANY, o),
+                    Triple.create(ANY, ANY, ANY))) {
+                Assert.assertEquals("Pattern " + m, toSet(expected.find(m)), toSet(actual.find(m)));
+                Assert.assertEquals("Pattern " + m, expected.contains(m), actual.contains(m));
+            }
+        }
+        Assert.assertTrue(actual.nodesCount() <= nodes.size());
+        actual.clear();
+        Assert.assertTrue(actual.isEmpty());
+        Assert.assertEquals(0, actual.nodesCount());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        DictionaryGraph g = new DictionaryGraph();
+        Node p = NodeFactory.createURI("http://ex#p");
+        for (int i = 0; i < 100; i++) {
+            g.add(Triple.create(NodeFactory.createURI("http://ex#s" + i), p, NodeFactory.createLiteral(String.valueOf(i % 10))));
+        }
+        List<Triple> deleted = new ArrayList<>();
+        ExtendedIterator<Triple> it = g.find(ANY, p, ANY);
+        int count = 0;
+        while (it.hasNext()) {
+            Triple t = it.next();
+            count++;
+            if (count % 2 == 0) {
+                it.remove();
+                deleted.add(t);
+            }
+        }
+        Assert.assertEquals(100, count);
+        Assert.assertEquals(50, g.size());
+        deleted.forEach(t -> Assert.assertFalse(g.contains(t)));
+        // the dictionary must not keep the nodes of the deleted triples:
+        Set<Node> rest = g.find(ANY, ANY, ANY).toList().stream()
+                .flatMap(t -> Stream.of(t.getSubject(), t.getPredicate(), t.getObject()))
+                .collect(Collectors.toSet());
+        Assert.assertEquals(rest.size(), g.nodesCount());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testFailFastIterator() {
+        Graph g = OntModelFactory.createDictionaryGraph();
+        Node a = NodeFactory.createURI("http://ex#a");
+        g.add(Triple.create(a, a, a));
+        g.add(Triple.create(a, a, NodeFactory.createLiteral("x")));
+        ExtendedIterator<Triple> it = g.find(a, ANY, ANY);
+        it.next();
+        g.add(Triple.create(a, a, NodeFactory.createLiteral("y")));
+        it.hasNext();
+    }
+
+    @Test
+    public void testEvents() {
+        Graph g = OntModelFactory.createDictionaryGraph();
+        List<Triple> added = new ArrayList<>();
+        List<Triple> deleted = new ArrayList<>();
+        g.getEventManager().register(new GraphListenerBase() {
+            @Override
+            protected void addEvent(Triple t) {
+                added.add(t);
+            }
+
+            @Override
+            protected void deleteEvent(Triple t) {
+                deleted.add(t);
+            }
+        });
+        Node a = NodeFactory.createURI("http://ex#a");
+        Triple t1 = Triple.create(a, a, a);
+        Triple t2 = Triple.create(a, a, NodeFactory.createBlankNode());
+        g.add(t1);
+        g.add(t2);
+        g.delete(t1);
+        Assert.assertEquals(Arrays.asList(t1, t2), added);
+        Assert.assertEquals(Collections.singletonList(t1), deleted);
+        Assert.assertTrue(g instanceof GraphWithPerform);
+        Assert.assertFalse(g.getCapabilities().handlesLiteralTyping());
+    }
+
+    @Test
+    public void testWrappers() {
+        Graph g = OntModelFactory.createDictionaryGraph();
+        UnionGraph u = new UnionGraph(new ConcurrentGraph(g, new ReentrantReadWriteLock()));
+        Node a = NodeFactory.createURI("http://ex#a");
+        Triple t = Triple.create(a, a, NodeFactory.createLiteral("x"));
+        u.add(t);
+        Assert.assertTrue(g.contains(t));
+        Assert.assertEquals(Collections.singleton(t), toSet(u.find(ANY, a, ANY)));
+        u.delete(t);
+        Assert.assertTrue(g.isEmpty());
+    }
+
+    @Test
+    public void testLoadOntology() throws OWLOntologyCreationException {
+        IRI iri = IRI.create(ReadWriteUtils.getResourceURI("pizza.ttl"));
+        OntologyManager m1 = OntManagers.createONT();
+        OntologyModel expected = m1.loadOntology(iri);
+        OntologyManager m2 = OntManagers.createONT();
+        OntologyModel actual = m2.loadOntologyFromOntologyDocument(new IRIDocumentSource(iri),
+                m2.getOntologyLoaderConfiguration().setUseDictionaryGraph(true));
+        Assert.assertEquals(expected.getAxiomCount(Imports.EXCLUDED), actual.getAxiomCount(Imports.EXCLUDED));
+        Assert.assertEquals(expected.axioms().collect(Collectors.toSet()), actual.axioms().collect(Collectors.toSet()));
+    }
+
+    private static Set<Triple> toSet(ExtendedIterator<Triple> it) {
+        return it.toSet();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import ru.avicomp.ontapi.*;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * To test {@link OntFormatDetector} and loading documents without explicit format.
+ */
+public class FormatDetectorTest {
+    private static final Logger LOGGER = Logger.getLogger(FormatDetectorTest.class);
+
+    private static Model createTestModel() {
+        OntGraphModel m = OntModelFactory.createModel();
+        m.setNsPrefixes(org.apache.jena.shared.PrefixMapping.Standard).setNsPrefix("ex", "http://ex#");
+        m.setID("http://ex");
+        m.createOntEntity(ru.avicomp.ontapi.jena.model.OntClass.class, "http://ex#C")
+                .createIndividual("http://ex#I").addComment("Some comment", "en");
+        return m;
+    }
+
+    private static byte[] write(Model m, OntFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RDFDataMgr.write(out, m, format.getLang());
+        return out.toByteArray();
+    }
+
+    private static OntFormatDetector.Result detect(byte[] bytes) throws IOException {
+        return OntFormatDetector.detect(new java.io.BufferedInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private static void check(OntFormat expected, OntFormatDetector.Result actual) {
+        LOGGER.debug(expected + " => " + actual);
+        Assert.assertNotNull("Can't detect " + expected, actual);
+        Assert.assertEquals(expected, actual.getFormat());
+        Assert.assertNotEquals("Wrong confidence for " + expected, OntFormatDetector.Confidence.LOW, actual.getConfidence());
+    }
+
+    @Test
+    public void testDetectJenaFormats() throws IOException {
+        Model m = createTestModel();
+        for (OntFormat f : Arrays.asList(OntFormat.TURTLE, OntFormat.RDF_XML, OntFormat.NTRIPLES, OntFormat.JSON_LD,
+                OntFormat.RDF_JSON, OntFormat.TRIX, OntFormat.RDF_THRIFT)) {
+            byte[] bytes = write(m, f);
+            check(f, detect(bytes));
+        }
+        String nq = "<http://ex#C> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://www.w3.org/2002/07/owl#Class> <http://ex#g> .\n" +
+                "_:b0 <http://www.w3.org/2000/01/rdf-schema#comment> \"x\"@en <http://ex#g> .\n";
+        check(OntFormat.NQUADS, OntFormatDetector.detect(nq));
+        String trig = "<http://ex#g> { <http://ex#C> a <http://www.w3.org/2002/07/owl#Class> . }";
+        OntFormatDetector.Result res = OntFormatDetector.detect(trig);
+        Assert.assertNotNull(res);
+        Assert.assertEquals(OntFormat.TRIG, res.getFormat());
+        res = OntFormatDetector.detect("<http://ex#C> a <http://www.w3.org/2002/07/owl#Class> ;\n\t<http://ex#p> <http://ex#I> .");
+        Assert.assertNotNull(res);
+        Assert.assertEquals(OntFormat.TURTLE, res.getFormat());
+        Assert.assertNull(OntFormatDetector.detect("  \n# just a comment\n"));
+    }
+
+    @Test
+    public void testDetectOWLFormats() throws IOException {
+        for (OntFormat f : Arrays.asList(OntFormat.OWL_XML, OntFormat.MANCHESTER_SYNTAX, OntFormat.FUNCTIONAL_SYNTAX, OntFormat.OBO)) {
+            byte[] bytes = Files.readAllBytes(ReadWriteUtils.getResourceFile("test2." + f.getExt()).toPath());
+            check(f, detect(bytes));
+        }
+        check(OntFormat.BINARY, detect("BRDF\u0000\u0000\u0000\u0001".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void testLoadWithoutFormat() throws Exception {
+        Model m = createTestModel();
+        for (OntFormat f : Arrays.asList(OntFormat.TURTLE, OntFormat.RDF_XML, OntFormat.NTRIPLES, OntFormat.JSON_LD,
+                OntFormat.RDF_JSON, OntFormat.TRIX, OntFormat.RDF_THRIFT)) {
+            OntologyManager manager = OntManagers.createONT();
+            OntologyModel o = manager.loadOntologyFromOntologyDocument(new ByteArrayInputStream(write(m, f)));
+            LOGGER.debug(f + ": " + manager.getOntologyFormat(o));
+            Assert.assertEquals(f, OntFormat.get(manager.getOntologyFormat(o)));
+            Assert.assertEquals("Wrong ontology " + f, "http://ex", o.getOntologyID().getOntologyIRI().map(IRI::getIRIString).orElse(null));
+            Assert.assertEquals(m.size(), o.asGraphModel().size());
+        }
+    }
+
+    @Test
+    public void testNoPartialDataOnFailure() {
+        String txt = "<http://ex#A> <http://ex#p> <http://ex#B> .\n" +
+                "<http://ex#A> <http://ex#p> <http://ex#C> .\n" +
+                "<http://ex#A> <http://ex#p> \"broken .\n";
+        Graph g = OntModelFactory.createDefaultGraph();
+        OWLOntologyDocumentSource source = new StreamDocumentSource(new ByteArrayInputStream(txt.getBytes(StandardCharsets.UTF_8)));
+        try {
+            OntFactoryImpl.OntModelLoaderImpl.readGraph(g, source, OntManagers.createONT().getOntologyLoaderConfiguration());
+            Assert.fail("Possible to read broken document");
+        } catch (OWLOntologyCreationException e) {
+            LOGGER.debug("Expected: " + e);
+        }
+        Assert.assertEquals("Partial data found", 0, g.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoMarkSupport() throws IOException {
+        try (InputStream in = Files.newInputStream(ReadWriteUtils.getResourceFile("test2.fss").toPath())) {
+            OntFormatDetector.detect(in);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.shared.PrefixMapping;
 import org.apache.jena.util.iterator.UniqueFilter;
@@ -277,6 +278,45 @@ public class GraphModelJenaTest {
         Assert.assertEquals("Some unexpected garbage are found", 6, m.statements().count());
     }
 
+    @Test
+    public void testAnnotationsIndex() {
+        OntGraphModel base = OntModelFactory.createModel();
+        base.setID("http://test.com/graph/7");
+        OntClass a = base.createOntEntity(OntClass.class, "http://test.com/graph/7#A");
+        OntClass b = base.createOntEntity(OntClass.class, "http://test.com/graph/7#B");
+        OntStatement imported = a.addSubClassOf(b);
+        imported.addAnnotation(base.getRDFSComment(), "imported", null);
+
+        OntGraphModel m = OntModelFactory.createModel();
+        m.setID("http://test.com/graph/8");
+        m.addImport(base);
+        OntClass c = m.createOntEntity(OntClass.class, "http://test.com/graph/8#C");
+        OntStatement st = c.addSubClassOf(a);
+        Assert.assertFalse(st.hasAnnotations());
+        LOGGER.info("Add annotations");
+        st.addAnnotation(m.getRDFSComment(), "comment", null);
+        st.addAnnotation(m.getRDFSLabel(), "label", null);
+        Assert.assertEquals(2, st.annotations().count());
+        Assert.assertTrue("No annotations for imported statement",
+                m.statements(a, RDFS.subClassOf, b).findFirst().orElseThrow(AssertionError::new).hasAnnotations());
+
+        LOGGER.info("Delete annotations");
+        st.deleteAnnotation(m.getRDFSComment(), ResourceFactory.createPlainLiteral("comment"));
+        Assert.assertEquals(1, st.annotations().count());
+        st.deleteAnnotation(m.getRDFSLabel(), ResourceFactory.createPlainLiteral("label"));
+        Assert.assertFalse(st.hasAnnotations());
+        Assert.assertFalse(m.contains(null, OWL.annotatedSource, c));
+
+        LOGGER.info("Add annotation directly");
+        Resource r = m.createResource().addProperty(RDF.type, OWL.Axiom)
+                .addProperty(OWL.annotatedSource, c).addProperty(OWL.annotatedProperty, RDFS.subClassOf)
+                .addProperty(OWL.annotatedTarget, a).addProperty(RDFS.comment, "direct");
+        Assert.assertEquals(1, st.annotations().count());
+        LOGGER.info("Delete annotation directly from the base graph");
+        m.getBaseGraph().delete(Triple.create(r.asNode(), OWL.annotatedTarget.asNode(), a.asNode()));
+        Assert.assertFalse(st.hasAnnotations());
+    }
+
     @Test
     public void testCreateExpressions() {
         String uri = "http://test.com/graph/3";
@@ -358,10 +398,10 @@ public class GraphModelJenaTest {
         Assert.assertEquals("Incorrect count of variables", 1, m.ontObjects(OntSWRL.Variable.class).count());
         Assert.assertEquals("Incorrect count of SWRL:Imp", 1, m.ontObjects(OntSWRL.Imp.class).count());
         Assert.assertEquals("Incorrect count of SWRL Objects", 5, m.ontObjects(OntSWRL.class).count());
-        // literals(2) and variables(1):
-        Assert.assertEquals("Incorrect count of SWRL D-Arg", 3, m.ontObjects(OntSWRL.DArg.class).count());
-        // individuals(2 anonymous, 1 named) and variables(1):
-        Assert.assertEquals("Incorrect count of SWRL I-Arg", 4, m.ontObjects(OntSWRL.IArg.class).count());
+        // literals(1) and variables(1), only the atom arguments are taken into account:
+        Assert.assertEquals("Incorrect count of SWRL D-Arg", 2, m.ontObjects(OntSWRL.DArg.class).count());
+        // individuals(1 anonymous, 1 named) and variables(1):
+        Assert.assertEquals("Incorrect count of SWRL I-Arg", 3, m.ontObjects(OntSWRL.IArg.class).count());
     }
 
     @Test
@@ -14,9 +14,20 @@
 
 package ru.avicomp.ontapi.tests;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
@@ -24,13 +35,18 @@ import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.RDFS;
 import org.junit.Assert;
 import org.junit.Test;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
 import org.semanticweb.owlapi.model.*;
 
+import ru.avicomp.ontapi.OntFactoryImpl;
 import ru.avicomp.ontapi.OntManagers;
 import ru.avicomp.ontapi.OntologyManager;
 import ru.avicomp.ontapi.OntologyModel;
+import ru.avicomp.ontapi.config.OntLoaderConfiguration;
+import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
 import ru.avicomp.ontapi.jena.model.OntID;
+import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import ru.avicomp.ontapi.utils.OntIRI;
@@ -196,4 +212,115 @@ public class ImportsOntModelTest extends OntModelTestBase {
     private static Triple createTriple(Resource r, Property p, RDFNode o) {
         return Triple.create(r.asNode(), p.asNode(), o.asNode());
     }
+
+    @Test
+    public void testLoadImportsTree() throws Exception {
+        int count = 50;
+        Path dir = Files.createTempDirectory("imports-tree");
+        try {
+            IRI root = createImportsTree(dir, count);
+            String expected = loadImportsTree(root, count, OntManagers.createONT(), 1);
+            LOGGER.debug(expected);
+            Assert.assertEquals(expected, loadImportsTree(root, count, OntManagers.createONT(), 4));
+
+            AtomicInteger submitted = new AtomicInteger();
+            ExecutorService executor = new ThreadPoolExecutor(8, 8, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+                @Override
+                public void execute(Runnable command) {
+                    submitted.incrementAndGet();
+                    super.execute(command);
+                }
+            };
+            try {
+                OntologyManager m = OntManagers.createONT();
+                OntFactoryImpl.OntBuilderImpl builder = new OntFactoryImpl.OntBuilderImpl();
+                m.getOntologyFactories().set(new OntFactoryImpl(builder, new OntFactoryImpl.OntModelLoaderImpl(builder).setExecutor(executor)));
+                Assert.assertEquals(expected, loadImportsTree(root, count, m, 1));
+                // each module (except the root) is fetched only once, in spite of cycles and diamonds:
+                Assert.assertEquals(count - 1, submitted.get());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // missing and ignored imports:
+            Files.write(dir.resolve("m3.ttl"), moduleContent(dir, 3, Collections.singletonList(dir.resolve("missing.ttl").toUri().toString())));
+            List<Long> counts = new ArrayList<>();
+            for (int threads : new int[]{1, 4}) {
+                OntologyManager m = OntManagers.createONT();
+                m.setOntologyLoaderConfiguration(m.getOntologyLoaderConfiguration()
+                        .setImportsLoadingThreads(threads)
+                        .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT)
+                        .addIgnoredImport(IRI.create(module(dir, 5))));
+                m.loadOntology(root);
+                Assert.assertNull(m.getOntology(IRI.create(module(dir, 5))));
+                counts.add(m.ontologies().count());
+            }
+            LOGGER.debug("Ontologies: " + counts);
+            Assert.assertEquals(counts.get(0), counts.get(1));
+            Assert.assertTrue(counts.get(0) < count);
+            try {
+                OntManagers.createONT().loadOntology(root);
+                Assert.fail("Missing import should cause an error");
+            } catch (UnloadableImportException e) {
+                LOGGER.debug("Expected: " + e);
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path f : files.collect(Collectors.toList())) Files.delete(f);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static String loadImportsTree(IRI root, int count, OntologyManager m, int threads) throws OWLOntologyCreationException {
+        OntLoaderConfiguration conf = m.getOntologyLoaderConfiguration().setImportsLoadingThreads(threads);
+        OntologyModel o = m.loadOntologyFromOntologyDocument(new IRIDocumentSource(root), conf);
+        Assert.assertEquals(count, m.ontologies().count());
+        // the root is also in the imports closure, since the last module imports it:
+        Assert.assertEquals(count, o.imports().count());
+        return printTree(o.asGraphModel().getGraph());
+    }
+
+    private static String printTree(Graph g) {
+        String res = Graphs.getName(Graphs.getBase(g));
+        if (!(g instanceof UnionGraph)) return res;
+        List<String> children = ((UnionGraph) g).getUnderlying().graphs()
+                .map(ImportsOntModelTest::printTree).collect(Collectors.toList());
+        return children.isEmpty() ? res : res + children;
+    }
+
+    /**
+     * Creates a tree of turtle files (modules) with some cross references and a cycle:
+     * the module {@code i} imports modules {@code 2i + 1}, {@code 2i + 2},
+     * each seventh module imports also the module {@code i + 13},
+     * and the last module imports the root.
+     *
+     * @param dir   {@link Path} the directory
+     * @param count int number of modules
+     * @return {@link IRI} of the root module
+     * @throws IOException if any
+     */
+    private static IRI createImportsTree(Path dir, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            List<String> imports = new ArrayList<>();
+            for (int j : new int[]{2 * i + 1, 2 * i + 2, i % 7 == 0 ? (i + 13) % count : count, i == count - 1 ? 0 : count}) {
+                if (j < count) imports.add(module(dir, j));
+            }
+            Files.write(dir.resolve("m" + i + ".ttl"), moduleContent(dir, i, imports));
+        }
+        return IRI.create(module(dir, 0));
+    }
+
+    private static String module(Path dir, int i) {
+        return dir.resolve("m" + i + ".ttl").toUri().toString();
+    }
+
+    private static byte[] moduleContent(Path dir, int i, List<String> imports) {
+        StringBuilder res = new StringBuilder();
+        res.append("<").append(module(dir, i)).append("> a <").append(OWL.Ontology.getURI()).append(">");
+        imports.stream().sorted(Comparator.reverseOrder())
+                .forEach(u -> res.append(" ;\n    <").append(OWL.imports.getURI()).append("> <").append(u).append(">"));
+        res.append(" .\n<http://test.com/imports#C").append(i).append("> a <").append(OWL.Class.getURI()).append("> .\n");
+        return res.toString().getBytes(StandardCharsets.UTF_8);
+    }
 }
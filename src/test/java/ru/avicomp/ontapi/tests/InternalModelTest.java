@@ -15,9 +15,12 @@
 package ru.avicomp.ontapi.tests;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -38,7 +41,11 @@ import org.semanticweb.owlapi.model.*;
 
 import ru.avicomp.ontapi.OntFormat;
 import ru.avicomp.ontapi.OntManagers;
+import ru.avicomp.ontapi.OntologyModel;
+import ru.avicomp.ontapi.OwlObjects;
+import ru.avicomp.ontapi.config.OntLoaderConfiguration;
 import ru.avicomp.ontapi.internal.AxiomParserProvider;
+import ru.avicomp.ontapi.internal.AxiomsCollector;
 import ru.avicomp.ontapi.internal.ConfigProvider;
 import ru.avicomp.ontapi.internal.InternalModel;
 import ru.avicomp.ontapi.internal.InternalObject;
@@ -46,7 +53,11 @@ import ru.avicomp.ontapi.jena.OntModelFactory;
 import ru.avicomp.ontapi.jena.impl.configuration.Configurable;
 import ru.avicomp.ontapi.jena.impl.configuration.OntModelConfig;
 import ru.avicomp.ontapi.jena.impl.configuration.OntPersonality;
+import ru.avicomp.ontapi.jena.model.OntCE;
+import ru.avicomp.ontapi.jena.model.OntClass;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.jena.model.OntNOP;
+import ru.avicomp.ontapi.jena.model.OntStatement;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import ru.avicomp.ontapi.transforms.GraphTransformers;
@@ -127,6 +138,334 @@ public class InternalModelTest {
         Assert.assertEquals("Incorrect annotations count", 4, annotations.size());
     }
 
+    @Test
+    public void testRemoveAxioms() {
+        InternalModel model = new InternalModel(ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph(), ConfigProvider.DEFAULT);
+        List<OWLAxiom> axioms = model.axioms().filter(a -> !AxiomType.DECLARATION.equals(a.getAxiomType()))
+                .sorted().collect(Collectors.toList());
+        Set<OWLAxiom> expected = model.axioms().collect(Collectors.toSet());
+        for (int i = 0; i < axioms.size(); i += 2) {
+            OWLAxiom a = axioms.get(i);
+            model.remove(a);
+            expected.remove(a);
+        }
+        Assert.assertEquals("Incorrect axioms (cached)", expected, model.axioms().collect(Collectors.toSet()));
+
+        LOGGER.info("Reload model.");
+        Graph copy = OntModelFactory.createDefaultGraph();
+        model.getBaseGraph().find(Triple.ANY).forEachRemaining(copy::add);
+        InternalModel reloaded = new InternalModel(copy, ConfigProvider.DEFAULT);
+        Assert.assertEquals("Incorrect axioms (reloaded)", expected, reloaded.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testDirectAdditions() {
+        InternalModel model = new InternalModel(ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph(), ConfigProvider.DEFAULT);
+        String ns = model.getID().getURI() + "#";
+        Assert.assertNotEquals(0, model.axioms().count());
+        OntClass pizza = model.getOntEntity(OntClass.class, ns + "Pizza");
+        OntClass cheese = model.getOntEntity(OntClass.class, ns + "CheeseTopping");
+        OntNOP hasTopping = model.getOntEntity(OntNOP.class, ns + "hasTopping");
+
+        LOGGER.info("Add class with sub-class-of and restriction.");
+        OntClass c = model.createOntEntity(OntClass.class, ns + "TestPizza");
+        c.addSubClassOf(pizza);
+        c.addSubClassOf(model.createObjectSomeValuesFrom(hasTopping, cheese));
+        assertAxioms(model);
+
+        LOGGER.info("Add annotations.");
+        c.addComment("test", null);
+        c.addSubClassOf(pizza).addAnnotation(model.getRDFSLabel(), model.createLiteral("annotated"));
+        assertAxioms(model);
+
+        LOGGER.info("Add individual and disjoint classes.");
+        c.createIndividual(ns + "test-individual");
+        model.createDisjointClasses(Arrays.asList(c, cheese));
+        assertAxioms(model);
+
+        LOGGER.info("Add triples with undeclared class and declare it afterwards.");
+        Resource undeclared = model.createResource(ns + "Undeclared");
+        model.add(undeclared, RDFS.subClassOf, pizza);
+        model.add(c, RDFS.subClassOf, model.createResource().addProperty(RDF.type, OWL.Restriction)
+                .addProperty(OWL.onProperty, hasTopping).addProperty(OWL.someValuesFrom, undeclared));
+        assertAxioms(model);
+        model.add(undeclared, RDF.type, OWL.Class);
+        assertAxioms(model);
+    }
+
+    @Test
+    public void testContainsAfterPartialInvalidation() {
+        InternalModel model = new InternalModel(ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph(), ConfigProvider.DEFAULT);
+        String ns = model.getID().getURI() + "#";
+        OWLAxiom axiom = model.axioms(AxiomType.SUBCLASS_OF).findFirst().orElseThrow(AssertionError::new);
+        Assert.assertTrue(model.contains(axiom));
+
+        // the direct change drops only the affected stores:
+        model.add(model.getOntEntity(OntClass.class, ns + "Pizza"), RDFS.comment, "direct");
+        Assert.assertTrue(model.contains(axiom));
+        Assert.assertTrue(model.axioms(AxiomType.ANNOTATION_ASSERTION).anyMatch(model::contains));
+
+        model.clearCache();
+        Assert.assertTrue(model.contains(axiom));
+        assertAxioms(model);
+    }
+
+    @Test
+    public void testBatchWrite() {
+        InternalModel source = new InternalModel(ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph(), ConfigProvider.DEFAULT);
+        List<OWLAxiom> axioms = source.axioms().sorted().collect(Collectors.toList());
+        String ns = source.getID().getURI() + "#";
+
+        InternalModel expected = new InternalModel(OntModelFactory.createDefaultGraph(), ConfigProvider.DEFAULT);
+        expected.setID(source.getID().getURI());
+        axioms.forEach(expected::add);
+
+        InternalModel actual = new InternalModel(OntModelFactory.createDefaultGraph(), ConfigProvider.DEFAULT);
+        actual.setID(source.getID().getURI());
+        actual.beginBatch();
+        actual.beginBatch();
+        for (int i = 0; i < axioms.size(); i++) {
+            actual.add(axioms.get(i));
+            if (i == axioms.size() / 2) {
+                // a direct change in the middle of the batch must be seen:
+                actual.createOntEntity(OntClass.class, ns + "Direct");
+            }
+        }
+        actual.endBatch();
+        Assert.assertEquals("No batch listener", 1, countObjectListeners(actual));
+        actual.endBatch();
+        Assert.assertEquals("The batch listener is still registered", 0, countObjectListeners(actual));
+
+        expected.createOntEntity(OntClass.class, ns + "Direct");
+        Assert.assertEquals(expected.getBaseGraph().size(), actual.getBaseGraph().size());
+        Assert.assertEquals(expected.axioms().collect(Collectors.toSet()), actual.axioms().collect(Collectors.toSet()));
+        assertAxioms(actual);
+    }
+
+    @Test
+    public void testRollbackAnnotationRemoving() {
+        InternalModel model = new InternalModel(OntModelFactory.createDefaultGraph(), ConfigProvider.DEFAULT);
+        model.setID("http://test/o");
+        OntClass a = model.createOntEntity(OntClass.class, "http://test#A");
+        OntClass b = model.createOntEntity(OntClass.class, "http://test#B");
+        a.addSubClassOf(b).addAnnotation(model.getRDFSComment(), model.createLiteral("bulk"));
+        Set<OWLAxiom> expected = model.axioms().collect(Collectors.toSet());
+        Assert.assertTrue("No bulk annotation", subClassOf(model, a, b).hasAnnotations());
+
+        model.beginTransaction();
+        // the annotation is removed through the union graph, so the index of bulk annotations is notified:
+        subClassOf(model, a, b).clearAnnotations();
+        Assert.assertFalse(subClassOf(model, a, b).hasAnnotations());
+        // but the journal restores the base graph directly:
+        model.rollbackTransaction();
+
+        Assert.assertTrue("The bulk annotation is lost", subClassOf(model, a, b).hasAnnotations());
+        Assert.assertEquals(expected, model.axioms().collect(Collectors.toSet()));
+    }
+
+    private static OntStatement subClassOf(InternalModel m, OntCE sub, OntCE sup) {
+        return m.statements(sub, RDFS.subClassOf, sup).findFirst().orElseThrow(AssertionError::new);
+    }
+
+    private static long countObjectListeners(InternalModel m) {
+        // other listeners (e.g. the annotation index) could be registered lazily, so only the object listeners are counted:
+        return m.getGraph().getEventManager().listeners().filter(InternalModel.OwlObjectListener.class::isInstance).count();
+    }
+
+    @Test
+    public void testAxiomCounts() throws Exception {
+        OntologyModel o = OntManagers.createONT().loadOntology(IRI.create(ReadWriteUtils.getResourceURI("pizza.ttl")));
+        List<OWLAxiom> axioms = o.axioms().sorted().collect(Collectors.toList());
+        OWLDataFactory df = o.getOWLOntologyManager().getOWLDataFactory();
+        String ns = o.getOntologyID().getOntologyIRI().orElseThrow(AssertionError::new) + "#";
+        Random random = new Random(42);
+        assertAxiomCounts(o);
+        for (int i = 0; i < 200; i++) {
+            OWLAxiom a = axioms.get(random.nextInt(axioms.size()));
+            switch (random.nextInt(4)) {
+                case 0:
+                    o.remove(a);
+                    Assert.assertFalse("Still contains " + a, o.containsAxiom(a));
+                    break;
+                case 1:
+                    o.add(a);
+                    Assert.assertTrue("Can't find " + a, o.containsAxiom(a));
+                    break;
+                case 2:
+                    OWLAxiom n = df.getOWLSubClassOfAxiom(df.getOWLClass(IRI.create(ns + "New" + i)), df.getOWLThing());
+                    o.add(n);
+                    Assert.assertTrue("Can't find " + n, o.containsAxiom(n));
+                    break;
+                default:
+                    // direct jena edits:
+                    OntClass c = o.asGraphModel().createOntEntity(OntClass.class, ns + "Direct" + i);
+                    if (random.nextBoolean()) {
+                        o.asGraphModel().removeAll(c, null, null);
+                    } else {
+                        c.addComment("direct", null);
+                    }
+            }
+            if (i % 20 == 0) {
+                assertAxiomCounts(o);
+            }
+        }
+        assertAxiomCounts(o);
+        o.clearCache();
+        assertAxiomCounts(o);
+    }
+
+    @Test
+    public void testSignatureCounts() {
+        InternalModel model = new InternalModel(ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph(), ConfigProvider.DEFAULT);
+        OWLDataFactory df = OntManagers.getDataFactory();
+        List<OWLAxiom> axioms = model.axioms().sorted().collect(Collectors.toList());
+        String ns = model.getID().getURI() + "#";
+        Set<OWLClass> classes = model.classes().collect(Collectors.toSet());
+        Object cache = model.cachedObjects().get(OWLClass.class);
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            OWLAxiom a = axioms.get(random.nextInt(axioms.size()));
+            if (random.nextBoolean()) {
+                model.remove(a);
+            } else {
+                model.add(a);
+            }
+            OWLClass c = df.getOWLClass(IRI.create(ns + "New" + i));
+            model.add(df.getOWLSubClassOfAxiom(c, df.getOWLThing()));
+            Assert.assertTrue("Can't find " + c, model.containsEntity(c));
+            if (i % 3 == 0) {
+                model.remove(df.getOWLSubClassOfAxiom(c, df.getOWLThing()));
+                Assert.assertFalse("Still there is " + c, model.containsEntity(c));
+            }
+        }
+        Assert.assertSame("The signature cache has been reset", cache, model.cachedObjects().get(OWLClass.class));
+        // the signature could be changed while iterating:
+        model.classes().forEach(c -> model.add(df.getOWLDeclarationAxiom(c)));
+        assertSignature(model);
+        Assert.assertNotEquals(classes, model.classes().collect(Collectors.toSet()));
+    }
+
+    private static void assertSignature(InternalModel model) {
+        List<OWLAxiom> axioms = model.axioms().collect(Collectors.toList());
+        Assert.assertEquals("Incorrect classes", signature(OWLClass.class, axioms), model.classes().collect(Collectors.toSet()));
+        Assert.assertEquals("Incorrect individuals", signature(OWLNamedIndividual.class, axioms), model.namedIndividuals().collect(Collectors.toSet()));
+        Assert.assertEquals("Incorrect object properties", signature(OWLObjectProperty.class, axioms), model.objectProperties().collect(Collectors.toSet()));
+        Assert.assertEquals("Incorrect datatypes", signature(OWLDatatype.class, axioms), model.datatypes().collect(Collectors.toSet()));
+    }
+
+    private static <O extends OWLObject> Set<O> signature(Class<O> type, List<OWLAxiom> axioms) {
+        return axioms.stream().flatMap(a -> OwlObjects.objects(type, a)).collect(Collectors.toSet());
+    }
+
+    private static void assertAxiomCounts(OWLOntology o) {
+        Set<OWLAxiom> axioms = o.axioms().collect(Collectors.toSet());
+        Assert.assertEquals("Wrong axiom count", axioms.size(), o.getAxiomCount());
+        Assert.assertEquals("Wrong logical axiom count", axioms.stream().filter(OWLAxiom::isLogicalAxiom).count(), o.getLogicalAxiomCount());
+        AxiomType.AXIOM_TYPES.forEach(t -> Assert.assertEquals("Wrong count for " + t,
+                axioms.stream().filter(a -> t.equals(a.getAxiomType())).count(), o.getAxiomCount(t)));
+        axioms.forEach(a -> Assert.assertTrue("Can't find " + a, o.containsAxiom(a)));
+    }
+
+    private static void assertAxioms(InternalModel model) {
+        Graph copy = OntModelFactory.createDefaultGraph();
+        model.getBaseGraph().find(Triple.ANY).forEachRemaining(copy::add);
+        Set<OWLAxiom> expected = new InternalModel(copy, ConfigProvider.DEFAULT).axioms().collect(Collectors.toSet());
+        Assert.assertEquals("Incorrect axioms", expected, model.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testOnePassAxiomsReading() {
+        testOnePassAxiomsReading("pizza.ttl", OntFormat.TURTLE);
+        testOnePassAxiomsReading("foaf.rdf", OntFormat.RDF_XML);
+        testOnePassAxiomsReading("goodrelations.rdf", OntFormat.RDF_XML);
+        testOnePassAxiomsReading("swrl.owl.rdf", OntFormat.RDF_XML);
+        testOnePassAxiomsReading("propertyChain.owl", OntFormat.RDF_XML);
+
+        // anonymous inverse object property expressions are not InverseObjectProperties axioms:
+        OntGraphModel m = OntModelFactory.createModel();
+        OntNOP p = m.createOntEntity(OntNOP.class, "http://test#p");
+        OntNOP q = m.createOntEntity(OntNOP.class, "http://test#q");
+        p.addInverseOf(q);
+        m.createOntEntity(OntClass.class, "http://test#C").addSubClassOf(m.createObjectSomeValuesFrom(p.createInverse(), m.getOWLThing()));
+        m.createOntEntity(OntClass.class, "http://test#D").addSubClassOf(m.createObjectSomeValuesFrom(p.createInverse(), m.getOWLThing()));
+        testOnePassAxiomsReading("test", new InternalModel(m.getBaseGraph(), ConfigProvider.DEFAULT));
+    }
+
+    private void testOnePassAxiomsReading(String file, OntFormat format) {
+        testOnePassAxiomsReading(file, loadInternalModel(file, format));
+    }
+
+    private void testOnePassAxiomsReading(String name, InternalModel model) {
+        LOGGER.info("Test one-pass reading for " + name);
+        Map<OWLAxiom, Set<Triple>> expected = AxiomType.AXIOM_TYPES.stream()
+                .map(type -> AxiomParserProvider.get(type).read(model))
+                .flatMap(Collection::stream)
+                .collect(Collectors.toMap(InternalObject::getObject, InternalObject::getTriples));
+        Map<OWLAxiom, Set<Triple>> actual = new AxiomsCollector(AxiomType.AXIOM_TYPES)
+                .collect(new InternalModel(model.getBaseGraph(), ConfigProvider.DEFAULT))
+                .values().stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toMap(InternalObject::getObject, InternalObject::getTriples));
+        Assert.assertEquals("Incorrect axioms for " + name, expected.keySet(), actual.keySet());
+        expected.forEach((axiom, triples) -> Assert.assertEquals("Incorrect triples for " + axiom, triples, actual.get(axiom)));
+    }
+
+    @Test
+    public void testParallelAxiomsReading() {
+        OntGraphModel m = OntModelFactory.createModel();
+        m.setID("http://test/parallel");
+        String ns = "http://test/parallel#";
+        OntNOP p = m.createOntEntity(OntNOP.class, ns + "p");
+        for (int i = 0; i < 5000; i++) {
+            OntClass c = m.createOntEntity(OntClass.class, ns + "C" + i);
+            c.addSubClassOf(m.createOntEntity(OntClass.class, ns + "C" + (i / 2)));
+            c.addSubClassOf(m.createObjectSomeValuesFrom(p, m.createOntEntity(OntClass.class, ns + "C" + (i % 7))));
+            c.addComment("Class #" + i, null);
+            c.createIndividual(ns + "I" + i);
+        }
+        Assert.assertTrue(m.getBaseGraph().size() > AxiomsCollector.PARALLEL_THRESHOLD);
+        OntLoaderConfiguration conf = ConfigProvider.DEFAULT.loaderConfig().setAxiomsReadingThreads(4);
+        Assert.assertEquals(4, conf.getAxiomsReadingThreads());
+        InternalModel expected = new InternalModel(m.getBaseGraph(), ConfigProvider.DEFAULT);
+        InternalModel actual = new InternalModel(m.getBaseGraph(), new ConfigProvider.Dummy() {
+            @Override
+            public OntLoaderConfiguration loaderConfig() {
+                return conf;
+            }
+        });
+        List<OWLAxiom> list = actual.axioms().collect(Collectors.toList());
+        Assert.assertEquals("Incorrect axioms", expected.axioms().collect(Collectors.toSet()), new HashSet<>(list));
+        // the same order for each new reading:
+        actual.clearCache();
+        Assert.assertEquals("Not deterministic", list, actual.axioms().collect(Collectors.toList()));
+        testOnePassAxiomsReading("parallel", actual);
+    }
+
+    @Test
+    public void testSharedNestedExpressions() {
+        OntGraphModel m = OntModelFactory.createModel();
+        OntNOP p = m.createOntEntity(OntNOP.class, "http://x#p");
+        OntClass a = m.createOntEntity(OntClass.class, "http://x#A");
+        OntClass b = m.createOntEntity(OntClass.class, "http://x#B");
+        OntCE r = m.createObjectSomeValuesFrom(p, m.createOntEntity(OntClass.class, "http://x#C"));
+        a.addSubClassOf(m.createUnionOf(Arrays.asList(r, b)));
+        b.addSubClassOf(m.createComplementOf(r));
+        Set<Triple> restriction = r.content().map(Statement::asTriple).collect(Collectors.toSet());
+
+        InternalModel model = new InternalModel(m.getGraph(), ConfigProvider.DEFAULT);
+        Set<InternalObject<OWLSubClassOfAxiom>> axioms = AxiomParserProvider.get(OWLSubClassOfAxiom.class).read(model);
+        Assert.assertEquals(2, axioms.size());
+        List<OWLClassExpression> nested = axioms.stream()
+                .peek(x -> Assert.assertTrue(x.getTriples().containsAll(restriction)))
+                .map(InternalObject::getObject)
+                .map(OWLSubClassOfAxiom::getSuperClass)
+                .flatMap(x -> x.nestedClassExpressions().filter(OWLObjectSomeValuesFrom.class::isInstance))
+                .collect(Collectors.toList());
+        Assert.assertEquals(2, nested.size());
+        // the same instance is shared by both axioms:
+        Assert.assertSame(nested.get(0), nested.get(1));
+    }
+
     @Test
     public void testPizzaEntities() {
         testEntities("pizza.ttl", OntFormat.TURTLE);
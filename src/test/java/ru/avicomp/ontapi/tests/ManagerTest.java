@@ -19,6 +19,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +29,7 @@ import java.util.stream.Stream;
 
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.util.FileManager;
 import org.apache.log4j.Logger;
@@ -35,6 +37,7 @@ import org.hamcrest.core.IsEqual;
 import org.junit.Assert;
 import org.junit.Test;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.OntologyCopy;
 import org.semanticweb.owlapi.util.SimpleIRIMapper;
@@ -50,6 +53,8 @@ import ru.avicomp.ontapi.jena.impl.configuration.OntModelConfig;
 import ru.avicomp.ontapi.jena.model.OntClass;
 import ru.avicomp.ontapi.jena.model.OntEntity;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import ru.avicomp.ontapi.transforms.GraphTransformers;
 import ru.avicomp.ontapi.utils.FileMap;
 import ru.avicomp.ontapi.utils.OntIRI;
@@ -175,6 +180,43 @@ public class ManagerTest {
         copyTest(OntManagers.createONT(), OntManagers.createONT(), OntologyCopy.DEEP);
     }
 
+    @Test
+    public void testGraphCopying() throws Exception {
+        OntologyManager m1 = OntManagers.createONT();
+        OntologyModel pizza = m1.loadOntology(IRI.create(ReadWriteUtils.getResourceURI("pizza.ttl")));
+        // build caches:
+        Set<OWLAxiom> axioms = pizza.axioms().collect(Collectors.toSet());
+        Set<OWLAnnotation> annotations = pizza.annotations().collect(Collectors.toSet());
+        for (OntologyManager m2 : Arrays.asList(OntManagers.createONT(), OntManagers.createConcurrentONT())) {
+            OntologyModel copy = m2.copyOntology(pizza, OntologyCopy.DEEP);
+            Assert.assertEquals("Wrong id", pizza.getOntologyID(), copy.getOntologyID());
+            Assert.assertEquals("Wrong axioms", axioms, copy.axioms().collect(Collectors.toSet()));
+            Assert.assertEquals("Wrong annotations", annotations, copy.annotations().collect(Collectors.toSet()));
+            Assert.assertTrue("Wrong graph", pizza.asGraphModel().getBaseModel().isIsomorphicWith(copy.asGraphModel().getBaseModel()));
+            // the copy is independent:
+            OWLAxiom a = axioms.iterator().next();
+            copy.remove(a);
+            Assert.assertFalse(copy.containsAxiom(a));
+            Assert.assertTrue(pizza.containsAxiom(a));
+        }
+
+        LOGGER.info("Copy anonymous ontology");
+        OWLDataFactory df = m1.getOWLDataFactory();
+        OntologyModel anon = m1.createOntology();
+        anon.add(df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create("http://test#C"))));
+        anon.applyChange(new AddOntologyAnnotation(anon, df.getOWLAnnotation(df.getRDFSComment(), df.getOWLLiteral("anonymous"))));
+        anon.applyChange(new AddImport(anon, df.getOWLImportsDeclaration(pizza.getOntologyID().getOntologyIRI().orElseThrow(AssertionError::new))));
+        OntologyManager m3 = OntManagers.createONT();
+        m3.copyOntology(pizza, OntologyCopy.SHALLOW);
+        OntologyModel copy = m3.copyOntology(anon, OntologyCopy.SHALLOW);
+        Assert.assertNotSame(anon, copy);
+        Assert.assertEquals("Should be single header", 1, copy.asGraphModel().getBaseModel().listStatements(null, RDF.type, OWL.Ontology).toList().size());
+        Assert.assertEquals("Wrong axioms", anon.axioms().collect(Collectors.toSet()), copy.axioms().collect(Collectors.toSet()));
+        Assert.assertEquals("Wrong annotations", anon.annotations().collect(Collectors.toSet()), copy.annotations().collect(Collectors.toSet()));
+        Assert.assertEquals("Wrong imports", anon.importsDeclarations().collect(Collectors.toSet()), copy.importsDeclarations().collect(Collectors.toSet()));
+        Assert.assertEquals("Wrong imports closure", 2, copy.importsClosure().count());
+    }
+
     @Test
     public void testMoving() throws Exception {
         LOGGER.info("1) Move OWL -> ONT");
@@ -363,6 +405,82 @@ public class ManagerTest {
         Assert.assertTrue("The declaration for " + cl + " should not be unannotated now", axioms2.contains(df.getOWLDeclarationAxiom(cl)));
     }
 
+    @Test
+    public void testRollbackChanges() {
+        OntologyManager m = OntManagers.createONT();
+        m.setOntologyLoaderConfiguration(m.getOntologyLoaderConfiguration().setLoadAnnotationAxioms(false));
+        OWLDataFactory df = m.getOWLDataFactory();
+        OWLClass a = df.getOWLClass(IRI.create("http://test#A"));
+        OWLClass b = df.getOWLClass(IRI.create("http://test#B"));
+        OWLClass c = df.getOWLClass(IRI.create("http://test#C"));
+
+        OntologyModel o1 = m.createOntology(IRI.create("http://test/o1"));
+        OntologyModel o2 = m.createOntology(IRI.create("http://test/o2"));
+        o1.add(df.getOWLDeclarationAxiom(a));
+        o1.add(df.getOWLDeclarationAxiom(b));
+        o1.add(df.getOWLSubClassOfAxiom(a, b));
+        o2.add(df.getOWLDeclarationAxiom(c));
+        Set<OWLAxiom> axioms1 = o1.axioms().collect(Collectors.toSet());
+        Set<OWLAxiom> axioms2 = o2.axioms().collect(Collectors.toSet());
+        Model graph1 = ModelFactory.createDefaultModel().add(o1.asGraphModel().getBaseModel());
+        Model graph2 = ModelFactory.createDefaultModel().add(o2.asGraphModel().getBaseModel());
+
+        List<OWLOntologyChange> changes = Arrays.asList(
+                new RemoveAxiom(o1, df.getOWLSubClassOfAxiom(a, b)),
+                new AddAxiom(o1, df.getOWLDeclarationAxiom(c)),
+                new AddAxiom(o1, df.getOWLSubClassOfAxiom(c, a)),
+                new RemoveAxiom(o2, df.getOWLDeclarationAxiom(c)),
+                new AddOntologyAnnotation(o2, df.getOWLAnnotation(df.getRDFSComment(), df.getOWLLiteral("o2"))),
+                // annotation axioms are not allowed by the config:
+                new AddAxiom(o1, df.getOWLAnnotationAssertionAxiom(c.getIRI(), df.getRDFSLabel("C"))),
+                new AddAxiom(o2, df.getOWLDeclarationAxiom(a)));
+        Assert.assertEquals("Changes should fail", ChangeApplied.UNSUCCESSFULLY, m.applyChanges(changes));
+
+        Assert.assertEquals("Wrong axioms of o1", axioms1, o1.axioms().collect(Collectors.toSet()));
+        Assert.assertEquals("Wrong axioms of o2", axioms2, o2.axioms().collect(Collectors.toSet()));
+        Assert.assertEquals("Wrong annotations of o2", 0, o2.annotations().count());
+        Assert.assertTrue("Wrong graph of o1", graph1.isIsomorphicWith(o1.asGraphModel().getBaseModel()));
+        Assert.assertTrue("Wrong graph of o2", graph2.isIsomorphicWith(o2.asGraphModel().getBaseModel()));
+
+        // the same changes without the wrong one:
+        Assert.assertEquals(ChangeApplied.SUCCESSFULLY, m.applyChanges(changes.stream()
+                .filter(ch -> !ch.isAxiomChange() || !(ch.getAxiom() instanceof OWLAnnotationAxiom)).collect(Collectors.toList())));
+        // declarations of A, B, C and C sub-class-of A:
+        Assert.assertEquals(4, o1.getAxiomCount());
+        Assert.assertTrue(o1.containsAxiom(df.getOWLSubClassOfAxiom(c, a)));
+        Assert.assertEquals(1, o2.getAxiomCount());
+        Assert.assertEquals(1, o2.annotations().count());
+    }
+
+    @Test
+    public void testRollbackAnnotationsRemoving() {
+        OntologyManager m = OntManagers.createONT();
+        m.setOntologyLoaderConfiguration(m.getOntologyLoaderConfiguration().setLoadAnnotationAxioms(false));
+        OWLDataFactory df = m.getOWLDataFactory();
+        OWLClass a = df.getOWLClass(IRI.create("http://test#A"));
+        OWLClass b = df.getOWLClass(IRI.create("http://test#B"));
+        OWLAxiom annotated = df.getOWLSubClassOfAxiom(a, b, Collections.singleton(df.getRDFSComment("bulk")));
+
+        OntologyModel src = OntManagers.createONT().createOntology(IRI.create("http://test/o"));
+        src.add(df.getOWLDeclarationAxiom(a));
+        src.add(df.getOWLDeclarationAxiom(b));
+        src.add(annotated);
+        // the axioms are read from the graph, so the index of bulk annotations is in use:
+        OntologyModel o = m.addOntology(src.asGraphModel().getBaseGraph());
+        Set<OWLAxiom> axioms = o.axioms().collect(Collectors.toSet());
+        Assert.assertTrue(axioms.contains(annotated));
+
+        List<OWLOntologyChange> changes = Arrays.asList(
+                new RemoveAxiom(o, annotated),
+                new AddAxiom(o, df.getOWLSubClassOfAxiom(b, a)),
+                // annotation axioms are not allowed by the config:
+                new AddAxiom(o, df.getOWLAnnotationAssertionAxiom(a.getIRI(), df.getRDFSLabel("A"))));
+        Assert.assertEquals("Changes should fail", ChangeApplied.UNSUCCESSFULLY, m.applyChanges(changes));
+        // the bulk annotation triples are restored and must be found again:
+        Assert.assertEquals("Wrong axioms", axioms, o.axioms().collect(Collectors.toSet()));
+        Assert.assertTrue(o.containsAxiom(annotated));
+    }
+
     @Test
     public void testBulkAnnotationsSetting() throws Exception {
         OntologyManager m = OntManagers.createONT();
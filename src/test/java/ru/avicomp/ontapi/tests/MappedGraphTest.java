@@ -0,0 +1,186 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import ru.avicomp.ontapi.OntFormat;
+import ru.avicomp.ontapi.OntGraphDocumentSource;
+import ru.avicomp.ontapi.OntManagers;
+import ru.avicomp.ontapi.OntologyManager;
+import ru.avicomp.ontapi.OntologyModel;
+import ru.avicomp.ontapi.jena.MappedGraph;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.UnionGraph;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * To test {@link MappedGraph}: it must behave as the {@link org.apache.jena.mem.GraphMem} and survive reopening.
+ */
+public class MappedGraphTest {
+    private static final Node ANY = Node.ANY;
+
+    private Path dir;
+
+    @Before
+    public void before() throws IOException {
+        dir = Files.createTempDirectory("ont-api-mapped");
+    }
+
+    @After
+    public void after() throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.walk(dir)) {
+            files = s.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path f : files) {
+            Files.deleteIfExists(f);
+        }
+    }
+
+    @Test
+    public void testChangesAndReopen() {
+        Random r = new Random(42);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            nodes.add(NodeFactory.createURI("http://ex#n" + i));
+        }
+        for (int i = 0; i < 5; i++) {
+            nodes.add(NodeFactory.createBlankNode());
+            nodes.add(NodeFactory.createLiteral("v" + i, "en"));
+        }
+        Graph expected = OntModelFactory.createDefaultGraph();
+        // a small limit to have several runs:
+        MappedGraph actual = MappedGraph.open(dir).setDeltaLimit(100);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5_000; i++) {
+                Triple t = Triple.create(nodes.get(r.nextInt(nodes.size())), nodes.get(r.nextInt(10)), nodes.get(r.nextInt(nodes.size())));
+                if (r.nextInt(3) == 0) {
+                    expected.delete(t);
+                    actual.delete(t);
+                } else {
+                    expected.add(t);
+                    actual.add(t);
+                }
+                Assert.assertEquals(expected.size(), actual.size());
+            }
+            Node s = nodes.get(r.nextInt(nodes.size()));
+            Node p = nodes.get(r.nextInt(10));
+            Node o = nodes.get(r.nextInt(nodes.size()));
+            for (Triple m : Arrays.asList(Triple.create(s, p, o),
+                    Triple.create(s, ANY, ANY), Triple.create(ANY, p, ANY), Triple.create(ANY, ANY, o),
+                    Triple.create(s, p, ANY), Triple.create(ANY, p, o), Triple.create(s, ANY, o))) {
+                Assert.assertEquals("Pattern " + m, expected.find(m).toSet(), actual.find(m).toSet());
+            }
+            actual.getPrefixMapping().setNsPrefix("ex", "http://ex#");
+            actual.close();
+            Assert.assertTrue(actual.isClosed());
+
+            actual = MappedGraph.open(dir).setDeltaLimit(100);
+            Assert.assertEquals(expected.size(), actual.size());
+            Assert.assertEquals(expected.find(ANY, ANY, ANY).toSet(), actual.find(ANY, ANY, ANY).toSet());
+            Assert.assertEquals("http://ex#", actual.getPrefixMapping().getNsPrefixURI("ex"));
+        }
+        Assert.assertSame(actual, MappedGraph.open(dir));
+        actual.close();
+    }
+
+    @Test
+    public void testUnionGraph() {
+        MappedGraph base = MappedGraph.open(dir);
+        Graph imported = OntModelFactory.createDefaultGraph();
+        Node a = NodeFactory.createURI("http://ex#A");
+        Node b = NodeFactory.createURI("http://ex#B");
+        imported.add(Triple.create(b, RDF.Nodes.type, OWL.Class.asNode()));
+        UnionGraph union = new UnionGraph(base);
+        union.addGraph(imported);
+        union.add(Triple.create(a, RDF.Nodes.type, OWL.Class.asNode()));
+        Assert.assertEquals(1, base.size());
+        Assert.assertEquals(2, union.find(ANY, RDF.Nodes.type, OWL.Class.asNode()).toList().size());
+        base.close();
+    }
+
+    @Test
+    public void testLoadOntology() throws Exception {
+        Path file = Files.createDirectory(dir.resolve("doc")).resolve("pizza.ttl");
+        Files.copy(Paths.get(ReadWriteUtils.getResourceURI("pizza.ttl")), file);
+        Path root = dir.resolve("stores");
+        IRI iri = IRI.create(file.toUri());
+        Set<OWLAxiom> expected = OntManagers.createONT().loadOntology(iri).axioms().collect(Collectors.toSet());
+
+        OntologyManager m1 = OntManagers.createONT();
+        OntologyModel o1 = m1.loadOntologyFromOntologyDocument(new IRIDocumentSource(iri),
+                m1.getOntologyLoaderConfiguration().setMappedGraphDirectory(root.toString()));
+        Assert.assertEquals(expected, o1.axioms().collect(Collectors.toSet()));
+        // the ontology works with its own graph, the store is closed:
+        Assert.assertFalse(o1.asGraphModel().getBaseGraph() instanceof MappedGraph);
+        Path location = MappedGraph.location(root, iri.getIRIString());
+        Assert.assertTrue(MappedGraph.exists(location));
+        OWLAxiom unsaved = m1.getOWLDataFactory().getOWLDeclarationAxiom(m1.getOWLDataFactory().getOWLClass(IRI.create("http://ex#Unsaved")));
+        o1.add(unsaved);
+
+        // the second time the document is not parsed, the store is reopened, and it has no unsaved changes:
+        OntologyManager m2 = OntManagers.createONT();
+        OntologyModel o2 = m2.loadOntologyFromOntologyDocument(new IRIDocumentSource(iri),
+                m2.getOntologyLoaderConfiguration().setMappedGraphDirectory(root.toString()));
+        Assert.assertEquals(expected, o2.axioms().collect(Collectors.toSet()));
+        Assert.assertNotSame(o1.asGraphModel().getBaseGraph(), o2.asGraphModel().getBaseGraph());
+
+        // the changed document is re-imported:
+        Files.write(file, "\n<http://ex#Changed> a <http://www.w3.org/2002/07/owl#Class> .\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        OntologyManager m3 = OntManagers.createONT();
+        OntologyModel o3 = m3.loadOntologyFromOntologyDocument(new IRIDocumentSource(iri),
+                m3.getOntologyLoaderConfiguration().setMappedGraphDirectory(root.toString()));
+        Assert.assertEquals(expected.size() + 1, o3.getAxiomCount());
+        Assert.assertTrue(o3.containsClassInSignature(IRI.create("http://ex#Changed")));
+
+        // a document without a stable source is not stored:
+        StringDocumentSource string = new StringDocumentSource(ReadWriteUtils.toString(o2, OntFormat.TURTLE));
+        OntologyManager m4 = OntManagers.createONT();
+        m4.loadOntologyFromOntologyDocument(string, m4.getOntologyLoaderConfiguration().setMappedGraphDirectory(root.toString()));
+        Assert.assertFalse(MappedGraph.exists(MappedGraph.location(root, string.getDocumentIRI().getIRIString())));
+
+        // per document source:
+        MappedGraph g = MappedGraph.open(location);
+        OntologyModel o5 = OntManagers.createONT().loadOntologyFromOntologyDocument(OntGraphDocumentSource.wrap(g));
+        Assert.assertEquals(o3.axioms().collect(Collectors.toSet()), o5.axioms().collect(Collectors.toSet()));
+        g.close();
+    }
+}
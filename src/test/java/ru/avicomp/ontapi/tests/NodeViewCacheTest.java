@@ -0,0 +1,102 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.impl.ResourceImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.avicomp.ontapi.internal.ConfigProvider;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
+import ru.avicomp.ontapi.jena.impl.configuration.NodeViewCache;
+import ru.avicomp.ontapi.jena.model.*;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * To test the {@link NodeViewCache}: the memorized node classifications must follow the graph changes.
+ */
+public class NodeViewCacheTest {
+
+    @Test
+    public void testHitsAndResults() {
+        InternalModel m = new InternalModel(ReadWriteUtils.loadResourceTTLFile("pizza.ttl").getGraph(), ConfigProvider.DEFAULT);
+        Set<String> expected = m.axioms().map(String::valueOf).collect(Collectors.toSet());
+        NodeViewCache cache = m.getNodeViewCache();
+        Assert.assertTrue(cache.size() > 0);
+        long misses = cache.misses();
+        long hits = cache.hits();
+        Assert.assertTrue("No hits", hits > 0);
+        m.clearCache();
+        Assert.assertEquals(expected, m.axioms().map(String::valueOf).collect(Collectors.toSet()));
+        Assert.assertEquals("Unexpected misses", misses, cache.misses());
+        Assert.assertTrue(cache.hits() > hits);
+        Assert.assertTrue(cache.hitRate() > 0.5);
+    }
+
+    @Test
+    public void testOwnTriples() {
+        OntGraphModelImpl m = (OntGraphModelImpl) OntModelFactory.createModel();
+        Resource c = m.createResource("http://x#C");
+        Assert.assertFalse(c.canAs(OntClass.class));
+        m.add(c, RDF.type, OWL.Class);
+        Assert.assertTrue(c.canAs(OntClass.class));
+        // bypassing the union graph:
+        m.getBaseGraph().delete(Triple.create(c.asNode(), RDF.type.asNode(), OWL.Class.asNode()));
+        Assert.assertFalse(c.canAs(OntClass.class));
+    }
+
+    @Test
+    public void testDependentNodes() {
+        OntGraphModelImpl m = (OntGraphModelImpl) OntModelFactory.createModel();
+        OntNOP p = m.createOntEntity(OntNOP.class, "http://x#p");
+        Resource ce = m.createObjectSomeValuesFrom(p, m.getOWLThing());
+        Assert.assertTrue(new ResourceImpl(ce.asNode(), m).canAs(OntCE.ObjectSomeValuesFrom.class));
+        Assert.assertFalse(new ResourceImpl(ce.asNode(), m).canAs(OntCE.DataSomeValuesFrom.class));
+        // the restriction's own triples are not changed
+        // (note: a new resource is created each time to bypass the jena nodes cache, which keeps the views):
+        m.remove(p, RDF.type, OWL.ObjectProperty).add(p, RDF.type, OWL.DatatypeProperty);
+        Assert.assertFalse(new ResourceImpl(ce.asNode(), m).canAs(OntCE.ObjectSomeValuesFrom.class));
+        m.remove(p, RDF.type, OWL.DatatypeProperty).add(p, RDF.type, OWL.ObjectProperty);
+        Assert.assertTrue(new ResourceImpl(ce.asNode(), m).canAs(OntCE.ObjectSomeValuesFrom.class));
+    }
+
+    @Test
+    public void testImports() {
+        OntGraphModelImpl a = (OntGraphModelImpl) OntModelFactory.createModel();
+        a.setID("http://a");
+        OntGraphModelImpl b = (OntGraphModelImpl) OntModelFactory.createModel();
+        b.setID("http://b");
+        Resource c = a.createResource("http://b#C");
+        Assert.assertFalse(c.canAs(OntClass.class));
+        a.addImport(b);
+        b.createOntEntity(OntClass.class, "http://b#C");
+        Assert.assertTrue(c.canAs(OntClass.class));
+        b.removeOntObject(b.getOntEntity(OntClass.class, "http://b#C"));
+        Assert.assertFalse(c.canAs(OntClass.class));
+        b.createOntEntity(OntClass.class, "http://b#C");
+        Assert.assertTrue(c.canAs(OntClass.class));
+        a.removeImport(b);
+        Assert.assertFalse(c.canAs(OntClass.class));
+    }
+}
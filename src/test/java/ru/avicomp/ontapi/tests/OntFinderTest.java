@@ -0,0 +1,171 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.RDFList;
+import org.apache.jena.rdf.model.RDFNode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import ru.avicomp.ontapi.OntFormat;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.impl.configuration.OntFinder;
+import ru.avicomp.ontapi.jena.model.*;
+import ru.avicomp.ontapi.jena.utils.Iter;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+import ru.avicomp.ontapi.jena.vocabulary.SWRL;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * To test the targeted {@link OntFinder}s: they must find the same objects as the whole graph scan
+ * and must not produce duplicates.
+ */
+@RunWith(Parameterized.class)
+public class OntFinderTest {
+    private static final String ABOX = "@prefix :      <http://x#> .\n" +
+            "@prefix owl:   <http://www.w3.org/2002/07/owl#> .\n" +
+            "@prefix rdfs:  <http://www.w3.org/2000/01/rdf-schema#> .\n" +
+            "@prefix xsd:   <http://www.w3.org/2001/XMLSchema#> .\n" +
+            "<http://x> a owl:Ontology .\n" +
+            ":C a owl:Class .\n" +
+            ":p a owl:ObjectProperty .\n" +
+            ":d a owl:DatatypeProperty .\n" +
+            ":a a owl:AnnotationProperty .\n" +
+            ":i1 a owl:NamedIndividual , :C ; :p _:b1 , _:b2 ; :d 42 , \"042\"^^xsd:int ; owl:sameAs _:b3 .\n" +
+            "_:b1 a :C ; :p _:b2 ; owl:differentFrom _:b4 .\n" +
+            "_:b5 :p :i1 .\n" +
+            "_:b6 :a _:b7 .\n" +
+            "[ a owl:Restriction ; owl:onProperty :p ; owl:hasValue _:b8 ] .\n" +
+            "[ a owl:Class ; owl:oneOf ( _:b9 :i1 _:b1 ) ] .\n" +
+            "[ a owl:NegativePropertyAssertion ; owl:sourceIndividual _:b10 ; owl:assertionProperty :p ; owl:targetIndividual _:b11 ] .\n" +
+            "[ a rdfs:Datatype ; owl:onDatatype xsd:int ; owl:withRestrictions ( [ xsd:minInclusive 1 ] [ xsd:maxInclusive 2 ; xsd:pattern \"x\" ] ) ] .\n" +
+            ":q owl:inverseOf :p .\n" +
+            "[ owl:inverseOf :p ] :a \"inverse\" .\n";
+
+    private final String name;
+
+    public OntFinderTest(String name) {
+        this.name = name;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<String> data() {
+        return Stream.of("abox", "pizza.ttl", "goodrelations.rdf", "swrl.owl.rdf", "foaf.rdf", "propertyChain.owl").collect(Collectors.toList());
+    }
+
+    private OntGraphModel model() {
+        if ("abox".equals(name)) {
+            return OntModelFactory.createModel(ReadWriteUtils.loadFromString(ABOX, OntFormat.TURTLE).getGraph());
+        }
+        OntFormat format = name.endsWith(".ttl") ? OntFormat.TURTLE : OntFormat.RDF_XML;
+        return OntModelFactory.createModel(ReadWriteUtils.load(ReadWriteUtils.getResourceURI(name), format).getGraph());
+    }
+
+    /**
+     * The old way: every subject (and object) of the graph is tested.
+     *
+     * @param m       {@link OntGraphModel}
+     * @param type    Class
+     * @param objects if true the objects are tested also
+     * @return Set of {@link Node}s
+     */
+    private static Set<Node> scan(OntGraphModel m, Class<? extends RDFNode> type, boolean objects) {
+        Graph g = m.getGraph();
+        return Iter.asStream(g.find(Triple.ANY))
+                .flatMap(t -> objects ? Stream.of(t.getSubject(), t.getObject()) : Stream.of(t.getSubject()))
+                .distinct()
+                .filter(n -> m.asRDFNode(n).canAs(type))
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<Node> find(OntGraphModel m, Class<? extends OntObject> type) {
+        List<Node> res = m.ontObjects(type).map(RDFNode::asNode).collect(Collectors.toList());
+        Set<Node> set = res.stream().collect(Collectors.toSet());
+        Assert.assertEquals("Duplicates for " + type.getSimpleName(), set.size(), res.size());
+        return set;
+    }
+
+    private void test(Class<? extends OntObject> type, boolean objects) {
+        OntGraphModel m = model();
+        Set<Node> expected = scan(m, type, objects);
+        Set<Node> actual = find(m, type);
+        Assert.assertEquals("Wrong " + type.getSimpleName() + " for " + name, expected, actual);
+    }
+
+    @Test
+    public void testIndividuals() {
+        test(OntIndividual.class, true);
+    }
+
+    @Test
+    public void testAnonymousIndividuals() {
+        test(OntIndividual.Anonymous.class, true);
+    }
+
+    @Test
+    public void testPropertyExpressions() {
+        test(OntPE.class, false);
+    }
+
+    @Test
+    public void testFacetRestrictions() {
+        test(OntFR.class, false);
+    }
+
+    @Test
+    public void testSWRLArguments() {
+        OntGraphModel m = model();
+        Graph g = m.getGraph();
+        // only the atom arguments and variables:
+        Set<Node> positions = Stream.concat(Stream.of(SWRL.argument1, SWRL.argument2, SWRL.arguments)
+                        .flatMap(p -> m.listObjectsOfProperty(p).toList().stream())
+                        .flatMap(o -> o.canAs(RDFList.class) && !o.isLiteral() && g.contains(Node.ANY, SWRL.arguments.asNode(), o.asNode()) ?
+                                o.as(RDFList.class).asJavaList().stream() : Stream.of(o)),
+                m.listSubjectsWithProperty(RDF.type, SWRL.Variable).toList().stream())
+                .map(RDFNode::asNode)
+                .collect(Collectors.toSet());
+        Stream.of(OntSWRL.Arg.class, OntSWRL.DArg.class, OntSWRL.IArg.class).forEach(type -> {
+            Set<Node> expected = scan(m, type, true).stream().filter(positions::contains).collect(Collectors.toSet());
+            Assert.assertEquals("Wrong " + type.getSimpleName() + " for " + name, expected, find(m, type));
+        });
+    }
+
+    @Test
+    public void testSubjectsAndObjects() {
+        OntGraphModel m = model();
+        Graph g = m.getGraph();
+        List<Node> actual = OntFinder.ANY_SUBJECT.find((EnhGraph) m).collect(Collectors.toList());
+        Set<Node> expected = Iter.asStream(g.find(Triple.ANY)).map(Triple::getSubject).collect(Collectors.toSet());
+        Assert.assertEquals(expected.size(), actual.size());
+        Assert.assertEquals(expected, new HashSet<>(actual));
+
+        actual = OntFinder.ANY_SUBJECT_AND_OBJECT.find((EnhGraph) m).collect(Collectors.toList());
+        expected = Iter.asStream(g.find(Triple.ANY)).flatMap(t -> Stream.of(t.getSubject(), t.getObject())).collect(Collectors.toSet());
+        Assert.assertEquals(expected.size(), actual.size());
+        Assert.assertEquals(expected, new HashSet<>(actual));
+    }
+}
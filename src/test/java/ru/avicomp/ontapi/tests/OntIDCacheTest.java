@@ -0,0 +1,94 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
+import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.jena.model.OntID;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+
+/**
+ * To test the cached ontology header ({@link ru.avicomp.ontapi.jena.impl.OntIDCache}):
+ * {@link OntGraphModel#getID()} must follow the graph changes.
+ */
+public class OntIDCacheTest {
+
+    @Test
+    public void testCachedID() {
+        OntGraphModel m = OntModelFactory.createModel();
+        OntID id = m.setID("http://a");
+        Assert.assertEquals(id, m.getID());
+        Assert.assertEquals(id, m.cachedID().orElseThrow(AssertionError::new));
+        Assert.assertSame(m.getID(), m.getID());
+        // a change of some other resource does not affect the header:
+        m.createResource("http://a#C").addProperty(RDF.type, OWL.Class);
+        Assert.assertTrue(m.cachedID().isPresent());
+        // a change of the header:
+        m.getID().addComment("x", null);
+        Assert.assertFalse(m.cachedID().isPresent());
+        Assert.assertEquals("http://a", m.getID().getURI());
+        m.setID("http://b");
+        Assert.assertEquals("http://b", m.getID().getURI());
+        Assert.assertEquals(1, m.getID().annotations().count());
+    }
+
+    @Test
+    public void testSeveralHeaders() {
+        OntGraphModel m = OntModelFactory.createModel();
+        m.setID("http://a").addComment("a", null);
+        Assert.assertEquals("http://a", m.getID().getURI());
+        Resource b = m.createResource("http://b").addProperty(RDF.type, OWL.Ontology);
+        Assert.assertEquals("http://a", m.getID().getURI());
+        // the most bulky header wins:
+        b.addProperty(RDFS.comment, "x").addProperty(RDFS.comment, "y");
+        Assert.assertEquals("http://b", m.getID().getURI());
+        m.removeAll(b, null, null);
+        Assert.assertEquals("http://a", m.getID().getURI());
+    }
+
+    @Test
+    public void testSharedBetweenModels() {
+        OntGraphModelImpl a = (OntGraphModelImpl) OntModelFactory.createModel();
+        a.setID("http://a");
+        OntGraphModel b = OntModelFactory.createModel(a.getGraph());
+        Assert.assertEquals("http://a", b.getID().getURI());
+        a.getGraph().delete(Triple.create(a.getID().asNode(), RDF.type.asNode(), OWL.Ontology.asNode()));
+        Assert.assertFalse(b.cachedID().isPresent());
+        Assert.assertTrue(b.getID().isAnon());
+        Assert.assertEquals(b.getID().asNode(), a.getID().asNode());
+    }
+
+    @Test
+    public void testChangesInBaseGraph() {
+        OntGraphModel m = OntModelFactory.createModel();
+        m.setID("http://a");
+        Assert.assertEquals("http://a", m.getID().getURI());
+        // bypassing the union graph event manager:
+        Graph g = m.getBaseGraph();
+        g.delete(Triple.create(NodeFactory.createURI("http://a"), RDF.type.asNode(), OWL.Ontology.asNode()));
+        g.add(Triple.create(NodeFactory.createURI("http://b"), RDF.type.asNode(), OWL.Ontology.asNode()));
+        Assert.assertEquals("http://b", m.getID().getURI());
+    }
+}
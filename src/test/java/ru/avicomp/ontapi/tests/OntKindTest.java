@@ -0,0 +1,62 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ru.avicomp.ontapi.OntFormat;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.impl.OntKind;
+import ru.avicomp.ontapi.jena.impl.OntObjectImpl;
+import ru.avicomp.ontapi.jena.model.*;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * To test {@link OntKind}: the kind tags must correspond to the actual views of objects.
+ */
+public class OntKindTest {
+
+    @Test
+    public void testViews() {
+        for (OntKind k : OntKind.values()) {
+            if (k == OntKind.OTHER) {
+                Assert.assertNull(k.getView());
+                continue;
+            }
+            Assert.assertNotNull(k.getView());
+        }
+        Assert.assertEquals(OntKind.OTHER, OntKind.of(OntObjectImpl.class));
+    }
+
+    @Test
+    public void testKinds() {
+        Stream.of("pizza.ttl", "goodrelations.rdf", "swrl.owl.rdf").forEach(file -> {
+            OntFormat format = file.endsWith(".ttl") ? OntFormat.TURTLE : OntFormat.RDF_XML;
+            OntGraphModel m = OntModelFactory.createModel(ReadWriteUtils.load(ReadWriteUtils.getResourceURI(file), format).getGraph());
+            Stream.of(OntEntity.class, OntCE.class, OntDR.class, OntFR.class, OntSWRL.Atom.class, OntIndividual.class)
+                    .flatMap(m::ontObjects)
+                    .map(OntObjectImpl.class::cast)
+                    .forEach(o -> {
+                        OntKind k = o.getKind();
+                        Assert.assertNotEquals("No kind for " + o, OntKind.OTHER, k);
+                        Assert.assertEquals("Wrong kind for " + o, o.getActualClass(), k.getView());
+                        Assert.assertEquals(OntKind.of(o.getClass()), k);
+                    });
+        });
+    }
+}
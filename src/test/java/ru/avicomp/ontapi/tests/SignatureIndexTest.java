@@ -0,0 +1,116 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+import ru.avicomp.ontapi.OntManagers;
+import ru.avicomp.ontapi.OntologyManager;
+import ru.avicomp.ontapi.OntologyModel;
+import ru.avicomp.ontapi.OwlObjects;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * To test the entity-scoped axiom queries, which are answered by the {@link ru.avicomp.ontapi.internal.SignatureIndex}:
+ * the results must be the same as the results of brute-force scanning over all axioms.
+ */
+@RunWith(Parameterized.class)
+public class SignatureIndexTest {
+    private final String file;
+
+    public SignatureIndexTest(String file) {
+        this.file = file;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<String> getData() {
+        return Arrays.asList("pizza.ttl", "goodrelations.rdf", "foaf.rdf", "swrl.owl.rdf", "propertyChain.owl");
+    }
+
+    private static <X> Set<X> set(Stream<? extends X> s) {
+        return s.collect(Collectors.toSet());
+    }
+
+    private static void check(OntologyModel o) {
+        Set<OWLAxiom> all = set(o.axioms());
+        o.classesInSignature().forEach(c -> Assert.assertEquals(c.toString(),
+                set(all.stream().filter(OWLClassAxiom.class::isInstance)
+                        .filter(a -> OwlObjects.objects(OWLClass.class, a).anyMatch(c::equals))), set(o.axioms(c))));
+        o.objectPropertiesInSignature().flatMap(p -> Stream.of(p, p.getInverseProperty())).forEach(p -> Assert.assertEquals(p.toString(),
+                set(all.stream().filter(OWLObjectPropertyAxiom.class::isInstance)
+                        .filter(a -> OwlObjects.objects(OWLObjectPropertyExpression.class, a).anyMatch(p::equals))), set(o.axioms(p))));
+        o.dataPropertiesInSignature().forEach(p -> Assert.assertEquals(p.toString(),
+                set(all.stream().filter(OWLDataPropertyAxiom.class::isInstance)
+                        .filter(a -> OwlObjects.objects(OWLDataProperty.class, a).anyMatch(p::equals))), set(o.axioms(p))));
+        Stream.concat(o.individualsInSignature(), o.anonymousIndividuals()).forEach(i -> Assert.assertEquals(i.toString(),
+                set(all.stream().filter(OWLIndividualAxiom.class::isInstance)
+                        .filter(a -> OwlObjects.objects(OWLIndividual.class, a).anyMatch(i::equals))), set(o.axioms(i))));
+        o.signature().forEach(e -> {
+            Assert.assertEquals(e.toString(), set(all.stream().filter(a -> OwlObjects.objects(OWLPrimitive.class, a).anyMatch(e::equals)
+                    || OwlObjects.objects(OWLDatatype.class, a).anyMatch(e::equals))), set(o.referencingAxioms(e)));
+            Assert.assertEquals(e.getIRI().toString(), set(all.stream().filter(a -> OwlObjects.iris(a).anyMatch(e.getIRI()::equals))),
+                    set(o.referencingAxioms(e.getIRI())));
+        });
+        Stream.of(Navigation.IN_SUB_POSITION, Navigation.IN_SUPER_POSITION).forEach(n -> {
+            o.classesInSignature().forEach(c -> Assert.assertEquals(n + ":" + c,
+                    set(all.stream().filter(OWLSubClassOfAxiom.class::isInstance).map(OWLSubClassOfAxiom.class::cast)
+                            .filter(a -> c.equals(Navigation.IN_SUPER_POSITION.equals(n) ? a.getSuperClass() : a.getSubClass()))),
+                    set(o.axioms(OWLSubClassOfAxiom.class, OWLClassExpression.class, c, n))));
+            o.objectPropertiesInSignature().forEach(p -> Assert.assertEquals(n + ":" + p,
+                    set(all.stream().filter(OWLSubObjectPropertyOfAxiom.class::isInstance).map(OWLSubObjectPropertyOfAxiom.class::cast)
+                            .filter(a -> p.equals(Navigation.IN_SUPER_POSITION.equals(n) ? a.getSuperProperty() : a.getSubProperty()))),
+                    set(o.axioms(OWLSubObjectPropertyOfAxiom.class, OWLObjectPropertyExpression.class, p, n))));
+            o.signature().forEach(e -> Assert.assertEquals(n + ":" + e,
+                    set(all.stream().filter(OWLAnnotationAssertionAxiom.class::isInstance).map(OWLAnnotationAssertionAxiom.class::cast)
+                            .filter(a -> e.getIRI().equals(Navigation.IN_SUPER_POSITION.equals(n) ? a.getValue() : a.getSubject()))),
+                    set(o.axioms(OWLAnnotationAssertionAxiom.class, OWLAnnotationSubject.class, e.getIRI(), n))));
+        });
+    }
+
+    @Test
+    public void testQueries() throws Exception {
+        OntologyManager m = OntManagers.createONT();
+        OntologyModel o = m.loadOntologyFromOntologyDocument(IRI.create(ReadWriteUtils.getResourceURI(file)));
+        check(o);
+    }
+
+    @Test
+    public void testQueriesAfterChanges() throws Exception {
+        OntologyManager m = OntManagers.createONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel o = m.loadOntologyFromOntologyDocument(IRI.create(ReadWriteUtils.getResourceURI(file)));
+        // build indexes:
+        o.signature().forEach(o::referencingAxioms);
+        Collection<OWLAxiom> removed = o.axioms().filter(a -> a.hashCode() % 3 == 0).collect(Collectors.toList());
+        removed.forEach(o::remove);
+        OWLClass c = df.getOWLClass(IRI.create("http://ex#C"));
+        o.classesInSignature().limit(10).forEach(x -> o.add(df.getOWLSubClassOfAxiom(c, x)));
+        check(o);
+        removed.forEach(o::add);
+        check(o);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2017, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.jena.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import ru.avicomp.ontapi.OntManagers;
+import ru.avicomp.ontapi.OntSnapshot;
+import ru.avicomp.ontapi.OntologyManager;
+import ru.avicomp.ontapi.OntologyModel;
+import ru.avicomp.ontapi.internal.InternalModel;
+import ru.avicomp.ontapi.internal.InternalModelHolder;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+/**
+ * To test {@link OntSnapshot}: the round trip of the manager with and without caches.
+ */
+public class SnapshotTest {
+
+    @Test
+    public void testRoundTripWithCaches() throws Exception {
+        OntologyManager origin = createManager(OntManagers.createONT());
+        // warm up all caches:
+        origin.ontologies().forEach(o -> {
+            o.axioms().count();
+            o.classesInSignature().count();
+            o.classesInSignature().forEach(c -> o.axioms(c).count());
+        });
+        OntologyManager copy = restore(origin, true);
+        compare(origin, copy);
+        copy.ontologies().forEach(o -> {
+            OWLOntology src = origin.getOntology(o.getOntologyID());
+            Assert.assertNotNull(src);
+            InternalModel expected = ((InternalModelHolder) src).getBase();
+            InternalModel actual = ((InternalModelHolder) o).getBase();
+            Assert.assertEquals("Axiom stores of " + o, expected.cachedStores().size(), actual.cachedStores().size());
+            Assert.assertEquals("Signature caches of " + o, expected.cachedObjects().keySet(), actual.cachedObjects().keySet());
+            Assert.assertEquals("Signature indexes of " + o,
+                    expected.cachedStores().stream().filter(InternalModel.OwlObjectTriplesMap::hasSignature).count(),
+                    actual.cachedStores().stream().filter(InternalModel.OwlObjectTriplesMap::hasSignature).count());
+        });
+        // the cached triples must be the same as in the graph, including blank nodes:
+        OWLOntology pizza = copy.getOntology(IRI.create("http://www.co-ode.org/ontologies/pizza/pizza.owl"));
+        Assert.assertNotNull(pizza);
+        Graph graph = ((OntologyModel) pizza).asGraphModel().getBaseGraph();
+        long size = graph.size();
+        OWLSubClassOfAxiom restriction = pizza.axioms(AxiomType.SUBCLASS_OF)
+                .filter(a -> a.getSuperClass().isAnonymous()).findFirst().orElseThrow(AssertionError::new);
+        pizza.remove(restriction);
+        Assert.assertTrue("The triples of " + restriction + " are not removed", graph.size() < size);
+        Assert.assertFalse(pizza.containsAxiom(restriction));
+    }
+
+    @Test
+    public void testRoundTripWithoutCaches() throws Exception {
+        OntologyManager origin = createManager(OntManagers.createONT());
+        origin.ontologies().forEach(o -> o.axioms().count());
+        OntologyManager copy = restore(origin, false);
+        copy.ontologies().forEach(o -> Assert.assertTrue(((InternalModelHolder) o).getBase().cachedStores().isEmpty()));
+        // the restored models read the graphs from scratch, so the origin must do the same:
+        // e.g. the declarations written implicitly for a class assertion are not visible until the graph is re-read
+        origin.ontologies().map(OntologyModel.class::cast).forEach(OntologyModel::clearCache);
+        compare(origin, copy);
+    }
+
+    @Test
+    public void testConcurrentRoundTrip() throws Exception {
+        OntologyManager origin = createManager(OntManagers.createConcurrentONT());
+        origin.ontologies().forEach(o -> o.axioms().count());
+        compare(origin, restore(origin, true));
+    }
+
+    @Test(expected = IOException.class)
+    public void testWrongVersion() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OntManagers.createONT().saveSnapshot(out, true);
+        byte[] bytes = out.toByteArray();
+        bytes[7]++; // the version
+        OntManagers.restoreSnapshot(new ByteArrayInputStream(bytes));
+    }
+
+    private static OntologyManager createManager(OntologyManager m) throws OWLOntologyCreationException {
+        m.loadOntology(IRI.create(ReadWriteUtils.getResourceURI("pizza.ttl")));
+        OWLDataFactory df = m.getOWLDataFactory();
+        OWLOntology b = m.createOntology(IRI.create("http://test/b"));
+        OWLOntology a = m.createOntology(IRI.create("http://test/a"));
+        a.applyChange(new AddImport(a, df.getOWLImportsDeclaration(IRI.create("http://test/b"))));
+        OWLClass c1 = df.getOWLClass(IRI.create("http://test/b#C1"));
+        OWLClass c2 = df.getOWLClass(IRI.create("http://test/a#C2"));
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create("http://test/b#p"));
+        b.add(df.getOWLDeclarationAxiom(c1), df.getOWLDeclarationAxiom(p));
+        a.add(df.getOWLSubClassOfAxiom(c2, df.getOWLObjectSomeValuesFrom(p, c1)));
+        a.add(df.getOWLClassAssertionAxiom(c2, df.getOWLNamedIndividual(IRI.create("http://test/a#i"))));
+        a.applyChange(new AddOntologyAnnotation(a, df.getOWLAnnotation(df.getRDFSComment(), df.getOWLLiteral("test", "en"))));
+        return m;
+    }
+
+    private static OntologyManager restore(OntologyManager m, boolean caches) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.saveSnapshot(out, caches);
+        return OntManagers.restoreSnapshot(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void compare(OntologyManager expected, OntologyManager actual) {
+        Assert.assertEquals(expected.ontologies().count(), actual.ontologies().count());
+        expected.ontologies().forEach(e -> {
+            OWLOntology a = actual.getOntology(e.getOntologyID());
+            Assert.assertNotNull("Can't find " + e.getOntologyID(), a);
+            Assert.assertEquals(e.getOntologyID(), a.getOntologyID());
+            Assert.assertEquals(e.annotations().collect(Collectors.toSet()), a.annotations().collect(Collectors.toSet()));
+            Assert.assertEquals(axioms(e, Imports.EXCLUDED), axioms(a, Imports.EXCLUDED));
+            Assert.assertEquals(axioms(e, Imports.INCLUDED), axioms(a, Imports.INCLUDED));
+            Assert.assertEquals(((OntologyModel) e).asGraphModel().getBaseGraph().size(),
+                    ((OntologyModel) a).asGraphModel().getBaseGraph().size());
+        });
+        Assert.assertEquals(expected.getOntologyLoaderConfiguration(), actual.getOntologyLoaderConfiguration());
+        Assert.assertEquals(expected.getOntologyWriterConfiguration(), actual.getOntologyWriterConfiguration());
+    }
+
+    private static Set<OWLAxiom> axioms(OWLOntology o, Imports imports) {
+        return o.axioms(imports).collect(Collectors.toSet());
+    }
+}